@@ -0,0 +1,59 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is the microbenchmark of the fuzzed message generation in all combinations of separate and simultaneous
+ * injection with finite and endless campaigns. The score is the number of messages generated per second, the bytes
+ * allocated per message are reported by the gc profiler as gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FuzzedMessageCreatorBenchmark {
+
+    /**
+     * Generates the next message as a single byte array.
+     */
+    @Benchmark
+    public byte[] call(GeneratorState state) {
+        byte[] result = state.fuzzedMessageCreator.call();
+        if (result == null) {
+            state.restart();
+            result = state.fuzzedMessageCreator.call();
+        }
+        return result;
+    }
+
+    /**
+     * Generates the next message the way the fuzzing runner does. Random payloads are only described, their bytes are
+     * generated while the message is sent.
+     */
+    @Benchmark
+    public FuzzedMessage nextMessage(GeneratorState state) {
+        FuzzedMessage result = state.fuzzedMessageCreator.nextMessage();
+        if (result == null) {
+            state.restart();
+            result = state.fuzzedMessageCreator.nextMessage();
+        }
+        return result;
+    }
+}
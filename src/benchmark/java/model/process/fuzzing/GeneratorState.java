@@ -0,0 +1,133 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolBlock;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import model.util.Hex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class is the input state of the generator benchmarks. The protocol structure consists of the given number of
+ * variable blocks, each surrounded by fixed blocks that share the given number of fixed bytes. All variable blocks
+ * either use a generated library of the given number of lines, which makes the campaign finite, or random injection,
+ * which makes it endless.
+ */
+@State(Scope.Thread)
+public class GeneratorState {
+
+    private static final int MAX_LINE_LENGTH = 32;
+
+    @Param({"64", "1024"})
+    public int structureSize;
+
+    @Param({"1", "4", "16"})
+    public int varBlocks;
+
+    @Param({"16", "4096"})
+    public int libraryLines;
+
+    @Param({"SEPARATE", "SIMULTANEOUS"})
+    public InjectionMethod injectionMethod;
+
+    @Param({"true", "false"})
+    public boolean finite;
+
+    FuzzedMessageCreator fuzzedMessageCreator;
+    private Path library;
+
+    /**
+     * Creates a library file with lines of random length and content.
+     *
+     * @param lines  the number of lines
+     * @param random the random source
+     * @return the path of the library file
+     * @throws IOException if the file could not be written
+     */
+    static Path createLibrary(int lines, Random random) throws IOException {
+        List<String> content = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            byte[] line = new byte[1 + random.nextInt(MAX_LINE_LENGTH)];
+            random.nextBytes(line);
+            content.add(Hex.byte2HexBin(line));
+        }
+        Path result = Files.createTempFile("library", ".txt");
+        Files.write(result, content, StandardCharsets.UTF_8);
+        return result;
+    }
+
+    /**
+     * Creates the protocol structure and the creator.
+     *
+     * @throws IOException if the library could not be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(structureSize);
+        library = createLibrary(libraryLines, random);
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        int fixBlockSize = Math.max(1, structureSize / (varBlocks + 1));
+        for (int i = 0; i <= varBlocks; i++) {
+            List<Byte> fixBytes = new ArrayList<>(fixBlockSize);
+            for (int j = 0; j < fixBlockSize; j++) {
+                //noinspection NumericCastThatLosesPrecision
+                fixBytes.add((byte) random.nextInt(256));
+            }
+            protocolStructure.addBlock(fixBytes);
+            if (i < varBlocks) {
+                List<Byte> varBytes = new ArrayList<>(1);
+                varBytes.add(null);
+                protocolStructure.addBlock(varBytes);
+            }
+        }
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getVarBlock(i);
+            if (finite) {
+                block.setLibraryInjection();
+                block.setLibrary(library);
+            } else {
+                block.setRandomInjection();
+            }
+        }
+        fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure, injectionMethod, 0);
+    }
+
+    /**
+     * Restarts a finite campaign once all of its messages have been generated.
+     */
+    void restart() {
+        fuzzedMessageCreator.seek(1);
+    }
+
+    /**
+     * Deletes the library file.
+     *
+     * @throws IOException if the file could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(library);
+    }
+}
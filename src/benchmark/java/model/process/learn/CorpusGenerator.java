@@ -0,0 +1,136 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.protocol.ProtocolFile;
+import model.protocol.ProtocolStructure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class is the synthetic corpus generator, responsible for generating protocol messages that follow a randomly
+ * chosen but known protocol structure. The known structure serves as the ground truth for the learned structure.
+ */
+public class CorpusGenerator {
+
+    private static final int MIN_BLOCK_LENGTH = 2;
+    private static final int MAX_BLOCK_LENGTH = 8;
+    private final Random random;
+    private final List<Byte> template;
+    private final double mutationRate;
+
+    /**
+     * Constructs a new corpus generator and chooses the protocol structure all generated messages will follow.
+     *
+     * @param messageLength the length of every generated message in bytes
+     * @param varRatio      the probability of a protocol block to be variable, from 0 to 1
+     * @param mutationRate  the probability of a fixed byte to be changed in a single message, from 0 to 1
+     * @param seed          the seed of the random generator
+     */
+    public CorpusGenerator(int messageLength, double varRatio, double mutationRate, long seed) {
+        random = new Random(seed);
+        this.mutationRate = mutationRate;
+        template = new ArrayList<>(messageLength);
+        while (template.size() < messageLength) {
+            boolean var = random.nextDouble() < varRatio;
+            int length = MIN_BLOCK_LENGTH + random.nextInt((MAX_BLOCK_LENGTH - MIN_BLOCK_LENGTH) + 1);
+            for (int i = 0; (i < length) && (template.size() < messageLength); i++) {
+                // Fixed bytes are printable characters as they are often found in text-based protocols
+                //noinspection NumericCastThatLosesPrecision
+                template.add(var ? null : (byte) (33 + random.nextInt(94)));
+            }
+        }
+    }
+
+    /**
+     * Returns the ground truth, that is the protocol structure all generated messages follow.
+     *
+     * @return the protocol structure
+     */
+    public ProtocolStructure getGroundTruth() {
+        ProtocolStructure result = new ProtocolStructure();
+        boolean var = template.get(0) == null;
+        List<Byte> content = new ArrayList<>();
+        for (Byte each : template) {
+            if (var != (each == null)) {
+                result.addBlock(content);
+                content = new ArrayList<>();
+                var = each == null;
+            }
+            content.add(each);
+        }
+        result.addBlock(content);
+        return result;
+    }
+
+    /**
+     * Generates a single message. Variable bytes are random, fixed bytes are taken from the protocol structure unless
+     * they are mutated.
+     *
+     * @return the message
+     */
+    public byte[] nextMessage() {
+        byte[] result = new byte[template.size()];
+        random.nextBytes(result);
+        for (int i = 0; i < result.length; i++) {
+            if ((template.get(i) != null) && (random.nextDouble() >= mutationRate)) {
+                result[i] = template.get(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generates the given number of messages and writes each of them into an own file in the given directory.
+     *
+     * @param directory    the output directory
+     * @param messageCount the number of messages
+     * @return the protocol files of the generated messages
+     * @throws IOException if a file could not be written
+     */
+    public Set<ProtocolFile> writeCorpus(Path directory, int messageCount) throws IOException {
+        Set<ProtocolFile> result = new HashSet<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            Path file = directory.resolve(String.format("message%06d.bin", i));
+            Files.write(file, nextMessage());
+            result.add(new ProtocolFile(file));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the accuracy of a learned structure compared to the ground truth, that is the share of byte positions
+     * whose type (fixed or variable) is learned correctly. Positions only present in one of the structures count as
+     * incorrect.
+     *
+     * @param learned the learned protocol structure
+     * @return the accuracy, from 0 to 1
+     */
+    public double getAccuracy(ProtocolStructure learned) {
+        Byte[] learnedBytes = learned.getBytes();
+        int length = Math.max(learnedBytes.length, template.size());
+        if (length == 0) {
+            return 1;
+        }
+        int correct = 0;
+        for (int i = 0; i < Math.min(learnedBytes.length, template.size()); i++) {
+            if ((learnedBytes[i] == null) == (template.get(i) == null)) {
+                correct++;
+            }
+        }
+        return (double) correct / length;
+    }
+}
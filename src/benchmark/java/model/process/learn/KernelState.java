@@ -0,0 +1,92 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class is the shared input state of the learn kernel benchmarks. Two sequences of the given length are
+ * generated, the second one differing from the first one in about (1 - similarity) of its bytes. All other inputs are
+ * derived from these two sequences the way the learn runner derives them.
+ */
+@State(Scope.Benchmark)
+public class KernelState {
+
+    private static final int N_GRAM_SIZE = 3;
+    private static final int SELECTOR_SEQUENCES = 16;
+
+    @Param({"16", "256", "4096"})
+    public int length;
+
+    @Param({"0.5", "0.9", "1.0"})
+    public double similarity;
+
+    List<Byte> sequence1;
+    List<Byte> sequence2;
+    List<Byte> alignedSequence;
+    LearnSequence learnSequence1;
+    LearnSequence learnSequence2;
+    Set<LearnSequence> learnSequences;
+
+    /**
+     * Returns a copy of the given sequence in which every byte is replaced by a random byte with the probability of
+     * (1 - similarity).
+     *
+     * @param sequence the input sequence
+     * @param random   the random source
+     * @return the mutated sequence
+     */
+    private List<Byte> mutate(List<Byte> sequence, Random random) {
+        List<Byte> result = new ArrayList<>(sequence.size());
+        for (Byte each : sequence) {
+            //noinspection NumericCastThatLosesPrecision
+            result.add(random.nextDouble() < similarity ? each : (byte) random.nextInt(256));
+        }
+        return result;
+    }
+
+    /**
+     * Generates all inputs of the benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(length);
+        sequence1 = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            //noinspection NumericCastThatLosesPrecision
+            sequence1.add((byte) random.nextInt(256));
+        }
+        sequence2 = mutate(sequence1, random);
+        alignedSequence = new HirschbergExecutor(sequence1, sequence2).call();
+        learnSequence1 = new LearnSequence(sequence1, new NGramCreator(sequence1, N_GRAM_SIZE).call());
+        learnSequence2 = new LearnSequence(sequence2, new NGramCreator(sequence2, N_GRAM_SIZE).call());
+
+        List<LearnSequence> sequences = new ArrayList<>(SELECTOR_SEQUENCES);
+        for (int i = 0; i < SELECTOR_SEQUENCES; i++) {
+            List<Byte> each = mutate(sequence1, random);
+            sequences.add(new LearnSequence(each, new NGramCreator(each, N_GRAM_SIZE).call()));
+        }
+        for (int i = 0; i < sequences.size(); i++) {
+            for (int j = i + 1; j < sequences.size(); j++) {
+                sequences.get(i).addDistanceTo(sequences.get(j),
+                        new DiceValueCalculator(sequences.get(i), sequences.get(j)).call());
+            }
+        }
+        learnSequences = new HashSet<>(sequences);
+    }
+}
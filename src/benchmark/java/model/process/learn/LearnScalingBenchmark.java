@@ -0,0 +1,171 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.process.AbstractProcess.State;
+import model.protocol.ProtocolFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * This class is the learn scaling benchmark, responsible for running the learn process end to end on synthetic
+ * corpora of growing size and reporting wall time, peak heap and structure accuracy for every corpus size.
+ * <p>
+ * The benchmark is configured through the system properties benchmark.sizes (comma-separated message counts),
+ * benchmark.length, benchmark.varRatio, benchmark.mutationRate, benchmark.seed, benchmark.timeout (in seconds per
+ * run) and benchmark.report (the path of the report file).
+ */
+public enum LearnScalingBenchmark {
+    ;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args not used
+     * @throws IOException          if the corpus or the report could not be written
+     * @throws InterruptedException if the benchmark was interrupted while waiting for a learn run
+     */
+    public static void main(String... args) throws IOException, InterruptedException {
+        String[] sizes = System.getProperty("benchmark.sizes", "10,100,1000,10000").split(",");
+        int length = Integer.getInteger("benchmark.length", 64);
+        double varRatio = Double.parseDouble(System.getProperty("benchmark.varRatio", "0.3"));
+        double mutationRate = Double.parseDouble(System.getProperty("benchmark.mutationRate", "0.01"));
+        long seed = Long.getLong("benchmark.seed", 0);
+        long timeout = Long.getLong("benchmark.timeout", 3600);
+        Path report = Paths.get(System.getProperty("benchmark.report", "target/learn-scaling.txt"));
+
+        List<String> lines = new ArrayList<>(sizes.length + 2);
+        lines.add(String.format(Locale.ROOT, "# length=%d varRatio=%.2f mutationRate=%.3f seed=%d", length, varRatio,
+                mutationRate, seed));
+        lines.add(String.format(Locale.ROOT, "%8s %12s %12s %10s %10s", "n", "time [ms]", "peak [MiB]", "accuracy",
+                "exponent"));
+        System.out.println(lines.get(0));
+        System.out.println(lines.get(1));
+        int previousSize = 0;
+        double previousMillis = 0;
+        for (String each : sizes) {
+            int size = Integer.parseInt(each.trim());
+            Result result = run(new CorpusGenerator(length, varRatio, mutationRate, seed), size, timeout);
+            String exponent = "-";
+            if ((previousSize > 0) && (result.millis > 0) && (previousMillis > 0)) {
+                // The empirical exponent k of the run time O(n^k) between two consecutive corpus sizes
+                exponent = String.format(Locale.ROOT, "%.2f",
+                        Math.log(result.millis / previousMillis) / Math.log((double) size / previousSize));
+            }
+            String line = result.completed ?
+                    String.format(Locale.ROOT, "%8d %12.1f %12.1f %10.3f %10s", size, result.millis,
+                            result.peakHeap / 1048576.0, result.accuracy, exponent) :
+                    String.format(Locale.ROOT, "%8d %12s %12.1f %10s %10s", size, "timeout",
+                            result.peakHeap / 1048576.0, "-", "-");
+            System.out.println(line);
+            lines.add(line);
+            if (!result.completed) {
+                break;
+            }
+            previousSize = size;
+            previousMillis = result.millis;
+        }
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.write(report, lines, StandardCharsets.UTF_8);
+        System.exit(0);
+    }
+
+    /**
+     * Learns the protocol structure of a generated corpus with the given number of messages.
+     *
+     * @param generator the corpus generator
+     * @param size      the number of messages
+     * @param timeout   the maximum time of the run in seconds
+     * @return the result of the run
+     * @throws IOException          if the corpus could not be written
+     * @throws InterruptedException if the thread was interrupted while waiting for the learn run
+     */
+    private static Result run(CorpusGenerator generator, int size, long timeout) throws IOException,
+            InterruptedException {
+        Path directory = Files.createTempDirectory("prodisfuzz_benchmark");
+        try {
+            Set<ProtocolFile> files = generator.writeCorpus(directory, size);
+            Process process = new Process();
+            CountDownLatch finished = new CountDownLatch(1);
+            process.addObserver((o, arg) -> {
+                if (arg == State.IDLE) {
+                    finished.countDown();
+                }
+            });
+            System.gc();
+            List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+            for (MemoryPoolMXBean each : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (each.getType() == MemoryType.HEAP) {
+                    each.resetPeakUsage();
+                    heapPools.add(each);
+                }
+            }
+            long start = System.nanoTime();
+            process.learnProtocolStructure(files);
+            boolean completed = finished.await(timeout, TimeUnit.SECONDS) && process.isComplete();
+            double millis = (System.nanoTime() - start) / 1.0e6;
+            if (!completed) {
+                process.stop();
+            }
+            long peakHeap = 0;
+            for (MemoryPoolMXBean each : heapPools) {
+                peakHeap += each.getPeakUsage().getUsed();
+            }
+            double accuracy = completed ? generator.getAccuracy(process.getProtocolStructure()) : 0;
+            return new Result(completed, millis, peakHeap, accuracy);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(each -> each.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * This class is the result of a single benchmark run.
+     */
+    private static class Result {
+
+        private final boolean completed;
+        private final double millis;
+        private final long peakHeap;
+        private final double accuracy;
+
+        /**
+         * Constructs a new result.
+         *
+         * @param completed true, if the learn run has completed in time
+         * @param millis    the wall time of the run in milliseconds
+         * @param peakHeap  the peak heap usage in bytes
+         * @param accuracy  the accuracy of the learned structure
+         */
+        Result(boolean completed, double millis, long peakHeap, double accuracy) {
+            this.completed = completed;
+            this.millis = millis;
+            this.peakHeap = peakHeap;
+            this.accuracy = accuracy;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is the microbenchmark of the library lookups of a variable block, that are done once per fuzzed message
+ * and block with library injection.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class InjectedProtocolBlockBenchmark {
+
+    private int lineNo;
+
+    /**
+     * Reads the library lines one after another, the way a finite campaign walks through a library.
+     */
+    @Benchmark
+    public byte[] getLibraryLine(LibraryState state) {
+        lineNo = (lineNo + 1) % state.libraryLines;
+        return state.injectedProtocolBlock.getLibraryLine(lineNo);
+    }
+
+    /**
+     * Reads random library lines, the way an endless campaign picks them.
+     */
+    @Benchmark
+    public byte[] getRandomLibraryLine(LibraryState state) {
+        return state.injectedProtocolBlock.getRandomLibraryLine();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import model.protocol.ProtocolBlock.Type;
+import model.util.Hex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class is the input state of the library benchmarks. A library of the given number of lines of random length and
+ * content is generated and assigned to a variable block with library injection.
+ */
+@State(Scope.Benchmark)
+public class LibraryState {
+
+    private static final int MAX_LINE_LENGTH = 32;
+
+    @Param({"16", "1024", "65536"})
+    public int libraryLines;
+
+    InjectedProtocolBlock injectedProtocolBlock;
+    private Path library;
+
+    /**
+     * Generates the library and the block.
+     *
+     * @throws IOException if the library could not be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(libraryLines);
+        List<String> lines = new ArrayList<>(libraryLines);
+        for (int i = 0; i < libraryLines; i++) {
+            byte[] line = new byte[1 + random.nextInt(MAX_LINE_LENGTH)];
+            random.nextBytes(line);
+            lines.add(Hex.byte2HexBin(line));
+        }
+        library = Files.createTempFile("library", ".txt");
+        Files.write(library, lines, StandardCharsets.UTF_8);
+        injectedProtocolBlock = new InjectedProtocolBlock(Type.VAR, (Byte) null);
+        injectedProtocolBlock.setLibraryInjection();
+        injectedProtocolBlock.setLibrary(library);
+        // The first access indexes the library, which is not part of the measured lookups
+        injectedProtocolBlock.getLibraryLine(0);
+    }
+
+    /**
+     * Deletes the library file.
+     *
+     * @throws IOException if the file could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(library);
+    }
+}
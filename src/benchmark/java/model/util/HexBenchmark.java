@@ -0,0 +1,57 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is the microbenchmark of the conversion of hex strings into bytes, that is done for every line of a
+ * library that is read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class HexBenchmark {
+
+    @Param({"4", "64", "1024"})
+    public int length;
+
+    private String hexbin;
+
+    /**
+     * Generates a hex string of the given number of random bytes.
+     */
+    @Setup
+    public void setUp() {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        hexbin = Hex.byte2HexBin(bytes);
+    }
+
+    @Benchmark
+    public byte[] hexBin2Byte() {
+        return Hex.hexBin2Byte(hexbin);
+    }
+}
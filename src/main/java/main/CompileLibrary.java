@@ -0,0 +1,51 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package main;
+
+import model.protocol.CompiledLibrary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This class is the headless library compiler, responsible for converting a hex binary library into a compiled library
+ * without starting the graphical interface. The compiled library can be chosen as library of a variable protocol block
+ * like every other library.
+ */
+@SuppressWarnings({"HardCodedStringLiteral", "UseOfSystemOutOrSystemErr"})
+public enum CompileLibrary {
+    ;
+
+    /**
+     * Compiles the library given as first argument into the compiled library given as second argument.
+     *
+     * @param args the path to the hex binary library and the path to the compiled library
+     */
+    public static void main(String... args) {
+        if (args.length != 2) {
+            System.err.println("Usage: CompileLibrary <hex binary library> <compiled library>");
+            System.exit(2);
+        }
+        Path library = Paths.get(args[0]);
+        Path compiledLibrary = Paths.get(args[1]);
+        try {
+            CompiledLibrary.compile(library, compiledLibrary);
+            CompiledLibrary result = new CompiledLibrary(compiledLibrary);
+            if (!result.validate()) {
+                System.err.println("'" + library + "' does not contain any payloads");
+                System.exit(1);
+            }
+            System.out.println("Compiled " + result.getNumOfPayloads() + " payloads to '" + compiledLibrary + '\'');
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
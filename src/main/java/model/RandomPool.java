@@ -8,26 +8,33 @@
 
 package model;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
- * This class is responsible for managing the access to random data.
+ * This class is responsible for managing the access to random data. Every thread draws its random numbers from its own
+ * generator, so that threads never contend for a shared seed. A thread can reseed its generator for one iteration of a
+ * fuzzing campaign, which makes all random data generated for that iteration reproducible from the campaign seed and
+ * the iteration number.
  */
 @SuppressWarnings("DeserializableClassInSecureContext")
 public class RandomPool extends Random {
 
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
     @SuppressWarnings("UnsecureRandomNumberGeneration")
     private static final RandomPool INSTANCE = new RandomPool();
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> generators;
 
     /**
      * Constructs a new singleton pool.
      */
     private RandomPool() {
         super();
-        setSeed(Instant.now().toEpochMilli());
+        root = new SplittableRandom();
+        generators = ThreadLocal.withInitial(this::split);
     }
 
     /**
@@ -39,6 +46,66 @@ public class RandomPool extends Random {
         return INSTANCE;
     }
 
+    /**
+     * Derives the seed of a single iteration from the seed of a fuzzing campaign. Neighbouring iterations get
+     * uncorrelated seeds.
+     *
+     * @param campaignSeed the seed of the fuzzing campaign
+     * @param iteration    the number of the iteration
+     * @return the seed of the iteration
+     */
+    public static long iterationSeed(long campaignSeed, long iteration) {
+        long result = campaignSeed + ((iteration + 1) * GOLDEN_GAMMA);
+        result = (result ^ (result >>> 30)) * 0xbf58476d1ce4e5b9L;
+        result = (result ^ (result >>> 27)) * 0x94d049bb133111ebL;
+        return result ^ (result >>> 31);
+    }
+
+    /**
+     * Creates an independent generator for a new thread.
+     *
+     * @return the generator
+     */
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+
+    /**
+     * Reseeds the generator of the current thread for the given iteration of a fuzzing campaign. All random data the
+     * current thread generates afterwards is determined by the campaign seed and the iteration number only.
+     *
+     * @param campaignSeed the seed of the fuzzing campaign
+     * @param iteration    the number of the iteration
+     */
+    public void beginIteration(long campaignSeed, long iteration) {
+        generators.set(new SplittableRandom(iterationSeed(campaignSeed, iteration)));
+    }
+
+    @Override
+    protected int next(int bits) {
+        return generators.get().nextInt() >>> (Integer.SIZE - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return generators.get().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return generators.get().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return generators.get().nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return generators.get().nextDouble();
+    }
+
     /**
      * Generates an amount of random bytes within a range from 0 to the given length x 10000.
      *
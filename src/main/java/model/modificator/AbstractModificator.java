@@ -8,5 +8,30 @@
 
 package model.modificator;
 
-public class AbstractModificator {
+import java.util.Random;
+
+/**
+ * This class is the abstract modificator, that is a mutation operator that changes fuzzed data in place. A modificator
+ * draws all its random decisions from the given generator, so that a mutation can be repeated with the same seed.
+ */
+public abstract class AbstractModificator {
+
+    /**
+     * Mutates the given data in place.
+     *
+     * @param data   the data to mutate
+     * @param random the random generator
+     * @return true, if the data was mutated, false if the modificator is not applicable to the data, for example
+     * because it is too short
+     */
+    public abstract boolean modify(FuzzedData data, Random random);
+
+    /**
+     * Returns the name of the modificator.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
 }
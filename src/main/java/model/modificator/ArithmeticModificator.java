@@ -0,0 +1,49 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.Random;
+
+/**
+ * This class is the arithmetic modificator, responsible for adding a small positive or negative value to an integer of
+ * a given width at a random position. Integers wider than one byte are interpreted in a random byte order.
+ */
+class ArithmeticModificator extends AbstractModificator {
+
+    private static final int MAX_DELTA = 35;
+    private final int width;
+
+    /**
+     * Constructs a new arithmetic modificator.
+     *
+     * @param width the width of the integer in bytes, at most 8
+     */
+    public ArithmeticModificator(int width) {
+        super();
+        this.width = width;
+    }
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        if (data.getLength() < width) {
+            return false;
+        }
+        int position = random.nextInt(data.getLength() - width + 1);
+        boolean bigEndian = random.nextBoolean();
+        int delta = random.nextInt(MAX_DELTA) + 1;
+        long value = data.getInteger(position, width, bigEndian);
+        data.setInteger(position, width, bigEndian, random.nextBoolean() ? (value + delta) : (value - delta));
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName() + (width * Byte.SIZE);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.Random;
+
+/**
+ * This class is the bit flip modificator, responsible for inverting a number of consecutive bits at a random position.
+ */
+class BitFlipModificator extends AbstractModificator {
+
+    private final int width;
+
+    /**
+     * Constructs a new bit flip modificator.
+     *
+     * @param width the number of consecutive bits to invert, at most 8
+     */
+    public BitFlipModificator(int width) {
+        super();
+        this.width = width;
+    }
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        int numOfBits = data.getLength() * Byte.SIZE;
+        if (numOfBits < width) {
+            return false;
+        }
+        int start = random.nextInt(numOfBits - width + 1);
+        for (int bit = start; bit < (start + width); bit++) {
+            int position = bit / Byte.SIZE;
+            //noinspection NumericCastThatLosesPrecision
+            data.set(position, (byte) (data.get(position) ^ (0x80 >>> (bit % Byte.SIZE))));
+        }
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName() + width;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.Random;
+
+/**
+ * This class is the block deletion modificator, responsible for removing a random block of the data. At least one byte
+ * is always kept.
+ */
+class BlockDeletionModificator extends AbstractModificator {
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        if (data.getLength() < 2) {
+            return false;
+        }
+        int count = random.nextInt(data.getLength() - 1) + 1;
+        data.delete(random.nextInt(data.getLength() - count + 1), count);
+        return true;
+    }
+}
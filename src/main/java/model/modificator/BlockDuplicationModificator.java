@@ -0,0 +1,29 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.Random;
+
+/**
+ * This class is the block duplication modificator, responsible for inserting a copy of a random block of the data at a
+ * random position.
+ */
+class BlockDuplicationModificator extends AbstractModificator {
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        if ((data.getLength() == 0) || (data.getLength() >= data.getMaxLength())) {
+            return false;
+        }
+        int count = random.nextInt(data.getLength()) + 1;
+        int from = random.nextInt(data.getLength() - count + 1);
+        int position = random.nextInt(data.getLength() + 1);
+        return data.duplicate(position, from, count) > 0;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.Random;
+
+/**
+ * This class is the byte flip modificator, responsible for inverting a number of consecutive bytes at a random
+ * position.
+ */
+class ByteFlipModificator extends AbstractModificator {
+
+    private final int width;
+
+    /**
+     * Constructs a new byte flip modificator.
+     *
+     * @param width the number of consecutive bytes to invert
+     */
+    public ByteFlipModificator(int width) {
+        super();
+        this.width = width;
+    }
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        if (data.getLength() < width) {
+            return false;
+        }
+        int start = random.nextInt(data.getLength() - width + 1);
+        for (int i = start; i < (start + width); i++) {
+            //noinspection NumericCastThatLosesPrecision
+            data.set(i, (byte) ~data.get(i));
+        }
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName() + width;
+    }
+}
@@ -8,5 +8,230 @@
 
 package model.modificator;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This class represents the data of a variable protocol block while it is being mutated. The bytes are kept in a
+ * primitive array that is reused for every mutation and only grows when a mutation makes the data longer than ever
+ * before, but never beyond the maximum length. Besides the data itself a donor can be given, that is another input
+ * whose bytes can be spliced into the data.
+ */
 public class FuzzedData {
+
+    private final int maxLength;
+    private byte[] bytes;
+    private int length;
+    private ByteBuffer donor;
+
+    /**
+     * Constructs new empty fuzzed data.
+     *
+     * @param maxLength the maximum length the data can grow to
+     */
+    public FuzzedData(int maxLength) {
+        this.maxLength = maxLength;
+        bytes = new byte[Math.min(maxLength, 64)];
+        //noinspection ZeroLengthArrayAllocation
+        donor = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Replaces the data with the given bytes, which are cut off at the maximum length.
+     *
+     * @param source the new data, from its position to its limit
+     */
+    public void reset(ByteBuffer source) {
+        length = Math.min(source.remaining(), maxLength);
+        ensureCapacity(length);
+        source.duplicate().get(bytes, 0, length);
+    }
+
+    /**
+     * Replaces the data with the given bytes, which are cut off at the maximum length.
+     *
+     * @param source the new data
+     */
+    public void reset(byte... source) {
+        reset(ByteBuffer.wrap(source));
+    }
+
+    /**
+     * Grows the array so that it can hold at least the given number of bytes.
+     *
+     * @param capacity the minimum capacity
+     */
+    private void ensureCapacity(int capacity) {
+        if (bytes.length < capacity) {
+            //noinspection NumericCastThatLosesPrecision
+            bytes = Arrays.copyOf(bytes, (int) Math.min(maxLength, Math.max(capacity, bytes.length * 2L)));
+        }
+    }
+
+    /**
+     * Returns the length of the data.
+     *
+     * @return the length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the maximum length the data can grow to.
+     *
+     * @return the maximum length in bytes
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the byte at the given position.
+     *
+     * @param position the position
+     * @return the byte
+     */
+    public byte get(int position) {
+        return bytes[position];
+    }
+
+    /**
+     * Sets the byte at the given position.
+     *
+     * @param position the position
+     * @param value    the byte
+     */
+    public void set(int position, byte value) {
+        bytes[position] = value;
+    }
+
+    /**
+     * Reads an unsigned integer of the given width at the given position.
+     *
+     * @param position  the position of the first byte
+     * @param width     the width in bytes, at most 8
+     * @param bigEndian true, if the most significant byte comes first
+     * @return the integer value
+     */
+    public long getInteger(int position, int width, boolean bigEndian) {
+        long result = 0;
+        for (int i = 0; i < width; i++) {
+            int index = bigEndian ? (position + i) : (position + width - 1 - i);
+            result = (result << Byte.SIZE) | (bytes[index] & 0xff);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the lowest bytes of an integer with the given width at the given position.
+     *
+     * @param position  the position of the first byte
+     * @param width     the width in bytes, at most 8
+     * @param bigEndian true, if the most significant byte comes first
+     * @param value     the integer value
+     */
+    public void setInteger(int position, int width, boolean bigEndian, long value) {
+        long remaining = value;
+        for (int i = 0; i < width; i++) {
+            int index = bigEndian ? (position + width - 1 - i) : (position + i);
+            //noinspection NumericCastThatLosesPrecision
+            bytes[index] = (byte) remaining;
+            remaining >>>= Byte.SIZE;
+        }
+    }
+
+    /**
+     * Inserts bytes at the given position. Bytes that would exceed the maximum length are not inserted.
+     *
+     * @param position the position the first inserted byte will have
+     * @param source   the bytes to insert, from its position to its limit
+     * @return the number of inserted bytes
+     */
+    public int insert(int position, ByteBuffer source) {
+        int count = Math.min(source.remaining(), maxLength - length);
+        ensureCapacity(length + count);
+        System.arraycopy(bytes, position, bytes, position + count, length - position);
+        source.duplicate().get(bytes, position, count);
+        length += count;
+        return count;
+    }
+
+    /**
+     * Inserts a copy of a range of the data at the given position. Bytes that would exceed the maximum length are not
+     * inserted.
+     *
+     * @param position the position the first inserted byte will have
+     * @param from     the position of the first byte to copy
+     * @param count    the number of bytes to copy
+     * @return the number of inserted bytes
+     */
+    public int duplicate(int position, int from, int count) {
+        int copied = Math.min(count, maxLength - length);
+        ensureCapacity(length + copied);
+        System.arraycopy(bytes, position, bytes, position + copied, length - position);
+        // The part of the range in front of the insertion point stays in place, the rest has moved behind the gap
+        int front = Math.max(0, Math.min(copied, position - from));
+        System.arraycopy(bytes, from, bytes, position, front);
+        System.arraycopy(bytes, Math.max(from, position) + copied, bytes, position + front, copied - front);
+        length += copied;
+        return copied;
+    }
+
+    /**
+     * Removes bytes starting at the given position.
+     *
+     * @param position the position of the first removed byte
+     * @param count    the number of bytes to remove
+     */
+    public void delete(int position, int count) {
+        System.arraycopy(bytes, position + count, bytes, position, length - position - count);
+        length -= count;
+    }
+
+    /**
+     * Cuts off the data at the given length.
+     *
+     * @param length the new length, at most the current length
+     */
+    public void truncate(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Returns the donor, that is another input whose bytes can be spliced into the data.
+     *
+     * @return a read-only view of the donor
+     */
+    public ByteBuffer getDonor() {
+        return donor.asReadOnlyBuffer();
+    }
+
+    /**
+     * Sets the donor, that is another input whose bytes can be spliced into the data.
+     *
+     * @param donor the donor, from its position to its limit
+     */
+    public void setDonor(ByteBuffer donor) {
+        this.donor = donor.slice();
+    }
+
+    /**
+     * Returns a read-only view of the data. The view shares the array of this data and is therefore only valid until
+     * the data is changed.
+     *
+     * @return the read-only view
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return ByteBuffer.wrap(bytes, 0, length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a copy of the data.
+     *
+     * @return the data
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.Random;
+
+/**
+ * This class is the interesting value modificator, responsible for overwriting an integer of a given width at a random
+ * position with a value that often triggers edge cases, like the boundaries of signed and unsigned integers or common
+ * buffer sizes.
+ */
+class InterestingValueModificator extends AbstractModificator {
+
+    private static final long[] INTERESTING_8 = {-128, -1, 0, 1, 16, 32, 64, 100, 127};
+    private static final long[] INTERESTING_16 = {-32768, -129, 128, 255, 256, 512, 1000, 1024, 4096, 32767, 65535};
+    private static final long[] INTERESTING_32 =
+            {Integer.MIN_VALUE, -100663046, -32769, 32768, 65536, 100663045, Integer.MAX_VALUE, 0xffffffffL};
+    private static final long[] INTERESTING_64 = {Long.MIN_VALUE, -1L, 0x100000000L, Long.MAX_VALUE};
+    private final int width;
+    private final long[] values;
+
+    /**
+     * Constructs a new interesting value modificator. Values of all smaller widths are interesting as well.
+     *
+     * @param width the width of the integer in bytes, either 1, 2, 4 or 8
+     */
+    public InterestingValueModificator(int width) {
+        super();
+        this.width = width;
+        long[][] groups = {INTERESTING_8, INTERESTING_16, INTERESTING_32, INTERESTING_64};
+        int numOfGroups = Integer.numberOfTrailingZeros(width) + 1;
+        int numOfValues = 0;
+        for (int i = 0; i < numOfGroups; i++) {
+            numOfValues += groups[i].length;
+        }
+        values = new long[numOfValues];
+        int index = 0;
+        for (int i = 0; i < numOfGroups; i++) {
+            System.arraycopy(groups[i], 0, values, index, groups[i].length);
+            index += groups[i].length;
+        }
+    }
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        if (data.getLength() < width) {
+            return false;
+        }
+        int position = random.nextInt(data.getLength() - width + 1);
+        data.setInteger(position, width, random.nextBoolean(), values[random.nextInt(values.length)]);
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return super.getName() + (width * Byte.SIZE);
+    }
+}
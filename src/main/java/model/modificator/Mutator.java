@@ -0,0 +1,70 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class is the mutator, responsible for scheduling the modificators. Every mutation applies a stack of randomly
+ * chosen modificators to the same data, the height of the stack is a random power of two, so that most mutations stay
+ * close to their input while some change it heavily.
+ */
+public class Mutator {
+
+    private static final int MAX_STACK_POWER = 5;
+    private final List<AbstractModificator> modificators;
+
+    /**
+     * Constructs a new mutator with all available modificators.
+     */
+    public Mutator() {
+        modificators = new ArrayList<>();
+        for (int width = 1; width <= 4; width *= 2) {
+            modificators.add(new BitFlipModificator(width));
+            modificators.add(new ByteFlipModificator(width));
+        }
+        for (int width = 1; width <= 8; width *= 2) {
+            modificators.add(new ArithmeticModificator(width));
+            modificators.add(new InterestingValueModificator(width));
+        }
+        modificators.add(new BlockDuplicationModificator());
+        modificators.add(new BlockDeletionModificator());
+        modificators.add(new SpliceModificator());
+    }
+
+    /**
+     * Mutates the given data in place by applying a stack of randomly chosen modificators.
+     *
+     * @param data   the data to mutate
+     * @param random the random generator all random decisions are drawn from
+     * @return the number of modificators that changed the data
+     */
+    public int mutate(FuzzedData data, Random random) {
+        int result = 0;
+        int stackHeight = 1 << random.nextInt(MAX_STACK_POWER);
+        for (int i = 0; i < stackHeight; i++) {
+            if (modificators.get(random.nextInt(modificators.size())).modify(data, random)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the modificators of this mutator.
+     *
+     * @return the unmodifiable list of modificators
+     */
+    public List<AbstractModificator> getModificators() {
+        return Collections.unmodifiableList(modificators);
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * This class is the splice modificator, responsible for combining the data with its donor. The data is cut at a random
+ * position and continued with the donor from another random position.
+ */
+class SpliceModificator extends AbstractModificator {
+
+    @Override
+    public boolean modify(FuzzedData data, Random random) {
+        ByteBuffer donor = data.getDonor();
+        if (!donor.hasRemaining()) {
+            return false;
+        }
+        data.truncate(random.nextInt(data.getLength() + 1));
+        donor.position(random.nextInt(donor.remaining()));
+        data.insert(data.getLength(), donor);
+        return true;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class is the block scheduler, responsible for choosing the variable block that is fuzzed in the next message of
+ * an endless campaign with separate injection. Every block is an arm of a multi-armed bandit whose reward is the yield
+ * of the messages that focused it: crashes, timeouts, responses with a new fingerprint and responses that took much
+ * longer than usual. Blocks are chosen by their upper confidence bound, so that blocks with a high yield get most of
+ * the messages while all other blocks are still tried now and then.
+ * <p>
+ * Older yields are discounted, so that the scheduler turns to other blocks once a block stops finding new behaviour.
+ */
+class BlockScheduler {
+
+    public static final double CRASH_YIELD = 1;
+    public static final double NEW_RESPONSE_YIELD = 1;
+    public static final double TIMEOUT_YIELD = 0.5;
+    public static final double LATENCY_OUTLIER_YIELD = 0.5;
+    // A yield counts only half after about 140 messages
+    private static final double DISCOUNT = 0.995;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final double LATENCY_OUTLIER_DEVIATIONS = 3;
+    private final double[] discountedPulls;
+    private final double[] discountedYields;
+    private final long[] pulls;
+    private final Set<Long> fingerprints;
+    private long latencySamples;
+    private double latencyMean;
+    private double latencySquares;
+
+    /**
+     * Constructs a new block scheduler.
+     *
+     * @param numOfBlocks the number of variable blocks
+     */
+    public BlockScheduler(int numOfBlocks) {
+        discountedPulls = new double[numOfBlocks];
+        discountedYields = new double[numOfBlocks];
+        pulls = new long[numOfBlocks];
+        fingerprints = new HashSet<>();
+    }
+
+    /**
+     * Chooses the block to fuzz next. Blocks that have not been chosen yet come first, after that the block with the
+     * highest upper confidence bound of its discounted yield is chosen. Ties are broken randomly.
+     *
+     * @param random the random generator
+     * @return the index of the variable block
+     */
+    public int select(Random random) {
+        for (int i = 0; i < pulls.length; i++) {
+            if (pulls[i] == 0) {
+                return i;
+            }
+        }
+        double total = 0;
+        for (double each : discountedPulls) {
+            total += each;
+        }
+        double logTotal = Math.log(Math.max(Math.E, total));
+        int result = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        int ties = 0;
+        for (int i = 0; i < pulls.length; i++) {
+            double score = getMeanYield(i) + Math.sqrt((2 * logTotal) / discountedPulls[i]);
+            if (score > best) {
+                best = score;
+                result = i;
+                ties = 1;
+            } else if (score == best) {
+                // Reservoir sampling chooses every tied block with the same probability
+                ties++;
+                if (random.nextInt(ties) == 0) {
+                    result = i;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rates a response of the target to a message.
+     *
+     * @param response the response
+     * @param duration the time between sending the message and receiving the response
+     * @return the yield of the response, 0 if the response is neither new nor unusually late
+     */
+    public double rate(byte[] response, Duration duration) {
+        double result = 0;
+        if (fingerprints.add(ResponseFingerprint.of(response, duration))) {
+            result = NEW_RESPONSE_YIELD;
+        }
+        double millis = duration.toNanos() / 1.0e6;
+        if (latencySamples >= MIN_LATENCY_SAMPLES) {
+            double deviation = Math.sqrt(latencySquares / (latencySamples - 1));
+            if (millis > (latencyMean + (LATENCY_OUTLIER_DEVIATIONS * deviation))) {
+                result = Math.max(result, LATENCY_OUTLIER_YIELD);
+            }
+        }
+        // Welford's algorithm keeps the mean and the sum of squared deviations of all response times
+        latencySamples++;
+        double delta = millis - latencyMean;
+        latencyMean += delta / latencySamples;
+        latencySquares += delta * (millis - latencyMean);
+        return result;
+    }
+
+    /**
+     * Rewards a block with the yield of a message that focused it. All earlier yields of all blocks are discounted.
+     *
+     * @param block the index of the variable block
+     * @param yield the yield between 0 and 1
+     */
+    public void reward(int block, double yield) {
+        for (int i = 0; i < pulls.length; i++) {
+            discountedPulls[i] *= DISCOUNT;
+            discountedYields[i] *= DISCOUNT;
+        }
+        discountedPulls[block]++;
+        discountedYields[block] += yield;
+        pulls[block]++;
+    }
+
+    /**
+     * Returns the recent mean yield of a block.
+     *
+     * @param block the index of the variable block
+     * @return the discounted mean yield, 0 if the block has not been chosen yet
+     */
+    public double getMeanYield(int block) {
+        return (discountedPulls[block] == 0) ? 0 : (discountedYields[block] / discountedPulls[block]);
+    }
+
+    /**
+     * Returns how often a block has been chosen and rewarded.
+     *
+     * @param block the index of the variable block
+     * @return the number of messages that focused the block
+     */
+    public long getPulls(int block) {
+        return pulls[block];
+    }
+
+    /**
+     * Returns the block with the highest recent mean yield.
+     *
+     * @return the index of the variable block, the lowest index if several blocks have the same yield
+     */
+    public int getLeader() {
+        int result = 0;
+        for (int i = 1; i < pulls.length; i++) {
+            if (getMeanYield(i) > getMeanYield(result)) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a summary of the share of messages and the recent mean yield of every block.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        long total = 0;
+        for (long each : pulls) {
+            total += each;
+        }
+        DecimalFormat shareFormat = new DecimalFormat("0.0");
+        DecimalFormat yieldFormat = new DecimalFormat("0.000");
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < pulls.length; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append('#').append(i).append(": ").append(shareFormat.format((total == 0) ? 0 : ((100.0 *
+                    pulls[i]) / total))).append(" % of messages, yield ").append(yieldFormat.format(getMeanYield(i)));
+        }
+        return result.toString();
+    }
+}
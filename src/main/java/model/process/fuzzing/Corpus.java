@@ -0,0 +1,197 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class is the corpus, responsible for keeping the inputs that made the target show a behaviour not seen before,
+ * that is a response with a new fingerprint. Each entry holds the payloads of all slots of such an input.
+ * <p>
+ * Entries are scheduled by a weight that grows with the number of new fingerprints the inputs derived from the entry
+ * have found and shrinks with the number of times the entry has been selected, so that productive and rarely selected
+ * entries get most of the iterations. If the corpus is full, the entry with the lowest weight is replaced.
+ */
+class Corpus {
+
+    public static final int MAX_ENTRIES = 1024;
+    public static final int MAX_PAYLOAD_LENGTH = 64 * 1024;
+    private static final int FIND_BONUS = 8;
+    private final Set<Long> fingerprints;
+    private final List<Entry> entries;
+
+    /**
+     * Constructs a new empty corpus.
+     */
+    public Corpus() {
+        fingerprints = new HashSet<>();
+        entries = new ArrayList<>();
+    }
+
+    /**
+     * Adds the given fingerprint to the known fingerprints.
+     *
+     * @param fingerprint the response fingerprint
+     * @return true, if the fingerprint has not been seen before
+     */
+    public boolean addFingerprint(long fingerprint) {
+        return fingerprints.add(fingerprint);
+    }
+
+    /**
+     * Adds an input to the corpus and credits the entry it was derived from.
+     *
+     * @param payloads the payloads of all slots of the input
+     * @param parent   the entry the input was derived from, null if the input was generated without the corpus
+     */
+    public void add(byte[][] payloads, Entry parent) {
+        if (parent != null) {
+            parent.finds++;
+        }
+        Entry entry = new Entry(payloads);
+        if (entries.size() < MAX_ENTRIES) {
+            entries.add(entry);
+            return;
+        }
+        int weakest = 0;
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i).getWeight() < entries.get(weakest).getWeight()) {
+                weakest = i;
+            }
+        }
+        entries.set(weakest, entry);
+    }
+
+    /**
+     * Selects an entry with a probability proportional to its weight and counts the selection.
+     *
+     * @param random the random generator
+     * @return the selected entry or null, if the corpus is empty
+     */
+    public Entry select(Random random) {
+        if (entries.isEmpty()) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        double total = 0;
+        for (Entry each : entries) {
+            total += each.getWeight();
+        }
+        double threshold = random.nextDouble() * total;
+        Entry result = entries.get(entries.size() - 1);
+        for (Entry each : entries) {
+            threshold -= each.getWeight();
+            if (threshold < 0) {
+                result = each;
+                break;
+            }
+        }
+        result.picks++;
+        return result;
+    }
+
+    /**
+     * Returns a random entry without counting it as selected. The entry is used as a donor for splicing.
+     *
+     * @param random the random generator
+     * @return the entry or null, if the corpus is empty
+     */
+    public Entry getRandomEntry(Random random) {
+        //noinspection ReturnOfNull
+        return entries.isEmpty() ? null : entries.get(random.nextInt(entries.size()));
+    }
+
+    /**
+     * Returns the entry at the given index.
+     *
+     * @param index the index of the entry
+     * @return the entry
+     */
+    public Entry getEntry(int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of distinct fingerprints seen so far.
+     *
+     * @return the number of fingerprints
+     */
+    public int getNumOfFingerprints() {
+        return fingerprints.size();
+    }
+
+    /**
+     * This class is a corpus entry, holding the payloads of an input and its scheduling statistics.
+     */
+    public static class Entry {
+
+        private final byte[][] payloads;
+        private int picks;
+        private int finds;
+
+        /**
+         * Constructs a new entry.
+         *
+         * @param payloads the payloads of all slots
+         */
+        private Entry(byte[][] payloads) {
+            this.payloads = payloads;
+        }
+
+        /**
+         * Returns the payload of the given slot.
+         *
+         * @param slot the index of the slot
+         * @return the payload
+         */
+        public byte[] getPayload(int slot) {
+            return payloads[slot];
+        }
+
+        /**
+         * Returns the number of times this entry has been selected.
+         *
+         * @return the number of selections
+         */
+        public int getPicks() {
+            return picks;
+        }
+
+        /**
+         * Returns the number of new fingerprints found by inputs derived from this entry.
+         *
+         * @return the number of finds
+         */
+        public int getFinds() {
+            return finds;
+        }
+
+        /**
+         * Returns the scheduling weight of this entry.
+         *
+         * @return the weight
+         */
+        private double getWeight() {
+            return (1.0 + (FIND_BONUS * finds)) / (1.0 + picks);
+        }
+    }
+}
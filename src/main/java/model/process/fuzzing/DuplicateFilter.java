@@ -0,0 +1,230 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * This class is a scalable Bloom filter over the 64-bit hashes of fuzzed messages, responsible for recognizing
+ * messages that have already been sent. The filter starts with a small stage and adds a stage of twice the capacity and
+ * half the false positive rate whenever the newest stage is full, so that the false positive rate of the whole filter
+ * stays below the given rate without knowing the number of messages in advance.
+ * <p>
+ * The memory of the filter is bounded. If a new stage does not fit into the bound, the oldest stages are dropped and
+ * the messages they hold are forgotten. A forgotten message is sent again when it is generated again, so running out
+ * of memory never makes the filter skip more messages than it should.
+ */
+class DuplicateFilter {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+    private final Deque<Stage> stages;
+    private final long maxBits;
+    private long bits;
+    private long nextCapacity;
+    private double nextFalsePositiveRate;
+
+    /**
+     * Constructs a new filter with the default capacity of the first stage, the default false positive rate and the
+     * default memory bound.
+     */
+    public DuplicateFilter() {
+        this(DEFAULT_CAPACITY, DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a new filter.
+     *
+     * @param capacity          the number of hashes the first stage holds
+     * @param falsePositiveRate the rate of hashes the filter wrongly reports as contained
+     * @param maxBytes          the maximum number of bytes all stages use together
+     */
+    public DuplicateFilter(int capacity, double falsePositiveRate, long maxBytes) {
+        if ((capacity < 1) || (falsePositiveRate <= 0) || (falsePositiveRate >= 1) || (maxBytes < Long.BYTES)) {
+            throw new IllegalArgumentException("Invalid parameters of duplicate filter");
+        }
+        stages = new ArrayDeque<>();
+        maxBits = maxBytes * Byte.SIZE;
+        nextCapacity = capacity;
+        // The rates of all stages form a geometric series whose sum is the given rate
+        nextFalsePositiveRate = falsePositiveRate / 2;
+    }
+
+    /**
+     * Adds a hash to the filter.
+     *
+     * @param hash the hash of a message
+     * @return true, if the hash has not been added before, false if it has probably been added before
+     */
+    public boolean add(long hash) {
+        if (contains(hash)) {
+            return false;
+        }
+        if (stages.isEmpty() || stages.peekLast().isFull()) {
+            addStage();
+        }
+        stages.peekLast().add(hash);
+        return true;
+    }
+
+    /**
+     * Checks whether a hash has probably been added to the filter.
+     *
+     * @param hash the hash of a message
+     * @return true, if the hash has probably been added before
+     */
+    public boolean contains(long hash) {
+        for (Stage each : stages) {
+            if (each.contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a new stage, dropping the oldest stages if the new stage does not fit into the memory bound. Once the bound
+     * is reached, new stages no longer grow and no longer tighten the false positive rate.
+     */
+    private void addStage() {
+        long stageBits = Stage.calcBits(nextCapacity, nextFalsePositiveRate);
+        if (stageBits > maxBits) {
+            //noinspection NumericCastThatLosesPrecision
+            nextCapacity = Math.max(1, (long) ((nextCapacity * (double) maxBits) / stageBits));
+            stageBits = Stage.calcBits(nextCapacity, nextFalsePositiveRate);
+        }
+        boolean bounded = (bits + stageBits) > maxBits;
+        while (!stages.isEmpty() && ((bits + stageBits) > maxBits)) {
+            bits -= stages.removeFirst().getBits();
+        }
+        stages.addLast(new Stage(nextCapacity, nextFalsePositiveRate));
+        bits += stageBits;
+        if (!bounded) {
+            nextCapacity *= 2;
+            nextFalsePositiveRate /= 2;
+        }
+    }
+
+    /**
+     * Returns the number of bytes all stages use together.
+     *
+     * @return the number of bytes
+     */
+    public long getBytes() {
+        return bits / Byte.SIZE;
+    }
+
+    /**
+     * Returns the number of stages.
+     *
+     * @return the number of stages
+     */
+    public int getNumOfStages() {
+        return stages.size();
+    }
+
+    /**
+     * This class is a single stage of the filter, that is a plain Bloom filter with a fixed capacity. The bit indices
+     * of a hash are derived from two halves of the hash by double hashing.
+     */
+    private static class Stage {
+
+        private final long[] words;
+        private final long numOfBits;
+        private final int numOfHashes;
+        private final long capacity;
+        private long size;
+
+        /**
+         * Constructs a new stage.
+         *
+         * @param capacity          the number of hashes the stage holds
+         * @param falsePositiveRate the false positive rate of the stage when it is full
+         */
+        Stage(long capacity, double falsePositiveRate) {
+            numOfBits = calcBits(capacity, falsePositiveRate);
+            //noinspection NumericCastThatLosesPrecision
+            words = new long[(int) (numOfBits / Long.SIZE)];
+            //noinspection NumericCastThatLosesPrecision
+            numOfHashes = Math.max(1, (int) Math.round((numOfBits / (double) capacity) * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        /**
+         * Calculates the number of bits a stage needs, rounded up to whole words.
+         *
+         * @param capacity          the number of hashes the stage holds
+         * @param falsePositiveRate the false positive rate of the stage when it is full
+         * @return the number of bits
+         */
+        static long calcBits(long capacity, double falsePositiveRate) {
+            //noinspection NumericCastThatLosesPrecision
+            long result = (long) Math.ceil((-capacity * Math.log(falsePositiveRate)) / LN2_SQUARED);
+            return ((result + Long.SIZE - 1) / Long.SIZE) * Long.SIZE;
+        }
+
+        /**
+         * Adds a hash to this stage.
+         *
+         * @param hash the hash
+         */
+        void add(long hash) {
+            long h1 = hash;
+            long h2 = Long.rotateLeft(hash, 32) | 1;
+            for (int i = 0; i < numOfHashes; i++) {
+                long index = Math.floorMod(h1, numOfBits);
+                //noinspection NumericCastThatLosesPrecision
+                words[(int) (index >>> 6)] |= 1L << index;
+                h1 += h2;
+            }
+            size++;
+        }
+
+        /**
+         * Checks whether a hash has probably been added to this stage.
+         *
+         * @param hash the hash
+         * @return true, if all bits of the hash are set
+         */
+        boolean contains(long hash) {
+            long h1 = hash;
+            long h2 = Long.rotateLeft(hash, 32) | 1;
+            for (int i = 0; i < numOfHashes; i++) {
+                long index = Math.floorMod(h1, numOfBits);
+                //noinspection NumericCastThatLosesPrecision
+                if ((words[(int) (index >>> 6)] & (1L << index)) == 0) {
+                    return false;
+                }
+                h1 += h2;
+            }
+            return true;
+        }
+
+        /**
+         * Checks whether this stage holds as many hashes as its capacity.
+         *
+         * @return true, if the stage is full
+         */
+        boolean isFull() {
+            return size >= capacity;
+        }
+
+        /**
+         * Returns the number of bits of this stage.
+         *
+         * @return the number of bits
+         */
+        long getBits() {
+            return numOfBits;
+        }
+    }
+}
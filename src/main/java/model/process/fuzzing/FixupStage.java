@@ -0,0 +1,243 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.protocol.Fixup;
+import model.protocol.Fixup.Type;
+import model.protocol.InjectedProtocolStructure;
+
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * This class is the fix-up stage, responsible for calculating the length and checksum fields of an assembled fuzzed
+ * message in place. The offsets of all blocks are derived from the lengths of the payloads, so lengths are calculated
+ * without reading the message. Checksums only read the range they cover, and the state of a checksum after the fixed
+ * blocks at the start of its range, which are the same in every message, is calculated once and reused.
+ */
+class FixupStage {
+
+    private static final int[] CRC_TABLE = new int[256];
+    private static final int ADLER_MOD = 65521;
+    // The largest number of bytes that can be summed before the Adler-32 sums may overflow
+    private static final int ADLER_CHUNK = 5552;
+
+    static {
+        for (int i = 0; i < CRC_TABLE.length; i++) {
+            int crc = i;
+            for (int j = 0; j < 8; j++) {
+                crc = ((crc & 1) == 0) ? (crc >>> 1) : ((crc >>> 1) ^ 0xedb88320);
+            }
+            CRC_TABLE[i] = crc;
+        }
+    }
+
+    private final Fixup[] fixups;
+    private final MessageTemplate template;
+    private final int[] prefixEnds;
+    private final long[] prefixStates;
+    private final boolean[] prefixKnown;
+    private final int[] blockOffsets;
+
+    /**
+     * Constructs a new fix-up stage.
+     *
+     * @param injectedProtocolStructure the injected protocol structure holding the fix-ups
+     * @param template                  the message template of the structure
+     */
+    public FixupStage(InjectedProtocolStructure injectedProtocolStructure, MessageTemplate template) {
+        List<Fixup> list = injectedProtocolStructure.getFixups();
+        fixups = list.toArray(new Fixup[list.size()]);
+        this.template = template;
+        blockOffsets = new int[template.getNumOfBlocks() + 1];
+        prefixStates = new long[fixups.length];
+        prefixKnown = new boolean[fixups.length];
+        // The constant prefix of a range ends at the first variable block or the first field of any fix-up
+        prefixEnds = new int[fixups.length];
+        for (int i = 0; i < fixups.length; i++) {
+            int end = fixups[i].getFirstBlock();
+            while ((end <= fixups[i].getLastBlock()) && (template.getBlockLength(end) > -1) && !isField(end)) {
+                end++;
+            }
+            prefixEnds[i] = end;
+        }
+    }
+
+    /**
+     * Checks whether the given block holds the field of any fix-up.
+     *
+     * @param block the index of the block
+     * @return true, if the block holds a field
+     */
+    private boolean isField(int block) {
+        for (Fixup each : fixups) {
+            if (each.getBlock() == block) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calculates all fields of an assembled message in the order of the fix-ups. A field whose block is shorter than
+     * the field in this message is left unchanged.
+     *
+     * @param message        the message, starting at index 0
+     * @param payloadLengths the lengths of the payloads of all slots
+     */
+    public void apply(byte[] message, int... payloadLengths) {
+        int slot = 0;
+        for (int i = 0; i < template.getNumOfBlocks(); i++) {
+            int length = template.getBlockLength(i);
+            if (length == -1) {
+                length = payloadLengths[slot];
+                slot++;
+            }
+            blockOffsets[i + 1] = blockOffsets[i] + length;
+        }
+        for (int i = 0; i < fixups.length; i++) {
+            Fixup fixup = fixups[i];
+            int field = blockOffsets[fixup.getBlock()];
+            if ((blockOffsets[fixup.getBlock() + 1] - field) < fixup.getWidth()) {
+                continue;
+            }
+            int from = blockOffsets[fixup.getFirstBlock()];
+            int to = blockOffsets[fixup.getLastBlock() + 1];
+            if (fixup.getType() == Type.LENGTH) {
+                write(message, field, fixup, to - from);
+                continue;
+            }
+            // A field inside the range is zero while its checksum is calculated
+            write(message, field, fixup, 0);
+            if (!prefixKnown[i]) {
+                prefixStates[i] = update(fixup.getType(), initial(fixup.getType()), message, from,
+                        blockOffsets[prefixEnds[i]]);
+                prefixKnown[i] = true;
+            }
+            long state = update(fixup.getType(), prefixStates[i], message, blockOffsets[prefixEnds[i]], to);
+            write(message, field, fixup, finish(fixup.getType(), state));
+        }
+    }
+
+    /**
+     * Writes a value into a field.
+     *
+     * @param message the message
+     * @param offset  the offset of the field
+     * @param fixup   the fix-up defining the width and byte order of the field
+     * @param value   the value, truncated to the width of the field
+     */
+    private static void write(byte[] message, int offset, Fixup fixup, long value) {
+        int width = fixup.getWidth();
+        for (int i = 0; i < width; i++) {
+            int shift = (fixup.getByteOrder() == ByteOrder.BIG_ENDIAN) ? ((width - 1 - i) * 8) : (i * 8);
+            //noinspection NumericCastThatLosesPrecision
+            message[offset + i] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Returns the initial state of a checksum.
+     *
+     * @param type the type of the checksum
+     * @return the state
+     */
+    private static long initial(Type type) {
+        switch (type) {
+            case CRC32:
+                return 0xffffffffL;
+            case ADLER32:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Updates the state of a checksum with the given bytes. The state of the internet checksum holds the sum shifted
+     * by one bit and whether an odd number of bytes has been summed in the lowest bit.
+     *
+     * @param type    the type of the checksum
+     * @param state   the state
+     * @param message the message
+     * @param from    the index of the first byte
+     * @param to      the index behind the last byte
+     * @return the updated state
+     */
+    private static long update(Type type, long state, byte[] message, int from, int to) {
+        switch (type) {
+            case CRC32:
+                //noinspection NumericCastThatLosesPrecision
+                int crc = (int) state;
+                for (int i = from; i < to; i++) {
+                    crc = CRC_TABLE[(crc ^ message[i]) & 0xff] ^ (crc >>> 8);
+                }
+                return crc & 0xffffffffL;
+            case ADLER32:
+                long a = state & 0xffff;
+                long b = state >>> 16;
+                for (int start = from; start < to; start += ADLER_CHUNK) {
+                    int end = Math.min(to, start + ADLER_CHUNK);
+                    for (int i = start; i < end; i++) {
+                        a += message[i] & 0xff;
+                        b += a;
+                    }
+                    a %= ADLER_MOD;
+                    b %= ADLER_MOD;
+                }
+                return (b << 16) | a;
+            case SUM8:
+                long sum = state;
+                for (int i = from; i < to; i++) {
+                    sum += message[i] & 0xff;
+                }
+                return sum & 0xff;
+            case XOR8:
+                long xor = state;
+                for (int i = from; i < to; i++) {
+                    xor ^= message[i] & 0xff;
+                }
+                return xor;
+            case INTERNET:
+                long words = state >>> 1;
+                boolean odd = (state & 1) == 1;
+                for (int i = from; i < to; i++) {
+                    words += odd ? (message[i] & 0xff) : ((message[i] & 0xff) << 8);
+                    odd = !odd;
+                }
+                // Fold the carries before the sum could overflow
+                words = (words & 0xffffffffL) + (words >>> 32);
+                return (words << 1) | (odd ? 1 : 0);
+            default:
+                return state;
+        }
+    }
+
+    /**
+     * Returns the value of a checksum from its state.
+     *
+     * @param type  the type of the checksum
+     * @param state the state
+     * @return the value
+     */
+    private static long finish(Type type, long state) {
+        switch (type) {
+            case CRC32:
+                return ~state & 0xffffffffL;
+            case INTERNET:
+                long sum = state >>> 1;
+                while ((sum >>> 16) != 0) {
+                    sum = (sum & 0xffff) + (sum >>> 16);
+                }
+                return ~sum & 0xffff;
+            default:
+                return state;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * This class represents a fuzzed message as a sequence of parts. A part is either a segment of existing bytes, like a
+ * fixed block or a library line, or a random payload that is generated while the message is written. Consecutive
+ * segments are written with one gathering write, random payloads are streamed in chunks, so the message never exists
+ * as a whole.
+ */
+class FuzzedMessage {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final ByteBuffer[] segments;
+    private final RandomPayload[] randomPayloads;
+    private final int length;
+
+    /**
+     * Constructs a new fuzzed message.
+     *
+     * @param segments       the segments of the message, from their positions to their limits, null for parts that
+     *                       are random payloads
+     * @param randomPayloads the random payloads of the message, null for parts that are segments
+     */
+    public FuzzedMessage(ByteBuffer[] segments, RandomPayload[] randomPayloads) {
+        this.segments = segments.clone();
+        this.randomPayloads = randomPayloads.clone();
+        int length = 0;
+        for (int i = 0; i < this.segments.length; i++) {
+            length += (this.segments[i] == null) ? this.randomPayloads[i].getLength() : this.segments[i].remaining();
+        }
+        this.length = length;
+    }
+
+    /**
+     * Constructs a new fuzzed message that consists of segments only.
+     *
+     * @param segments the segments of the message, from their positions to their limits
+     */
+    public FuzzedMessage(ByteBuffer... segments) {
+        this(segments, new RandomPayload[segments.length]);
+    }
+
+    /**
+     * Returns the length of the message.
+     *
+     * @return the length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Writes the message into a channel. Every call writes the whole message again.
+     *
+     * @param channel the channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(GatheringByteChannel channel) throws IOException {
+        ByteBuffer chunk = null;
+        int start = 0;
+        for (int i = 0; i <= segments.length; i++) {
+            if ((i < segments.length) && (segments[i] != null)) {
+                continue;
+            }
+            // Write all segments in front of this random payload at once
+            writeSegments(channel, start, i);
+            start = i + 1;
+            if (i < segments.length) {
+                if (chunk == null) {
+                    chunk = ByteBuffer.allocate(RandomPayload.CHUNK_SIZE);
+                }
+                randomPayloads[i].writeTo(channel, chunk);
+            }
+        }
+    }
+
+    /**
+     * Writes the given range of segments into a channel with gathering writes.
+     *
+     * @param channel the channel
+     * @param from    the index of the first segment
+     * @param to      the index behind the last segment
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeSegments(GatheringByteChannel channel, int from, int to) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[to - from];
+        long remaining = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = segments[from + i].duplicate();
+            remaining += buffers[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    /**
+     * Returns the first bytes of the message. Random payloads are generated only as far as needed.
+     *
+     * @param maxLength the maximum number of bytes
+     * @return the first bytes of the message, at most the given number
+     */
+    public byte[] getPrefix(int maxLength) {
+        ByteBuffer result = ByteBuffer.allocate(Math.min(maxLength, length));
+        for (int i = 0; (i < segments.length) && result.hasRemaining(); i++) {
+            if (segments[i] == null) {
+                randomPayloads[i].fill(result, Math.min(result.remaining(), randomPayloads[i].getLength()));
+            } else {
+                ByteBuffer segment = segments[i].duplicate();
+                segment.limit(segment.position() + Math.min(result.remaining(), segment.remaining()));
+                result.put(segment);
+            }
+        }
+        return result.array();
+    }
+
+    /**
+     * Returns a 64-bit hash of the message. The hash is calculated over the bytes of the message, so that messages
+     * with the same bytes have the same hash no matter how they are split into parts. Random payloads longer than 8
+     * bytes are the only exception: they are hashed by their seed and length without being generated, because two
+     * of them with different seeds are as unlikely to be equal as two different hashes.
+     *
+     * @return the hash
+     */
+    public long getHash() {
+        long hash = FNV_OFFSET_BASIS;
+        ByteBuffer chunk = null;
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] != null) {
+                ByteBuffer segment = segments[i];
+                for (int j = segment.position(); j < segment.limit(); j++) {
+                    hash = (hash ^ (segment.get(j) & 0xff)) * FNV_PRIME;
+                }
+            } else if (randomPayloads[i].getLength() > Long.BYTES) {
+                hash = (hash ^ randomPayloads[i].getSeed()) * FNV_PRIME;
+                hash = (hash ^ randomPayloads[i].getLength()) * FNV_PRIME;
+            } else {
+                if (chunk == null) {
+                    chunk = ByteBuffer.allocate(Long.BYTES);
+                }
+                chunk.clear();
+                randomPayloads[i].fill(chunk);
+                for (int j = 0; j < chunk.position(); j++) {
+                    hash = (hash ^ (chunk.get(j) & 0xff)) * FNV_PRIME;
+                }
+            }
+        }
+        // FNV-1a spreads the last bytes badly over the high bits, so the result is mixed once more
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Returns the whole message as a single byte array.
+     *
+     * @return the message
+     */
+    public byte[] getBytes() {
+        return getPrefix(length);
+    }
+}
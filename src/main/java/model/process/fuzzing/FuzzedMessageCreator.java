@@ -9,24 +9,53 @@
 package model.process.fuzzing;
 
 import model.RandomPool;
+import model.modificator.FuzzedData;
+import model.modificator.Mutator;
+import model.process.fuzzing.Corpus.Entry;
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolBlock;
 import model.protocol.InjectedProtocolBlock.DataInjection;
 import model.protocol.InjectedProtocolStructure;
+import model.protocol.PairwiseCoveringArray;
+import model.protocol.SizeDistribution;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
- * This class is the fuzzed message creator responsible for generating fuzzed messages.
+ * This class is the fuzzed message creator responsible for generating fuzzed messages. Every message is assembled from
+ * a message template in a buffer that is reused for all messages, and all its random data is derived from the campaign
+ * seed and the iteration number.
  */
 class FuzzedMessageCreator implements Callable<byte[]> {
 
+    private static final int CORPUS_SHARE = 4;
     private final InjectedProtocolStructure injectedProtocolStructure;
     private final InjectionMethod injectionMethod;
-    private int currentBlock;
-    private int currentLibraryLine;
+    private final MessageTemplate template;
+    private final ByteBuffer[] payloads;
+    private final int[] randomLengths;
+    private final long[] randomSeeds;
+    private final FuzzedData[] mutations;
+    private final Mutator mutator;
+    private final long campaignSeed;
+    private final int[] row;
+    private final int[] payloadLengths;
+    private final FixupStage fixupStage;
+    private ByteBuffer buffer;
+    private long iteration;
+    private int requiredStorage;
+    private boolean sharedRandom;
+    private long[] libraryOffsets;
+    private PairwiseCoveringArray coveringArray;
+    private Corpus corpus;
+    private Entry parent;
+    private BlockScheduler scheduler;
+    private int focusedBlock;
+    private boolean slotsFuzzed;
+    private boolean reproducible;
 
     /**
      * Constructs a new fuzzed message creator.
@@ -36,170 +65,668 @@ class FuzzedMessageCreator implements Callable<byte[]> {
      */
     public FuzzedMessageCreator(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod
             injectionMethod) {
+        this(injectedProtocolStructure, injectionMethod, RandomPool.getInstance().nextLong());
+    }
+
+    /**
+     * Constructs a new fuzzed message creator for a campaign with a known seed.
+     *
+     * @param injectedProtocolStructure the injected protocol blocks that define the protocol structure
+     * @param injectionMethod           the injection method the user-chosen injection method
+     * @param campaignSeed              the seed all random data of the campaign is derived from
+     */
+    public FuzzedMessageCreator(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod
+            injectionMethod, long campaignSeed) {
         super();
         this.injectedProtocolStructure = injectedProtocolStructure;
         this.injectionMethod = injectionMethod;
-        currentBlock = 0;
-        currentLibraryLine = 0;
+        this.campaignSeed = campaignSeed;
+        // Libraries changed since they were read are read again for the campaign
+        for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
+            injectedProtocolStructure.getVarBlock(i).validateLibrary();
+        }
+        template = new MessageTemplate(injectedProtocolStructure);
+        payloads = new ByteBuffer[template.getNumOfSlots()];
+        randomLengths = new int[template.getNumOfSlots()];
+        randomSeeds = new long[template.getNumOfSlots()];
+        mutations = new FuzzedData[template.getNumOfSlots()];
+        mutator = new Mutator();
+        row = new int[template.getNumOfSlots()];
+        payloadLengths = new int[template.getNumOfSlots()];
+        fixupStage = injectedProtocolStructure.getFixups().isEmpty() ? null :
+                new FixupStage(injectedProtocolStructure, template);
+        buffer = ByteBuffer.allocate(template.getFixLength());
+        focusedBlock = -1;
     }
 
     @Override
     public byte[] call() {
-        List<Byte> bytes = new ArrayList<>();
+        if (!generate()) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        assemble();
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Generates the next fuzzed message with random payloads that are only described by their seeds and lengths. The
+     * random bytes are generated while the message is written, so the message does not allocate any memory for them.
+     * A message with fix-ups is a view of the reused buffer and therefore only valid until the next message is
+     * generated.
+     *
+     * @return the fuzzed message or null, if all iterations are done
+     */
+    public FuzzedMessage nextMessage() {
+        if (!generate()) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        if (fixupStage != null) {
+            assemble();
+            return new FuzzedMessage(getAssembled());
+        }
+        ByteBuffer[] segments = new ByteBuffer[(payloads.length * 2) + 1];
+        RandomPayload[] randomPayloads = new RandomPayload[segments.length];
+        for (int i = 0; i < payloads.length; i++) {
+            segments[i * 2] = template.getSegment(i);
+            if (payloads[i] == null) {
+                randomPayloads[(i * 2) + 1] = new RandomPayload(randomSeeds[i], randomLengths[i]);
+            } else {
+                segments[(i * 2) + 1] = payloads[i].duplicate();
+            }
+        }
+        segments[payloads.length * 2] = template.getSegment(payloads.length);
+        return new FuzzedMessage(segments, randomPayloads);
+    }
+
+    /**
+     * Generates the next fuzzed message like {@link #nextMessage()}, but copies all payloads that are not random into
+     * the given storage, so that the message stays valid while further messages are generated. The storage is cleared
+     * first and can be reused as soon as the message is no longer needed. If the storage is too small, the payloads are
+     * copied into a new buffer instead, and {@link #getRequiredStorage()} returns the capacity that would have been
+     * needed.
+     *
+     * @param storage the storage for the payloads
+     * @return the fuzzed message or null, if all iterations are done
+     */
+    public FuzzedMessage nextMessage(ByteBuffer storage) {
+        if (!generate()) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        if (fixupStage != null) {
+            assemble();
+            requiredStorage = buffer.position();
+            ByteBuffer target = (storage.capacity() < requiredStorage) ? ByteBuffer.allocate(requiredStorage) : storage;
+            target.clear();
+            target.put(buffer.array(), 0, requiredStorage);
+            target.flip();
+            return new FuzzedMessage(target.asReadOnlyBuffer());
+        }
+        // Slots that share their payload, like with simultaneous injection, share the copy as well
+        requiredStorage = 0;
+        for (int i = 0; i < payloads.length; i++) {
+            if ((payloads[i] != null) && ((i == 0) || (payloads[i] != payloads[i - 1]))) {
+                requiredStorage += payloads[i].remaining();
+            }
+        }
+        ByteBuffer target = (storage.capacity() < requiredStorage) ? ByteBuffer.allocate(requiredStorage) : storage;
+        target.clear();
+        ByteBuffer[] segments = new ByteBuffer[(payloads.length * 2) + 1];
+        RandomPayload[] randomPayloads = new RandomPayload[segments.length];
+        for (int i = 0; i < payloads.length; i++) {
+            segments[i * 2] = template.getSegment(i);
+            if (payloads[i] == null) {
+                randomPayloads[(i * 2) + 1] = new RandomPayload(randomSeeds[i], randomLengths[i]);
+            } else if ((i > 0) && (payloads[i] == payloads[i - 1])) {
+                segments[(i * 2) + 1] = segments[(i * 2) - 1].duplicate();
+            } else {
+                int offset = target.position();
+                target.put(payloads[i].duplicate());
+                ByteBuffer copy = target.asReadOnlyBuffer();
+                copy.limit(target.position());
+                copy.position(offset);
+                segments[(i * 2) + 1] = copy;
+            }
+        }
+        segments[payloads.length * 2] = template.getSegment(payloads.length);
+        return new FuzzedMessage(segments, randomPayloads);
+    }
+
+    /**
+     * Returns the number of bytes the payloads of the last message generated with a storage needed.
+     *
+     * @return the required capacity of the storage
+     */
+    public int getRequiredStorage() {
+        return requiredStorage;
+    }
+
+    /**
+     * Generates the payloads of the next fuzzed message depending on the injection method and the data injection of
+     * the variable blocks.
+     *
+     * @return true, if the payloads have been generated, false if all iterations are done
+     */
+    private boolean generate() {
+        iteration++;
+        RandomPool.getInstance().beginIteration(campaignSeed, iteration);
+        reproducible = true;
         if (finiteIterations()) {
             switch (injectionMethod) {
                 case SEPARATE:
-                    bytes = sepFinMessage();
-                    break;
+                    return sepFinMessage(iteration - 1);
                 case SIMULTANEOUS:
-                    bytes = simFinMessage();
-                    break;
+                    return simFinMessage(iteration - 1);
+                case PAIRWISE:
+                    return pairwiseFinMessage(iteration - 1);
             }
         } else {
+            parent = null;
+            focusedBlock = -1;
+            // Most messages are derived from the corpus, the rest keeps exploring with fresh data. The decision is
+            // drawn for every message with feedback, so that the fresh messages can be generated again without corpus
+            if ((corpus != null) && (RandomPool.getInstance().nextInt(CORPUS_SHARE) != 0) && (corpus.getSize() > 0)) {
+                reproducible = false;
+                return corpusMessage();
+            }
             switch (injectionMethod) {
                 case SEPARATE:
-                    bytes = sepInfMessage();
-                    break;
+                case PAIRWISE:
+                    return (scheduler == null) ? sepInfMessage() : focusedMessage();
                 case SIMULTANEOUS:
-                    bytes = simInfMessage();
-                    break;
+                    return simInfMessage();
             }
         }
-        if (bytes == null) {
-            //noinspection ReturnOfNull
-            return null;
-        }
-        byte[] result = new byte[bytes.size()];
-        for (int i = 0; i < bytes.size(); i++) {
-            result[i] = bytes.get(i);
-        }
-        return result;
+        return false;
     }
 
     /**
      * Generates a fuzzed message. All variable protocol blocks will get separate random data.
      *
-     * @return the generated fuzzed message
+     * @return true, if the payloads have been generated
      */
-    private List<Byte> sepInfMessage() {
-        List<Byte> result = new ArrayList<>();
+    private boolean sepInfMessage() {
         // Generates the fuzzed string separate for every single protocol block
-        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
-            switch (injectedProtocolStructure.getBlock(i).getType()) {
-                case FIX:
-                    result.addAll(Arrays.asList(injectedProtocolStructure.getBlock(i).getBytes()));
-                    break;
-                case VAR:
-                    //noinspection NestedSwitchStatement
-                    switch (injectedProtocolStructure.getBlock(i).getDataInjection()) {
-                        case LIBRARY:
-                            for (byte each : injectedProtocolStructure.getBlock(i).getRandomLibraryLine()) {
-                                result.add(each);
-                            }
-                            break;
-                        case RANDOM:
-                            result.addAll(RandomPool.getInstance().nextBloatBytes(injectedProtocolStructure.getBlock
-                                    (i).getMaxLength()));
-                            break;
-                    }
-                    break;
+        for (int i = 0; i < template.getNumOfSlots(); i++) {
+            fuzzSlot(i);
+        }
+        sharedRandom = false;
+        return true;
+    }
+
+    /**
+     * Generates a fuzzed message that only changes the variable protocol block chosen by the block scheduler. All other
+     * blocks keep the data of the previous message, so that the yield of the message can be attributed to the chosen
+     * block. The first message fuzzes all blocks. Because the kept data and the chosen block depend on the responses
+     * of the target, only the first message can be generated again from its iteration number.
+     *
+     * @return true, if the payloads have been generated
+     */
+    private boolean focusedMessage() {
+        reproducible = !slotsFuzzed;
+        focusedBlock = scheduler.select(RandomPool.getInstance());
+        for (int i = 0; i < template.getNumOfSlots(); i++) {
+            if (!slotsFuzzed || (i == focusedBlock)) {
+                fuzzSlot(i);
             }
         }
-        return result;
+        slotsFuzzed = true;
+        sharedRandom = false;
+        return true;
+    }
+
+    /**
+     * Generates new data for the given slot depending on the data injection of its variable block.
+     *
+     * @param slot the index of the slot
+     */
+    private void fuzzSlot(int slot) {
+        InjectedProtocolBlock block = injectedProtocolStructure.getBlock(template.getBlockIndex(slot));
+        switch (block.getDataInjection()) {
+            case LIBRARY:
+            case DICTIONARY:
+                payloads[slot] = nonNull(block.getRandomLibraryLineBuffer());
+                break;
+            case MUTATION:
+                payloads[slot] = mutate(slot);
+                break;
+            case RANDOM:
+                payloads[slot] = null;
+                randomLengths[slot] = block.getSizeDistribution().nextLength(RandomPool.getInstance());
+                randomSeeds[slot] = RandomPool.getInstance().nextLong();
+                break;
+        }
     }
 
     /**
      * Generates a fuzzed message. All variable protocol blocks will get the same random data.
      *
-     * @return the generated message
-     */
-    private List<Byte> simInfMessage() {
-        // Generate the random bytes
-        int maxLength = 0;
-        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
-            maxLength = Math.max(maxLength, injectedProtocolStructure.getBlock(i).getMaxLength());
-        }
-        List<Byte> rndBytes = RandomPool.getInstance().nextBloatBytes(maxLength);
-        // Apply the bytes for each VAR block
-        List<Byte> result = new ArrayList<>();
-        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
-            switch (injectedProtocolStructure.getBlock(i).getType()) {
-                case FIX:
-                    result.addAll(Arrays.asList(injectedProtocolStructure.getBlock(i).getBytes()));
-                    break;
-                case VAR:
-                    result.addAll(rndBytes);
-                    break;
+     * @return true, if the payloads have been generated
+     */
+    private boolean simInfMessage() {
+        if (injectedProtocolStructure.getVarBlock(0).getDataInjection() == DataInjection.MUTATION) {
+            // The data is mutated once and shared by all slots
+            Arrays.fill(payloads, mutate(0));
+            sharedRandom = false;
+            return true;
+        }
+        // Generate the length of the random bytes, the bytes themselves are generated once into the first slot. All
+        // blocks share the options of the first block
+        int length = injectedProtocolStructure.getVarBlock(0).getSizeDistribution().nextLength(RandomPool
+                .getInstance());
+        long seed = RandomPool.getInstance().nextLong();
+        for (int i = 0; i < template.getNumOfSlots(); i++) {
+            payloads[i] = null;
+            randomLengths[i] = length;
+            randomSeeds[i] = seed;
+        }
+        sharedRandom = true;
+        return true;
+    }
+
+    /**
+     * Generates a fuzzed message by mutating the payloads of a corpus entry, optionally spliced with the payloads of
+     * another entry. Variable blocks with library-based injection get a random line of their library.
+     *
+     * @return true, if the payloads have been generated
+     */
+    private boolean corpusMessage() {
+        parent = corpus.select(RandomPool.getInstance());
+        Entry donor = corpus.getRandomEntry(RandomPool.getInstance());
+        if (injectionMethod == InjectionMethod.SIMULTANEOUS) {
+            Arrays.fill(payloads, mutate(0, ByteBuffer.wrap(parent.getPayload(0)),
+                    ByteBuffer.wrap(donor.getPayload(0))));
+            sharedRandom = false;
+            return true;
+        }
+        for (int i = 0; i < template.getNumOfSlots(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(template.getBlockIndex(i));
+            if (usesLibraryLines(block.getDataInjection())) {
+                payloads[i] = nonNull(block.getRandomLibraryLineBuffer());
+            } else {
+                payloads[i] = mutate(i, ByteBuffer.wrap(parent.getPayload(i)), ByteBuffer.wrap(donor.getPayload(i)));
             }
         }
-        return result;
+        sharedRandom = false;
+        return true;
     }
 
     /**
-     * Generates a fuzzed message. All variable protocol blocks will get separate data of a library file.
+     * Generates a fuzzed message. All variable protocol blocks will get separate data of a library file. The iteration
+     * index is mapped to a focused block and one of its library lines, the blocks are focused one after the other.
+     * All other blocks get a random line of their library, drawn from the generator of the iteration.
      *
-     * @return the generated message or null, if all iterations are done
+     * @param index the index of the iteration, starting at 0
+     * @return true, if the payloads have been generated, false if the index is behind the last iteration
      */
-    private List<Byte> sepFinMessage() {
-        if (currentLibraryLine >= injectedProtocolStructure.getVarBlock(currentBlock).getNumOfLibraryLines()) {
-            currentLibraryLine = 0;
-            currentBlock++;
+    private boolean sepFinMessage(long index) {
+        long[] offsets = getLibraryOffsets();
+        if ((index < 0) || (index >= offsets[offsets.length - 1])) {
+            return false;
         }
-        if (currentBlock >= injectedProtocolStructure.getVarSize()) {
-            return null;
+        // The focused block is the last block whose first iteration is not behind the index
+        int focusedBlock = Arrays.binarySearch(offsets, index);
+        if (focusedBlock < 0) {
+            focusedBlock = -focusedBlock - 2;
+        }
+        // Skip blocks without library lines, they share their offset with the next block
+        while (offsets[focusedBlock + 1] == index) {
+            focusedBlock++;
+        }
+        //noinspection NumericCastThatLosesPrecision
+        int line = (int) (index - offsets[focusedBlock]);
+        for (int i = 0; i < template.getNumOfSlots(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(template.getBlockIndex(i));
+            payloads[i] = nonNull((i == focusedBlock) ? block.getLibraryLineBuffer(line) :
+                    block.getRandomLibraryLineBuffer());
         }
-        List<Byte> result = new ArrayList<>();
-        // For every protocol block other than the current read a random line of its library file
-        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
-            switch (injectedProtocolStructure.getBlock(i).getType()) {
-                case FIX:
-                    result.addAll(Arrays.asList(injectedProtocolStructure.getBlock(i).getBytes()));
-                    break;
-                case VAR:
-                    if (injectedProtocolStructure.getBlock(i).equals(injectedProtocolStructure.getVarBlock
-                            (currentBlock))) {
-                        for (byte each : injectedProtocolStructure.getBlock(i).getLibraryLine(currentLibraryLine)) {
-                            result.add(each);
-                        }
-                    } else {
-                        for (byte each : injectedProtocolStructure.getBlock(i).getRandomLibraryLine()) {
-                            result.add(each);
-                        }
-                    }
-                    break;
+        sharedRandom = false;
+        return true;
+    }
+
+    /**
+     * Generates a fuzzed message. All variable protocol blocks will get the same data of a library file, which is the
+     * line with the number of the iteration index.
+     *
+     * @param index the index of the iteration, starting at 0
+     * @return true, if the payloads have been generated, false if the index is behind the last iteration
+     */
+    private boolean simFinMessage(long index) {
+        long[] offsets = getLibraryOffsets();
+        if ((index < 0) || (index >= offsets[offsets.length - 1])) {
+            return false;
+        }
+        //noinspection NumericCastThatLosesPrecision
+        ByteBuffer line = nonNull(injectedProtocolStructure.getVarBlock(0).getLibraryLineBuffer((int) index));
+        Arrays.fill(payloads, line);
+        sharedRandom = false;
+        return true;
+    }
+
+    /**
+     * Generates a fuzzed message. Every variable protocol block will get the library line the row of a pairwise
+     * covering array assigns to it, so that every pair of lines of every two blocks is sent at least once.
+     *
+     * @param index the index of the iteration, starting at 0
+     * @return true, if the payloads have been generated, false if the index is behind the last iteration
+     */
+    private boolean pairwiseFinMessage(long index) {
+        PairwiseCoveringArray array = getCoveringArray();
+        if ((index < 0) || (index >= array.getNumOfRows())) {
+            return false;
+        }
+        array.getRow(index, row);
+        for (int i = 0; i < template.getNumOfSlots(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(template.getBlockIndex(i));
+            payloads[i] = nonNull(block.getLibraryLineBuffer(row[i]));
+        }
+        sharedRandom = false;
+        return true;
+    }
+
+    /**
+     * Returns the pairwise covering array over the library lines of all variable blocks. The array is created once,
+     * its rows are calculated when they are needed.
+     *
+     * @return the covering array
+     */
+    private PairwiseCoveringArray getCoveringArray() {
+        if (coveringArray == null) {
+            int[] sizes = new int[template.getNumOfSlots()];
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = injectedProtocolStructure.getBlock(template.getBlockIndex(i)).getNumOfLibraryLines();
             }
+            coveringArray = new PairwiseCoveringArray(sizes);
         }
-        currentLibraryLine++;
-        return result;
+        return coveringArray;
     }
 
     /**
-     * Generates a fuzzed message. All variable protocol blocks will get the same data of a library file.
+     * Returns the index of the first iteration of every variable block in a campaign that sends all library lines,
+     * followed by the total number of iterations. With simultaneous injection only the library of the first block is
+     * sent. The offsets are calculated once, because the libraries do not change during a campaign.
      *
-     * @return the generated message or null, if all iterations are done
+     * @return the offsets, one more than the number of focused blocks
      */
-    private List<Byte> simFinMessage() {
-        if (currentLibraryLine >= injectedProtocolStructure.getVarBlock(0).getNumOfLibraryLines()) {
-            return null;
+    private long[] getLibraryOffsets() {
+        if (libraryOffsets == null) {
+            int focusedBlocks = (injectionMethod == InjectionMethod.SEPARATE) ? injectedProtocolStructure.getVarSize()
+                    : 1;
+            libraryOffsets = new long[focusedBlocks + 1];
+            for (int i = 0; i < focusedBlocks; i++) {
+                libraryOffsets[i + 1] =
+                        libraryOffsets[i] + injectedProtocolStructure.getVarBlock(i).getNumOfLibraryLines();
+            }
+        }
+        return libraryOffsets;
+    }
+
+    /**
+     * Returns the first iteration of a finite campaign with separate injection that focuses the given variable block.
+     * The iterations of a block end right before the first iteration of the next block.
+     *
+     * @param block the index of the variable block, the number of variable blocks for the iteration behind the last
+     *              iteration
+     * @return the number of the iteration, starting at 1
+     */
+    public long getFirstIteration(int block) {
+        return getLibraryOffsets()[block] + 1;
+    }
+
+    /**
+     * Returns the number of messages of this creator's campaign.
+     *
+     * @return the number of iterations, -1 for an endless campaign
+     */
+    public long getNumOfIterations() {
+        if (!finiteIterations()) {
+            return -1;
+        }
+        if (injectionMethod == InjectionMethod.PAIRWISE) {
+            return getCoveringArray().getNumOfRows();
+        }
+        long[] offsets = getLibraryOffsets();
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Mutates a random line of the library of the variable block that belongs to the given slot by a stack of mutation
+     * operators, optionally spliced with another random line of the library. The data of every slot is reused for all
+     * messages.
+     *
+     * @param slot the index of the slot
+     * @return a read-only view of the mutated data, valid until the next message is generated
+     */
+    private ByteBuffer mutate(int slot) {
+        InjectedProtocolBlock block = injectedProtocolStructure.getBlock(template.getBlockIndex(slot));
+        return mutate(slot, nonNull(block.getRandomLibraryLineBuffer()), nonNull(block.getRandomLibraryLineBuffer()));
+    }
+
+    /**
+     * Mutates the given data into the reused data of the given slot.
+     *
+     * @param slot  the index of the slot
+     * @param base  the data to mutate
+     * @param donor the data used for splicing
+     * @return a read-only view of the mutated data, valid until the next message is generated
+     */
+    private ByteBuffer mutate(int slot, ByteBuffer base, ByteBuffer donor) {
+        InjectedProtocolBlock block = injectedProtocolStructure.getBlock(template.getBlockIndex(slot));
+        if (mutations[slot] == null) {
+            mutations[slot] = new FuzzedData(Math.max(1, block.getMaxLength()) * SizeDistribution.BLOAT_FACTOR);
+        }
+        FuzzedData data = mutations[slot];
+        data.reset(base);
+        data.setDonor(donor);
+        mutator.mutate(data, RandomPool.getInstance());
+        return data.asReadOnlyBuffer();
+    }
+
+    /**
+     * Enables or disables feedback. Enabling feedback starts with an empty corpus. Messages that made the target
+     * respond with a new fingerprint are kept in the corpus, and most messages of an endless campaign are then
+     * mutations of corpus entries instead of fresh data.
+     *
+     * @param feedback true, if the responses of the target are used to guide the generation of messages
+     */
+    public void setFeedback(boolean feedback) {
+        corpus = feedback ? new Corpus() : null;
+    }
+
+    /**
+     * Reports the response of the target to the last generated message. If the response has a fingerprint not seen
+     * before, the payloads of the message are kept in the corpus. This method must be called before the next message
+     * is generated.
+     *
+     * @param response the response of the target
+     * @param duration the time between sending the message and receiving the response
+     * @return true, if the response has a new fingerprint
+     */
+    public boolean feedback(byte[] response, Duration duration) {
+        if ((corpus == null) || !corpus.addFingerprint(ResponseFingerprint.of(response, duration))) {
+            return false;
         }
-        List<Byte> result = new ArrayList<>();
-        byte[] line = injectedProtocolStructure.getVarBlock(0).getLibraryLine(currentLibraryLine);
-        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
-            switch (injectedProtocolStructure.getBlock(i).getType()) {
-                case FIX:
-                    result.addAll(Arrays.asList(injectedProtocolStructure.getBlock(i).getBytes()));
-                    break;
-                case VAR:
-                    for (byte each : line) {
-                        result.add(each);
-                    }
-                    break;
+        if (finiteIterations()) {
+            return true;
+        }
+        byte[][] input = new byte[payloads.length][];
+        for (int i = 0; i < payloads.length; i++) {
+            if (payloads[i] == null) {
+                // Random payloads are kept up to a bound, the corpus holds the start of them
+                ByteBuffer random = ByteBuffer.allocate(Math.min(randomLengths[i], Corpus.MAX_PAYLOAD_LENGTH));
+                new RandomPayload(randomSeeds[i], randomLengths[i]).fill(random, random.capacity());
+                input[i] = random.array();
+            } else {
+                ByteBuffer payload = payloads[i].duplicate();
+                input[i] = new byte[Math.min(payload.remaining(), Corpus.MAX_PAYLOAD_LENGTH)];
+                payload.get(input[i]);
             }
         }
-        currentLibraryLine++;
+        corpus.add(input, parent);
+        return true;
+    }
+
+    /**
+     * Enables or disables adaptive block scheduling. With adaptive scheduling, every message of an endless campaign
+     * with separate injection only fuzzes one variable block, chosen by a block scheduler that favours the blocks whose
+     * messages had the highest yield. Messages derived from the corpus are not scheduled.
+     *
+     * @param adaptive true, if the fuzzed block is chosen by its yield
+     */
+    public void setAdaptive(boolean adaptive) {
+        scheduler = (adaptive && (injectionMethod != InjectionMethod.SIMULTANEOUS) && !finiteIterations()) ? new
+                BlockScheduler(template.getNumOfSlots()) : null;
+        slotsFuzzed = false;
+    }
+
+    /**
+     * Returns the block scheduler.
+     *
+     * @return the block scheduler or null, if the fuzzed blocks are not scheduled
+     */
+    public BlockScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Returns the variable block the last generated message focused.
+     *
+     * @return the index of the variable block or -1, if the last message was not scheduled
+     */
+    public int getFocusedBlock() {
+        return focusedBlock;
+    }
+
+    /**
+     * Reports the yield of the last generated message to the block scheduler. This method must be called before the
+     * next message is generated.
+     *
+     * @param yield the yield between 0 and 1
+     */
+    public void reward(double yield) {
+        if ((scheduler != null) && (focusedBlock > -1)) {
+            scheduler.reward(focusedBlock, yield);
+        }
+    }
+
+    /**
+     * Returns whether the last generated message only depends on the campaign seed and its iteration number, so that
+     * it can be generated again without the responses of the target. Messages derived from the corpus or focused by
+     * the block scheduler cannot.
+     *
+     * @return true, if the last message can be generated again from its iteration number
+     */
+    public boolean isReproducible() {
+        return reproducible;
+    }
+
+    /**
+     * Returns the corpus of inputs that made the target respond with a new fingerprint.
+     *
+     * @return the corpus or null, if feedback is disabled
+     */
+    public Corpus getCorpus() {
+        return corpus;
+    }
+
+    /**
+     * Assembles a message out of the template and the current payloads of all slots into the buffer. Slots without a
+     * library payload are filled with random bytes, which are the same for all slots if they are shared. Finally the
+     * fields of all fix-ups are calculated.
+     */
+    private void assemble() {
+        int length = template.getFixLength();
+        for (int i = 0; i < payloads.length; i++) {
+            payloadLengths[i] = (payloads[i] == null) ? randomLengths[i] : payloads[i].remaining();
+            length += payloadLengths[i];
+        }
+        ensureCapacity(length);
+        buffer.clear();
+        int randomOffset = -1;
+        for (int i = 0; i < payloads.length; i++) {
+            template.putSegment(buffer, i);
+            if (payloads[i] != null) {
+                buffer.put(payloads[i].duplicate());
+            } else if (sharedRandom && (randomOffset > -1)) {
+                buffer.put(buffer.array(), randomOffset, randomLengths[i]);
+            } else {
+                randomOffset = buffer.position();
+                new RandomPayload(randomSeeds[i], randomLengths[i]).fill(buffer);
+            }
+        }
+        template.putSegment(buffer, payloads.length);
+        if (fixupStage != null) {
+            fixupStage.apply(buffer.array(), payloadLengths);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the message assembled in the buffer.
+     *
+     * @return the message, valid until the next message is generated
+     */
+    private ByteBuffer getAssembled() {
+        ByteBuffer result = buffer.asReadOnlyBuffer();
+        result.flip();
         return result;
     }
 
+    /**
+     * Returns the given library payload or an empty payload if the library line could not be read, so that a library
+     * slot is never mistaken for a random slot.
+     *
+     * @param payload the library payload, may be null
+     * @return the library payload, never null
+     */
+    private static ByteBuffer nonNull(ByteBuffer payload) {
+        return (payload == null) ? ByteBuffer.allocate(0) : payload;
+    }
+
+    /**
+     * Positions this creator so that the next generated message is the message of the given iteration. Every message
+     * only depends on the campaign seed and its iteration number, so seeking takes constant time and a campaign can be
+     * resumed at or split into ranges of iterations. Messages that depend on the responses of the target are the
+     * exception, see {@link #isReproducible()}.
+     *
+     * @param iteration the number of the iteration, starting at 1
+     */
+    public void seek(long iteration) {
+        this.iteration = iteration - 1;
+    }
+
+    /**
+     * Returns the number of the last generated message.
+     *
+     * @return the iteration number, starting at 1, or 0 if no message has been generated yet
+     */
+    public long getIteration() {
+        return iteration;
+    }
+
+    /**
+     * Returns the seed all random data of this creator's campaign is derived from.
+     *
+     * @return the campaign seed
+     */
+    public long getCampaignSeed() {
+        return campaignSeed;
+    }
+
+    /**
+     * Replaces the buffer by a larger one if its capacity is smaller than the given length.
+     *
+     * @param length the minimum capacity in bytes
+     */
+    private void ensureCapacity(int length) {
+        if (buffer.capacity() < length) {
+            //noinspection NumericCastThatLosesPrecision
+            buffer = ByteBuffer.allocate(Math.max(length, (int) Math.min(Integer.MAX_VALUE - 8, buffer.capacity() *
+                    2L)));
+        }
+    }
+
     /**
      * Checks whether the number of fuzzing iterations will be finite, that means all variable protocol blocks will get
      * their data from a library file.
@@ -208,10 +735,10 @@ class FuzzedMessageCreator implements Callable<byte[]> {
      */
     private boolean finiteIterations() {
         if (injectionMethod == InjectionMethod.SIMULTANEOUS) {
-            return injectedProtocolStructure.getVarBlock(0).getDataInjection() == DataInjection.LIBRARY;
+            return usesLibraryLines(injectedProtocolStructure.getVarBlock(0).getDataInjection());
         } else {
             for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
-                if (injectedProtocolStructure.getVarBlock(i).getDataInjection() == DataInjection.RANDOM) {
+                if (!usesLibraryLines(injectedProtocolStructure.getVarBlock(i).getDataInjection())) {
                     return false;
                 }
             }
@@ -219,4 +746,14 @@ class FuzzedMessageCreator implements Callable<byte[]> {
         }
     }
 
+    /**
+     * Checks whether the given data injection sends the lines of a library file unchanged.
+     *
+     * @param dataInjection the data injection
+     * @return true, if the data injection is library-based or dictionary-based
+     */
+    private static boolean usesLibraryLines(DataInjection dataInjection) {
+        return (dataInjection == DataInjection.LIBRARY) || (dataInjection == DataInjection.DICTIONARY);
+    }
+
 }
@@ -9,19 +9,24 @@
 package model.process.fuzzing;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
 import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 /**
- * This class is the fuzzing send callable, responsible for sending a message to the fuzzing target.
+ * This class is the fuzzing send callable, responsible for sending a message to the fuzzing target. The message is
+ * given as segments that are put on the wire with a gathering write, so that they never have to be concatenated, and
+ * random payloads that are streamed in chunks. Writing and reading wait for the target no longer than the timeout.
  */
 class FuzzedMessageSender implements Callable<Boolean> {
 
-    private final byte[] message;
+    private final FuzzedMessage message;
     private final InetSocketAddress target;
     private final int timeout;
     private byte[] lastResponse;
@@ -34,8 +39,32 @@ class FuzzedMessageSender implements Callable<Boolean> {
      * @param timeout the timeout to wait before assuming a crash on target side
      */
     public FuzzedMessageSender(byte[] bytes, InetSocketAddress target, int timeout) {
+        this(new ByteBuffer[]{ByteBuffer.wrap(bytes.clone())}, target, timeout);
+    }
+
+    /**
+     * Constructs a fuzzed message sender for a message consisting of segments. The segments are not copied, so their
+     * content must not change until the message has been sent.
+     *
+     * @param segments the segments of the message to send to the target, from their positions to their limits
+     * @param target   the fuzzing target
+     * @param timeout  the timeout to wait before assuming a crash on target side
+     */
+    public FuzzedMessageSender(ByteBuffer[] segments, InetSocketAddress target, int timeout) {
+        this(new FuzzedMessage(segments), target, timeout);
+    }
+
+    /**
+     * Constructs a fuzzed message sender for a fuzzed message. The segments of the message are not copied, so their
+     * content must not change until the message has been sent.
+     *
+     * @param message the message to send to the target
+     * @param target  the fuzzing target
+     * @param timeout the timeout to wait before assuming a crash on target side
+     */
+    public FuzzedMessageSender(FuzzedMessage message, InetSocketAddress target, int timeout) {
         super();
-        message = bytes.clone();
+        this.message = message;
         this.target = target;
         this.timeout = timeout;
         //noinspection ZeroLengthArrayAllocation
@@ -46,32 +75,117 @@ class FuzzedMessageSender implements Callable<Boolean> {
     @Override
     public Boolean call() {
         //noinspection OverlyBroadCatchBlock
-        try (Socket socket = new Socket()) {
+        try (SocketChannel channel = SocketChannel.open(); Selector selector = Selector.open()) {
             // Connect to target
-            socket.setSoTimeout(timeout);
-            socket.connect(target, timeout);
-            //noinspection NestedTryStatement
-            try (OutputStream out = socket.getOutputStream(); InputStream in = socket.getInputStream()) {
-                // Send fuzzed message
-                out.write(message);
-                out.flush();
-                // If target is responding, great
-                byte[] buffer = new byte[1024];
-                int countRead;
-                while ((countRead = in.read(buffer, 0, buffer.length)) > -1) {
-                    // Temporary buffer size = bytes already read + bytes last read
-                    byte[] tmpBuffer = new byte[lastResponse.length + countRead];
-                    System.arraycopy(lastResponse, 0, tmpBuffer, 0, lastResponse.length);
-                    System.arraycopy(buffer, 0, tmpBuffer, lastResponse.length, countRead);
-                    lastResponse = tmpBuffer;
-                }
-                return lastResponse.length != 0;
+            channel.socket().connect(target, timeout);
+            // Without blocking, every write and read can wait for the target no longer than the timeout
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, 0);
+            int responded = lastResponse.length;
+            try {
+                // Send fuzzed message, every try sends the whole message again
+                message.writeTo(new TimedChannel(channel, key, timeout));
+            } catch (IOException ignored) {
+                // The target may have rejected the message early and responded before closing the connection
             }
+            // If target is responding, great
+            readResponse(channel, key);
+            // Only a response to this try counts, even if the message could not be sent completely
+            return lastResponse.length > responded;
         } catch (IOException ignored) {
             return false;
         }
     }
 
+    /**
+     * Reads the response of the target until the target closes the connection, does not send anything within the
+     * timeout or an error occurs.
+     *
+     * @param channel the non-blocking channel connected to the target
+     * @param key     the key of the channel
+     */
+    private void readResponse(SocketChannel channel, SelectionKey key) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        try {
+            while (true) {
+                buffer.clear();
+                int countRead = channel.read(buffer);
+                if (countRead == -1) {
+                    return;
+                }
+                if (countRead == 0) {
+                    if (!await(key, SelectionKey.OP_READ, timeout)) {
+                        return;
+                    }
+                    continue;
+                }
+                // Temporary buffer size = bytes already read + bytes last read
+                byte[] tmpBuffer = new byte[lastResponse.length + countRead];
+                System.arraycopy(lastResponse, 0, tmpBuffer, 0, lastResponse.length);
+                System.arraycopy(buffer.array(), 0, tmpBuffer, lastResponse.length, countRead);
+                lastResponse = tmpBuffer;
+            }
+        } catch (IOException ignored) {
+            // Everything read before the error is kept as response
+        }
+    }
+
+    /**
+     * Waits until a channel is ready for the given operation.
+     *
+     * @param key     the key of the channel
+     * @param ops     the operation
+     * @param timeout the maximum time to wait in milliseconds
+     * @return true, if the channel is ready, false if the time elapsed or the thread was interrupted
+     * @throws IOException if an I/O error occurs
+     */
+    private static boolean await(SelectionKey key, int ops, int timeout) throws IOException {
+        key.interestOps(ops);
+        Selector selector = key.selector();
+        long deadline = System.nanoTime() + (timeout * 1000000L);
+        while (true) {
+            selector.selectedKeys().clear();
+            long remaining = (deadline - System.nanoTime()) / 1000000L;
+            if (remaining <= 0) {
+                return false;
+            }
+            if (selector.select(remaining) > 0) {
+                return true;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the sent message as a single byte array.
+     *
+     * @return the message
+     */
+    public byte[] getMessage() {
+        return message.getBytes();
+    }
+
+    /**
+     * Returns the first bytes of the sent message.
+     *
+     * @param maxLength the maximum number of bytes
+     * @return the first bytes of the message, at most the given number
+     */
+    public byte[] getMessagePrefix(int maxLength) {
+        return message.getPrefix(maxLength);
+    }
+
+    /**
+     * Returns the length of the sent message.
+     *
+     * @return the length in bytes
+     */
+    public int getLength() {
+        return message.getLength();
+    }
+
     /**
      * Returns the last response from the target. If the target crashed the response from the last valid request is
      * returned.
@@ -82,4 +196,78 @@ class FuzzedMessageSender implements Callable<Boolean> {
         return Arrays.copyOf(lastResponse, lastResponse.length);
     }
 
+    /**
+     * This class is a channel that writes into a non-blocking socket channel and waits for the target to accept more
+     * bytes no longer than the timeout.
+     */
+    private static class TimedChannel implements GatheringByteChannel {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final int timeout;
+
+        /**
+         * Constructs a new timed channel.
+         *
+         * @param channel the non-blocking socket channel
+         * @param key     the key of the socket channel
+         * @param timeout the maximum time to wait for the target in milliseconds
+         */
+        TimedChannel(SocketChannel channel, SelectionKey key, int timeout) {
+            this.channel = channel;
+            this.key = key;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            while (true) {
+                long result = channel.write(srcs, offset, length);
+                if ((result > 0) || !hasRemaining(srcs, offset, length)) {
+                    return result;
+                }
+                if (!await(key, SelectionKey.OP_WRITE, timeout)) {
+                    throw new SocketTimeoutException("Target did not accept the message within the timeout");
+                }
+            }
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) throws IOException {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            //noinspection NumericCastThatLosesPrecision
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Checks whether any of the given buffers has bytes remaining.
+         *
+         * @param srcs   the buffers
+         * @param offset the index of the first buffer
+         * @param length the number of buffers
+         * @return true, if at least one byte is remaining
+         */
+        private static boolean hasRemaining(ByteBuffer[] srcs, int offset, int length) {
+            for (int i = offset; i < (offset + length); i++) {
+                if (srcs[i].hasRemaining()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
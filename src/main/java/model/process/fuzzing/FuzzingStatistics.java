@@ -0,0 +1,88 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents the statistics of a fuzzing campaign, responsible for counting the generated fuzzed messages
+ * and the messages that were skipped because they had already been sent or that a secondary target responded to
+ * differently.
+ */
+public class FuzzingStatistics {
+
+    private final AtomicLong generatedMessages;
+    private final AtomicLong skippedMessages;
+    private final AtomicLong divergences;
+
+    /**
+     * Constructs new empty fuzzing statistics.
+     */
+    public FuzzingStatistics() {
+        generatedMessages = new AtomicLong();
+        skippedMessages = new AtomicLong();
+        divergences = new AtomicLong();
+    }
+
+    /**
+     * Counts a generated message.
+     *
+     * @param skipped true, if the message was not sent because it had already been sent
+     */
+    void countMessage(boolean skipped) {
+        generatedMessages.incrementAndGet();
+        if (skipped) {
+            skippedMessages.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a message the primary and the secondary target responded to differently.
+     */
+    void countDivergence() {
+        divergences.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of generated messages, including the skipped ones.
+     *
+     * @return the number of generated messages
+     */
+    public long getGeneratedMessages() {
+        return generatedMessages.get();
+    }
+
+    /**
+     * Returns the number of messages that were not sent because they had already been sent.
+     *
+     * @return the number of skipped messages
+     */
+    public long getSkippedMessages() {
+        return skippedMessages.get();
+    }
+
+    /**
+     * Returns the share of generated messages that were skipped.
+     *
+     * @return the skip rate between 0 and 1, 0 if no messages have been generated
+     */
+    public double getSkipRate() {
+        long generated = generatedMessages.get();
+        return (generated == 0) ? 0 : ((double) skippedMessages.get() / generated);
+    }
+
+    /**
+     * Returns the number of messages the primary and the secondary target responded to differently.
+     *
+     * @return the number of divergences
+     */
+    public long getDivergences() {
+        return divergences.get();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class is the message pipeline, responsible for generating the fuzzed messages of a campaign ahead of the
+ * sender. Generator threads fill a ring of slots with ready messages while the sender takes them in the order of their
+ * iterations. A generator waits if it is a full ring ahead of the sender, so that generating never runs away from
+ * sending.
+ * <p>
+ * Every generator has its own fuzzed message creator and generates every n-th iteration of the campaign. Because every
+ * message only depends on the campaign seed and its iteration number, the messages are the same as those of a single
+ * creator. The payloads of a message are copied into the storage of its slot, which is reused for the message a full
+ * ring later. Random payloads are streamed while the message is sent and are not copied.
+ * <p>
+ * The pipeline must not be used with feedback, because then every message depends on the responses to all previous
+ * messages.
+ */
+class MessagePipeline implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int DEFAULT_GENERATORS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private final Slot[] slots;
+    private final ExecutorService executor;
+    private long taken;
+    private long end;
+    private RuntimeException failure;
+    private boolean closed;
+
+    /**
+     * Constructs a new pipeline and starts generating the messages of a campaign.
+     *
+     * @param injectedProtocolStructure the injected protocol blocks that define the protocol structure
+     * @param injectionMethod           the injection method
+     * @param campaignSeed              the seed all random data of the campaign is derived from
+     * @param numOfGenerators           the number of generator threads
+     * @param capacity                  the number of messages that can be generated ahead, at least 2
+     */
+    public MessagePipeline(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod injectionMethod,
+                           long campaignSeed, int numOfGenerators, int capacity) {
+        slots = new Slot[Math.max(2, capacity)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        end = Long.MAX_VALUE;
+        executor = Executors.newFixedThreadPool(numOfGenerators, runnable -> {
+            Thread thread = new Thread(runnable, "Message generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < numOfGenerators; i++) {
+            FuzzedMessageCreator fuzzedMessageCreator =
+                    new FuzzedMessageCreator(injectedProtocolStructure, injectionMethod, campaignSeed);
+            long first = i + 1;
+            executor.execute(() -> generate(fuzzedMessageCreator, first, numOfGenerators));
+        }
+    }
+
+    /**
+     * Returns the message of the next iteration, waiting until it is generated. The returned message stays valid until
+     * this method is called again.
+     *
+     * @return the fuzzed message or null, if all iterations are done
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if generating the message threw an exception
+     */
+    public synchronized FuzzedMessage take() throws InterruptedException, ExecutionException {
+        long iteration = taken + 1;
+        Slot slot = getSlot(iteration);
+        while ((slot.iteration != iteration) && (iteration < end) && (failure == null)) {
+            wait();
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        if (slot.iteration != iteration) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        // The slot of the previously taken message can now be reused
+        taken = iteration;
+        notifyAll();
+        return slot.message;
+    }
+
+    /**
+     * Stops all generator threads.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Generates every n-th message of the campaign until all iterations are done or the pipeline is closed.
+     *
+     * @param fuzzedMessageCreator the creator used by this generator only
+     * @param first                the first iteration of this generator
+     * @param step                 the number of generators
+     */
+    private void generate(FuzzedMessageCreator fuzzedMessageCreator, long first, int step) {
+        try {
+            for (long iteration = first; ; iteration += step) {
+                Slot slot = awaitSlot(iteration);
+                if (slot == null) {
+                    return;
+                }
+                // The slot belongs to this generator until the message is published
+                fuzzedMessageCreator.seek(iteration);
+                FuzzedMessage message = fuzzedMessageCreator.nextMessage(slot.storage);
+                if (fuzzedMessageCreator.getRequiredStorage() > slot.storage.capacity()) {
+                    slot.storage = ByteBuffer.allocate(fuzzedMessageCreator.getRequiredStorage());
+                }
+                if (!publish(slot, iteration, message)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException ignored) {
+            // The pipeline is closed
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Waits until the slot of the given iteration can be filled, that is until the message a full ring earlier has been
+     * taken and replaced by a later one.
+     *
+     * @param iteration the iteration
+     * @return the slot or null, if the pipeline is closed or the iteration is behind the last iteration
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    private synchronized Slot awaitSlot(long iteration) throws InterruptedException {
+        while (!closed && (iteration < end) && (iteration >= (taken + slots.length))) {
+            wait();
+        }
+        //noinspection ReturnOfNull
+        return (closed || (iteration >= end)) ? null : getSlot(iteration);
+    }
+
+    /**
+     * Publishes a generated message to the sender.
+     *
+     * @param slot      the slot of the message
+     * @param iteration the iteration of the message
+     * @param message   the message or null, if the iteration is behind the last iteration
+     * @return true, if further messages are to be generated
+     */
+    private synchronized boolean publish(Slot slot, long iteration, FuzzedMessage message) {
+        if (message == null) {
+            end = Math.min(end, iteration);
+        } else {
+            slot.iteration = iteration;
+            slot.message = message;
+        }
+        notifyAll();
+        return message != null;
+    }
+
+    /**
+     * Reports an exception of a generator to the sender.
+     *
+     * @param e the exception
+     */
+    private synchronized void fail(RuntimeException e) {
+        failure = e;
+        notifyAll();
+    }
+
+    /**
+     * Returns the slot of the given iteration.
+     *
+     * @param iteration the iteration, starting at 1
+     * @return the slot
+     */
+    private Slot getSlot(long iteration) {
+        //noinspection NumericCastThatLosesPrecision
+        return slots[(int) ((iteration - 1) % slots.length)];
+    }
+
+    /**
+     * This class is a slot of the ring, holding a generated message and the storage of its payloads.
+     */
+    private static class Slot {
+
+        private long iteration;
+        private FuzzedMessage message;
+        private ByteBuffer storage = ByteBuffer.allocate(0);
+    }
+}
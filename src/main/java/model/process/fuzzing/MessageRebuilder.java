@@ -0,0 +1,60 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.record.Campaign;
+import model.record.IterationRecord;
+
+/**
+ * This class is the message rebuilder, responsible for generating the fuzzed message of a recorded iteration again
+ * from the configuration of its campaign, so that messages do not have to be recorded byte by byte. Messages that
+ * depended on the responses of the target cannot be generated again.
+ */
+public class MessageRebuilder {
+
+    private final FuzzedMessageCreator fuzzedMessageCreator;
+
+    /**
+     * Constructs a new message rebuilder.
+     *
+     * @param campaign the configuration of the campaign the messages belong to
+     */
+    public MessageRebuilder(Campaign campaign) {
+        fuzzedMessageCreator = new FuzzedMessageCreator(campaign.getInjectedProtocolStructure(),
+                campaign.getInjectionMethod(), campaign.getSeed());
+        // The corpus stays empty, but the random decisions are drawn like in the campaign
+        fuzzedMessageCreator.setFeedback(campaign.isFeedback());
+    }
+
+    /**
+     * Generates the message of the given iteration again. The iteration must not have been derived from the corpus of
+     * a campaign with feedback.
+     *
+     * @param iteration the number of the iteration, starting at 1
+     * @return the message or null, if the campaign has less iterations
+     */
+    public byte[] rebuild(long iteration) {
+        fuzzedMessageCreator.seek(iteration);
+        return fuzzedMessageCreator.call();
+    }
+
+    /**
+     * Generates the message of the given iteration record again.
+     *
+     * @param iterationRecord the iteration record
+     * @return the message or null, if the campaign has less iterations or the message is not reproducible
+     */
+    public byte[] rebuild(IterationRecord iterationRecord) {
+        if (!iterationRecord.isReproducible()) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        return rebuild(iterationRecord.getIteration());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.protocol.InjectedProtocolBlock;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolBlock.Type;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class is the message template, responsible for holding a precompiled form of an injected protocol structure.
+ * All fixed blocks are stored as one primitive byte array that is split into segments, one segment in front of every
+ * variable block, called a slot, and one final segment. A fuzzed message is assembled by alternately writing a segment
+ * and the payload of a slot into a buffer, or by gathering read-only views of the segments and the payloads without
+ * copying the segments at all.
+ */
+class MessageTemplate {
+
+    private final byte[] fixBytes;
+    private final int[] segmentOffsets;
+    private final ByteBuffer[] segments;
+    private final int[] slotBlocks;
+    private final int[] blockLengths;
+    private final int maxLength;
+
+    /**
+     * Constructs a new message template.
+     *
+     * @param injectedProtocolStructure the injected protocol structure the template is compiled from
+     */
+    public MessageTemplate(InjectedProtocolStructure injectedProtocolStructure) {
+        int fixLength = 0;
+        int maxLength = 0;
+        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(i);
+            if (block.getType() == Type.FIX) {
+                fixLength += block.getBytes().length;
+            }
+            maxLength = Math.max(maxLength, block.getMaxLength());
+        }
+        this.maxLength = maxLength;
+        fixBytes = new byte[fixLength];
+        segmentOffsets = new int[injectedProtocolStructure.getVarSize() + 2];
+        slotBlocks = new int[injectedProtocolStructure.getVarSize()];
+        blockLengths = new int[injectedProtocolStructure.getSize()];
+        int position = 0;
+        int slot = 0;
+        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(i);
+            switch (block.getType()) {
+                case FIX:
+                    for (Byte each : block.getBytes()) {
+                        fixBytes[position] = each;
+                        position++;
+                    }
+                    blockLengths[i] = block.getBytes().length;
+                    break;
+                case VAR:
+                    blockLengths[i] = -1;
+                    // The segment in front of this slot ends here
+                    slotBlocks[slot] = i;
+                    slot++;
+                    segmentOffsets[slot] = position;
+                    break;
+            }
+        }
+        segmentOffsets[slot + 1] = position;
+        segments = new ByteBuffer[segmentOffsets.length - 1];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.wrap(fixBytes, segmentOffsets[i], segmentOffsets[i + 1] - segmentOffsets[i])
+                    .slice().asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * Returns the number of slots, that is the number of variable blocks.
+     *
+     * @return the number of slots
+     */
+    public int getNumOfSlots() {
+        return slotBlocks.length;
+    }
+
+    /**
+     * Returns the index of the protocol block that belongs to the given slot.
+     *
+     * @param slot the index of the slot
+     * @return the index of the protocol block
+     */
+    public int getBlockIndex(int slot) {
+        return slotBlocks[slot];
+    }
+
+    /**
+     * Returns the number of protocol blocks.
+     *
+     * @return the number of blocks
+     */
+    public int getNumOfBlocks() {
+        return blockLengths.length;
+    }
+
+    /**
+     * Returns the length of the given protocol block if it is a fixed block.
+     *
+     * @param block the index of the protocol block
+     * @return the length in bytes, -1 for variable blocks
+     */
+    public int getBlockLength(int block) {
+        return blockLengths[block];
+    }
+
+    /**
+     * Returns the total length of all fixed blocks.
+     *
+     * @return the length in bytes
+     */
+    public int getFixLength() {
+        return fixBytes.length;
+    }
+
+    /**
+     * Returns the maximum length of all protocol blocks.
+     *
+     * @return the maximum length in bytes
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Writes the fixed bytes in front of the given slot into a buffer. The segment with the index equal to the number
+     * of slots is the final segment behind the last slot.
+     *
+     * @param buffer  the buffer with enough bytes remaining
+     * @param segment the index of the segment
+     */
+    public void putSegment(ByteBuffer buffer, int segment) {
+        buffer.put(fixBytes, segmentOffsets[segment], segmentOffsets[segment + 1] - segmentOffsets[segment]);
+    }
+
+    /**
+     * Returns a read-only view of the fixed bytes in front of the given slot. All views share the same content, only
+     * their position and limit are independent of each other.
+     *
+     * @param segment the index of the segment
+     * @return the read-only segment
+     */
+    public ByteBuffer getSegment(int segment) {
+        return segments[segment].duplicate();
+    }
+}
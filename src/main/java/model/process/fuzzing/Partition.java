@@ -0,0 +1,177 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a partition of the iterations of a finite campaign with separate injection, responsible for counting
+ * the progress and the crashes of the iterations a single parallel worker sends. A partition either holds all
+ * iterations that focus one variable block or a range of iterations of equal size.
+ */
+public class Partition {
+
+    private final int block;
+    private final long firstIteration;
+    private final long endIteration;
+    private final AtomicLong doneIterations;
+    private final AtomicInteger crashes;
+    private volatile int worker;
+
+    /**
+     * Constructs a new partition.
+     *
+     * @param block          the index of the variable block all iterations focus, -1 for a range of iterations
+     * @param firstIteration the number of the first iteration, starting at 1
+     * @param endIteration   the number of the iteration behind the last iteration
+     */
+    Partition(int block, long firstIteration, long endIteration) {
+        this.block = block;
+        this.firstIteration = firstIteration;
+        this.endIteration = endIteration;
+        doneIterations = new AtomicLong();
+        crashes = new AtomicInteger();
+        worker = -1;
+    }
+
+    /**
+     * Splits the iterations of a campaign into one partition per variable block. Blocks without library lines get no
+     * partition.
+     *
+     * @param fuzzedMessageCreator the creator of a finite campaign with separate injection
+     * @param numOfBlocks          the number of variable blocks
+     * @return the partitions in the order of the iterations
+     */
+    static List<Partition> byBlock(FuzzedMessageCreator fuzzedMessageCreator, int numOfBlocks) {
+        List<Partition> result = new ArrayList<>(numOfBlocks);
+        for (int i = 0; i < numOfBlocks; i++) {
+            long first = fuzzedMessageCreator.getFirstIteration(i);
+            long end = fuzzedMessageCreator.getFirstIteration(i + 1);
+            if (end > first) {
+                result.add(new Partition(i, first, end));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits the iterations of a campaign into ranges whose sizes differ by at most one iteration.
+     *
+     * @param numOfIterations the number of iterations of the campaign
+     * @param numOfRanges     the number of ranges
+     * @return the partitions in the order of the iterations, fewer than the given number if there are fewer iterations
+     */
+    static List<Partition> byRange(long numOfIterations, int numOfRanges) {
+        //noinspection NumericCastThatLosesPrecision
+        int ranges = (int) Math.min(numOfRanges, numOfIterations);
+        List<Partition> result = new ArrayList<>(ranges);
+        long first = 1;
+        for (int i = 0; i < ranges; i++) {
+            // The first ranges get one iteration more if the iterations cannot be split evenly
+            long size = (numOfIterations / ranges) + ((i < (numOfIterations % ranges)) ? 1 : 0);
+            result.add(new Partition(-1, first, first + size));
+            first += size;
+        }
+        return result;
+    }
+
+    /**
+     * Counts a finished iteration of this partition.
+     *
+     * @param crash true, if the message of the iteration crashed the target
+     */
+    void countIteration(boolean crash) {
+        doneIterations.incrementAndGet();
+        if (crash) {
+            crashes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the variable block all iterations of this partition focus.
+     *
+     * @return the index of the variable block, -1 if this partition is a range of iterations
+     */
+    public int getBlock() {
+        return block;
+    }
+
+    /**
+     * Returns the first iteration of this partition.
+     *
+     * @return the number of the iteration, starting at 1
+     */
+    public long getFirstIteration() {
+        return firstIteration;
+    }
+
+    /**
+     * Returns the iteration behind the last iteration of this partition.
+     *
+     * @return the number of the iteration
+     */
+    public long getEndIteration() {
+        return endIteration;
+    }
+
+    /**
+     * Returns the number of iterations of this partition.
+     *
+     * @return the number of iterations
+     */
+    public long getNumOfIterations() {
+        return endIteration - firstIteration;
+    }
+
+    /**
+     * Returns the number of iterations of this partition that are done, including skipped and crashing ones.
+     *
+     * @return the number of done iterations
+     */
+    public long getDoneIterations() {
+        return doneIterations.get();
+    }
+
+    /**
+     * Returns the number of messages of this partition that crashed the target.
+     *
+     * @return the number of crashes
+     */
+    public int getCrashes() {
+        return crashes.get();
+    }
+
+    /**
+     * Returns the worker that sends the messages of this partition.
+     *
+     * @return the index of the worker, -1 if no worker has started this partition yet
+     */
+    public int getWorker() {
+        return worker;
+    }
+
+    /**
+     * Assigns this partition to a worker.
+     *
+     * @param worker the index of the worker
+     */
+    void setWorker(int worker) {
+        this.worker = worker;
+    }
+
+    @Override
+    public String toString() {
+        return ((block == -1) ? "Iterations " : ("Variable protocol block #" + block + ", iterations ")) +
+                firstIteration + '-' + (endIteration - 1) + ": " + doneIterations.get() + '/' + getNumOfIterations() +
+                " done, " + crashes.get() + " crashes" + ((worker == -1) ? "" : (", worker #" + (worker + 1)));
+    }
+}
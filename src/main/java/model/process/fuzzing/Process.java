@@ -8,15 +8,18 @@
 
 package model.process.fuzzing;
 
+import model.RandomPool;
 import model.process.AbstractProcess;
-import model.process.AbstractRunner;
 import model.process.AbstractRunner.ExternalState;
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.process.fuzzoptions.Process.Partitioning;
 import model.process.fuzzoptions.Process.RecordingMethod;
 import model.protocol.InjectedProtocolStructure;
 import model.record.Recordings;
 
 import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
 import java.util.Observable;
 
 /**
@@ -25,6 +28,9 @@ import java.util.Observable;
 public class Process extends AbstractProcess {
 
     private Recordings recordings;
+    private long campaignSeed;
+    private FuzzingStatistics statistics;
+    private List<Partition> partitions;
 
     /**
      * Constructs a new fuzzing process.
@@ -32,6 +38,8 @@ public class Process extends AbstractProcess {
     public Process() {
         super();
         recordings = new Recordings();
+        statistics = new FuzzingStatistics();
+        partitions = Collections.emptyList();
     }
 
     /**
@@ -47,9 +55,49 @@ public class Process extends AbstractProcess {
     public void startFuzzing(InjectedProtocolStructure injectedProtocolStructure, InetSocketAddress target,
                              int interval, int timeout, RecordingMethod recordingMethod,
                              InjectionMethod injectionMethod) {
+        startFuzzing(injectedProtocolStructure, target, interval, timeout, recordingMethod, injectionMethod,
+                RandomPool.getInstance().nextLong(), false, false, false, 1, Partitioning.BLOCK, null);
+    }
+
+    /**
+     * Starts the fuzzing with a known campaign seed. With feedback enabled, inputs that make the target respond in a
+     * way not seen before are kept and mutated further. With deduplication enabled, messages with the same bytes as
+     * an already sent message are skipped. With adaptive scheduling enabled, the variable blocks with the highest
+     * yield get most of the messages. With more than one worker, the messages of a finite campaign with separate
+     * injection are sent by parallel workers, each taking a partition of the iterations. With a secondary target,
+     * every message is sent to both targets and messages they respond to differently are recorded as divergences.
+     *
+     * @param injectedProtocolStructure the injected protocol structure
+     * @param target                    the target
+     * @param interval                  the fuzzing interval
+     * @param timeout                   the fuzzing timeout
+     * @param recordingMethod           the recording method
+     * @param injectionMethod           the injection method
+     * @param campaignSeed              the seed all random data of the campaign is derived from
+     * @param feedback                  true, if the responses of the target guide the generation of messages
+     * @param deduplication             true, if messages that have already been sent are skipped
+     * @param adaptive                  true, if the fuzzed variable blocks are chosen by their yield
+     * @param workers                   the number of parallel workers
+     * @param partitioning              the partitioning of the iterations among the workers
+     * @param secondaryTarget           the target whose responses are compared, null for no comparison
+     */
+    public void startFuzzing(InjectedProtocolStructure injectedProtocolStructure, InetSocketAddress target,
+                             int interval, int timeout, RecordingMethod recordingMethod,
+                             InjectionMethod injectionMethod, long campaignSeed, boolean feedback,
+                             boolean deduplication, boolean adaptive, int workers, Partitioning partitioning,
+                             InetSocketAddress secondaryTarget) {
         recordings.clear();
-        AbstractRunner runner =
+        statistics = new FuzzingStatistics();
+        partitions = Collections.emptyList();
+        this.campaignSeed = campaignSeed;
+        Runner runner =
                 new Runner(injectionMethod, injectedProtocolStructure, target, timeout, interval, recordingMethod);
+        runner.setCampaignSeed(campaignSeed);
+        runner.setFeedback(feedback);
+        runner.setDeduplication(deduplication);
+        runner.setAdaptive(adaptive);
+        runner.setWorkers(workers, partitioning);
+        runner.setSecondaryTarget(secondaryTarget);
         runner.addObserver(this);
         submitToThreadPool(runner);
     }
@@ -58,6 +106,8 @@ public class Process extends AbstractProcess {
     public void reset() {
         super.reset();
         recordings.clear();
+        statistics = new FuzzingStatistics();
+        partitions = Collections.emptyList();
         spreadUpdate(State.IDLE);
     }
 
@@ -71,10 +121,14 @@ public class Process extends AbstractProcess {
                 break;
             case RUNNING:
                 recordings = runner.getRecordings();
+                statistics = runner.getStatistics();
+                partitions = runner.getPartitions();
                 spreadUpdate(State.RUNNING);
                 break;
             case FINISHED:
                 recordings = runner.getRecordings();
+                statistics = runner.getStatistics();
+                partitions = runner.getPartitions();
                 spreadUpdate(State.IDLE);
                 break;
         }
@@ -89,4 +143,31 @@ public class Process extends AbstractProcess {
         return recordings;
     }
 
+    /**
+     * Gets the seed of the last started campaign.
+     *
+     * @return the campaign seed
+     */
+    public long getCampaignSeed() {
+        return campaignSeed;
+    }
+
+    /**
+     * Gets the statistics of the last started campaign.
+     *
+     * @return the fuzzing statistics
+     */
+    public FuzzingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the partitions of the iterations the parallel workers of the last started campaign send.
+     *
+     * @return the partitions, empty if the messages are not sent by parallel workers
+     */
+    public List<Partition> getPartitions() {
+        return partitions;
+    }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.SplittableRandom;
+
+/**
+ * This class represents a random payload that is described by its seed and its length only. The bytes are generated
+ * on demand, either all at once into a buffer or chunk by chunk into a channel, so that even payloads of several
+ * megabytes never have to be held in memory. Both ways generate exactly the same bytes.
+ */
+class RandomPayload {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+    private final long seed;
+    private final int length;
+
+    /**
+     * Constructs a new random payload.
+     *
+     * @param seed   the seed the bytes are derived from
+     * @param length the length of the payload
+     */
+    public RandomPayload(long seed, int length) {
+        this.seed = seed;
+        this.length = length;
+    }
+
+    /**
+     * Writes the given number of random bytes into a buffer. Every 8 bytes consume one long value of the generator, so
+     * that the output does not depend on how the bytes are split into chunks as long as all chunks but the last are
+     * multiples of 8.
+     *
+     * @param random the generator
+     * @param buffer the buffer with at least the given number of bytes remaining
+     * @param count  the number of bytes
+     */
+    private static void put(SplittableRandom random, ByteBuffer buffer, int count) {
+        int remaining = count;
+        while (remaining >= Long.BYTES) {
+            buffer.putLong(random.nextLong());
+            remaining -= Long.BYTES;
+        }
+        if (remaining == 0) {
+            return;
+        }
+        // The last bytes are the leading bytes of a long value, like a prefix of a complete long value
+        for (long value = random.nextLong(); remaining > 0; remaining--, value <<= Byte.SIZE) {
+            //noinspection NumericCastThatLosesPrecision
+            buffer.put((byte) (value >>> (Long.SIZE - Byte.SIZE)));
+        }
+    }
+
+    /**
+     * Returns the seed the bytes are derived from.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the length of the payload.
+     *
+     * @return the length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Writes the payload into a buffer, starting at its current position.
+     *
+     * @param buffer the buffer with at least the length of the payload remaining
+     */
+    public void fill(ByteBuffer buffer) {
+        put(new SplittableRandom(seed), buffer, length);
+    }
+
+    /**
+     * Writes the first bytes of the payload into a buffer, starting at its current position.
+     *
+     * @param buffer the buffer
+     * @param count  the number of bytes, at most the length of the payload
+     */
+    public void fill(ByteBuffer buffer, int count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ByteBuffer chunk = ByteBuffer.allocate(Math.min(count, CHUNK_SIZE));
+        int remaining = count;
+        while (remaining > 0) {
+            chunk.clear();
+            put(random, chunk, Math.min(chunk.capacity(), remaining));
+            chunk.flip();
+            remaining -= chunk.remaining();
+            buffer.put(chunk);
+        }
+    }
+
+    /**
+     * Writes the payload into a channel in chunks of the size of the given buffer.
+     *
+     * @param channel the channel
+     * @param chunk   the buffer used for every chunk, its capacity must be a multiple of 8
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(WritableByteChannel channel, ByteBuffer chunk) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int remaining = length;
+        while (remaining > 0) {
+            chunk.clear();
+            put(random, chunk, Math.min(chunk.capacity(), remaining));
+            chunk.flip();
+            remaining -= chunk.remaining();
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+    }
+}
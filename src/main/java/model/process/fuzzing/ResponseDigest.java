@@ -0,0 +1,72 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.Model;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * This class is the response digest, responsible for reducing the responses of two builds of the target to values
+ * that are equal if both builds responded the same way. Before the SHA-256 digest is calculated, every run of at least
+ * four ASCII digits is replaced by a single placeholder, so that timestamps, counters and session numbers do not make
+ * the responses differ, while short status codes still do.
+ */
+enum ResponseDigest {
+    ;
+
+    private static final int MIN_NUMBER_LENGTH = 4;
+    private static final byte PLACEHOLDER = '#';
+
+    /**
+     * Normalizes a response by replacing every run of at least four ASCII digits by a single placeholder.
+     *
+     * @param response the response of the target, may be empty
+     * @return the normalized response
+     */
+    public static byte[] normalize(byte... response) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream(response.length);
+        int i = 0;
+        while (i < response.length) {
+            int end = i;
+            while ((end < response.length) && (response[end] >= '0') && (response[end] <= '9')) {
+                end++;
+            }
+            if ((end - i) >= MIN_NUMBER_LENGTH) {
+                result.write(PLACEHOLDER);
+            } else if (end > i) {
+                result.write(response, i, end - i);
+            } else {
+                result.write(response[i]);
+                end++;
+            }
+            i = end;
+        }
+        return result.toByteArray();
+    }
+
+    /**
+     * Calculates the SHA-256 digest of a normalized response.
+     *
+     * @param response the response of the target, may be empty
+     * @return the digest or an empty array if SHA-256 is not available
+     */
+    public static byte[] of(byte... response) {
+        try {
+            //noinspection HardCodedStringLiteral
+            return MessageDigest.getInstance("SHA-256").digest(normalize(response));
+        } catch (NoSuchAlgorithmException e) {
+            Model.INSTANCE.getLogger().error(e);
+            //noinspection ZeroLengthArrayAllocation
+            return new byte[0];
+        }
+    }
+}
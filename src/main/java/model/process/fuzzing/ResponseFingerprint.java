@@ -0,0 +1,64 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import java.time.Duration;
+
+/**
+ * This class is the response fingerprint, responsible for reducing a response of the target to a value that describes
+ * the target's behaviour rather than the exact response. The fingerprint consists of the first bytes of the response
+ * with all ASCII digits masked, so that counters and timestamps do not create new fingerprints, the length of the
+ * response rounded to a power of two and the response time rounded to a power of two milliseconds.
+ */
+enum ResponseFingerprint {
+    ;
+
+    private static final int PREFIX_LENGTH = 16;
+    private static final int MAX_TIME_BUCKET = 15;
+
+    /**
+     * Calculates the fingerprint of a response.
+     *
+     * @param response the response of the target, may be empty
+     * @param duration the time between sending the message and receiving the response
+     * @return the fingerprint
+     */
+    public static long of(byte[] response, Duration duration) {
+        long result = 0xcbf29ce484222325L;
+        for (int i = 0; i < Math.min(PREFIX_LENGTH, response.length); i++) {
+            byte each = ((response[i] >= '0') && (response[i] <= '9')) ? (byte) '0' : response[i];
+            result = (result ^ (each & 0xff)) * 0x100000001b3L;
+        }
+        result = (result ^ getLengthBucket(response.length)) * 0x100000001b3L;
+        result = (result ^ (getTimeBucket(duration) + 64)) * 0x100000001b3L;
+        return result;
+    }
+
+    /**
+     * Returns the bucket of the given response length, that is the number of bits needed to represent the length.
+     *
+     * @param length the length in bytes
+     * @return the length bucket, 0 for an empty response
+     */
+    public static int getLengthBucket(int length) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(length);
+    }
+
+    /**
+     * Returns the bucket of the given response time, that is the number of bits needed to represent the time in
+     * milliseconds. All times of more than about 16 seconds share the last bucket.
+     *
+     * @param duration the response time
+     * @return the time bucket
+     */
+    public static int getTimeBucket(Duration duration) {
+        long millis = Math.max(0, duration.toMillis());
+        return Math.min(MAX_TIME_BUCKET, Long.SIZE - Long.numberOfLeadingZeros(millis));
+    }
+}
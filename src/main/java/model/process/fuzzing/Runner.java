@@ -9,23 +9,40 @@
 package model.process.fuzzing;
 
 import model.Model;
+import model.RandomPool;
 import model.process.AbstractRunner;
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.process.fuzzoptions.Process.Partitioning;
 import model.process.fuzzoptions.Process.RecordingMethod;
 import model.protocol.InjectedProtocolStructure;
+import model.record.Campaign;
+import model.record.Divergence;
+import model.record.IterationRecord;
 import model.record.Recordings;
+import model.util.Constants;
 
 import java.net.InetSocketAddress;
 import java.text.DecimalFormat;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
  * This class is the fuzzing runnable, responsible for handling the fuzzing activities in a separate thread.
  */
 class Runner extends AbstractRunner {
+    private static final int SCHEDULING_SUMMARY_INTERVAL = 100;
+    private static final int PARTITION_SUMMARY_INTERVAL = 100;
     private InetSocketAddress target;
     private int timeout;
     private int interval;
@@ -33,10 +50,19 @@ class Runner extends AbstractRunner {
     private InjectionMethod injectionMethod;
     private InjectedProtocolStructure injectedProtocolStructure;
     private RecordingMethod recordingMethod;
-    private Instant crashTime;
+    private long campaignSeed;
+    private boolean feedback;
+    private boolean deduplication;
+    private boolean adaptive;
+    private int workers;
+    private Partitioning partitioning;
+    private List<Partition> partitions;
+    private InetSocketAddress secondaryTarget;
+    private FuzzingStatistics statistics;
 
     /**
-     * Constructs a fuzzing runnable.
+     * Constructs a fuzzing runnable for a campaign with a random seed. The other options of the campaign have their
+     * defaults and can be changed with the setters before the runnable is started.
      *
      * @param injectionMethod           the injection method
      * @param injectedProtocolStructure the injected protocol blocks
@@ -56,71 +82,453 @@ class Runner extends AbstractRunner {
         this.timeout = timeout;
         this.interval = interval;
         this.recordingMethod = recordingMethod;
+        campaignSeed = RandomPool.getInstance().nextLong();
+        workers = 1;
+        partitioning = Partitioning.BLOCK;
+        partitions = Collections.emptyList();
         recordings = new Recordings();
+        statistics = new FuzzingStatistics();
     }
 
     @Override
     public void run() {
         try {
             markStart();
-            Model.INSTANCE.getLogger().info("Fuzzing process started");
+            Model.INSTANCE.getLogger().info("Fuzzing process started with campaign seed " + campaignSeed);
+            if ((recordingMethod == RecordingMethod.SEEDS) && (feedback || adaptive)) {
+                Model.INSTANCE.getLogger().warning("Messages derived from the feedback corpus or focused by the " +
+                        "block scheduler cannot be generated again from their seeds and are recorded as not " +
+                        "reproducible");
+            }
+            if (secondaryTarget != null) {
+                Model.INSTANCE.getLogger().info("Responses are compared to those of secondary target '" +
+                        secondaryTarget.getHostString() + ':' + secondaryTarget.getPort() + '\'');
+            }
 
             // The fuzzing begins …
-            int iteration = 0;
-            Callable<byte[]> fuzzedMessageCreator =
-                    new FuzzedMessageCreator(injectedProtocolStructure, injectionMethod);
+            recordings.setCampaign(new Campaign(campaignSeed, injectionMethod, injectedProtocolStructure, feedback,
+                    adaptive));
+            FuzzedMessageCreator fuzzedMessageCreator =
+                    new FuzzedMessageCreator(injectedProtocolStructure, injectionMethod, campaignSeed);
+            DuplicateFilter duplicateFilter = deduplication ? new DuplicateFilter() : null;
+            if ((workers > 1) && (injectionMethod == InjectionMethod.SEPARATE) &&
+                    (fuzzedMessageCreator.getNumOfIterations() > -1)) {
+                partitions = (partitioning == Partitioning.BLOCK) ?
+                        Partition.byBlock(fuzzedMessageCreator, injectedProtocolStructure.getVarSize()) :
+                        Partition.byRange(fuzzedMessageCreator.getNumOfIterations(), workers);
+                fuzzParallel(duplicateFilter);
+            } else {
+                if (workers > 1) {
+                    Model.INSTANCE.getLogger().warning("Parallel workers only apply to finite campaigns with " +
+                            "separate injection and are not used");
+                }
+                fuzz(fuzzedMessageCreator, duplicateFilter);
+            }
+            if (deduplication) {
+                Model.INSTANCE.getLogger().info(statistics.getSkippedMessages() + " of " +
+                        statistics.getGeneratedMessages() + " fuzzed messages skipped as duplicates (" +
+                        new DecimalFormat("0.0").format(statistics.getSkipRate() * 100) + " %)");
+            }
+            if (secondaryTarget != null) {
+                Model.INSTANCE.getLogger().info(statistics.getDivergences() + " fuzzed messages with diverging " +
+                        "responses of the secondary target");
+            }
+            Model.INSTANCE.getLogger().info("Fuzzing process successfully completed");
+            markFinish();
+        } catch (InterruptedException ignored) {
+            Model.INSTANCE.getLogger().info("Fuzzing process cancelled");
+            markCancel();
+        } catch (ExecutionException e) {
+            // Should not happen
+            Model.INSTANCE.getLogger().error(e);
+        }
+    }
+
+    /**
+     * Sends the fuzzed messages of the campaign one after another.
+     *
+     * @param fuzzedMessageCreator the creator of the campaign
+     * @param duplicateFilter      the filter of messages that have already been sent, null without deduplication
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private void fuzz(FuzzedMessageCreator fuzzedMessageCreator, DuplicateFilter duplicateFilter) throws
+            InterruptedException, ExecutionException {
+        long iteration = 0;
+        fuzzedMessageCreator.setFeedback(feedback);
+        fuzzedMessageCreator.setAdaptive(adaptive);
+        BlockScheduler scheduler = fuzzedMessageCreator.getScheduler();
+        if (adaptive && (scheduler == null)) {
+            Model.INSTANCE.getLogger().warning("Adaptive block scheduling only applies to endless campaigns with " +
+                    "separate injection and is not used");
+        }
+        int leader = -1;
+        Callable<FuzzedMessage> messageCreator = fuzzedMessageCreator::nextMessage;
+        // Without feedback and scheduling the messages do not depend on the responses and are generated while others
+        // are sent
+        //noinspection resource
+        MessagePipeline pipeline = (feedback || (scheduler != null)) ? null :
+                new MessagePipeline(injectedProtocolStructure, injectionMethod, campaignSeed,
+                        MessagePipeline.DEFAULT_GENERATORS, MessagePipeline.DEFAULT_CAPACITY);
+        // The messages to the secondary target are sent on a thread of their own, so that they are sent while the
+        // primary target is fuzzed and do not wait for or delay other tasks of the shared thread pool
+        ExecutorService secondaryExecutor = (secondaryTarget == null) ? null :
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "Secondary target sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
             while (true) {
-                byte[] message = submitToThreadPool(fuzzedMessageCreator).get();
+                FuzzedMessage message = (pipeline == null) ? submitToThreadPool(messageCreator).get() :
+                        pipeline.take();
                 if (message == null) {
                     break;
                 }
+                // Messages of the pipeline never depend on the responses of the target
+                boolean reproducible = (pipeline != null) || fuzzedMessageCreator.isReproducible();
                 iteration++;
+                if ((duplicateFilter != null) && !duplicateFilter.add(message.getHash())) {
+                    // Sending a message again would only cost another connect, send and timeout cycle
+                    statistics.countMessage(true);
+                    Model.INSTANCE.getLogger().fine("Fuzzed message #" + iteration + " skipped, it has already been " +
+                            "sent");
+                    markProgress();
+                    continue;
+                }
+                statistics.countMessage(false);
                 FuzzedMessageSender fuzzedMessageSender = new FuzzedMessageSender(message, target, timeout);
                 Model.INSTANCE.getLogger().info("Sending fuzzed message #" + iteration);
+                FuzzedMessageSender secondarySender = sendSecondary(message);
+                Future<Boolean> secondaryFuture =
+                        (secondarySender == null) ? null : secondaryExecutor.submit(secondarySender);
 
                 // Start new work unit
+                double yield = 0;
+                Instant crashTime = null;
+                Instant firstSendTime = Instant.now();
+                boolean responded = false;
                 for (int i = 0; i < 3; i++) {
-                    if (submitToThreadPool(fuzzedMessageSender).get()) {
-                        if (recordingMethod == RecordingMethod.ALL) {
-                            recordings.addRecording(message, false, Instant.now());
-                            recordings.addRecording(fuzzedMessageSender.getLastResponse(), false, Instant.now());
+                    Instant sendTime = Instant.now();
+                    // The message is sent on the thread of this runner, so that the duration is not distorted by
+                    // waiting for a thread of the shared thread pool
+                    long start = System.nanoTime();
+                    if (fuzzedMessageSender.call()) {
+                        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+                        if (scheduler != null) {
+                            yield = Math.max(yield, scheduler.rate(fuzzedMessageSender.getLastResponse(), duration));
+                        }
+                        if (fuzzedMessageCreator.feedback(fuzzedMessageSender.getLastResponse(), duration)) {
+                            Model.INSTANCE.getLogger().fine("Fuzzed message #" + iteration + " triggered a new " +
+                                    "response, " + fuzzedMessageCreator.getCorpus().getSize() + " inputs in corpus");
                         }
+                        record(fuzzedMessageSender, iteration, sendTime, duration, -1, reproducible);
                         markProgress();
+                        responded = true;
                         break;
                     } else {
-                        handleTimeout(i, message);
+                        // The third timeout in a row is recorded as a crash
+                        yield = Math.max(yield, (i == 2) ? BlockScheduler.CRASH_YIELD : BlockScheduler.TIMEOUT_YIELD);
+                        if (i == 0) {
+                            crashTime = Instant.now();
+                        }
+                        handleTimeout(i, fuzzedMessageSender, crashTime, -1);
                     }
                 }
+                if (secondaryFuture != null) {
+                    compare(fuzzedMessageSender, responded, secondarySender, secondaryFuture.get(), iteration,
+                            firstSendTime, reproducible);
+                }
+                if (fuzzedMessageCreator.getFocusedBlock() > -1) {
+                    leader = reward(fuzzedMessageCreator, iteration, yield, leader);
+                }
                 //noinspection BusyWait
                 Thread.sleep(interval);
             }
-            Model.INSTANCE.getLogger().info("Fuzzing process successfully completed");
-            markFinish();
-        } catch (InterruptedException ignored) {
-            Model.INSTANCE.getLogger().info("Fuzzing process cancelled");
-            markCancel();
-        } catch (ExecutionException e) {
-            // Should not happen
-            Model.INSTANCE.getLogger().error(e);
+        } finally {
+            if (pipeline != null) {
+                pipeline.close();
+            }
+            if (secondaryExecutor != null) {
+                secondaryExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Sends the fuzzed messages of the campaign by several parallel workers. Every worker takes the next partition of
+     * iterations that has not been started yet and sends its messages one after another with its own connections, so
+     * that a crash is attributed to the worker that sent the crashing message. Because every message only depends on
+     * the campaign seed and its iteration number, the messages are the same as those of a single worker. The workers
+     * send on their own threads, so that their number is not limited by the shared thread pool.
+     *
+     * @param duplicateFilter the filter of messages that have already been sent, null without deduplication
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private void fuzzParallel(DuplicateFilter duplicateFilter) throws InterruptedException, ExecutionException {
+        Queue<Partition> queue = new ConcurrentLinkedQueue<>(partitions);
+        int numOfWorkers = Math.min(workers, partitions.size());
+        Model.INSTANCE.getLogger().info("Fuzzing with " + numOfWorkers + " parallel workers and " + partitions.size() +
+                " partitions by " + partitioning);
+        // Every worker needs a second thread for its messages to the secondary target
+        int numOfThreads = Math.max(1, numOfWorkers) * ((secondaryTarget == null) ? 1 : 2);
+        ExecutorService executor = Executors.newFixedThreadPool(numOfThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Fuzzing worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Void>> futures = new ArrayList<>(numOfWorkers);
+            for (int i = 0; i < numOfWorkers; i++) {
+                int worker = i;
+                futures.add(executor.submit(() -> {
+                    work(worker, queue, duplicateFilter, executor);
+                    return null;
+                }));
+            }
+            for (Future<Void> each : futures) {
+                each.get();
+            }
+        } finally {
+            // Stops the other workers if one of them failed or the campaign was cancelled
+            executor.shutdownNow();
+        }
+        for (Partition each : partitions) {
+            Model.INSTANCE.getLogger().info(each.toString());
+        }
+    }
+
+    /**
+     * Sends the fuzzed messages of the partitions a parallel worker takes until all partitions have been started.
+     *
+     * @param worker          the index of the worker
+     * @param queue           the partitions that have not been started yet
+     * @param duplicateFilter the filter of messages that have already been sent, null without deduplication
+     * @param executor        the executor of the workers that also sends the messages to the secondary target
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private void work(int worker, Queue<Partition> queue, DuplicateFilter duplicateFilter, ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, injectionMethod, campaignSeed);
+        for (Partition partition = queue.poll(); partition != null; partition = queue.poll()) {
+            partition.setWorker(worker);
+            Model.INSTANCE.getLogger().info("Worker #" + (worker + 1) + " started " + partition);
+            fuzzedMessageCreator.seek(partition.getFirstIteration());
+            for (long iteration = partition.getFirstIteration(); iteration < partition.getEndIteration();
+                 iteration++) {
+                FuzzedMessage message = fuzzedMessageCreator.nextMessage();
+                if (isDuplicate(duplicateFilter, message)) {
+                    statistics.countMessage(true);
+                    Model.INSTANCE.getLogger().fine("Fuzzed message #" + iteration + " skipped, it has already " +
+                            "been sent");
+                    partition.countIteration(false);
+                    markProgress();
+                    continue;
+                }
+                statistics.countMessage(false);
+                FuzzedMessageSender fuzzedMessageSender = new FuzzedMessageSender(message, target, timeout);
+                Model.INSTANCE.getLogger().info("Worker #" + (worker + 1) + " sending fuzzed message #" + iteration);
+                FuzzedMessageSender secondarySender = sendSecondary(message);
+                Future<Boolean> secondaryFuture =
+                        (secondarySender == null) ? null : executor.submit(secondarySender);
+                Instant sendTime = Instant.now();
+                boolean responded = send(fuzzedMessageSender, iteration, worker);
+                if (secondaryFuture != null) {
+                    compare(fuzzedMessageSender, responded, secondarySender, secondaryFuture.get(), iteration,
+                            sendTime, true);
+                }
+                partition.countIteration(!responded);
+                if ((partition.getDoneIterations() % PARTITION_SUMMARY_INTERVAL) == 0) {
+                    Model.INSTANCE.getLogger().info(partition.toString());
+                }
+                //noinspection BusyWait
+                Thread.sleep(interval);
+            }
+            Model.INSTANCE.getLogger().info("Worker #" + (worker + 1) + " finished " + partition);
+        }
+    }
+
+    /**
+     * Checks whether a message has already been sent by any worker and remembers it otherwise.
+     *
+     * @param duplicateFilter the filter of messages that have already been sent, null without deduplication
+     * @param message         the message
+     * @return true, if the message has probably been sent before
+     */
+    private static boolean isDuplicate(DuplicateFilter duplicateFilter, FuzzedMessage message) {
+        if (duplicateFilter == null) {
+            return false;
+        }
+        synchronized (duplicateFilter) {
+            return !duplicateFilter.add(message.getHash());
+        }
+    }
+
+    /**
+     * Sends a message of a parallel worker on the thread of the worker. If the target does not respond, the message is
+     * sent again up to two times, after that it is recorded as a crash.
+     *
+     * @param fuzzedMessageSender the sender of the message
+     * @param iteration           the number of the message
+     * @param worker              the index of the worker
+     * @return true, if the target responded, false if the message crashed the target
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private boolean send(FuzzedMessageSender fuzzedMessageSender, long iteration, int worker) throws
+            InterruptedException, ExecutionException {
+        Instant crashTime = null;
+        for (int i = 0; i < 3; i++) {
+            Instant sendTime = Instant.now();
+            long start = System.nanoTime();
+            if (fuzzedMessageSender.call()) {
+                record(fuzzedMessageSender, iteration, sendTime, Duration.ofNanos(System.nanoTime() - start), worker,
+                        true);
+                markProgress();
+                return true;
+            }
+            if (i == 0) {
+                crashTime = Instant.now();
+            }
+            handleTimeout(i, fuzzedMessageSender, crashTime, worker);
+        }
+        return false;
+    }
+
+    /**
+     * Creates the sender of a message to the secondary target. The message is sent only once, because the secondary
+     * target is not monitored for crashes.
+     *
+     * @param message the message
+     * @return the sender or null, if there is no secondary target
+     */
+    private FuzzedMessageSender sendSecondary(FuzzedMessage message) {
+        return (secondaryTarget == null) ? null : new FuzzedMessageSender(message, secondaryTarget, timeout);
+    }
+
+    /**
+     * Compares the responses of the primary and the secondary target to a message and records a divergence if their
+     * normalized digests differ or only one of the targets responded. Both targets crashing is no divergence, the
+     * crash has already been recorded.
+     *
+     * @param fuzzedMessageSender the sender of the message to the primary target
+     * @param responded           true, if the primary target responded
+     * @param secondarySender     the sender of the message to the secondary target
+     * @param secondaryResponded  true, if the secondary target responded
+     * @param iteration           the number of the message
+     * @param sendTime            the time the message was sent
+     * @param reproducible        true, if the message can be generated again from the campaign and its number
+     */
+    private void compare(FuzzedMessageSender fuzzedMessageSender, boolean responded,
+                         FuzzedMessageSender secondarySender, boolean secondaryResponded, long iteration,
+                         Instant sendTime, boolean reproducible) {
+        //noinspection ZeroLengthArrayAllocation
+        byte[] primaryDigest = responded ? ResponseDigest.of(fuzzedMessageSender.getLastResponse()) : new byte[0];
+        //noinspection ZeroLengthArrayAllocation
+        byte[] secondaryDigest = secondaryResponded ? ResponseDigest.of(secondarySender.getLastResponse()) :
+                new byte[0];
+        if ((responded == secondaryResponded) && Arrays.equals(primaryDigest, secondaryDigest)) {
+            return;
+        }
+        statistics.countDivergence();
+        String reason = (responded && secondaryResponded) ? "the targets responded differently" :
+                (responded ? "the secondary target did not respond" : "only the secondary target responded");
+        Model.INSTANCE.getLogger().warning("Responses to fuzzed message #" + iteration + " diverged, " + reason);
+        Divergence divergence = new Divergence(iteration, RandomPool.iterationSeed(campaignSeed, iteration),
+                fuzzedMessageSender.getLength(), responded ? fuzzedMessageSender.getLastResponse().length : -1,
+                primaryDigest, secondaryResponded ? secondarySender.getLastResponse().length : -1, secondaryDigest,
+                sendTime, fuzzedMessageSender.getMessagePrefix(Constants.MAX_RECORDED_MESSAGE_LENGTH), reproducible);
+        synchronized (recordings) {
+            recordings.addDivergence(divergence);
+        }
+    }
+
+    /**
+     * Records a message the target responded to, depending on the recording method. The message and its response are
+     * recorded together, so that the records of parallel workers do not interleave.
+     *
+     * @param fuzzedMessageSender the sender of the message
+     * @param iteration           the number of the message
+     * @param sendTime            the time the message was sent
+     * @param duration            the time the target needed to respond
+     * @param worker              the index of the worker that sent the message, -1 without parallel workers
+     * @param reproducible        true, if the message can be generated again from the campaign and its number
+     */
+    private void record(FuzzedMessageSender fuzzedMessageSender, long iteration, Instant sendTime, Duration duration,
+                        int worker, boolean reproducible) {
+        synchronized (recordings) {
+            if (recordingMethod == RecordingMethod.ALL) {
+                // Oversized random messages are recorded up to a bound, they can be rebuilt from the seed
+                recordings.addRecording(fuzzedMessageSender.getMessagePrefix(Constants.MAX_RECORDED_MESSAGE_LENGTH),
+                        false, Instant.now(), worker);
+                recordings.addRecording(fuzzedMessageSender.getLastResponse(), false, Instant.now(), worker);
+            } else if (recordingMethod == RecordingMethod.SEEDS) {
+                // The message can be generated again from the campaign, so only its seed is recorded. Messages derived
+                // from responses are marked, so that they are not mistaken for the message generated from the seed
+                recordings.addIterationRecord(new IterationRecord(iteration, RandomPool.iterationSeed(campaignSeed,
+                        iteration), fuzzedMessageSender.getLength(), fuzzedMessageSender.getLastResponse(), sendTime,
+                        duration, reproducible));
+            }
+        }
+    }
+
+    /**
+     * Increases the work progress counter by 1. Parallel workers share the counter.
+     */
+    @Override
+    protected synchronized void markProgress() {
+        super.markProgress();
+    }
+
+    /**
+     * Rewards the variable block the last message focused with the yield of the message and logs the decisions of the
+     * block scheduler, so that the share of messages every block got can be audited.
+     *
+     * @param fuzzedMessageCreator the creator of the message
+     * @param iteration            the number of the message
+     * @param yield                the yield of the message
+     * @param leader               the block with the highest yield before the message, -1 if there was none
+     * @return the block with the highest yield after the message
+     */
+    private static int reward(FuzzedMessageCreator fuzzedMessageCreator, long iteration, double yield, int leader) {
+        BlockScheduler scheduler = fuzzedMessageCreator.getScheduler();
+        int block = fuzzedMessageCreator.getFocusedBlock();
+        fuzzedMessageCreator.reward(yield);
+        Model.INSTANCE.getLogger().fine("Fuzzed message #" + iteration + " focused variable protocol block #" +
+                block + " and yielded " + yield);
+        // As long as no block has yielded anything, there is no leader
+        int result = (scheduler.getMeanYield(scheduler.getLeader()) > 0) ? scheduler.getLeader() : leader;
+        if (result != leader) {
+            Model.INSTANCE.getLogger().info("Iteration budget shifted towards variable protocol block #" + result +
+                    ", " + scheduler.getSummary());
+        } else if ((iteration % SCHEDULING_SUMMARY_INTERVAL) == 0) {
+            Model.INSTANCE.getLogger().info("Block scheduling after " + iteration + " messages: " +
+                    scheduler.getSummary());
         }
+        return result;
     }
 
     /**
      * Handles the situation when the target does not respond to sent messages and tries to reconnect in case of an
      * error.
      *
-     * @param iteration the current iteration of tries to sent a message
-     * @param bytes     the sent message
+     * @param iteration           the current iteration of tries to sent a message
+     * @param fuzzedMessageSender the sender of the message
+     * @param crashTime           the time the target did not respond for the first time
+     * @param worker              the index of the worker that sent the message, -1 without parallel workers
      * @throws InterruptedException if the current thread was interrupted while waiting
      * @throws ExecutionException   if the computation threw an exception
      */
-    private void handleTimeout(int iteration, byte... bytes) throws InterruptedException, ExecutionException {
+    private void handleTimeout(int iteration, FuzzedMessageSender fuzzedMessageSender, Instant crashTime, int worker)
+            throws InterruptedException, ExecutionException {
         double errorInterval = Math.pow(iteration + 2, 0.75) * interval;
         Future<Boolean> reconnectorFuture;
         DecimalFormat decimalFormat = new DecimalFormat(",##0.0");
         switch (iteration) {
             case 0:
-                crashTime = Instant.now();
             case 1:
                 // Error interval has a logarithmic style curve
                 Model.INSTANCE.getLogger().warning(
@@ -133,7 +541,12 @@ class Runner extends AbstractRunner {
                 Model.INSTANCE.getLogger()
                         .fine("Target not reachable for 3 times in a row. Information about the" + ' ' +
                                 "crash is being saved");
-                recordings.addRecording(bytes, true, crashTime);
+                if (worker > -1) {
+                    Model.INSTANCE.getLogger().warning("Crash caused by a message of worker #" + (worker + 1));
+                }
+                synchronized (recordings) {
+                    recordings.addRecording(fuzzedMessageSender.getMessage(), true, crashTime, worker);
+                }
                 markProgress();
                 int count = 1;
                 do {
@@ -163,4 +576,135 @@ class Runner extends AbstractRunner {
     public Recordings getRecordings() {
         return recordings;
     }
+
+    /**
+     * Returns the seed all random data of the campaign is derived from.
+     *
+     * @return the campaign seed
+     */
+    public long getCampaignSeed() {
+        return campaignSeed;
+    }
+
+    /**
+     * Sets the seed all random data of the campaign is derived from, so that a previous campaign can be repeated.
+     *
+     * @param campaignSeed the campaign seed
+     */
+    public void setCampaignSeed(long campaignSeed) {
+        this.campaignSeed = campaignSeed;
+    }
+
+    /**
+     * Returns whether the responses of the target guide the generation of messages.
+     *
+     * @return true, if feedback is enabled
+     */
+    public boolean isFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Enables or disables feedback, that is keeping inputs that lead to new responses and mutating them further.
+     *
+     * @param feedback true, if the responses of the target guide the generation of messages
+     */
+    public void setFeedback(boolean feedback) {
+        this.feedback = feedback;
+    }
+
+    /**
+     * Returns whether messages that have already been sent are skipped.
+     *
+     * @return true, if deduplication is enabled
+     */
+    public boolean isDeduplication() {
+        return deduplication;
+    }
+
+    /**
+     * Enables or disables deduplication, that is skipping messages with the same bytes as an already sent message.
+     *
+     * @param deduplication true, if messages that have already been sent are skipped
+     */
+    public void setDeduplication(boolean deduplication) {
+        this.deduplication = deduplication;
+    }
+
+    /**
+     * Returns whether the variable blocks are fuzzed one at a time, chosen by their yield.
+     *
+     * @return true, if adaptive block scheduling is enabled
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Enables or disables adaptive block scheduling, that is fuzzing the variable blocks of an endless campaign with
+     * separate injection one at a time, chosen by their yield.
+     *
+     * @param adaptive true, if the fuzzed variable blocks are chosen by their yield
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Returns the number of parallel workers of a finite campaign with separate injection.
+     *
+     * @return the number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of parallel workers that send the messages of a finite campaign with separate injection and how
+     * the iterations are split among them.
+     *
+     * @param workers      the number of workers
+     * @param partitioning the partitioning of the iterations among the workers
+     */
+    public void setWorkers(int workers, Partitioning partitioning) {
+        this.workers = workers;
+        this.partitioning = partitioning;
+    }
+
+    /**
+     * Returns the partitions of the iterations the parallel workers send.
+     *
+     * @return the partitions, empty if the messages are not sent by parallel workers
+     */
+    public List<Partition> getPartitions() {
+        return Collections.unmodifiableList(partitions);
+    }
+
+    /**
+     * Returns the target whose responses are compared to those of the fuzzing target.
+     *
+     * @return the secondary target or null, if the responses are not compared
+     */
+    public InetSocketAddress getSecondaryTarget() {
+        return secondaryTarget;
+    }
+
+    /**
+     * Sets the target every message is sent to as well, for example another build of the same server, so that
+     * messages both targets respond to differently are found.
+     *
+     * @param secondaryTarget the secondary target, null for no comparison
+     */
+    public void setSecondaryTarget(InetSocketAddress secondaryTarget) {
+        this.secondaryTarget = secondaryTarget;
+    }
+
+    /**
+     * Returns the statistics of the campaign.
+     *
+     * @return the fuzzing statistics
+     */
+    public FuzzingStatistics getStatistics() {
+        return statistics;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+
+/**
+ * This class is the adaptive runnable, responsible for setting the option to fuzz the variable protocol blocks one at a
+ * time, chosen by the yield of their previous messages.
+ */
+class AdaptiveRunner extends AbstractRunner {
+
+    private boolean adaptive;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param adaptive true, if the fuzzed variable blocks are chosen by their yield
+     */
+    protected AdaptiveRunner(boolean adaptive) {
+        super(1);
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Returns whether adaptive block scheduling is enabled.
+     *
+     * @return true, if adaptive block scheduling is enabled
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    @Override
+    public void run() {
+        markStart();
+
+        // Start work unit
+        Model.INSTANCE.getLogger().info("Adaptive block scheduling " + (adaptive ? "enabled" : "disabled"));
+        markFinish();
+    }
+
+}
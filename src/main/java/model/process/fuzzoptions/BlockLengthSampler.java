@@ -0,0 +1,181 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.protocol.InjectedProtocolBlock;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolBlock.Type;
+import model.protocol.ProtocolFile;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * This class is the block length sampler callable, responsible for measuring how long a variable protocol block is in
+ * each of the collected protocol files. The fixed blocks of the protocol structure are searched for in the order of
+ * the structure, and the variable block is the part between the fixed blocks around it. Files that do not contain all
+ * fixed blocks in order are skipped. A variable block next to another variable block cannot be separated from it and
+ * gets no lengths.
+ */
+class BlockLengthSampler implements Callable<int[]> {
+
+    private final Collection<ProtocolFile> files;
+    private final InjectedProtocolStructure injectedProtocolStructure;
+    private final int index;
+
+    /**
+     * Constructs the callable.
+     *
+     * @param files                     the collected protocol files
+     * @param injectedProtocolStructure the protocol structure
+     * @param index                     the index of the variable protocol block
+     */
+    public BlockLengthSampler(Collection<ProtocolFile> files, InjectedProtocolStructure injectedProtocolStructure,
+                              int index) {
+        this.files = files;
+        this.injectedProtocolStructure = injectedProtocolStructure;
+        this.index = index;
+    }
+
+    @Override
+    public int[] call() {
+        int position = findPosition();
+        if ((position == -1) || !isSeparable(position)) {
+            return new int[0];
+        }
+        int[] result = new int[files.size()];
+        int count = 0;
+        for (ProtocolFile each : files) {
+            int length = measure(each.getContent(), position);
+            if (length > -1) {
+                result[count] = length;
+                count++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the position of the variable block in the protocol structure.
+     *
+     * @return the position or -1, if there is no such variable block
+     */
+    private int findPosition() {
+        int varCount = 0;
+        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
+            if (injectedProtocolStructure.getBlock(i).getType() == Type.VAR) {
+                if (varCount == index) {
+                    return i;
+                }
+                varCount++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the variable block at the given position is surrounded by fixed blocks or the ends of the
+     * message.
+     *
+     * @param position the position of the variable block
+     * @return true, if the length of the variable block can be measured
+     */
+    private boolean isSeparable(int position) {
+        return ((position == 0) || (injectedProtocolStructure.getBlock(position - 1).getType() == Type.FIX)) &&
+                ((position == (injectedProtocolStructure.getSize() - 1)) ||
+                        (injectedProtocolStructure.getBlock(position + 1).getType() == Type.FIX));
+    }
+
+    /**
+     * Measures the length of the variable block at the given position in the given content.
+     *
+     * @param content  the content of a protocol file
+     * @param position the position of the variable block
+     * @return the length or -1, if the fixed blocks are not found in the content
+     */
+    private int measure(byte[] content, int position) {
+        int offset = 0;
+        int start = 0;
+        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(i);
+            if (i == position) {
+                start = offset;
+            }
+            if (block.getType() == Type.VAR) {
+                continue;
+            }
+            byte[] bytes = toBytes(block.getBytes());
+            // A fixed block directly after the start or another fixed block must follow without a gap
+            boolean adjacent = (i == 0) || (injectedProtocolStructure.getBlock(i - 1).getType() == Type.FIX);
+            int found = adjacent ? (startsWith(content, offset, bytes) ? offset : -1) : indexOf(content, bytes,
+                    offset);
+            if (found == -1) {
+                return -1;
+            }
+            if (i == (position + 1)) {
+                return found - start;
+            }
+            offset = found + bytes.length;
+        }
+        // The variable block is the last block of the message
+        return content.length - start;
+    }
+
+    /**
+     * Converts the bytes of a fixed protocol block to primitive bytes.
+     *
+     * @param bytes the bytes of the block
+     * @return the primitive bytes
+     */
+    private static byte[] toBytes(Byte... bytes) {
+        byte[] result = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            result[i] = bytes[i];
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the content contains the given bytes at the given offset.
+     *
+     * @param content the content
+     * @param offset  the offset
+     * @param bytes   the bytes
+     * @return true, if the bytes are found at the offset
+     */
+    private static boolean startsWith(byte[] content, int offset, byte... bytes) {
+        if ((offset + bytes.length) > content.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (content[offset + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first offset at or behind the given offset at which the content contains the given bytes.
+     *
+     * @param content the content
+     * @param bytes   the bytes
+     * @param from    the offset to start searching at
+     * @return the offset or -1, if the bytes are not found
+     */
+    private static int indexOf(byte[] content, byte[] bytes, int from) {
+        for (int i = from; (i + bytes.length) <= content.length; i++) {
+            if (startsWith(content, i, bytes)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
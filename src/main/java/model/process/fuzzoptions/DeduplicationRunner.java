@@ -0,0 +1,50 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+
+/**
+ * This class is the deduplication runnable, responsible for setting the option to skip fuzzed messages that have
+ * already been sent.
+ */
+class DeduplicationRunner extends AbstractRunner {
+
+    private boolean deduplication;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param deduplication true, if messages with the same bytes as an already sent message are skipped
+     */
+    protected DeduplicationRunner(boolean deduplication) {
+        super(1);
+        this.deduplication = deduplication;
+    }
+
+    /**
+     * Returns whether deduplication is enabled.
+     *
+     * @return true, if deduplication is enabled
+     */
+    public boolean isDeduplication() {
+        return deduplication;
+    }
+
+    @Override
+    public void run() {
+        markStart();
+
+        // Start work unit
+        Model.INSTANCE.getLogger().info("Deduplication of fuzzed messages " + (deduplication ? "enabled" : "disabled"));
+        markFinish();
+    }
+
+}
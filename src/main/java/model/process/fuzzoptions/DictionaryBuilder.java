@@ -0,0 +1,362 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.protocol.CompiledLibrary;
+import model.protocol.InjectedProtocolBlock;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolBlock.Type;
+import model.protocol.ProtocolFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * This class is the dictionary builder callable, responsible for mining the collected protocol files and the fixed
+ * blocks of the learned protocol structure for the keywords, delimiters and magic values a target is likely to check
+ * for. The dictionary is written as a compiled library and contains, in this order:
+ * <ul>
+ * <li>the content of all fixed protocol blocks</li>
+ * <li>the neighbours of all fixed protocol blocks that look like integers, that is blocks of 1, 2, 4 or 8 bytes</li>
+ * <li>frequent tokens, that is runs of alphanumeric characters</li>
+ * <li>frequent delimiters, that is the bytes terminating tokens</li>
+ * <li>frequent n-grams that are not just part of a longer frequent n-gram</li>
+ * </ul>
+ * Tokens and n-grams are counted in one pass over the input with heavy-hitter sketches, so that the memory needed
+ * does not depend on the size of the collected files.
+ */
+class DictionaryBuilder implements Callable<Boolean> {
+
+    private static final int MIN_NGRAM_LENGTH = 2;
+    private static final int MAX_NGRAM_LENGTH = 7;
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKEN_LENGTH = 32;
+    private static final int NGRAM_CAPACITY = 8192;
+    private static final int TOKEN_CAPACITY = 4096;
+    private static final int MAX_DELIMITERS = 16;
+    private static final int MIN_COUNT = 2;
+    private static final int MAX_ENTRIES = 4096;
+    private final Collection<ProtocolFile> files;
+    private final InjectedProtocolStructure injectedProtocolStructure;
+    private final Path dictionary;
+    private final HeavyHitterSketch<Long> ngrams;
+    private final HeavyHitterSketch<ByteBuffer> tokens;
+    private final long[] delimiters;
+
+    /**
+     * Constructs the callable.
+     *
+     * @param files                     the collected protocol files
+     * @param injectedProtocolStructure the protocol structure whose fixed blocks are mined
+     * @param dictionary                the path to the compiled library to create
+     */
+    public DictionaryBuilder(Collection<ProtocolFile> files, InjectedProtocolStructure injectedProtocolStructure,
+                             Path dictionary) {
+        this.files = files;
+        this.injectedProtocolStructure = injectedProtocolStructure;
+        this.dictionary = dictionary;
+        ngrams = new HeavyHitterSketch<>(NGRAM_CAPACITY);
+        tokens = new HeavyHitterSketch<>(TOKEN_CAPACITY);
+        delimiters = new long[256];
+    }
+
+    @Override
+    public Boolean call() {
+        List<byte[]> entries = build();
+        if (entries.isEmpty()) {
+            Model.INSTANCE.getLogger().warning("No dictionary entries found");
+            return false;
+        }
+        try {
+            CompiledLibrary.write(entries, dictionary);
+            Model.INSTANCE.getLogger().info("Dictionary with " + entries.size() + " entries written to '" +
+                    dictionary + '\'');
+            return true;
+        } catch (IOException e) {
+            Model.INSTANCE.getLogger().error(e);
+            return false;
+        }
+    }
+
+    /**
+     * Mines all inputs and returns the dictionary entries. Every entry occurs only once.
+     *
+     * @return the dictionary entries
+     */
+    public List<byte[]> build() {
+        List<byte[]> fixBlocks = new ArrayList<>();
+        for (int i = 0; i < injectedProtocolStructure.getSize(); i++) {
+            InjectedProtocolBlock block = injectedProtocolStructure.getBlock(i);
+            if (block.getType() == Type.FIX) {
+                Byte[] bytes = block.getBytes();
+                byte[] fixBlock = new byte[bytes.length];
+                for (int j = 0; j < bytes.length; j++) {
+                    fixBlock[j] = bytes[j];
+                }
+                fixBlocks.add(fixBlock);
+                scan(fixBlock);
+            }
+        }
+        for (ProtocolFile each : files) {
+            scan(each.getContent());
+        }
+
+        Set<ByteBuffer> entries = new LinkedHashSet<>();
+        for (byte[] each : fixBlocks) {
+            addEntry(entries, each);
+        }
+        for (byte[] each : fixBlocks) {
+            for (byte[] neighbour : getIntegerNeighbours(each)) {
+                addEntry(entries, neighbour);
+            }
+        }
+        for (ByteBuffer each : tokens.getHeavyHitters(MIN_COUNT)) {
+            addEntry(entries, toArray(each));
+        }
+        for (byte[] each : getFrequentDelimiters()) {
+            addEntry(entries, each);
+        }
+        for (byte[] each : getMaximalNgrams()) {
+            addEntry(entries, each);
+        }
+        List<byte[]> result = new ArrayList<>(entries.size());
+        for (ByteBuffer each : entries) {
+            result.add(toArray(each));
+        }
+        return result;
+    }
+
+    /**
+     * Counts all n-grams, tokens and delimiters of the given input.
+     *
+     * @param input the input bytes
+     */
+    private void scan(byte... input) {
+        // All n-grams ending at the current position are counted as packed long values
+        for (int i = 0; i < input.length; i++) {
+            long packed = 0;
+            for (int length = 1; (length <= MAX_NGRAM_LENGTH) && (length <= (i + 1)); length++) {
+                packed |= (input[i - length + 1] & 0xffL) << ((length - 1) * 8);
+                if (length >= MIN_NGRAM_LENGTH) {
+                    ngrams.add(packNgram(packed, length));
+                }
+            }
+        }
+        int tokenStart = -1;
+        for (int i = 0; i <= input.length; i++) {
+            if ((i < input.length) && isTokenByte(input[i])) {
+                if (tokenStart == -1) {
+                    tokenStart = i;
+                }
+                continue;
+            }
+            if (tokenStart == -1) {
+                continue;
+            }
+            int length = i - tokenStart;
+            if ((length >= MIN_TOKEN_LENGTH) && (length <= MAX_TOKEN_LENGTH)) {
+                byte[] token = new byte[length];
+                System.arraycopy(input, tokenStart, token, 0, length);
+                tokens.add(ByteBuffer.wrap(token));
+                if (i < input.length) {
+                    delimiters[input[i] & 0xff]++;
+                }
+            }
+            tokenStart = -1;
+        }
+    }
+
+    /**
+     * Packs an n-gram and its length into one long value. The n-gram occupies the lower seven bytes, its length the
+     * highest byte.
+     *
+     * @param bytes  the n-gram bytes, the last byte of the n-gram in the lowest byte
+     * @param length the length of the n-gram
+     * @return the packed n-gram
+     */
+    private static long packNgram(long bytes, int length) {
+        return ((long) length << 56) | bytes;
+    }
+
+    /**
+     * Unpacks an n-gram packed by {@link #packNgram(long, int)}.
+     *
+     * @param packed the packed n-gram
+     * @return the n-gram bytes
+     */
+    private static byte[] unpackNgram(long packed) {
+        //noinspection NumericCastThatLosesPrecision
+        int length = (int) (packed >>> 56);
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            //noinspection NumericCastThatLosesPrecision
+            result[length - 1 - i] = (byte) (packed >>> (i * 8));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the frequent n-grams that are not just part of a longer frequent n-gram, that is n-grams whose count is
+     * higher than the count of both n-grams extending them by one byte.
+     *
+     * @return the maximal n-grams, the most frequent first
+     */
+    private List<byte[]> getMaximalNgrams() {
+        List<Long> frequent = ngrams.getHeavyHitters(MIN_COUNT);
+        Set<Long> covered = new HashSet<>();
+        for (long each : frequent) {
+            //noinspection NumericCastThatLosesPrecision
+            int length = (int) (each >>> 56);
+            if (length == MIN_NGRAM_LENGTH) {
+                continue;
+            }
+            long bytes = each & 0x00ffffffffffffffL;
+            long mask = (1L << ((length - 1) * 8)) - 1;
+            long prefix = packNgram(bytes >>> 8, length - 1);
+            long suffix = packNgram(bytes & mask, length - 1);
+            long count = ngrams.getCount(each);
+            if (count >= ngrams.getGuaranteedCount(prefix)) {
+                covered.add(prefix);
+            }
+            if (count >= ngrams.getGuaranteedCount(suffix)) {
+                covered.add(suffix);
+            }
+        }
+        List<byte[]> result = new ArrayList<>();
+        for (long each : frequent) {
+            if (!covered.contains(each)) {
+                result.add(unpackNgram(each));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the most frequent delimiters of tokens.
+     *
+     * @return the delimiters, each one a single byte, the most frequent first
+     */
+    private List<byte[]> getFrequentDelimiters() {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < delimiters.length; i++) {
+            if (delimiters[i] >= MIN_COUNT) {
+                candidates.add(i);
+            }
+        }
+        Collections.sort(candidates, (o1, o2) -> Long.compare(delimiters[o2], delimiters[o1]));
+        List<byte[]> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(MAX_DELIMITERS, candidates.size()); i++) {
+            //noinspection NumericCastThatLosesPrecision
+            result.add(new byte[]{(byte) candidates.get(i).intValue()});
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values next to the given bytes if they are interpreted as a big-endian and a little-endian integer,
+     * that is the values decremented and incremented by one with the same width and byte order.
+     *
+     * @param bytes the bytes of a fixed block
+     * @return the neighbours, empty if the width of the bytes is not the width of an integer type
+     */
+    private static List<byte[]> getIntegerNeighbours(byte... bytes) {
+        List<byte[]> result = new ArrayList<>();
+        if ((bytes.length != 1) && (bytes.length != 2) && (bytes.length != 4) && (bytes.length != 8)) {
+            return result;
+        }
+        for (int delta = -1; delta <= 1; delta += 2) {
+            result.add(addBigEndian(bytes, delta));
+            byte[] reversed = reverse(bytes);
+            result.add(reverse(addBigEndian(reversed, delta)));
+        }
+        return result;
+    }
+
+    /**
+     * Adds the given delta to the given big-endian integer, wrapping around at its width.
+     *
+     * @param bytes the integer bytes
+     * @param delta the delta
+     * @return the new integer bytes
+     */
+    private static byte[] addBigEndian(byte[] bytes, int delta) {
+        long value = 0;
+        for (byte each : bytes) {
+            value = (value << 8) | (each & 0xff);
+        }
+        value += delta;
+        byte[] result = new byte[bytes.length];
+        for (int i = result.length - 1; i >= 0; i--) {
+            //noinspection NumericCastThatLosesPrecision
+            result[i] = (byte) value;
+            value >>>= 8;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the given bytes in reverse order.
+     *
+     * @param bytes the bytes
+     * @return the reversed bytes
+     */
+    private static byte[] reverse(byte... bytes) {
+        byte[] result = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            result[i] = bytes[bytes.length - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the given byte can be part of a token, that is whether it is an ASCII letter, digit, underscore
+     * or hyphen.
+     *
+     * @param b the byte
+     * @return true, if the byte is a token byte
+     */
+    private static boolean isTokenByte(byte b) {
+        return ((b >= 'a') && (b <= 'z')) || ((b >= 'A') && (b <= 'Z')) || ((b >= '0') && (b <= '9')) || (b == '_')
+                || (b == '-');
+    }
+
+    /**
+     * Adds a non-empty entry to the dictionary entries unless the maximum number of entries is reached.
+     *
+     * @param entries the dictionary entries
+     * @param entry   the entry to add
+     */
+    private static void addEntry(Set<ByteBuffer> entries, byte... entry) {
+        if ((entry.length > 0) && (entries.size() < MAX_ENTRIES)) {
+            entries.add(ByteBuffer.wrap(entry));
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of the given buffer without changing its position.
+     *
+     * @param buffer the buffer
+     * @return the copied bytes
+     */
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.duplicate().get(result);
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This class is the dictionary runnable, responsible for building a dictionary from the collected protocol files and
+ * the fixed protocol blocks and setting it as the library of dictionary-based injected protocol blocks.
+ */
+class DictionaryRunner extends AbstractRunner {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+    private InjectionMethod injectionMethod;
+    private int index;
+    private Collection<ProtocolFile> files;
+    private Path dictionary;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param injectedProtocolStructure the input injected protocol structure
+     * @param injectionMethod           the injection method
+     * @param index                     the index of the variable protocol block
+     * @param files                     the collected protocol files
+     * @param dictionary                the path to the dictionary to create
+     */
+    public DictionaryRunner(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod injectionMethod,
+                            int index, Collection<ProtocolFile> files, Path dictionary) {
+        super(2);
+        this.injectedProtocolStructure = injectedProtocolStructure;
+        this.injectionMethod = injectionMethod;
+        this.index = index;
+        this.files = files;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public void run() {
+        try {
+            markStart();
+
+            // Start work unit
+            DictionaryBuilder dictionaryBuilder = new DictionaryBuilder(files, injectedProtocolStructure, dictionary);
+            Path newDictionary = submitToThreadPool(dictionaryBuilder).get() ? dictionary : null;
+            markProgress();
+
+            // Start work unit
+            switch (injectionMethod) {
+                case SIMULTANEOUS:
+                    for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
+                        injectedProtocolStructure.getVarBlock(i).setDictionaryInjection();
+                        injectedProtocolStructure.getVarBlock(i).setLibrary(newDictionary);
+                    }
+                    Model.INSTANCE.getLogger().info("Dictionary of all variable protocols set to '" +
+                            injectedProtocolStructure.getVarBlock(index).getLibrary() + '\'');
+                    break;
+                case SEPARATE:
+                case PAIRWISE:
+                    injectedProtocolStructure.getVarBlock(index).setDictionaryInjection();
+                    injectedProtocolStructure.getVarBlock(index).setLibrary(newDictionary);
+                    Model.INSTANCE.getLogger().info("Dictionary of variable protocol block #" + index + " set to '" +
+                            injectedProtocolStructure.getVarBlock(index).getLibrary() + '\'');
+                    break;
+            }
+            markFinish();
+        } catch (InterruptedException ignored) {
+            Model.INSTANCE.getLogger().info("Building dictionary cancelled");
+            markCancel();
+        } catch (ExecutionException e) {
+            // Should not happen
+            Model.INSTANCE.getLogger().error(e);
+        }
+    }
+
+    /**
+     * Returns the updated injected protocol structure.
+     *
+     * @return the injected protocol structure
+     */
+    public InjectedProtocolStructure getInjectedProtocolStructure() {
+        return injectedProtocolStructure;
+    }
+
+}
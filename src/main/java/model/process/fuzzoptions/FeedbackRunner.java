@@ -0,0 +1,50 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+
+/**
+ * This class is the feedback runnable, responsible for setting the option to use the responses of the target for
+ * guiding the generation of fuzzed messages.
+ */
+class FeedbackRunner extends AbstractRunner {
+
+    private boolean feedback;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param feedback true, if the responses of the target guide the generation of fuzzed messages
+     */
+    protected FeedbackRunner(boolean feedback) {
+        super(1);
+        this.feedback = feedback;
+    }
+
+    /**
+     * Returns whether feedback is enabled.
+     *
+     * @return true, if feedback is enabled
+     */
+    public boolean isFeedback() {
+        return feedback;
+    }
+
+    @Override
+    public void run() {
+        markStart();
+
+        // Start work unit
+        Model.INSTANCE.getLogger().info("Response feedback " + (feedback ? "enabled" : "disabled"));
+        markFinish();
+    }
+
+}
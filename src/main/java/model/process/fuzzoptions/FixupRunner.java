@@ -0,0 +1,65 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+import model.protocol.Fixup;
+import model.protocol.InjectedProtocolStructure;
+
+/**
+ * This class is the fix-up runnable, responsible for adding a length or checksum field to the injected protocol
+ * structure or removing all of them.
+ */
+class FixupRunner extends AbstractRunner {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+    private Fixup fixup;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param injectedProtocolStructure the input injected protocol structure
+     * @param fixup                     the fix-up to add, null for removing all fix-ups
+     */
+    public FixupRunner(InjectedProtocolStructure injectedProtocolStructure, Fixup fixup) {
+        super(1);
+        this.injectedProtocolStructure = injectedProtocolStructure;
+        this.fixup = fixup;
+    }
+
+    @Override
+    public void run() {
+        markStart();
+
+        // Start work unit
+        if (fixup == null) {
+            injectedProtocolStructure.clearFixups();
+            Model.INSTANCE.getLogger().info("All fix-ups removed");
+        } else if ((fixup.getBlock() >= injectedProtocolStructure.getSize()) ||
+                (fixup.getLastBlock() >= injectedProtocolStructure.getSize())) {
+            Model.INSTANCE.getLogger().error("Fix-up refers to a protocol block that does not exist");
+        } else {
+            injectedProtocolStructure.addFixup(fixup);
+            Model.INSTANCE.getLogger().info(fixup.getType() + " field of protocol block #" + fixup.getBlock() +
+                    " set over protocol blocks #" + fixup.getFirstBlock() + " to #" + fixup.getLastBlock());
+        }
+        markFinish();
+    }
+
+    /**
+     * Returns the updated injected protocol structure.
+     *
+     * @return the injected protocol structure
+     */
+    public InjectedProtocolStructure getInjectedProtocolStructure() {
+        return injectedProtocolStructure;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is the heavy-hitter sketch, responsible for finding the most frequent items of a stream in constant
+ * memory. It implements the space-saving algorithm: at most a fixed number of items is counted and a new item replaces
+ * the item with the lowest count, inheriting its count. Every item that occurs more often than the stream length
+ * divided by the capacity is guaranteed to be counted, and every count overestimates the real count by at most the
+ * count it inherited.
+ * <p>
+ * The counted items are kept in a binary min-heap ordered by their counts, so that counting an item costs logarithmic
+ * time in the capacity.
+ *
+ * @param <K> the type of the items
+ */
+class HeavyHitterSketch<K> {
+
+    private final int capacity;
+    private final Map<K, Integer> positions;
+    private final List<K> heapItems;
+    private final long[] heapCounts;
+    private final long[] heapErrors;
+
+    /**
+     * Constructs a new sketch.
+     *
+     * @param capacity the maximum number of counted items
+     */
+    public HeavyHitterSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        positions = new HashMap<>(capacity * 2);
+        heapItems = new ArrayList<>(capacity);
+        heapCounts = new long[capacity];
+        heapErrors = new long[capacity];
+    }
+
+    /**
+     * Counts one occurrence of the given item.
+     *
+     * @param item the item
+     */
+    public void add(K item) {
+        Integer position = positions.get(item);
+        if (position != null) {
+            heapCounts[position]++;
+            siftDown(position);
+            return;
+        }
+        if (heapItems.size() < capacity) {
+            int last = heapItems.size();
+            heapItems.add(item);
+            heapCounts[last] = 1;
+            heapErrors[last] = 0;
+            positions.put(item, last);
+            siftUp(last);
+            return;
+        }
+        // Replace the item with the lowest count, which is the root of the heap
+        positions.remove(heapItems.get(0));
+        heapItems.set(0, item);
+        heapErrors[0] = heapCounts[0];
+        heapCounts[0]++;
+        positions.put(item, 0);
+        siftDown(0);
+    }
+
+    /**
+     * Returns the estimated count of the given item.
+     *
+     * @param item the item
+     * @return the estimated count, 0 if the item is not counted
+     */
+    public long getCount(K item) {
+        Integer position = positions.get(item);
+        return (position == null) ? 0 : heapCounts[position];
+    }
+
+    /**
+     * Returns the lower bound of the real count of the given item, that is the estimated count minus the count the
+     * item has inherited.
+     *
+     * @param item the item
+     * @return the guaranteed count, 0 if the item is not counted
+     */
+    public long getGuaranteedCount(K item) {
+        Integer position = positions.get(item);
+        return (position == null) ? 0 : (heapCounts[position] - heapErrors[position]);
+    }
+
+    /**
+     * Returns the number of counted items.
+     *
+     * @return the number of items
+     */
+    public int getSize() {
+        return heapItems.size();
+    }
+
+    /**
+     * Returns all counted items whose guaranteed count is at least the given minimum, ordered by their estimated
+     * counts, the most frequent first.
+     *
+     * @param minCount the minimum guaranteed count
+     * @return the frequent items
+     */
+    public List<K> getHeavyHitters(long minCount) {
+        List<K> result = new ArrayList<>();
+        for (K each : heapItems) {
+            if (getGuaranteedCount(each) >= minCount) {
+                result.add(each);
+            }
+        }
+        Collections.sort(result, Comparator.comparingLong(this::getCount).reversed());
+        return result;
+    }
+
+    /**
+     * Moves the item at the given position up until its parent has a lower or equal count.
+     *
+     * @param position the position in the heap
+     */
+    private void siftUp(int position) {
+        int current = position;
+        while (current > 0) {
+            int parent = (current - 1) / 2;
+            if (heapCounts[parent] <= heapCounts[current]) {
+                return;
+            }
+            swap(current, parent);
+            current = parent;
+        }
+    }
+
+    /**
+     * Moves the item at the given position down until both its children have a higher or equal count.
+     *
+     * @param position the position in the heap
+     */
+    private void siftDown(int position) {
+        int current = position;
+        while (true) {
+            int smallest = current;
+            int left = (current * 2) + 1;
+            int right = left + 1;
+            if ((left < heapItems.size()) && (heapCounts[left] < heapCounts[smallest])) {
+                smallest = left;
+            }
+            if ((right < heapItems.size()) && (heapCounts[right] < heapCounts[smallest])) {
+                smallest = right;
+            }
+            if (smallest == current) {
+                return;
+            }
+            swap(current, smallest);
+            current = smallest;
+        }
+    }
+
+    /**
+     * Swaps two items of the heap.
+     *
+     * @param first  the position of the first item
+     * @param second the position of the second item
+     */
+    private void swap(int first, int second) {
+        K item = heapItems.get(first);
+        heapItems.set(first, heapItems.get(second));
+        heapItems.set(second, item);
+        long count = heapCounts[first];
+        heapCounts[first] = heapCounts[second];
+        heapCounts[second] = count;
+        long error = heapErrors[first];
+        heapErrors[first] = heapErrors[second];
+        heapErrors[second] = error;
+        positions.put(heapItems.get(first), first);
+        positions.put(heapItems.get(second), second);
+    }
+}
@@ -53,6 +53,12 @@ class InjectionDataRunner extends AbstractRunner {
             case LIBRARY:
                 libraryInjection();
                 break;
+            case MUTATION:
+                mutationInjection();
+                break;
+            case DICTIONARY:
+                dictionaryInjection();
+                break;
         }
         markFinish();
     }
@@ -70,6 +76,7 @@ class InjectionDataRunner extends AbstractRunner {
                         .info("Data Injection method of all variable protocol blocks set to " + DataInjection.LIBRARY);
                 break;
             case SEPARATE:
+            case PAIRWISE:
                 injectedProtocolStructure.getVarBlock(index).setLibraryInjection();
                 Model.INSTANCE.getLogger()
                         .info("Data Injection method of variable protocol block #" + index + " set to " +
@@ -78,6 +85,50 @@ class InjectionDataRunner extends AbstractRunner {
         }
     }
 
+    /**
+     * Updates the injected protocol structure by switching on or more protocol blocks to mutation-based injection.
+     */
+    private void mutationInjection() {
+        switch (injectionMethod) {
+            case SIMULTANEOUS:
+                for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
+                    injectedProtocolStructure.getVarBlock(i).setMutationInjection();
+                }
+                Model.INSTANCE.getLogger()
+                        .info("Data Injection method of all variable protocol blocks set to " + DataInjection.MUTATION);
+                break;
+            case SEPARATE:
+            case PAIRWISE:
+                injectedProtocolStructure.getVarBlock(index).setMutationInjection();
+                Model.INSTANCE.getLogger()
+                        .info("Data Injection method of variable protocol block #" + index + " set to " +
+                                DataInjection.MUTATION);
+                break;
+        }
+    }
+
+    /**
+     * Updates the injected protocol structure by switching on or more protocol blocks to dictionary-based injection.
+     */
+    private void dictionaryInjection() {
+        switch (injectionMethod) {
+            case SIMULTANEOUS:
+                for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
+                    injectedProtocolStructure.getVarBlock(i).setDictionaryInjection();
+                }
+                Model.INSTANCE.getLogger().info("Data Injection method of all variable protocol blocks set to " +
+                        DataInjection.DICTIONARY);
+                break;
+            case SEPARATE:
+            case PAIRWISE:
+                injectedProtocolStructure.getVarBlock(index).setDictionaryInjection();
+                Model.INSTANCE.getLogger()
+                        .info("Data Injection method of variable protocol block #" + index + " set to " +
+                                DataInjection.DICTIONARY);
+                break;
+        }
+    }
+
     /**
      * Updates the injected protocol structure by switching on or more protocol blocks to random-based injection.
      */
@@ -91,6 +142,7 @@ class InjectionDataRunner extends AbstractRunner {
                         .info("Data Injection method of all variable protocol blocks set to " + DataInjection.RANDOM);
                 break;
             case SEPARATE:
+            case PAIRWISE:
                 injectedProtocolStructure.getVarBlock(index).setRandomInjection();
                 Model.INSTANCE.getLogger()
                         .info("Data Injection method of variable protocol block #" + index + " set to " +
@@ -12,6 +12,7 @@ import model.Model;
 import model.process.AbstractRunner;
 import model.process.fuzzoptions.Process.InjectionMethod;
 import model.protocol.InjectedProtocolStructure;
+import model.protocol.SizeDistribution;
 
 import java.nio.file.Path;
 
@@ -55,6 +56,7 @@ class InjectionMethodRunner extends AbstractRunner {
                 simultaneousInjection();
                 break;
             case SEPARATE:
+            case PAIRWISE:
                 separateInjection();
                 break;
         }
@@ -63,12 +65,13 @@ class InjectionMethodRunner extends AbstractRunner {
     }
 
     /**
-     * Updates the injected protocol structure by switching to separate data injection.
+     * Updates the injected protocol structure by switching to separate or pairwise data injection, both of which have
+     * independent options for every variable protocol block.
      */
     private void separateInjection() {
         for (int i = 1; i < injectedProtocolStructure.getVarSize(); i++) {
             injectedProtocolStructure.getVarBlock(i).setRandomInjection();
-            Model.INSTANCE.getLogger().info("Injection mode set to " + InjectionMethod.SEPARATE);
+            Model.INSTANCE.getLogger().info("Injection mode set to " + injectionMethod);
         }
     }
 
@@ -76,6 +79,11 @@ class InjectionMethodRunner extends AbstractRunner {
      * Updates the injected protocol structure by switching to simultaneous data injection.
      */
     private void simultaneousInjection() {
+        // All blocks share the size distribution of the first block, suited to the longest block
+        SizeDistribution first = injectedProtocolStructure.getVarBlock(0).getSizeDistribution();
+        SizeDistribution shared = injectedProtocolStructure.shareSizeDistribution(first);
+        Model.INSTANCE.getLogger().info("Size distribution of all variable protocol blocks set to " +
+                shared.getKind() + " with lengths up to " + shared.getMax() + " bytes");
         switch (injectedProtocolStructure.getVarBlock(0).getDataInjection()) {
             case LIBRARY:
                 Path library = injectedProtocolStructure.getVarBlock(0).getLibrary();
@@ -88,6 +96,20 @@ class InjectionMethodRunner extends AbstractRunner {
                             injectedProtocolStructure.getVarBlock(0).getLibrary() + '\'');
                 }
                 break;
+            case MUTATION:
+                Path seedLibrary = injectedProtocolStructure.getVarBlock(0).getLibrary();
+                for (int i = 1; i < injectedProtocolStructure.getVarSize(); i++) {
+                    injectedProtocolStructure.getVarBlock(i).setMutationInjection();
+                    injectedProtocolStructure.getVarBlock(i).setLibrary(seedLibrary);
+                }
+                break;
+            case DICTIONARY:
+                Path dictionary = injectedProtocolStructure.getVarBlock(0).getLibrary();
+                for (int i = 1; i < injectedProtocolStructure.getVarSize(); i++) {
+                    injectedProtocolStructure.getVarBlock(i).setDictionaryInjection();
+                    injectedProtocolStructure.getVarBlock(i).setLibrary(dictionary);
+                }
+                break;
             case RANDOM:
                 for (int i = 1; i < injectedProtocolStructure.getVarSize(); i++) {
                     injectedProtocolStructure.getVarBlock(i).setRandomInjection();
@@ -9,6 +9,7 @@
 package model.process.fuzzoptions;
 
 import model.Model;
+import model.protocol.CompiledLibrary;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -20,7 +21,8 @@ import java.util.regex.Pattern;
 
 /**
  * This class is the library checker callable, responsible for verifying that a file-based library for library-based
- * data injection is well formatted.
+ * data injection is well formatted. A library is either a text file of hex binary lines or a compiled library, whose
+ * offset table is validated.
  */
 class LibraryChecker implements Callable<Boolean> {
 
@@ -47,6 +49,15 @@ class LibraryChecker implements Callable<Boolean> {
         if (!Files.isReadable(library)) {
             return false;
         }
+        if (CompiledLibrary.isCompiled(library)) {
+            //noinspection NestedTryStatement
+            try {
+                return new CompiledLibrary(library).validate();
+            } catch (IOException e) {
+                Model.INSTANCE.getLogger().error(e);
+                return false;
+            }
+        }
         try (BufferedReader reader = Files.newBufferedReader(library)) {
             String line = reader.readLine();
             if (line == null) {
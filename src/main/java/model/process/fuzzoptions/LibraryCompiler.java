@@ -0,0 +1,48 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.protocol.CompiledLibrary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+/**
+ * This class is the library compiler callable, responsible for converting a hex binary library into a compiled library
+ * whose payloads can be read without parsing them.
+ */
+class LibraryCompiler implements Callable<Boolean> {
+
+    private final Path library;
+    private final Path compiledLibrary;
+
+    /**
+     * Constructs the callable.
+     *
+     * @param library         the path to the hex binary library
+     * @param compiledLibrary the path to the compiled library to create
+     */
+    public LibraryCompiler(Path library, Path compiledLibrary) {
+        this.library = library;
+        this.compiledLibrary = compiledLibrary;
+    }
+
+    @Override
+    public Boolean call() {
+        try {
+            CompiledLibrary.compile(library, compiledLibrary);
+            return true;
+        } catch (IOException e) {
+            Model.INSTANCE.getLogger().error(e);
+            return false;
+        }
+    }
+}
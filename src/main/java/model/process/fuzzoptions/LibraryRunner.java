@@ -11,6 +11,7 @@ package model.process.fuzzoptions;
 import model.Model;
 import model.process.AbstractRunner;
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.CompiledLibrary;
 import model.protocol.InjectedProtocolStructure;
 
 import java.nio.file.Path;
@@ -26,6 +27,7 @@ class LibraryRunner extends AbstractRunner {
     private InjectionMethod injectionMethod;
     private int index;
     private Path library;
+    private Path compiledLibrary;
 
     /**
      * Constructs a new runner.
@@ -34,11 +36,24 @@ class LibraryRunner extends AbstractRunner {
      */
     public LibraryRunner(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod injectionMethod,
                          int index, Path library) {
-        super(1);
+        this(injectedProtocolStructure, injectionMethod, index, library, null);
+    }
+
+    /**
+     * Constructs a new runner that compiles the library before it is set. The compiled library is set instead of the
+     * given library.
+     *
+     * @param index           the index of the variable protocol block
+     * @param compiledLibrary the path to the compiled library to create, null for setting the library as it is
+     */
+    public LibraryRunner(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod injectionMethod,
+                         int index, Path library, Path compiledLibrary) {
+        super(compiledLibrary == null ? 1 : 2);
         this.injectedProtocolStructure = injectedProtocolStructure;
         this.injectionMethod = injectionMethod;
         this.index = index;
         this.library = library;
+        this.compiledLibrary = compiledLibrary;
     }
 
     @Override
@@ -57,6 +72,17 @@ class LibraryRunner extends AbstractRunner {
                 Model.INSTANCE.getLogger()
                         .info("Library file is not valid (empty or the lines do not contain hex " + "binary strings)");
             }
+            if (compiledLibrary != null) {
+                // Start work unit
+                if ((newLibrary != null) && !CompiledLibrary.isCompiled(newLibrary)) {
+                    LibraryCompiler libraryCompiler = new LibraryCompiler(newLibrary, compiledLibrary);
+                    newLibrary = submitToThreadPool(libraryCompiler).get() ? compiledLibrary : null;
+                    if (newLibrary != null) {
+                        Model.INSTANCE.getLogger().info("Library file compiled to '" + compiledLibrary + '\'');
+                    }
+                }
+                markProgress();
+            }
             switch (injectionMethod) {
                 case SIMULTANEOUS:
                     for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
@@ -66,6 +92,7 @@ class LibraryRunner extends AbstractRunner {
                             injectedProtocolStructure.getVarBlock(index).getLibrary() + '\'');
                     break;
                 case SEPARATE:
+                case PAIRWISE:
                     injectedProtocolStructure.getVarBlock(index).setLibrary(newLibrary);
                     Model.INSTANCE.getLogger().info("Library file of variable protocol block #" + index + " set to '" +
                             injectedProtocolStructure.getVarBlock(index).getLibrary() + '\'');
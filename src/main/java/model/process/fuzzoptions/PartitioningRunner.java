@@ -0,0 +1,52 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+import model.process.fuzzoptions.Process.Partitioning;
+
+/**
+ * This class is the partitioning runnable, responsible for setting the option to split the iterations of a finite
+ * campaign with separate injection among the parallel workers either by variable protocol block or into ranges of
+ * equal size.
+ */
+class PartitioningRunner extends AbstractRunner {
+
+    private Partitioning partitioning;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param partitioning the partitioning of the iterations
+     */
+    protected PartitioningRunner(Partitioning partitioning) {
+        super(1);
+        this.partitioning = partitioning;
+    }
+
+    /**
+     * Returns the partitioning of the iterations.
+     *
+     * @return the partitioning
+     */
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    @Override
+    public void run() {
+        markStart();
+
+        // Start work unit
+        Model.INSTANCE.getLogger().info("Iterations partitioned by " + partitioning);
+        markFinish();
+    }
+
+}
@@ -8,15 +8,20 @@
 
 package model.process.fuzzoptions;
 
+import model.Model;
 import model.process.AbstractProcess;
 import model.process.AbstractRunner;
 import model.process.AbstractRunner.ExternalState;
+import model.protocol.Fixup;
 import model.protocol.InjectedProtocolBlock.DataInjection;
 import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
 import model.protocol.ProtocolStructure;
+import model.protocol.SizeDistribution;
 
 import java.net.InetSocketAddress;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Observable;
 
 /**
@@ -30,7 +35,13 @@ public class Process extends AbstractProcess {
     private int timeout;
     private int interval;
     private RecordingMethod recordingMethod;
+    private boolean feedback;
+    private boolean deduplication;
+    private boolean adaptive;
+    private int workers;
+    private Partitioning partitioning;
     private InetSocketAddress target;
+    private InetSocketAddress secondaryTarget;
 
     /**
      * Constructs a new fuzz options process.
@@ -47,11 +58,19 @@ public class Process extends AbstractProcess {
      */
     public void init(ProtocolStructure protocolStructure) {
         injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        // Simultaneous injection is the default, so all variable blocks start with a shared size distribution
+        injectedProtocolStructure.shareSizeDistribution(null);
         timeout = 5 * TimeoutRunner.TIMEOUT_MIN;
         interval = 5 * IntervalRunner.INTERVAL_MIN;
         injectionMethod = InjectionMethod.SIMULTANEOUS;
         recordingMethod = RecordingMethod.CRITICAL;
+        feedback = false;
+        deduplication = false;
+        adaptive = false;
+        workers = WorkersRunner.WORKERS_MIN;
+        partitioning = Partitioning.BLOCK;
         target = null;
+        secondaryTarget = null;
         spreadUpdate(State.IDLE);
     }
 
@@ -63,7 +82,13 @@ public class Process extends AbstractProcess {
         interval = 5 * IntervalRunner.INTERVAL_MIN;
         injectionMethod = InjectionMethod.SIMULTANEOUS;
         recordingMethod = RecordingMethod.CRITICAL;
+        feedback = false;
+        deduplication = false;
+        adaptive = false;
+        workers = WorkersRunner.WORKERS_MIN;
+        partitioning = Partitioning.BLOCK;
         target = null;
+        secondaryTarget = null;
         spreadUpdate(State.IDLE);
     }
 
@@ -109,6 +134,116 @@ public class Process extends AbstractProcess {
         submitToThreadPool(runner);
     }
 
+    /**
+     * Returns whether the responses of the target guide the generation of fuzzed messages.
+     *
+     * @return true, if feedback is enabled
+     */
+    public boolean isFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Starts the process for enabling or disabling feedback, that is keeping inputs that make the target respond in a
+     * way not seen before and mutating them further.
+     *
+     * @param feedback true, if the responses of the target guide the generation of fuzzed messages
+     */
+    public void setFeedback(boolean feedback) {
+        AbstractRunner runner = new FeedbackRunner(feedback);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Returns whether fuzzed messages that have already been sent are skipped.
+     *
+     * @return true, if deduplication is enabled
+     */
+    public boolean isDeduplication() {
+        return deduplication;
+    }
+
+    /**
+     * Starts the process for enabling or disabling deduplication, that is skipping fuzzed messages with the same bytes
+     * as an already sent message.
+     *
+     * @param deduplication true, if messages that have already been sent are skipped
+     */
+    public void setDeduplication(boolean deduplication) {
+        AbstractRunner runner = new DeduplicationRunner(deduplication);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Returns whether the variable blocks of an endless campaign with separate injection are fuzzed one at a time,
+     * chosen by the yield of their previous messages.
+     *
+     * @return true, if adaptive block scheduling is enabled
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Starts the process for enabling or disabling adaptive block scheduling, that is giving most messages to the
+     * variable blocks that triggered crashes, timeouts or new responses.
+     *
+     * @param adaptive true, if the fuzzed variable blocks are chosen by their yield
+     */
+    public void setAdaptive(boolean adaptive) {
+        AbstractRunner runner = new AdaptiveRunner(adaptive);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Returns the number of parallel workers that send the fuzzed messages of a finite campaign with separate
+     * injection.
+     *
+     * @return the number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Starts the process for setting the number of parallel workers that send the fuzzed messages of a finite campaign
+     * with separate injection.
+     *
+     * @param workers the number of workers
+     */
+    public void setWorkers(int workers) {
+        if (workers == this.workers) {
+            return;
+        }
+        AbstractRunner runner = new WorkersRunner(workers);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Returns how the iterations of a finite campaign with separate injection are split among the parallel workers.
+     *
+     * @return the partitioning
+     */
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    /**
+     * Starts the process for setting how the iterations of a finite campaign with separate injection are split among
+     * the parallel workers.
+     *
+     * @param partitioning the partitioning
+     */
+    public void setPartitioning(Partitioning partitioning) {
+        AbstractRunner runner = new PartitioningRunner(partitioning);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
     /**
      * Starts the process for setting a given library file for a protocol block identified through the given index.
      *
@@ -121,6 +256,88 @@ public class Process extends AbstractProcess {
         submitToThreadPool(runner);
     }
 
+    /**
+     * Starts the process for compiling a given hex binary library file into a compiled library and setting the compiled
+     * library for a protocol block identified through the given index. Payloads of a compiled library are read from the
+     * mapped file without parsing them during fuzzing.
+     *
+     * @param index           the index of the injected protocol block
+     * @param library         the hex binary library file to compile
+     * @param compiledLibrary the compiled library file to create
+     */
+    public void compileLibraryForVarProtocolBlock(int index, Path library, Path compiledLibrary) {
+        AbstractRunner runner =
+                new LibraryRunner(injectedProtocolStructure.copy(), injectionMethod, index, library, compiledLibrary);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Starts the process for building a dictionary of frequent tokens, delimiters and integer constants from the given
+     * protocol files and the fixed protocol blocks, and setting the dictionary for a protocol block identified through
+     * the given index.
+     *
+     * @param index      the index of the injected protocol block
+     * @param files      the collected protocol files
+     * @param dictionary the dictionary file to create
+     */
+    public void buildDictionaryForVarProtocolBlock(int index, Collection<ProtocolFile> files, Path dictionary) {
+        AbstractRunner runner =
+                new DictionaryRunner(injectedProtocolStructure.copy(), injectionMethod, index, files, dictionary);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Starts the process for setting the distribution the lengths of random payloads are drawn from for a protocol
+     * block identified through the given index. With simultaneous injection the distribution is shared by all variable
+     * protocol blocks and suited to the longest of them.
+     *
+     * @param index            the index of the injected protocol block
+     * @param sizeDistribution the size distribution, null for the default distribution
+     */
+    public void setSizeDistributionForVarProtocolBlock(int index, SizeDistribution sizeDistribution) {
+        AbstractRunner runner =
+                new SizeDistributionRunner(injectedProtocolStructure.copy(), injectionMethod, index, sizeDistribution);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Starts the process for learning the distribution the lengths of random payloads are drawn from for a protocol
+     * block identified through the given index. The lengths are those the block has in the given protocol files.
+     *
+     * @param index the index of the injected protocol block
+     * @param files the collected protocol files
+     */
+    public void learnSizeDistributionForVarProtocolBlock(int index, Collection<ProtocolFile> files) {
+        AbstractRunner runner =
+                new SizeDistributionRunner(injectedProtocolStructure.copy(), injectionMethod, index, files);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Starts the process for adding a length or checksum field that is calculated after every fuzzed message is
+     * generated.
+     *
+     * @param fixup the fix-up
+     */
+    public void addFixup(Fixup fixup) {
+        AbstractRunner runner = new FixupRunner(injectedProtocolStructure.copy(), fixup);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Starts the process for removing all length and checksum fields.
+     */
+    public void clearFixups() {
+        AbstractRunner runner = new FixupRunner(injectedProtocolStructure.copy(), null);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
     /**
      * Starts the process for setting the kind of injection data to the given value for a protocol block identified
      * through the given index.
@@ -168,6 +385,33 @@ public class Process extends AbstractProcess {
         return target;
     }
 
+    /**
+     * Sets the address and port of the secondary target, whose responses to every fuzzed message are compared to
+     * those of the fuzzing target. An empty address disables the comparison.
+     *
+     * @param address the secondary target's address, empty for no secondary target
+     * @param port    the secondary target's port
+     */
+    public void setSecondaryTarget(String address, int port) {
+        if (secondaryTarget != null && secondaryTarget.getHostString().equals(address) &&
+                secondaryTarget.getPort() == port) {
+            return;
+        }
+        AbstractRunner runner = new SecondaryTargetRunner(address, port, timeout);
+        runner.addObserver(this);
+        submitToThreadPool(runner);
+    }
+
+    /**
+     * Returns the secondary target, whose responses to every fuzzed message are compared to those of the fuzzing
+     * target.
+     *
+     * @return the secondary target or null, if there is no valid secondary target
+     */
+    public InetSocketAddress getSecondaryTarget() {
+        return secondaryTarget;
+    }
+
     /**
      * Returns the fuzzing interval, that is the pause between two fuzzing iterations.
      *
@@ -242,10 +486,46 @@ public class Process extends AbstractProcess {
                 if (o instanceof RecordingMethodRunner) {
                     updateRecording((RecordingMethodRunner) o);
                     spreadUpdate(State.IDLE);
+                } else //noinspection InstanceofConcreteClass
+                if (o instanceof FeedbackRunner) {
+                    updateFeedback((FeedbackRunner) o);
+                    spreadUpdate(State.IDLE);
+                } else //noinspection InstanceofConcreteClass
+                if (o instanceof DeduplicationRunner) {
+                    updateDeduplication((DeduplicationRunner) o);
+                    spreadUpdate(State.IDLE);
+                } else //noinspection InstanceofConcreteClass
+                if (o instanceof AdaptiveRunner) {
+                    updateAdaptive((AdaptiveRunner) o);
+                    spreadUpdate(State.IDLE);
+                } else //noinspection InstanceofConcreteClass
+                if (o instanceof WorkersRunner) {
+                    updateWorkers((WorkersRunner) o);
+                    spreadUpdate(State.IDLE);
+                } else //noinspection InstanceofConcreteClass
+                if (o instanceof PartitioningRunner) {
+                    updatePartitioning((PartitioningRunner) o);
+                    spreadUpdate(State.IDLE);
+                } else //noinspection InstanceofConcreteClass
+                if (o instanceof SecondaryTargetRunner) {
+                    updateSecondaryTarget((SecondaryTargetRunner) o);
+                    spreadUpdate(State.IDLE);
                 } else //noinspection InstanceofConcreteClass,InstanceofConcreteClass
                     if (o instanceof LibraryRunner) {
                         updateLibrary((LibraryRunner) o);
                         spreadUpdate(State.IDLE);
+                    } else //noinspection InstanceofConcreteClass
+                    if (o instanceof DictionaryRunner) {
+                        updateDictionary((DictionaryRunner) o);
+                        spreadUpdate(State.IDLE);
+                    } else //noinspection InstanceofConcreteClass
+                    if (o instanceof FixupRunner) {
+                        updateFixups((FixupRunner) o);
+                        spreadUpdate(State.IDLE);
+                    } else //noinspection InstanceofConcreteClass
+                    if (o instanceof SizeDistributionRunner) {
+                        updateSizeDistribution((SizeDistributionRunner) o);
+                        spreadUpdate(State.IDLE);
                     } else //noinspection InstanceofConcreteClass
                         if (o instanceof InjectionDataRunner) {
                             updateInjectionData((InjectionDataRunner) o);
@@ -279,6 +559,15 @@ public class Process extends AbstractProcess {
         target = runner.getTarget();
     }
 
+    /**
+     * Updates this process from the secondary target runner.
+     *
+     * @param runner the secondary target runner
+     */
+    private void updateSecondaryTarget(SecondaryTargetRunner runner) {
+        secondaryTarget = runner.getSecondaryTarget();
+    }
+
     /**
      * Updates this process from the timeout runner.
      *
@@ -325,6 +614,80 @@ public class Process extends AbstractProcess {
         injectedProtocolStructure = runner.getInjectedProtocolStructure();
     }
 
+    /**
+     * Updates this process from the fix-up runner.
+     *
+     * @param runner the fix-up runner
+     */
+    private void updateFixups(FixupRunner runner) {
+        injectedProtocolStructure = runner.getInjectedProtocolStructure();
+    }
+
+    /**
+     * Updates this process from the size distribution runner.
+     *
+     * @param runner the size distribution runner
+     */
+    private void updateSizeDistribution(SizeDistributionRunner runner) {
+        injectedProtocolStructure = runner.getInjectedProtocolStructure();
+    }
+
+    /**
+     * Updates this process from the dictionary runner.
+     *
+     * @param runner the dictionary runner
+     */
+    private void updateDictionary(DictionaryRunner runner) {
+        injectedProtocolStructure = runner.getInjectedProtocolStructure();
+    }
+
+    /**
+     * Updates this process from the feedback runner.
+     *
+     * @param runner the feedback runner
+     */
+    private void updateFeedback(FeedbackRunner runner) {
+        feedback = runner.isFeedback();
+        warnIrreproducible();
+    }
+
+    /**
+     * Updates this process from the deduplication runner.
+     *
+     * @param runner the deduplication runner
+     */
+    private void updateDeduplication(DeduplicationRunner runner) {
+        deduplication = runner.isDeduplication();
+    }
+
+    /**
+     * Updates this process from the adaptive runner.
+     *
+     * @param runner the adaptive runner
+     */
+    private void updateAdaptive(AdaptiveRunner runner) {
+        adaptive = runner.isAdaptive();
+        warnIrreproducible();
+    }
+
+    /**
+     * Updates this process from the workers runner.
+     *
+     * @param runner the workers runner
+     */
+    private void updateWorkers(WorkersRunner runner) {
+        workers = runner.getWorkers();
+    }
+
+    /**
+     * Updates this process from the partitioning runner.
+     *
+     * @param runner the partitioning runner
+     */
+    private void updatePartitioning(PartitioningRunner runner) {
+        partitioning = runner.getPartitioning();
+    }
+
     /**
      * Updates this process from the recording method runner.
      *
@@ -332,9 +695,24 @@ public class Process extends AbstractProcess {
      */
     private void updateRecording(RecordingMethodRunner runner) {
         recordingMethod = runner.getRecordingMethod();
+        warnIrreproducible();
     }
 
-    public enum RecordingMethod {ALL, CRITICAL}
+    /**
+     * Warns if only seeds are recorded while messages are derived from the responses of the target, because those
+     * messages cannot be generated again from their seeds.
+     */
+    private void warnIrreproducible() {
+        if ((recordingMethod == RecordingMethod.SEEDS) && (feedback || adaptive)) {
+            Model.INSTANCE.getLogger().warning("Messages derived from the feedback corpus or focused by the block " +
+                    "scheduler will be recorded as not reproducible, because they cannot be generated again from " +
+                    "their seeds");
+        }
+    }
+
+    public enum RecordingMethod {ALL, CRITICAL, SEEDS}
+
+    public enum InjectionMethod {SIMULTANEOUS, SEPARATE, PAIRWISE}
 
-    public enum InjectionMethod {SIMULTANEOUS, SEPARATE}
+    public enum Partitioning {BLOCK, RANGE}
 }
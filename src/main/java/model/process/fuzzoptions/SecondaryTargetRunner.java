@@ -0,0 +1,85 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * This class is the secondary target runnable, responsible for setting the target whose responses are compared to
+ * those of the fuzzing target. An empty address disables the comparison.
+ */
+class SecondaryTargetRunner extends AbstractRunner {
+
+    private InetSocketAddress secondaryTarget;
+    private String address;
+    private int port;
+    private int timeout;
+
+    /**
+     * Constructs a new secondary target runner.
+     *
+     * @param address the secondary target's address, empty for no secondary target
+     * @param port    the secondary target's port
+     * @param timeout the secondary target's timeout in milliseconds
+     */
+    protected SecondaryTargetRunner(String address, int port, int timeout) {
+        super(1);
+        this.address = address;
+        this.port = port;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run() {
+        try {
+            markStart();
+
+            // Start work unit
+            if (address.isEmpty()) {
+                secondaryTarget = null;
+                Model.INSTANCE.getLogger().fine("No secondary target, responses are not compared");
+                markFinish();
+                return;
+            }
+            Callable<Boolean> targetChecker = new TargetChecker(address, port, timeout);
+            Future<Boolean> futureTargetChecker = submitToThreadPool(targetChecker);
+            boolean targetReachable = futureTargetChecker.get();
+            if (targetReachable) {
+                secondaryTarget = new InetSocketAddress(address, port);
+                Model.INSTANCE.getLogger().fine("Secondary target '" + address + ':' + port + "' is reachable");
+            } else {
+                secondaryTarget = null;
+                Model.INSTANCE.getLogger().error("Secondary target '" + address + ':' + port + "' is not reachable");
+            }
+            markFinish();
+        } catch (InterruptedException ignored) {
+            Model.INSTANCE.getLogger().info("Verifying secondary target interrupted");
+            markCancel();
+        } catch (ExecutionException e) {
+            // Should not happen
+            Model.INSTANCE.getLogger().error(e);
+        }
+    }
+
+    /**
+     * Returns the secondary target.
+     *
+     * @return the secondary target or null, if there is no secondary target or it is invalid
+     */
+    public InetSocketAddress getSecondaryTarget() {
+        return secondaryTarget;
+    }
+
+}
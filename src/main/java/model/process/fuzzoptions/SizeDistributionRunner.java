@@ -0,0 +1,117 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
+import model.protocol.SizeDistribution;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This class is the size distribution runnable, responsible for setting the distribution the lengths of random
+ * payloads of a variable protocol block are drawn from. The distribution is either given or learned from the lengths
+ * the block has in the collected protocol files. With simultaneous injection all variable blocks share a distribution
+ * suited to the longest of them.
+ */
+class SizeDistributionRunner extends AbstractRunner {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+    private InjectionMethod injectionMethod;
+    private int index;
+    private SizeDistribution sizeDistribution;
+    private Collection<ProtocolFile> files;
+
+    /**
+     * Constructs a new runner that sets the given distribution.
+     *
+     * @param injectedProtocolStructure the input injected protocol structure
+     * @param injectionMethod           the injection method
+     * @param index                     the index of the variable protocol block
+     * @param sizeDistribution          the size distribution
+     */
+    public SizeDistributionRunner(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod
+            injectionMethod, int index, SizeDistribution sizeDistribution) {
+        super(2);
+        this.injectedProtocolStructure = injectedProtocolStructure;
+        this.injectionMethod = injectionMethod;
+        this.index = index;
+        this.sizeDistribution = sizeDistribution;
+    }
+
+    /**
+     * Constructs a new runner that learns the distribution from the collected protocol files.
+     *
+     * @param injectedProtocolStructure the input injected protocol structure
+     * @param injectionMethod           the injection method
+     * @param index                     the index of the variable protocol block
+     * @param files                     the collected protocol files
+     */
+    public SizeDistributionRunner(InjectedProtocolStructure injectedProtocolStructure, InjectionMethod
+            injectionMethod, int index, Collection<ProtocolFile> files) {
+        this(injectedProtocolStructure, injectionMethod, index, (SizeDistribution) null);
+        this.files = files;
+    }
+
+    @Override
+    public void run() {
+        try {
+            markStart();
+
+            // Start work unit
+            if (files != null) {
+                int[] lengths =
+                        submitToThreadPool(new BlockLengthSampler(files, injectedProtocolStructure, index)).get();
+                if (lengths.length == 0) {
+                    Model.INSTANCE.getLogger().warning("Variable protocol block #" + index + " could not be found " +
+                            "in the collected protocol files, the default size distribution is used");
+                } else {
+                    sizeDistribution = SizeDistribution.empirical(lengths);
+                }
+            }
+            markProgress();
+
+            // Start work unit
+            switch (injectionMethod) {
+                case SIMULTANEOUS:
+                    SizeDistribution shared = injectedProtocolStructure.shareSizeDistribution(sizeDistribution);
+                    Model.INSTANCE.getLogger().info("Size distribution of all variable protocol blocks set to " +
+                            shared.getKind() + " with lengths up to " + shared.getMax() + " bytes");
+                    break;
+                case SEPARATE:
+                case PAIRWISE:
+                    injectedProtocolStructure.getVarBlock(index).setSizeDistribution(sizeDistribution);
+                    Model.INSTANCE.getLogger().info("Size distribution of variable protocol block #" + index +
+                            " set to " + injectedProtocolStructure.getVarBlock(index).getSizeDistribution().getKind());
+                    break;
+            }
+            markFinish();
+        } catch (InterruptedException ignored) {
+            Model.INSTANCE.getLogger().info("Setting size distribution cancelled");
+            markCancel();
+        } catch (ExecutionException e) {
+            // Should not happen
+            Model.INSTANCE.getLogger().error(e);
+        }
+    }
+
+    /**
+     * Returns the updated injected protocol structure.
+     *
+     * @return the injected protocol structure
+     */
+    public InjectedProtocolStructure getInjectedProtocolStructure() {
+        return injectedProtocolStructure;
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.Model;
+import model.process.AbstractRunner;
+
+/**
+ * This class is the workers runnable, responsible for setting the number of parallel workers that send the fuzzed
+ * messages of a finite campaign with separate injection.
+ */
+class WorkersRunner extends AbstractRunner {
+
+    public static final int WORKERS_MIN = 1;
+    public static final int WORKERS_MAX = 64;
+    private int workers;
+
+    /**
+     * Constructs a new runner.
+     *
+     * @param workers the number of parallel workers
+     */
+    public WorkersRunner(int workers) {
+        super(1);
+        this.workers = workers;
+    }
+
+    @Override
+    public void run() {
+        markStart();
+
+        // Start work unit
+        workers = Math.max(workers, WORKERS_MIN);
+        workers = Math.min(workers, WORKERS_MAX);
+        Model.INSTANCE.getLogger().info("Number of parallel workers set to " + workers);
+        markFinish();
+    }
+
+    /**
+     * Returns the updated number of parallel workers.
+     *
+     * @return the number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+}
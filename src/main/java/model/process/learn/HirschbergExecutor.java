@@ -24,6 +24,7 @@ class HirschbergExecutor implements Callable<List<Byte>> {
     private static final byte SIM_SCORE_UNEQ_NOMATCH = 2;
     private List<Byte> sequence1;
     private List<Byte> sequence2;
+    private long computedCells;
 
     /**
      * Constructs the callable.
@@ -63,9 +64,19 @@ class HirschbergExecutor implements Callable<List<Byte>> {
 
     @Override
     public List<Byte> call() {
+        computedCells = 0;
         return hirschberg(sequence1, sequence2);
     }
 
+    /**
+     * Returns the number of matrix cells that have been computed by the last call of this callable.
+     *
+     * @return the number of computed cells
+     */
+    public long getComputedCells() {
+        return computedCells;
+    }
+
     /**
      * Executes the Hirschberg algorithm to learn the combined structure of two sequences. An iteration of the algorithm
      * works on sub sequences of the two sequences.
@@ -74,7 +85,7 @@ class HirschbergExecutor implements Callable<List<Byte>> {
      * @param sequence2 the second (sub) sequence
      * @return the merged (sub) sequence
      */
-    private static List<Byte> hirschberg(List<Byte> sequence1, List<Byte> sequence2) {
+    private List<Byte> hirschberg(List<Byte> sequence1, List<Byte> sequence2) {
         List<Byte> result = new ArrayList<>(Math.max(sequence1.size(), sequence2.size()));
         if (sequence2.isEmpty()) {
             // Execute a trivial version of the Needleman-Wunsch algorithm with length of sequence 2 = 0
@@ -189,7 +200,7 @@ class HirschbergExecutor implements Callable<List<Byte>> {
      * @param sequence1      the first (sub) sequence
      * @param sequence2      the second (sub) sequence
      */
-    private static void shiftMatrixDown(int[][] upperMatrix, int row, List<Byte> sequence1, List<Byte> sequence2) {
+    private void shiftMatrixDown(int[][] upperMatrix, int row, List<Byte> sequence1, List<Byte> sequence2) {
         if (row == 0) {
             // Store the initial values in the first row of the matrix similar to:
             // 0 1 2 3 4 5 ...
@@ -206,6 +217,7 @@ class HirschbergExecutor implements Callable<List<Byte>> {
             upperMatrix[1][0] = upperMatrix[0][0] + GAP_PENALTY;
         }
         // Compute all values for the second row except the first column
+        computedCells += upperMatrix[1].length - 1;
         for (int i = 1; i < upperMatrix[1].length; i++) {
             // Find the minimum of three values and copy it to the particular column in the second row
             int min = Math.min(upperMatrix[0][i] + GAP_PENALTY, upperMatrix[1][i - 1] + GAP_PENALTY);
@@ -223,7 +235,7 @@ class HirschbergExecutor implements Callable<List<Byte>> {
      * @param sequence1      the first (sub) sequence
      * @param sequence2     the second (sub) sequence
      */
-    private static void shiftMatrixUp(int[][] lowerMatrix, int row, List<Byte> sequence1, List<Byte> sequence2) {
+    private void shiftMatrixUp(int[][] lowerMatrix, int row, List<Byte> sequence1, List<Byte> sequence2) {
         if (row == (sequence1.size() - 1)) {
             // Store the initial values in the second row of the matrix similar to:
             // ... x x x x x 1
@@ -240,6 +252,7 @@ class HirschbergExecutor implements Callable<List<Byte>> {
             lowerMatrix[0][lowerMatrix[1].length - 1] = lowerMatrix[1][lowerMatrix[1].length - 1] + GAP_PENALTY;
         }
         // Compute all values for the first row except the last column
+        computedCells += lowerMatrix[0].length - 1;
         for (int i = lowerMatrix[0].length - 2; i >= 0; i--) {
             // Find the minimum of three values and copy it to the particular column in the first row
             int min = Math.min(lowerMatrix[1][i] + GAP_PENALTY, lowerMatrix[0][i + 1] + GAP_PENALTY);
@@ -0,0 +1,123 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.protocol.ProtocolStructure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class is the learn engine, responsible for learning protocol structures without any graphical interface and
+ * without the global model. Every learn run is an independent job on the engine's executor, so that several corpora
+ * can be learned concurrently. All kernels of a job are executed in the thread that runs the job.
+ */
+public class LearnEngine {
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a new learn engine.
+     *
+     * @param executor the executor service that runs the learn jobs
+     */
+    public LearnEngine(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Learns the protocol structure of the given messages. Cancelling the returned future interrupts the learn job.
+     *
+     * @param messages the content of the messages, at least one
+     * @param options  the options of the learn run
+     * @param listener the listener notified about the progress of the learn run
+     * @return the future of the learned protocol structure
+     */
+    public CompletableFuture<ProtocolStructure> learn(List<byte[]> messages, LearnOptions options,
+                                                      ProgressListener listener) {
+        List<SequenceConverter> converters = new ArrayList<>(messages.size());
+        for (byte[] each : messages) {
+            converters.add(new SequenceConverter(each));
+        }
+        return submit(converters, options, listener);
+    }
+
+    /**
+     * Learns the protocol structure of the messages stored in the given files. The files are read by the learn job.
+     * Cancelling the returned future interrupts the learn job.
+     *
+     * @param paths    the paths of the message files, at least one
+     * @param options  the options of the learn run
+     * @param listener the listener notified about the progress of the learn run
+     * @return the future of the learned protocol structure
+     */
+    public CompletableFuture<ProtocolStructure> learnFiles(List<Path> paths, LearnOptions options,
+                                                           ProgressListener listener) {
+        List<SequenceConverter> converters = new ArrayList<>(paths.size());
+        for (Path each : paths) {
+            converters.add(new SequenceConverter(each));
+        }
+        return submit(converters, options, listener);
+    }
+
+    /**
+     * Submits a learn job for the given sequence converters to the executor.
+     *
+     * @param converters the sequence converters providing the input sequences
+     * @param options    the options of the learn run
+     * @param listener   the listener notified about the progress of the learn run
+     * @return the future of the learned protocol structure
+     */
+    private CompletableFuture<ProtocolStructure> submit(List<SequenceConverter> converters, LearnOptions options,
+                                                        ProgressListener listener) {
+        CompletableFuture<ProtocolStructure> result = new CompletableFuture<>();
+        if (converters.isEmpty()) {
+            result.completeExceptionally(new IllegalArgumentException("At least one message is needed"));
+            return result;
+        }
+        int totalWork = Learner.getTotalWork(converters.size());
+        Learner learner = new Learner(converters, options);
+        Future<?> job = executor.submit(() -> {
+            int[] workDone = {0};
+            try {
+                ProtocolStructure protocolStructure =
+                        learner.learn(() -> listener.progressed(++workDone[0], totalWork));
+                listener.progressed(totalWork, totalWork);
+                result.complete(protocolStructure);
+            } catch (ExecutionException e) {
+                result.completeExceptionally(unwrap(e.getCause()));
+            } catch (InterruptedException | IOException | RuntimeException e) {
+                result.completeExceptionally(unwrap(e));
+            }
+        });
+        result.whenComplete((protocolStructure, throwable) -> {
+            if (result.isCancelled()) {
+                job.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the I/O exception wrapped by an unchecked I/O exception, or the given throwable itself.
+     *
+     * @param throwable the throwable
+     * @return the unwrapped throwable
+     */
+    private static Throwable unwrap(Throwable throwable) {
+        return (throwable instanceof UncheckedIOException) ? throwable.getCause() : throwable;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import java.util.function.Consumer;
+
+/**
+ * This class represents the options of a single learn run.
+ */
+public class LearnOptions {
+
+    private long memoryBudget;
+    private boolean verbose;
+    private Consumer<String> log;
+
+    /**
+     * Constructs new learn options with no memory limit, no verbose logging and all log messages being discarded.
+     */
+    public LearnOptions() {
+        memoryBudget = Long.MAX_VALUE;
+        verbose = false;
+        log = message -> {
+        };
+    }
+
+    /**
+     * Returns the memory budget for the sequences held during learning.
+     *
+     * @return the memory budget in bytes, Long.MAX_VALUE for no limit
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Sets the memory budget for the sequences held during learning. Sequences exceeding the budget are spilled to a
+     * temporary file.
+     *
+     * @param memoryBudget the memory budget in bytes, Long.MAX_VALUE for no limit
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Returns whether every merge of two sequences is logged in detail.
+     *
+     * @return true, if every merge is logged
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * Sets whether every merge of two sequences is logged in detail. Detailed logging costs time linear in the number
+     * of queued sequences for every merge.
+     *
+     * @param verbose true, if every merge shall be logged
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Returns the consumer of informational log messages.
+     *
+     * @return the log consumer
+     */
+    public Consumer<String> getLog() {
+        return log;
+    }
+
+    /**
+     * Sets the consumer of informational log messages.
+     *
+     * @param log the log consumer
+     */
+    public void setLog(Consumer<String> log) {
+        this.log = log;
+    }
+}
@@ -12,13 +12,17 @@ import java.util.*;
 import java.util.Map.Entry;
 
 /**
- * This class represents a sequence within the learning algorithm.
+ * This class represents a sequence within the learning algorithm. If the sequence is part of a sequence store, its byte
+ * sequence and n-grams may be spilled to disk and are paged back in on access.
  */
 class LearnSequence {
 
+    private static final int BYTE_FOOTPRINT = 8;
+    private static final int N_GRAM_FOOTPRINT = 88;
     private List<Byte> sequence;
     private Set<String> nGrams;
     private Map<LearnSequence, Double> distances;
+    private SequenceStore store;
 
     /**
      * Constructs the learn sequence.
@@ -78,6 +82,7 @@ class LearnSequence {
      * @return the byte sequence
      */
     public List<Byte> getSequence() {
+        load();
         return Collections.unmodifiableList(sequence);
     }
 
@@ -87,9 +92,74 @@ class LearnSequence {
      * @return the n-grams
      */
     public Set<String> getNGrams() {
+        load();
         return Collections.unmodifiableSet(nGrams);
     }
 
+    /**
+     * Pages the byte sequence and the n-grams in from the sequence store if they have been spilled, otherwise marks
+     * them as recently used.
+     */
+    private void load() {
+        if (store == null) {
+            return;
+        }
+        if (isResident()) {
+            store.touch(this);
+        } else {
+            store.pageIn(this);
+        }
+    }
+
+    /**
+     * Sets the sequence store that manages the memory of this sequence.
+     *
+     * @param store the sequence store or null, if the sequence is not managed by a store
+     */
+    void setStore(SequenceStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns whether the byte sequence and the n-grams are held in memory.
+     *
+     * @return true, if the content has not been spilled
+     */
+    boolean isResident() {
+        return sequence != null;
+    }
+
+    /**
+     * Releases the in-memory byte sequence and n-grams after they have been spilled.
+     */
+    void release() {
+        sequence = null;
+        nGrams = null;
+    }
+
+    /**
+     * Restores the in-memory byte sequence and n-grams after they have been paged in.
+     *
+     * @param sequence the byte sequence
+     * @param nGrams   the n-grams
+     */
+    void restore(List<Byte> sequence, Set<String> nGrams) {
+        this.sequence = sequence;
+        this.nGrams = nGrams;
+    }
+
+    /**
+     * Returns the estimated heap footprint of the byte sequence and the n-grams.
+     *
+     * @return the footprint in bytes or 0, if the content has been spilled
+     */
+    long getFootprint() {
+        if (!isResident()) {
+            return 0;
+        }
+        return ((long) sequence.size() * BYTE_FOOTPRINT) + ((long) nGrams.size() * N_GRAM_FOOTPRINT);
+    }
+
     /**
      * Returns the average distance of the sequence to all of its neighbors.
      *
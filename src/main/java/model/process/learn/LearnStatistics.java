@@ -0,0 +1,173 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.DecimalFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class represents the statistics of a learn run, responsible for collecting the time and memory spent in every
+ * phase of the learning algorithm as well as the counters of its kernels.
+ */
+public class LearnStatistics {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private final AtomicLongArray nanos;
+    private final AtomicLongArray invocations;
+    private final AtomicLongArray allocatedBytes;
+    private final AtomicLong computedCells;
+    private final AtomicLong evaluatedPairs;
+
+    /**
+     * Constructs new empty learn statistics.
+     */
+    public LearnStatistics() {
+        nanos = new AtomicLongArray(Phase.values().length);
+        invocations = new AtomicLongArray(Phase.values().length);
+        allocatedBytes = new AtomicLongArray(Phase.values().length);
+        computedCells = new AtomicLong();
+        evaluatedPairs = new AtomicLong();
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     *
+     * @return the allocated bytes or -1 if the virtual machine does not support allocation measurement
+     */
+    private static long currentAllocatedBytes() {
+        //noinspection InstanceofIncompatibleInterface
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (!threadMXBean.isThreadAllocatedMemorySupported() || !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Wraps the given callable so that the time and memory it spends in the thread executing it is recorded for the
+     * given phase.
+     *
+     * @param phase    the phase the callable belongs to
+     * @param callable the callable to measure
+     * @param <V>      the type of the callable's result
+     * @return the measuring callable
+     */
+    public <V> Callable<V> measure(Phase phase, Callable<V> callable) {
+        return () -> {
+            long startBytes = currentAllocatedBytes();
+            long startNanos = System.nanoTime();
+            try {
+                return callable.call();
+            } finally {
+                nanos.addAndGet(phase.ordinal(), System.nanoTime() - startNanos);
+                invocations.incrementAndGet(phase.ordinal());
+                long endBytes = currentAllocatedBytes();
+                if ((startBytes > -1) && (endBytes > -1)) {
+                    allocatedBytes.addAndGet(phase.ordinal(), endBytes - startBytes);
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds the given number of computed cells of the dynamic programming matrix.
+     *
+     * @param cells the number of computed cells
+     */
+    public void addComputedCells(long cells) {
+        computedCells.addAndGet(cells);
+    }
+
+    /**
+     * Adds the given number of evaluated sequence pairs.
+     *
+     * @param pairs the number of evaluated pairs
+     */
+    public void addEvaluatedPairs(long pairs) {
+        evaluatedPairs.addAndGet(pairs);
+    }
+
+    /**
+     * Returns the time spent in the given phase.
+     *
+     * @param phase the phase
+     * @return the time in nanoseconds
+     */
+    public long getNanos(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    /**
+     * Returns how often the given phase has been executed.
+     *
+     * @param phase the phase
+     * @return the number of executions
+     */
+    public long getInvocations(Phase phase) {
+        return invocations.get(phase.ordinal());
+    }
+
+    /**
+     * Returns the number of bytes allocated in the given phase. The value is 0 if the virtual machine does not support
+     * allocation measurement.
+     *
+     * @param phase the phase
+     * @return the allocated bytes
+     */
+    public long getAllocatedBytes(Phase phase) {
+        return allocatedBytes.get(phase.ordinal());
+    }
+
+    /**
+     * Returns the number of cells of the dynamic programming matrix that have been computed while aligning sequences.
+     *
+     * @return the number of computed cells
+     */
+    public long getComputedCells() {
+        return computedCells.get();
+    }
+
+    /**
+     * Returns the number of sequence pairs that have been evaluated while calculating distances and selecting nearest
+     * neighbors.
+     *
+     * @return the number of evaluated pairs
+     */
+    public long getEvaluatedPairs() {
+        return evaluatedPairs.get();
+    }
+
+    /**
+     * Returns a human readable summary of all phases and counters.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        DecimalFormat decimalFormat = new DecimalFormat(",##0.0");
+        StringBuilder result = new StringBuilder("Learn statistics: ");
+        for (Phase each : Phase.values()) {
+            result.append(each.toString().toLowerCase());
+            result.append(' ').append(decimalFormat.format(getNanos(each) / 1.0e6)).append(" ms");
+            result.append(" (").append(getInvocations(each)).append("x, ");
+            result.append(decimalFormat.format(getAllocatedBytes(each) / 1048576.0)).append(" MiB), ");
+        }
+        result.append("DP cells: ").append(getComputedCells());
+        result.append(", pairs evaluated: ").append(getEvaluatedPairs());
+        return result.toString();
+    }
+
+    public enum Phase {CONVERSION, NGRAMS, DISTANCES, SELECTION, ALIGNMENT, STRUCTURE, CLEANING}
+}
@@ -0,0 +1,354 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.process.learn.LearnStatistics.Phase;
+import model.protocol.ProtocolStructure;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This class is the learner, responsible for learning the protocol structure of a set of byte sequences. It contains
+ * the learning algorithm independent of how it is executed, so that it can be run by the learn runnable as well as by
+ * the learn engine.
+ * <p>
+ * By default all kernels of the algorithm are executed in the calling thread. Subclasses may execute them elsewhere by
+ * overriding {@link #executeKernel(Callable)}.
+ */
+class Learner {
+
+    private static final int N_GRAM_SIZE = 3;
+    private final List<SequenceConverter> converters;
+    private final LearnOptions options;
+    private volatile ProtocolStructure protocolStructure;
+    private volatile LearnStatistics statistics;
+
+    /**
+     * Constructs a new learner.
+     *
+     * @param converters the sequence converters providing the input sequences
+     * @param options    the learn options, read when the learning starts
+     */
+    public Learner(List<SequenceConverter> converters, LearnOptions options) {
+        this.converters = new ArrayList<>(converters);
+        this.options = options;
+        protocolStructure = new ProtocolStructure();
+        statistics = new LearnStatistics();
+    }
+
+    /**
+     * Returns the total amount of work for learning the given number of sequences, that is the number of times the
+     * learner reports progress plus the final work unit.
+     *
+     * @param numOfSequences the number of input sequences
+     * @return the total amount of work
+     */
+    public static int getTotalWork(int numOfSequences) {
+        // Work: convert + n-grams + dice values + nearest neighbor + Hirschberg + n-grams + dice values + convert +
+        // adjust + convert
+        return numOfSequences + numOfSequences + (numOfSequences * (numOfSequences - 1)) / 2 + (numOfSequences - 1) +
+                (numOfSequences - 1) + (numOfSequences - 1) + ((numOfSequences - 1) * (numOfSequences - 2)) / 2 +
+                (numOfSequences - 1) + 1 + 1;
+    }
+
+    /**
+     * Executes a kernel of the learning algorithm and returns its result.
+     *
+     * @param callable the kernel
+     * @param <V>      the type of the kernel's result
+     * @return the result of the kernel
+     * @throws ExecutionException   if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    protected <V> V executeKernel(Callable<V> callable) throws ExecutionException, InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        try {
+            return callable.call();
+        } catch (Exception e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * Learns the protocol structure. The given progress callback is run after every unit of work except the last one.
+     *
+     * @param progress the progress callback
+     * @return the learned protocol structure
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if a computation threw an exception
+     * @throws IOException          if the sequence store could not spill or page in sequences
+     */
+    @SuppressWarnings("OverlyComplexMethod")
+    public ProtocolStructure learn(Runnable progress) throws InterruptedException, ExecutionException,
+            IOException {
+        boolean verbose = options.isVerbose();
+        protocolStructure = new ProtocolStructure();
+        statistics = new LearnStatistics();
+        try (SequenceStore store = new SequenceStore(options.getMemoryBudget())) {
+            Set<LearnSequence> sequences = new HashSet<>(converters.size());
+
+            // Create sequences out of the input
+            for (SequenceConverter each : converters) {
+
+                // Start new workunit
+                List<Byte> sequence = execute(Phase.CONVERSION, each);
+                progress.run();
+
+                // Start new workunit
+                Set<String> nGrams = createNGgams(sequence);
+                progress.run();
+
+                LearnSequence learnSequence = new LearnSequence(sequence, nGrams);
+                store.add(learnSequence);
+                sequences.add(learnSequence);
+            }
+
+            // Calculate dice values and distances
+            for (LearnSequence eachFrom : sequences) {
+                for (LearnSequence eachTo : sequences) {
+                    //noinspection ObjectEquality
+                    if (eachFrom == eachTo) {
+                        continue;
+                    }
+                    if (eachTo.getDistanceTo(eachFrom) > -1) {
+                        eachFrom.addDistanceTo(eachTo, eachTo.getDistanceTo(eachFrom));
+                        continue;
+                    }
+
+                    // Start new workunit
+                    eachFrom.addDistanceTo(eachTo, calculateDiceValue(eachFrom, eachTo));
+                    progress.run();
+                }
+            }
+
+            // Every iteration two sequences are combined into a new one until there is only one left
+            while (sequences.size() > 1) {
+
+                // Find the two distances that will be merged, that that is the two sequences with the lowest
+                // distance to each other
+                // Start new workunit
+                Set<LearnSequence> nearestNeighbors = findNearestNeighbors(sequences);
+                progress.run();
+
+                if (verbose) {
+                    StringBuilder logEntry = new StringBuilder();
+                    logEntry.append("Queued sequences: ");
+                    for (LearnSequence each : sequences) {
+                        logEntry.append(nearestNeighbors.contains(each) ? '*' : "");
+                        logEntry.append(Integer.toHexString(each.hashCode()));
+                        logEntry.append(nearestNeighbors.contains(each) ? '*' : "");
+                        logEntry.append(", ");
+                    }
+                    logEntry.delete(logEntry.length() - 2, logEntry.length());
+                    options.getLog().accept(logEntry.toString());
+                }
+
+                // Start new workunit
+                //Execute the Hirschberg algorithm on the two sequences
+                List<LearnSequence> tmp = new ArrayList<>(nearestNeighbors);
+                List<Byte> hirschbergSequence = align(tmp.get(0), tmp.get(1));
+                progress.run();
+
+                // Start new workunit
+                Set<String> nGrams = createNGgams(hirschbergSequence);
+                progress.run();
+
+                // Remove the two old sequences
+                for (LearnSequence each : nearestNeighbors) {
+                    sequences.remove(each);
+                    store.remove(each);
+                }
+                // Clean up old references
+                for (LearnSequence eachNearestNeighbor : nearestNeighbors) {
+                    for (LearnSequence each : sequences) {
+                        each.removeDistanceTo(eachNearestNeighbor);
+                    }
+                }
+                // Add new references
+                LearnSequence mergedSequence = new LearnSequence(hirschbergSequence, nGrams);
+                store.add(mergedSequence);
+
+                // Update dice values and distances of existing sequences and the new merged one
+                for (LearnSequence each : sequences) {
+
+                    // Start new workunit
+                    double diceValue = calculateDiceValue(each, mergedSequence);
+                    each.addDistanceTo(mergedSequence, diceValue);
+                    mergedSequence.addDistanceTo(each, diceValue);
+                    progress.run();
+                }
+
+                // Add new sequence
+                sequences.add(mergedSequence);
+                if (verbose) {
+                    String hash0 = Integer.toHexString(tmp.get(0).hashCode());
+                    String hash1 = Integer.toHexString(tmp.get(1).hashCode());
+                    String newHash = Integer.toHexString(mergedSequence.hashCode());
+                    options.getLog().accept("Sequences merged: " + hash0 + ", " + hash1 + " -> " + newHash);
+                }
+
+                // Generate new protocol blocks
+                // Start new workunit
+                protocolStructure = generateProtocolParts(mergedSequence);
+                if (verbose) {
+                    options.getLog().accept("Temporary protocol structure generated");
+                }
+                progress.run();
+            }
+            // Adjust the last remaining sequence
+            // Start new workunit
+            LearnSequence lastSequence = sequences.iterator().next();
+            LearnSequence adjustedSequence = clean(lastSequence);
+            sequences.remove(lastSequence);
+            store.remove(lastSequence);
+            sequences.add(adjustedSequence);
+            options.getLog().accept("Protocol structure cleaned");
+            progress.run();
+
+            // Generate new protocol blocks
+            // Start new workunit
+            protocolStructure = generateProtocolParts(sequences.iterator().next());
+            options.getLog().accept(statistics.getSummary());
+            if (store.hasSpilled()) {
+                options.getLog().accept("Sequences exceeding the memory budget have been spilled to disk");
+            }
+            return protocolStructure;
+        }
+    }
+
+    /**
+     * Executes a kernel and records the time and memory it spends in the given phase.
+     *
+     * @param phase    the phase of the kernel
+     * @param callable the kernel
+     * @param <V>      the type of the kernel's result
+     * @return the result of the kernel
+     * @throws ExecutionException   if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    private <V> V execute(Phase phase, Callable<V> callable) throws ExecutionException, InterruptedException {
+        return executeKernel(statistics.measure(phase, callable));
+    }
+
+    /**
+     * Calculates the dice value for two input sequences.
+     *
+     * @param sequence1 the first input sequence
+     * @param sequence2 the second input sequence
+     * @return the dice value
+     * @throws ExecutionException   if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    private double calculateDiceValue(LearnSequence sequence1, LearnSequence sequence2) throws ExecutionException,
+            InterruptedException {
+        double result = execute(Phase.DISTANCES, new DiceValueCalculator(sequence1, sequence2));
+        statistics.addEvaluatedPairs(1);
+        return result;
+    }
+
+    /**
+     * Creates the n-grams of a byte sequence.
+     *
+     * @param sequence the sequence the n-grams are created for
+     * @return the n-grams
+     * @throws ExecutionException   if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    private Set<String> createNGgams(List<Byte> sequence) throws ExecutionException, InterruptedException {
+        return execute(Phase.NGRAMS, new NGramCreator(sequence, N_GRAM_SIZE));
+    }
+
+    /**
+     * Selects two sequences that will be merged into one aligned sequence. That is the two sequences that have the
+     * lowest distance to each other and are therefore the nearest neighbors.
+     *
+     * @param sequences the input sequences
+     * @return the two chosen sequences
+     * @throws ExecutionException   if the computation threw an exception
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    private Set<LearnSequence> findNearestNeighbors(Set<LearnSequence> sequences) throws ExecutionException,
+            InterruptedException {
+        SequenceSelector sequenceSelector = new SequenceSelector(sequences);
+        Set<LearnSequence> result = execute(Phase.SELECTION, sequenceSelector);
+        statistics.addEvaluatedPairs(sequenceSelector.getEvaluatedPairs());
+        return result;
+    }
+
+    /**
+     * Executes the protocol learning algorithm on two sequences to generate a new aligned sequence.
+     *
+     * @param sequence1 the first input sequence
+     * @param sequence2 the second input sequence
+     * @return the aligned sequence
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private List<Byte> align(LearnSequence sequence1, LearnSequence sequence2) throws InterruptedException,
+            ExecutionException {
+        HirschbergExecutor hirschbergExecutor =
+                new HirschbergExecutor(sequence1.getSequence(), sequence2.getSequence());
+        List<Byte> result = execute(Phase.ALIGNMENT, hirschbergExecutor);
+        statistics.addComputedCells(hirschbergExecutor.getComputedCells());
+        return result;
+    }
+
+    /**
+     * Generates protocol blocks from a given sequence. All byte values will be transformed block-wise into protocol
+     * blocks, each indicating whether it is a variable or fixed data block.
+     *
+     * @param sequence the sequence to generate the protocol blocks from
+     * @return the protocol structure
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private ProtocolStructure generateProtocolParts(LearnSequence sequence) throws InterruptedException,
+            ExecutionException {
+        return execute(Phase.STRUCTURE, new StructureConverter(sequence.getSequence()));
+    }
+
+    /**
+     * Adjust a sequence by cleaning it up from inconsistencies and giving it a more block-oriented structure.
+     *
+     * @param sequence the sequence to adjust
+     * @return the adjusted sequence
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the computation threw an exception
+     */
+    private LearnSequence clean(LearnSequence sequence) throws InterruptedException, ExecutionException {
+        List<Byte> cleanedSequence = execute(Phase.CLEANING, new SequenceCleaner(sequence.getSequence()));
+        return new LearnSequence(cleanedSequence, new HashSet<>(0));
+    }
+
+    /**
+     * Returns the learned protocol structure. While learning is in progress, this is the last temporary structure.
+     *
+     * @return the learned protocol structure
+     */
+    public ProtocolStructure getProtocolStructure() {
+        return protocolStructure;
+    }
+
+    /**
+     * Returns the statistics of the current or last learn run.
+     *
+     * @return the learn statistics
+     */
+    public LearnStatistics getStatistics() {
+        return statistics;
+    }
+}
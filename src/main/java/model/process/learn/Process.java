@@ -10,7 +10,6 @@ package model.process.learn;
 
 import model.Model;
 import model.process.AbstractProcess;
-import model.process.AbstractRunner;
 import model.process.AbstractRunner.ExternalState;
 import model.protocol.ProtocolFile;
 import model.protocol.ProtocolStructure;
@@ -24,6 +23,9 @@ import java.util.Set;
 public class Process extends AbstractProcess {
 
     private ProtocolStructure protocolStructure;
+    private LearnStatistics statistics;
+    private boolean verbose;
+    private long memoryBudget = Long.MAX_VALUE;
 
     /**
      * Constructs a learn process.
@@ -31,12 +33,14 @@ public class Process extends AbstractProcess {
     public Process() {
         super();
         protocolStructure = new ProtocolStructure();
+        statistics = new LearnStatistics();
     }
 
     @Override
     public void reset() {
         super.reset();
         protocolStructure.clear();
+        statistics = new LearnStatistics();
         spreadUpdate(State.IDLE);
     }
 
@@ -46,7 +50,9 @@ public class Process extends AbstractProcess {
      * @param protocolFiles the protocol files used to learn the protocol structure
      */
     public void learnProtocolStructure(Set<ProtocolFile> protocolFiles) {
-        AbstractRunner runner = new Runner(protocolFiles);
+        Runner runner = new Runner(protocolFiles);
+        runner.setVerbose(verbose);
+        runner.setMemoryBudget(memoryBudget);
         runner.addObserver(this);
         submitToThreadPool(runner);
         Model.INSTANCE.getLogger().info("Learn process started");
@@ -61,6 +67,36 @@ public class Process extends AbstractProcess {
         return protocolStructure;
     }
 
+    /**
+     * Returns the statistics of the current or last learn run, that is the time and memory spent in every phase of the
+     * learning algorithm.
+     *
+     * @return the learn statistics
+     */
+    public LearnStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Sets whether every merge of two sequences is logged in detail. The setting is applied to the next learn run.
+     *
+     * @param verbose true, if every merge shall be logged
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Sets the memory budget for the sequences held during learning. Sequences exceeding the budget are spilled to a
+     * temporary file, so that learning becomes slower instead of running out of memory. The setting is applied to the
+     * next learn run.
+     *
+     * @param memoryBudget the memory budget in bytes, Long.MAX_VALUE for no limit
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
     @Override
     public void update(Observable o, Object arg) {
         ExternalState state = (ExternalState) arg;
@@ -71,10 +107,12 @@ public class Process extends AbstractProcess {
                 break;
             case RUNNING:
                 protocolStructure = runner.getProtocolStructure();
+                statistics = runner.getStatistics();
                 spreadUpdate(State.RUNNING);
                 break;
             case FINISHED:
                 protocolStructure = runner.getProtocolStructure();
+                statistics = runner.getStatistics();
                 spreadUpdate(State.IDLE);
                 break;
         }
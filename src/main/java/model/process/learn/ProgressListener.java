@@ -0,0 +1,24 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+/**
+ * This interface is the progress listener of a learn run, notified every time a unit of work has been done.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Notifies about the progress of a learn run.
+     *
+     * @param workDone  the amount of work done so far
+     * @param totalWork the total amount of work
+     */
+    void progressed(int workDone, int totalWork);
+}
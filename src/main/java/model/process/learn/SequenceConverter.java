@@ -10,6 +10,10 @@ package model.process.learn;
 
 import model.protocol.ProtocolFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -21,6 +25,8 @@ import java.util.concurrent.Callable;
 class SequenceConverter implements Callable<List<Byte>> {
 
     private ProtocolFile file;
+    private Path path;
+    private byte[] content;
 
     /**
      * Constructs a new callable.
@@ -31,10 +37,40 @@ class SequenceConverter implements Callable<List<Byte>> {
         this.file = file;
     }
 
+    /**
+     * Constructs a new callable for content that is already in memory.
+     *
+     * @param content the content of a message
+     */
+    public SequenceConverter(byte[] content) {
+        this.content = content.clone();
+    }
+
+    /**
+     * Constructs a new callable for a message file that is read when the callable is called.
+     *
+     * @param path the path of the message file
+     */
+    public SequenceConverter(Path path) {
+        this.path = path;
+    }
+
     @Override
     public List<Byte> call() {
-        List<Byte> result = new ArrayList<>();
-        for (byte each : file.getContent()) {
+        byte[] bytes;
+        if (file != null) {
+            bytes = file.getContent();
+        } else if (path != null) {
+            try {
+                bytes = Files.readAllBytes(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            bytes = content;
+        }
+        List<Byte> result = new ArrayList<>(bytes.length);
+        for (byte each : bytes) {
             result.add(each);
         }
         return result;
@@ -19,6 +19,7 @@ import java.util.concurrent.Callable;
 class SequenceSelector implements Callable<Set<LearnSequence>> {
 
     private final Set<LearnSequence> sequences;
+    private long evaluatedPairs;
 
     /**
      * Constructs a new callable.
@@ -33,8 +34,10 @@ class SequenceSelector implements Callable<Set<LearnSequence>> {
     public Set<LearnSequence> call() {
         Set<LearnSequence> result = new HashSet<>(2);
         double minDistance = Double.MAX_VALUE;
+        evaluatedPairs = 0;
         for (LearnSequence eachFrom : sequences) {
             for (LearnSequence eachTo : sequences) {
+                evaluatedPairs++;
                 if (eachFrom.getCombinedDistanceTo(eachTo) < minDistance) {
                     minDistance = eachFrom.getCombinedDistanceTo(eachTo);
                     result.clear();
@@ -45,4 +48,13 @@ class SequenceSelector implements Callable<Set<LearnSequence>> {
         }
         return result;
     }
+
+    /**
+     * Returns the number of sequence pairs that have been compared by the last call of this callable.
+     *
+     * @return the number of evaluated pairs
+     */
+    public long getEvaluatedPairs() {
+        return evaluatedPairs;
+    }
 }
@@ -0,0 +1,274 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.util.Constants;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * This class is the sequence store, responsible for keeping the byte sequences and n-grams of learn sequences within a
+ * memory budget. If the estimated footprint of all resident sequences exceeds the budget, the least recently used
+ * sequences are spilled to a temporary file and read back with positional reads when they are accessed again.
+ * <p>
+ * Every spilled sequence is written once as a record of three columns: the byte values, a bitmap marking null values
+ * and the length-prefixed UTF-8 encoded n-grams.
+ */
+class SequenceStore implements Closeable {
+
+    private final long memoryBudget;
+    private final Map<LearnSequence, Long> resident;
+    private final Map<LearnSequence, Long> offsets;
+    private long residentFootprint;
+    private Path spillFile;
+    private FileChannel channel;
+
+    /**
+     * Constructs a new sequence store.
+     *
+     * @param memoryBudget the maximum estimated footprint of all resident sequences in bytes
+     */
+    public SequenceStore(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        // Access order makes the first entry the least recently used one
+        resident = new LinkedHashMap<>(16, 0.75f, true);
+        offsets = new HashMap<>();
+    }
+
+    /**
+     * Adds a sequence to the store. The sequence becomes part of the working set and may cause other sequences to be
+     * spilled.
+     *
+     * @param sequence the learn sequence
+     */
+    public synchronized void add(LearnSequence sequence) {
+        sequence.setStore(this);
+        admit(sequence);
+    }
+
+    /**
+     * Removes a sequence from the store. Its space in the spill file is not reclaimed until the store is closed.
+     *
+     * @param sequence the learn sequence
+     */
+    public synchronized void remove(LearnSequence sequence) {
+        Long footprint = resident.remove(sequence);
+        if (footprint != null) {
+            residentFootprint -= footprint;
+        }
+        offsets.remove(sequence);
+        sequence.setStore(null);
+    }
+
+    /**
+     * Marks a resident sequence as recently used.
+     *
+     * @param sequence the learn sequence
+     */
+    public synchronized void touch(LearnSequence sequence) {
+        resident.get(sequence);
+    }
+
+    /**
+     * Reads a spilled sequence back from the spill file and adds it to the working set again.
+     *
+     * @param sequence the spilled learn sequence
+     */
+    public synchronized void pageIn(LearnSequence sequence) {
+        if (sequence.isResident()) {
+            return;
+        }
+        try {
+            // Records are small and read once, so they are copied to the heap instead of being mapped
+            long offset = offsets.get(sequence);
+            ByteBuffer header = read(offset, Long.BYTES);
+            //noinspection NumericCastThatLosesPrecision
+            ByteBuffer record = read(offset + Long.BYTES, (int) header.getLong());
+
+            int size = record.getInt();
+            byte[] values = new byte[size];
+            record.get(values);
+            byte[] nullMask = new byte[(size + 7) / 8];
+            record.get(nullMask);
+            List<Byte> bytes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                bytes.add(((nullMask[i / 8] >>> (i % 8)) & 1) == 1 ? null : values[i]);
+            }
+
+            int count = record.getInt();
+            Set<String> nGrams = new TreeSet<>();
+            for (int i = 0; i < count; i++) {
+                byte[] nGram = new byte[record.getShort() & 0xffff];
+                record.get(nGram);
+                nGrams.add(new String(nGram, StandardCharsets.UTF_8));
+            }
+            sequence.restore(bytes, nGrams);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        admit(sequence);
+    }
+
+    /**
+     * Reads the given number of bytes from the spill file.
+     *
+     * @param position the position in the spill file
+     * @param length   the number of bytes
+     * @return the bytes, ready to be read
+     * @throws IOException if the spill file could not be read or ends before all bytes have been read
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer result = ByteBuffer.allocate(length);
+        while (result.hasRemaining()) {
+            if (channel.read(result, position + result.position()) < 0) {
+                throw new EOFException("Spill file ends at " + (position + result.position()));
+            }
+        }
+        result.flip();
+        return result;
+    }
+
+    /**
+     * Adds a resident sequence to the working set and spills the least recently used sequences until the footprint of
+     * the working set fits into the memory budget again. The given sequence is never spilled by its own admission.
+     *
+     * @param sequence the resident learn sequence
+     */
+    private void admit(LearnSequence sequence) {
+        long footprint = sequence.getFootprint();
+        resident.put(sequence, footprint);
+        residentFootprint += footprint;
+        // Victims are removed from the working set before they are spilled, because reading their content touches
+        // the access-ordered working set
+        List<LearnSequence> victims = new ArrayList<>();
+        Iterator<Map.Entry<LearnSequence, Long>> iterator = resident.entrySet().iterator();
+        while ((residentFootprint > memoryBudget) && iterator.hasNext()) {
+            Map.Entry<LearnSequence, Long> eldest = iterator.next();
+            //noinspection ObjectEquality
+            if (eldest.getKey() == sequence) {
+                continue;
+            }
+            victims.add(eldest.getKey());
+            residentFootprint -= eldest.getValue();
+            iterator.remove();
+        }
+        victims.forEach(this::spill);
+    }
+
+    /**
+     * Writes a sequence to the spill file, if it has not been written before, and releases its in-memory content.
+     *
+     * @param sequence the learn sequence
+     */
+    private void spill(LearnSequence sequence) {
+        if (!offsets.containsKey(sequence)) {
+            try {
+                if (channel == null) {
+                    spillFile = Files.createTempFile(Constants.FILE_PREFIX, null);
+                    channel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                offsets.put(sequence, channel.size());
+                ByteBuffer record = encode(sequence.getSequence(), sequence.getNGrams());
+                while (record.hasRemaining()) {
+                    channel.write(record, channel.size());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        sequence.release();
+    }
+
+    /**
+     * Encodes a byte sequence and its n-grams as a spill file record, preceded by the length of the record.
+     *
+     * @param bytes  the byte sequence
+     * @param nGrams the n-grams
+     * @return the encoded record, ready to be read
+     */
+    private static ByteBuffer encode(List<Byte> bytes, Set<String> nGrams) {
+        List<byte[]> encodedNGrams = new ArrayList<>(nGrams.size());
+        int nGramsLength = 0;
+        for (String each : nGrams) {
+            byte[] encoded = each.getBytes(StandardCharsets.UTF_8);
+            encodedNGrams.add(encoded);
+            nGramsLength += Short.BYTES + encoded.length;
+        }
+        int nullMaskLength = (bytes.size() + 7) / 8;
+        int length = Integer.BYTES + bytes.size() + nullMaskLength + Integer.BYTES + nGramsLength;
+
+        ByteBuffer result = ByteBuffer.allocate(Long.BYTES + length);
+        result.putLong(length);
+        result.putInt(bytes.size());
+        byte[] nullMask = new byte[nullMaskLength];
+        for (int i = 0; i < bytes.size(); i++) {
+            if (bytes.get(i) == null) {
+                result.put((byte) 0);
+                nullMask[i / 8] |= 1 << (i % 8);
+            } else {
+                result.put(bytes.get(i));
+            }
+        }
+        result.put(nullMask);
+        result.putInt(encodedNGrams.size());
+        for (byte[] each : encodedNGrams) {
+            //noinspection NumericCastThatLosesPrecision
+            result.putShort((short) each.length);
+            result.put(each);
+        }
+        result.flip();
+        return result;
+    }
+
+    /**
+     * Returns whether any sequence has been spilled to disk.
+     *
+     * @return true, if the spill file exists
+     */
+    public synchronized boolean hasSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * Returns the estimated footprint of all resident sequences.
+     *
+     * @return the footprint in bytes
+     */
+    public synchronized long getResidentFootprint() {
+        return residentFootprint;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (LearnSequence each : resident.keySet()) {
+            each.setStore(null);
+        }
+        resident.clear();
+        offsets.clear();
+        residentFootprint = 0;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        if (spillFile != null) {
+            Files.deleteIfExists(spillFile);
+            spillFile = null;
+        }
+    }
+}
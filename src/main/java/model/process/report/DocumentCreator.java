@@ -10,6 +10,8 @@ package model.process.report;
 
 import model.process.fuzzoptions.Process.RecordingMethod;
 import model.protocol.InjectedProtocolStructure;
+import model.record.Divergence;
+import model.record.IterationRecord;
 import model.record.Recordings;
 import nu.xom.Attribute;
 import nu.xom.DocType;
@@ -176,12 +178,26 @@ class DocumentCreator implements Callable<Document> {
         result.appendChild(h2crashes);
         result.appendChild(createCrashes());
 
+        if (recordings.getDivergenceSize() > 0) {
+            //noinspection HardCodedStringLiteral
+            Element h2divergences = new Element("h2", NAMESPACE);
+            h2divergences.appendChild("Divergences");
+            result.appendChild(h2divergences);
+            result.appendChild(createDivergences());
+        }
+
         if (recordingMethod == RecordingMethod.ALL) {
             //noinspection HardCodedStringLiteral
             Element h2communication = new Element("h2", NAMESPACE);
             h2communication.appendChild("Complete Communication");
             result.appendChild(h2communication);
             result.appendChild(createCommunication());
+        } else if (recordingMethod == RecordingMethod.SEEDS) {
+            //noinspection HardCodedStringLiteral
+            Element h2iterations = new Element("h2", NAMESPACE);
+            h2iterations.appendChild("Iterations");
+            result.appendChild(h2iterations);
+            result.appendChild(createIterations());
         }
         return result;
     }
@@ -228,6 +244,47 @@ class DocumentCreator implements Callable<Document> {
         return result.getTable();
     }
 
+    /**
+     * Creates the iterations element including its children. Every iteration is described by its seed, the messages
+     * themselves can be generated again from the campaign seed that is part of the summary of this element.
+     *
+     * @return the iterations element
+     */
+    private Element createIterations() {
+        //noinspection HardCodedStringLiteral
+        Element result = new Element("div", NAMESPACE);
+        //noinspection HardCodedStringLiteral
+        Element campaign = new Element("p", NAMESPACE);
+        campaign.appendChild("Campaign seed: " +
+                ((recordings.getCampaign() == null) ? "unknown" : Long.toString(recordings.getCampaign().getSeed())));
+        result.appendChild(campaign);
+
+        HtmlTable table = new HtmlTable(recordings.getIterationSize() + 1, 6);
+        table.setText(0, 0, "#");
+        table.setText(0, 1, "Seed");
+        table.setText(0, 2, "Bytes sent");
+        table.setText(0, 3, "Bytes received");
+        table.setText(0, 4, "Response SHA-256");
+        table.setText(0, 5, "Time");
+        for (int i = 0; i < recordings.getIterationSize(); i++) {
+            IterationRecord iterationRecord = recordings.getIterationRecord(i);
+            table.setText(i + 1, 0, String.valueOf(iterationRecord.getIteration()));
+            // Messages derived from responses cannot be generated again from their seeds
+            table.setText(i + 1, 1, Long.toHexString(iterationRecord.getSeed()) +
+                    (iterationRecord.isReproducible() ? "" : " (not reproducible)"));
+            table.setText(i + 1, 2, String.valueOf(iterationRecord.getSentLength()));
+            table.setText(i + 1, 3, String.valueOf(iterationRecord.getResponseLength()));
+            table.setText(i + 1, 4, toHex(iterationRecord.getResponseDigest()));
+            ZonedDateTime zonedDateTime =
+                    ZonedDateTime.from(iterationRecord.getSavedTime().atZone(ZoneId.systemDefault()))
+                            .truncatedTo(ChronoUnit.SECONDS);
+            table.setText(i + 1, 5, zonedDateTime.toOffsetDateTime().toString() + " (" +
+                    iterationRecord.getDuration().toMillis() + " ms)");
+        }
+        result.appendChild(table.getTable());
+        return result;
+    }
+
     /**
      * Returns the number of fuzzing iterations, that is half the number of recorded files +1 for each recorded crash.
      *
@@ -250,11 +307,12 @@ class DocumentCreator implements Callable<Document> {
      * @return the crashes overview element
      */
     private Element createCrashes() {
-        HtmlTable result = new HtmlTable(recordings.getCrashSize() + 1, 3);
+        HtmlTable result = new HtmlTable(recordings.getCrashSize() + 1, 4);
 
         result.setText(0, 0, "# Crash");
         result.setText(0, 1, "Time");
         result.setText(0, 2, "Message");
+        result.setText(0, 3, "Worker");
 
         // Fill the table with data for each crash
         for (int i = 0; i < recordings.getCrashSize(); i++) {
@@ -266,11 +324,72 @@ class DocumentCreator implements Callable<Document> {
             Path path = recordings.getCrashRecord(i).getOutputPath();
             result.setLink(i + 1, 2, path.subpath(path.getNameCount() - 2, path.getNameCount()).toString(),
                     path.getFileName().toString());
-
+            int worker = recordings.getCrashRecord(i).getWorker();
+            result.setText(i + 1, 3, (worker == -1) ? "-" : String.valueOf(worker + 1));
         }
         return result.getTable();
     }
 
+    /**
+     * Creates the divergences element including its children. Every message the primary and the secondary target
+     * responded to differently is described by its seed, the messages themselves can be generated again from the
+     * campaign seed that is part of this element.
+     *
+     * @return the divergences element
+     */
+    private Element createDivergences() {
+        //noinspection HardCodedStringLiteral
+        Element result = new Element("div", NAMESPACE);
+        //noinspection HardCodedStringLiteral
+        Element campaign = new Element("p", NAMESPACE);
+        campaign.appendChild("Campaign seed: " +
+                ((recordings.getCampaign() == null) ? "unknown" : Long.toString(recordings.getCampaign().getSeed())));
+        result.appendChild(campaign);
+
+        HtmlTable table = new HtmlTable(recordings.getDivergenceSize() + 1, 8);
+        table.setText(0, 0, "#");
+        table.setText(0, 1, "Seed");
+        table.setText(0, 2, "Bytes sent");
+        table.setText(0, 3, "Primary bytes received");
+        table.setText(0, 4, "Primary SHA-256");
+        table.setText(0, 5, "Secondary bytes received");
+        table.setText(0, 6, "Secondary SHA-256");
+        table.setText(0, 7, "Time");
+        for (int i = 0; i < recordings.getDivergenceSize(); i++) {
+            Divergence divergence = recordings.getDivergence(i);
+            table.setText(i + 1, 0, String.valueOf(divergence.getIteration()));
+            table.setText(i + 1, 1, Long.toHexString(divergence.getSeed()) +
+                    (divergence.isReproducible() ? "" : " (not reproducible)"));
+            table.setText(i + 1, 2, String.valueOf(divergence.getSentLength()));
+            table.setText(i + 1, 3, (divergence.getPrimaryLength() == -1) ? "NO RESPONSE" :
+                    String.valueOf(divergence.getPrimaryLength()));
+            table.setText(i + 1, 4, toHex(divergence.getPrimaryDigest()));
+            table.setText(i + 1, 5, (divergence.getSecondaryLength() == -1) ? "NO RESPONSE" :
+                    String.valueOf(divergence.getSecondaryLength()));
+            table.setText(i + 1, 6, toHex(divergence.getSecondaryDigest()));
+            ZonedDateTime zonedDateTime =
+                    ZonedDateTime.from(divergence.getSavedTime().atZone(ZoneId.systemDefault()))
+                            .truncatedTo(ChronoUnit.SECONDS);
+            table.setText(i + 1, 7, zonedDateTime.toOffsetDateTime().toString());
+        }
+        result.appendChild(table.getTable());
+        return result;
+    }
+
+    /**
+     * Returns the hexadecimal representation of a digest.
+     *
+     * @param digest the digest
+     * @return the lower case hex string, empty for an empty digest
+     */
+    private static String toHex(byte... digest) {
+        StringBuilder result = new StringBuilder(64);
+        for (byte each : digest) {
+            result.append(String.format("%02x", each));
+        }
+        return result.toString();
+    }
+
     /**
      * Creates the protocol structure element including its children.
      *
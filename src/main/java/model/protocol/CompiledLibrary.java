@@ -0,0 +1,239 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * This class represents a compiled library, that is a library file whose hex binary lines have been converted once
+ * into their binary form. The file consists of a header with a magic number, the format version and the number of
+ * payloads, followed by an offset table and the raw payloads. The offset table contains the offset of every payload
+ * relative to the first payload plus the total length of all payloads.
+ * <p>
+ * Payloads are read from the memory-mapped file without copying them, so that libraries of several gigabytes can be
+ * used for fuzzing.
+ */
+public class CompiledLibrary implements LibrarySource {
+
+    private static final int MAGIC = 0x50444c42;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private final MappedFile mappedFile;
+    private final long numOfPayloads;
+    private final long payloadStart;
+
+    /**
+     * Constructs a new compiled library by mapping the given file.
+     *
+     * @param library the path to the compiled library file
+     * @throws IOException if the file could not be read or is not a compiled library
+     */
+    public CompiledLibrary(Path library) throws IOException {
+        mappedFile = new MappedFile(library);
+        if ((mappedFile.getSize() < HEADER_SIZE) || !isCompiled(library)) {
+            throw new IOException("'" + library + "' is not a compiled library");
+        }
+        byte[] header = new byte[HEADER_SIZE];
+        mappedFile.get(0, header);
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        headerBuffer.getInt();
+        int version = headerBuffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Compiled library version " + version + " is not supported");
+        }
+        numOfPayloads = headerBuffer.getLong();
+        if ((numOfPayloads < 0) || (numOfPayloads > Integer.MAX_VALUE) ||
+                (HEADER_SIZE + ((numOfPayloads + 1) * Long.BYTES) > mappedFile.getSize())) {
+            throw new IOException("'" + library + "' has an invalid offset table");
+        }
+        payloadStart = HEADER_SIZE + ((numOfPayloads + 1) * Long.BYTES);
+    }
+
+    /**
+     * Returns whether the given file starts with the magic number of a compiled library.
+     *
+     * @param library the path to the library file
+     * @return true, if the file is a compiled library
+     */
+    public static boolean isCompiled(Path library) {
+        try (InputStream inputStream = Files.newInputStream(library)) {
+            return new DataInputStream(inputStream).readInt() == MAGIC;
+        } catch (IOException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Compiles a hex binary library file into a compiled library. Empty lines are skipped like during fuzzing with the
+     * hex binary library. The compiled library is written to a temporary file first and moved to its target when
+     * complete.
+     *
+     * @param library         the path to the hex binary library file
+     * @param compiledLibrary the path to the compiled library file to create
+     * @throws IOException if a file could not be read or written or a line is not a hex binary string
+     */
+    public static void compile(Path library, Path compiledLibrary) throws IOException {
+        LibraryIndex libraryIndex = new LibraryIndex(library);
+        Path tmpFile = Files.createTempFile(compiledLibrary.toAbsolutePath().getParent(), null, null);
+        try {
+            //noinspection NestedTryStatement
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                long[] lengths = new long[libraryIndex.getNumOfLines()];
+                for (int i = 0; i < lengths.length; i++) {
+                    lengths[i] = libraryIndex.getLineLength(i) / 2;
+                }
+                writeHeader(out, lengths);
+                for (int i = 0; i < libraryIndex.getNumOfLines(); i++) {
+                    byte[] payload = decode(libraryIndex.getLine(i));
+                    if (payload == null) {
+                        throw new IOException("Line #" + i + " of '" + library + "' is not a hex binary string");
+                    }
+                    out.write(payload);
+                }
+            }
+            Files.move(tmpFile, compiledLibrary, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Writes the given payloads into a compiled library. The compiled library is written to a temporary file first and
+     * moved to its target when complete.
+     *
+     * @param payloads        the payloads in the order they will be read
+     * @param compiledLibrary the path to the compiled library file to create
+     * @throws IOException if the file could not be written
+     */
+    public static void write(List<byte[]> payloads, Path compiledLibrary) throws IOException {
+        Path tmpFile = Files.createTempFile(compiledLibrary.toAbsolutePath().getParent(), null, null);
+        try {
+            //noinspection NestedTryStatement
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                long[] lengths = new long[payloads.size()];
+                for (int i = 0; i < lengths.length; i++) {
+                    lengths[i] = payloads.get(i).length;
+                }
+                writeHeader(out, lengths);
+                for (byte[] each : payloads) {
+                    out.write(each);
+                }
+            }
+            Files.move(tmpFile, compiledLibrary, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Writes the header and the offset table of a compiled library.
+     *
+     * @param out     the output stream
+     * @param lengths the lengths of all payloads
+     * @throws IOException if the header could not be written
+     */
+    private static void writeHeader(DataOutputStream out, long... lengths) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(lengths.length);
+        long offset = 0;
+        for (long each : lengths) {
+            out.writeLong(offset);
+            offset += each;
+        }
+        out.writeLong(offset);
+    }
+
+    /**
+     * Decodes a line of hex binary characters.
+     *
+     * @param line the characters of the line
+     * @return the decoded bytes or null, if the line is not a hex binary string
+     */
+    private static byte[] decode(byte... line) {
+        if ((line.length % 2) != 0) {
+            //noinspection ReturnOfNull
+            return null;
+        }
+        byte[] result = new byte[line.length / 2];
+        for (int i = 0; i < result.length; i++) {
+            int high = Character.digit(line[i * 2], 16);
+            int low = Character.digit(line[(i * 2) + 1], 16);
+            if ((high == -1) || (low == -1)) {
+                //noinspection ReturnOfNull
+                return null;
+            }
+            //noinspection NumericCastThatLosesPrecision
+            result[i] = (byte) ((high << 4) | low);
+        }
+        return result;
+    }
+
+    /**
+     * Validates the offset table of the compiled library, that is whether all offsets are ascending and the payloads
+     * end exactly at the end of the file.
+     *
+     * @return true, if the compiled library is well formed and contains at least one payload
+     */
+    public boolean validate() {
+        if (numOfPayloads == 0) {
+            return false;
+        }
+        long previous = 0;
+        for (long i = 0; i <= numOfPayloads; i++) {
+            long offset = mappedFile.getLong(HEADER_SIZE + (i * Long.BYTES));
+            if ((offset < previous) || ((i == 0) && (offset != 0))) {
+                return false;
+            }
+            previous = offset;
+        }
+        return (payloadStart + previous) == mappedFile.getSize();
+    }
+
+    @Override
+    public int getNumOfPayloads() {
+        //noinspection NumericCastThatLosesPrecision
+        return (int) numOfPayloads;
+    }
+
+    @Override
+    public byte[] getPayload(int index) {
+        ByteBuffer payload = getPayloadBuffer(index);
+        byte[] result = new byte[payload.remaining()];
+        payload.get(result);
+        return result;
+    }
+
+    @Override
+    public ByteBuffer getPayloadBuffer(int index) {
+        if ((index < 0) || (index >= numOfPayloads)) {
+            throw new IndexOutOfBoundsException("Payload " + index + " of " + numOfPayloads);
+        }
+        long start = mappedFile.getLong(HEADER_SIZE + ((long) index * Long.BYTES));
+        long end = mappedFile.getLong(HEADER_SIZE + ((long) (index + 1) * Long.BYTES));
+        //noinspection NumericCastThatLosesPrecision
+        return mappedFile.slice(payloadStart + start, (int) (end - start));
+    }
+
+    @Override
+    public boolean isValid() {
+        return mappedFile.isValid();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import java.nio.ByteOrder;
+
+/**
+ * This class represents a fix-up, that is a field of a protocol block whose value is calculated from a range of
+ * protocol blocks after a fuzzed message is generated. The value is either the length of the range or a checksum over
+ * the range, and it is written over the first bytes of the field's block. Targets that verify length headers or
+ * checksums therefore do not drop fuzzed messages before processing them.
+ * <p>
+ * If the range contains the field itself, the field is treated as zero while the value is calculated, like the
+ * checksum fields of most protocols. A fix-up is immutable.
+ */
+public class Fixup {
+
+    private final Type type;
+    private final int block;
+    private final int width;
+    private final ByteOrder byteOrder;
+    private final int firstBlock;
+    private final int lastBlock;
+
+    /**
+     * Constructs a new fix-up.
+     *
+     * @param type       the type of the value
+     * @param block      the index of the protocol block holding the field
+     * @param width      the width of the field in bytes
+     * @param byteOrder  the byte order of the field
+     * @param firstBlock the index of the first protocol block of the range
+     * @param lastBlock  the index of the last protocol block of the range
+     */
+    private Fixup(Type type, int block, int width, ByteOrder byteOrder, int firstBlock, int lastBlock) {
+        if ((block < 0) || (firstBlock < 0) || (lastBlock < firstBlock)) {
+            throw new IllegalArgumentException("Invalid blocks of fix-up: field " + block + ", range " + firstBlock +
+                    " to " + lastBlock);
+        }
+        this.type = type;
+        this.block = block;
+        this.width = width;
+        this.byteOrder = byteOrder;
+        this.firstBlock = firstBlock;
+        this.lastBlock = lastBlock;
+    }
+
+    /**
+     * Creates a fix-up whose value is the length of a range of protocol blocks in bytes.
+     *
+     * @param block      the index of the protocol block holding the field
+     * @param width      the width of the field in bytes, that is 1, 2, 4 or 8
+     * @param byteOrder  the byte order of the field
+     * @param firstBlock the index of the first protocol block of the range
+     * @param lastBlock  the index of the last protocol block of the range
+     * @return the fix-up
+     */
+    public static Fixup length(int block, int width, ByteOrder byteOrder, int firstBlock, int lastBlock) {
+        if ((width != 1) && (width != 2) && (width != 4) && (width != 8)) {
+            throw new IllegalArgumentException("Invalid width of length field: " + width);
+        }
+        return new Fixup(Type.LENGTH, block, width, byteOrder, firstBlock, lastBlock);
+    }
+
+    /**
+     * Creates a fix-up whose value is a checksum over a range of protocol blocks. The width of the field is given by
+     * the checksum.
+     *
+     * @param type       the type of the checksum
+     * @param block      the index of the protocol block holding the field
+     * @param byteOrder  the byte order of the field
+     * @param firstBlock the index of the first protocol block of the range
+     * @param lastBlock  the index of the last protocol block of the range
+     * @return the fix-up
+     */
+    public static Fixup checksum(Type type, int block, ByteOrder byteOrder, int firstBlock, int lastBlock) {
+        if (type == Type.LENGTH) {
+            throw new IllegalArgumentException("A length is not a checksum");
+        }
+        return new Fixup(type, block, type.getWidth(), byteOrder, firstBlock, lastBlock);
+    }
+
+    /**
+     * Returns the type of the value.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the index of the protocol block holding the field.
+     *
+     * @return the index of the block
+     */
+    public int getBlock() {
+        return block;
+    }
+
+    /**
+     * Returns the width of the field.
+     *
+     * @return the width in bytes
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the byte order of the field.
+     *
+     * @return the byte order
+     */
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
+
+    /**
+     * Returns the index of the first protocol block of the range.
+     *
+     * @return the index of the block
+     */
+    public int getFirstBlock() {
+        return firstBlock;
+    }
+
+    /**
+     * Returns the index of the last protocol block of the range.
+     *
+     * @return the index of the block
+     */
+    public int getLastBlock() {
+        return lastBlock;
+    }
+
+    /**
+     * The type of the value of a fix-up. The internet checksum is the ones' complement of the ones' complement sum of
+     * all 16-bit words, as used by IP, TCP and UDP.
+     */
+    public enum Type {
+        LENGTH(0), CRC32(4), ADLER32(4), SUM8(1), XOR8(1), INTERNET(2);
+
+        private final int width;
+
+        /**
+         * Constructs a new type.
+         *
+         * @param width the width of a checksum of this type in bytes, 0 for lengths
+         */
+        Type(int width) {
+            this.width = width;
+        }
+
+        /**
+         * Returns the width of a checksum of this type.
+         *
+         * @return the width in bytes
+         */
+        public int getWidth() {
+            return width;
+        }
+    }
+}
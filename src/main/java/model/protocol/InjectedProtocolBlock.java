@@ -10,11 +10,9 @@ package model.protocol;
 
 import model.Model;
 import model.RandomPool;
-import model.util.Hex;
 
 import java.io.IOException;
-import java.io.LineNumberReader;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -26,9 +24,12 @@ public class InjectedProtocolBlock extends ProtocolBlock {
 
     private Path library;
     private DataInjection dataInjection;
+    private volatile LibrarySource librarySource;
+    private SizeDistribution sizeDistribution;
 
     /**
-     * Constructs a new injected protocol block. The default data injection method is RANDOM.
+     * Constructs a new injected protocol block. The default data injection method is RANDOM with log-uniform payload
+     * lengths.
      *
      * @param type  the type of the protocol block
      * @param bytes the content in bytes
@@ -37,9 +38,33 @@ public class InjectedProtocolBlock extends ProtocolBlock {
         super(type, bytes);
         if (type == Type.VAR) {
             dataInjection = DataInjection.RANDOM;
+            sizeDistribution = SizeDistribution.forField(SizeDistribution.Kind.LOG_UNIFORM, getMaxLength());
         }
     }
 
+    /**
+     * Returns the distribution the lengths of random payloads are drawn from.
+     *
+     * @return the size distribution, null for not variable protocol blocks
+     */
+    public SizeDistribution getSizeDistribution() {
+        //noinspection ReturnOfNull
+        return (getType() == Type.VAR) ? sizeDistribution : null;
+    }
+
+    /**
+     * Sets the distribution the lengths of random payloads are drawn from.
+     *
+     * @param sizeDistribution the size distribution, null for the default distribution
+     */
+    public void setSizeDistribution(SizeDistribution sizeDistribution) {
+        if (getType() != Type.VAR) {
+            return;
+        }
+        this.sizeDistribution = (sizeDistribution == null) ?
+                SizeDistribution.forField(SizeDistribution.Kind.LOG_UNIFORM, getMaxLength()) : sizeDistribution;
+    }
+
     /**
      * Returns the data injection method indicating what data will be injected during the fuzzing process.
      *
@@ -70,6 +95,7 @@ public class InjectedProtocolBlock extends ProtocolBlock {
         if (getType() != Type.VAR) {
             return;
         }
+        librarySource = null;
         if (path == null) {
             library = null;
             return;
@@ -99,6 +125,32 @@ public class InjectedProtocolBlock extends ProtocolBlock {
         }
         dataInjection = DataInjection.LIBRARY;
         library = null;
+        librarySource = null;
+    }
+
+    /**
+     * Sets the injection data to mutation-based, that means the injected data is a mutation of data read from a file.
+     */
+    public void setMutationInjection() {
+        if ((getType() != Type.VAR) || (dataInjection == DataInjection.MUTATION)) {
+            return;
+        }
+        dataInjection = DataInjection.MUTATION;
+        library = null;
+        librarySource = null;
+    }
+
+    /**
+     * Sets the injection data to dictionary-based, that means the injected data is read from a dictionary built from
+     * the collected protocol files and the fixed protocol blocks.
+     */
+    public void setDictionaryInjection() {
+        if ((getType() != Type.VAR) || (dataInjection == DataInjection.DICTIONARY)) {
+            return;
+        }
+        dataInjection = DataInjection.DICTIONARY;
+        library = null;
+        librarySource = null;
     }
 
     /**
@@ -110,31 +162,59 @@ public class InjectedProtocolBlock extends ProtocolBlock {
         }
         dataInjection = DataInjection.RANDOM;
         library = null;
+        librarySource = null;
+    }
+
+    /**
+     * Returns the source of the library's payloads, which is either a compiled library or the index of a hex binary
+     * library. The source is created once and kept until the library is changed or found to be outdated by
+     * {@link #validateLibrary()}.
+     *
+     * @return the library source
+     * @throws IOException if the library file could not be read
+     */
+    private LibrarySource getLibrarySource() throws IOException {
+        LibrarySource result = librarySource;
+        if (result == null) {
+            synchronized (this) {
+                result = librarySource;
+                if (result == null) {
+                    result = CompiledLibrary.isCompiled(library) ? new CompiledLibrary(library) : new LibraryIndex
+                            (library);
+                    librarySource = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the library file has changed since its source was created, in which case the source is created
+     * again on the next access. The check reads the attributes of the file and is therefore done once before a
+     * campaign rather than for every payload.
+     */
+    public synchronized void validateLibrary() {
+        if ((librarySource != null) && !librarySource.isValid()) {
+            librarySource = null;
+        }
     }
 
     /**
      * Returns the number of lines of the library file.
      *
-     * @return the number of lines of the defined library file or 0 if data injection method is not library-based
+     * @return the number of lines of the defined library file or 0 if data injection method does not use a library
      */
     public int getNumOfLibraryLines() {
-        if (dataInjection != DataInjection.LIBRARY) {
+        if (((dataInjection != DataInjection.LIBRARY) && (dataInjection != DataInjection.MUTATION) &&
+                (dataInjection != DataInjection.DICTIONARY)) || (library == null)) {
             return 0;
         }
-        int result = 0;
-        // Go to the last line and read out its number
-        try (LineNumberReader lineNumberReader = new LineNumberReader(
-                Files.newBufferedReader(library, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = lineNumberReader.readLine()) != null) {
-                if (!line.isEmpty()) {
-                    result++;
-                }
-            }
+        try {
+            return getLibrarySource().getNumOfPayloads();
         } catch (IOException e) {
             Model.INSTANCE.getLogger().error(e);
+            return 0;
         }
-        return result;
     }
 
     /**
@@ -144,17 +224,8 @@ public class InjectedProtocolBlock extends ProtocolBlock {
      * @return the library line or null in case of an error
      */
     public byte[] getLibraryLine(int lineNo) {
-        try (LineNumberReader lineNumberReader = new LineNumberReader(
-                Files.newBufferedReader(library, StandardCharsets.UTF_8))) {
-            int count = 0;
-            String result;
-            do {
-                result = lineNumberReader.readLine();
-                if (result != null && !result.isEmpty()) {
-                    count++;
-                }
-            } while ((count - 1) != lineNo);
-            return Hex.hexBin2Byte(result);
+        try {
+            return getLibrarySource().getPayload(lineNo);
         } catch (IOException e) {
             Model.INSTANCE.getLogger().error(e);
             //noinspection ReturnOfNull
@@ -172,6 +243,33 @@ public class InjectedProtocolBlock extends ProtocolBlock {
         return getLibraryLine(rnd);
     }
 
+    /**
+     * Returns a read-only view of the given line of the library file. For compiled libraries the view shares the
+     * memory of the mapped library file.
+     *
+     * @param lineNo the line number to return
+     * @return the library line or null in case of an error
+     */
+    public ByteBuffer getLibraryLineBuffer(int lineNo) {
+        try {
+            return getLibrarySource().getPayloadBuffer(lineNo);
+        } catch (IOException e) {
+            Model.INSTANCE.getLogger().error(e);
+            //noinspection ReturnOfNull
+            return null;
+        }
+    }
+
+    /**
+     * Returns a read-only view of a random line of the library file.
+     *
+     * @return the random library line or null in case of an error
+     */
+    public ByteBuffer getRandomLibraryLineBuffer() {
+        int rnd = RandomPool.getInstance().nextInt(getNumOfLibraryLines());
+        return getLibraryLineBuffer(rnd);
+    }
+
     /**
      * Creates a deep copy of the object.
      *
@@ -181,8 +279,11 @@ public class InjectedProtocolBlock extends ProtocolBlock {
         InjectedProtocolBlock result = new InjectedProtocolBlock(getType(), getBytes());
         result.library = getLibrary();
         result.dataInjection = dataInjection;
+        result.sizeDistribution = sizeDistribution;
+        // The library source is immutable and can therefore be shared
+        result.librarySource = librarySource;
         return result;
     }
 
-    public enum DataInjection {RANDOM, LIBRARY}
+    public enum DataInjection {RANDOM, LIBRARY, MUTATION, DICTIONARY}
 }
@@ -25,6 +25,7 @@ public class InjectedProtocolStructure {
 
     private List<InjectedProtocolBlock> injectedProtocolBlocks;
     private List<InjectedProtocolBlock> varInjectedProtocolBlocks;
+    private List<Fixup> fixups;
 
     /**
      * Constructs a new injected protocol structure.
@@ -32,6 +33,7 @@ public class InjectedProtocolStructure {
     public InjectedProtocolStructure() {
         injectedProtocolBlocks = Collections.emptyList();
         varInjectedProtocolBlocks = Collections.emptyList();
+        fixups = new ArrayList<>();
     }
 
     /**
@@ -40,6 +42,7 @@ public class InjectedProtocolStructure {
     public InjectedProtocolStructure(ProtocolStructure protocolStructure) {
         injectedProtocolBlocks = new ArrayList<>(protocolStructure.getSize());
         varInjectedProtocolBlocks = new ArrayList<>(protocolStructure.getSize());
+        fixups = new ArrayList<>();
         for (int i = 0; i < protocolStructure.getSize(); i++) {
             Type type = protocolStructure.getBlock(i).getType();
             InjectedProtocolBlock injectedProtocolBlock =
@@ -59,8 +62,10 @@ public class InjectedProtocolStructure {
     private int calcWorkSimultaneous() {
         switch (varInjectedProtocolBlocks.get(0).getDataInjection()) {
             case LIBRARY:
+            case DICTIONARY:
                 return varInjectedProtocolBlocks.get(0).getNumOfLibraryLines();
             case RANDOM:
+            case MUTATION:
                 return -1;
             //noinspection UnnecessaryDefault
             default:
@@ -74,6 +79,38 @@ public class InjectedProtocolStructure {
     public void clear() {
         injectedProtocolBlocks.clear();
         varInjectedProtocolBlocks.clear();
+        fixups.clear();
+    }
+
+    /**
+     * Adds a fix-up that calculates a length or checksum field after a fuzzed message is generated. Fix-ups are applied
+     * in the order they were added, so a checksum over a length field must be added after the length field.
+     *
+     * @param fixup the fix-up
+     */
+    public void addFixup(Fixup fixup) {
+        if ((fixup.getBlock() >= injectedProtocolBlocks.size()) ||
+                (fixup.getLastBlock() >= injectedProtocolBlocks.size())) {
+            throw new IllegalArgumentException("Fix-up refers to a block behind the last of " +
+                    injectedProtocolBlocks.size() + " blocks");
+        }
+        fixups.add(fixup);
+    }
+
+    /**
+     * Returns all fix-ups in the order they are applied.
+     *
+     * @return the unmodifiable fix-ups
+     */
+    public List<Fixup> getFixups() {
+        return Collections.unmodifiableList(fixups);
+    }
+
+    /**
+     * Removes all fix-ups.
+     */
+    public void clearFixups() {
+        fixups.clear();
     }
 
     /**
@@ -105,6 +142,34 @@ public class InjectedProtocolStructure {
         return varInjectedProtocolBlocks.get(index);
     }
 
+    /**
+     * Sets a size distribution shared by all variable protocol blocks, as used with simultaneous data injection.
+     * Distributions suited to the length of a field are built for the longest variable protocol block, so that no
+     * block gets shorter random payloads than with a distribution of its own. Empirical distributions are shared as
+     * they are.
+     *
+     * @param sizeDistribution the size distribution, null for the default distribution
+     * @return the shared size distribution
+     */
+    public SizeDistribution shareSizeDistribution(SizeDistribution sizeDistribution) {
+        int maxLength = 0;
+        for (InjectedProtocolBlock each : varInjectedProtocolBlocks) {
+            maxLength = Math.max(maxLength, each.getMaxLength());
+        }
+        SizeDistribution result;
+        if (sizeDistribution == null) {
+            result = SizeDistribution.forField(SizeDistribution.Kind.LOG_UNIFORM, maxLength);
+        } else if (sizeDistribution.getKind() == SizeDistribution.Kind.EMPIRICAL) {
+            result = sizeDistribution;
+        } else {
+            result = SizeDistribution.forField(sizeDistribution.getKind(), maxLength);
+        }
+        for (InjectedProtocolBlock each : varInjectedProtocolBlocks) {
+            each.setSizeDistribution(result);
+        }
+        return result;
+    }
+
     /**
      * Returns the number of variable protocol blocks.
      *
@@ -139,9 +204,12 @@ public class InjectedProtocolStructure {
         result.injectedProtocolBlocks
                 .addAll(injectedProtocolBlocks.stream().map(InjectedProtocolBlock::copy).collect(Collectors.toList()));
 
-        result.varInjectedProtocolBlocks = new ArrayList<>(varInjectedProtocolBlocks);
-        result.varInjectedProtocolBlocks.addAll(varInjectedProtocolBlocks.stream().map(InjectedProtocolBlock::copy)
-                .collect(Collectors.toList()));
+        // The variable blocks are the copied blocks, not the blocks of this structure
+        result.varInjectedProtocolBlocks = result.injectedProtocolBlocks.stream().filter(each -> each.getType() ==
+                Type.VAR).collect(Collectors.toList());
+
+        // Fix-ups are immutable and can therefore be shared
+        result.fixups.addAll(fixups);
 
         return result;
     }
@@ -156,15 +224,40 @@ public class InjectedProtocolStructure {
         for (InjectedProtocolBlock each : varInjectedProtocolBlocks) {
             switch (each.getDataInjection()) {
                 case LIBRARY:
+                case DICTIONARY:
                     result += each.getNumOfLibraryLines();
                     break;
                 case RANDOM:
+                case MUTATION:
                     return -1;
             }
         }
         return result;
     }
 
+    /**
+     * Calculates the fuzzing iterations for pairwise data injections, that is the number of rows of the pairwise
+     * covering array over the library lines of all variable protocol blocks.
+     *
+     * @return the number of iterations, at most Integer.MAX_VALUE, -1 for infinite work
+     */
+    private int calcNumOfPairwiseIterations() {
+        int[] sizes = new int[varInjectedProtocolBlocks.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            switch (varInjectedProtocolBlocks.get(i).getDataInjection()) {
+                case LIBRARY:
+                case DICTIONARY:
+                    sizes[i] = varInjectedProtocolBlocks.get(i).getNumOfLibraryLines();
+                    break;
+                case RANDOM:
+                case MUTATION:
+                    return -1;
+            }
+        }
+        //noinspection NumericCastThatLosesPrecision
+        return (int) Math.min(Integer.MAX_VALUE, new PairwiseCoveringArray(sizes).getNumOfRows());
+    }
+
     /**
      * Calculates the number of fuzzing iterations based on the injected protocol structure for the given injection
      * method.
@@ -181,6 +274,8 @@ public class InjectedProtocolStructure {
                 return calcNumOfSeparateIterations();
             case SIMULTANEOUS:
                 return calcWorkSimultaneous();
+            case PAIRWISE:
+                return calcNumOfPairwiseIterations();
             default:
                 return 0;
         }
@@ -0,0 +1,141 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import model.util.Hex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This class is the library index, responsible for providing constant time access to the lines of a library file. The
+ * file is scanned once for the offsets of all non-empty lines and stays memory-mapped, so that reading a line costs
+ * only the copy of its bytes. Carriage returns and line feeds both terminate a line.
+ * <p>
+ * The index belongs to the state of the file when it was built and becomes invalid as soon as the size or the
+ * modification time of the file changes.
+ */
+class LibraryIndex implements LibrarySource {
+
+    private final MappedFile mappedFile;
+    private long[] offsets;
+    private int[] lengths;
+    private int numOfLines;
+
+    /**
+     * Constructs a new library index by scanning the given library file.
+     *
+     * @param library the path to the library file
+     * @throws IOException if the file could not be read
+     */
+    public LibraryIndex(Path library) throws IOException {
+        mappedFile = new MappedFile(library);
+        offsets = new long[16];
+        lengths = new int[16];
+        scan();
+    }
+
+    /**
+     * Scans the mapped file for all non-empty lines and stores their offsets and lengths.
+     */
+    private void scan() {
+        long start = -1;
+        for (long i = 0; i < mappedFile.getSize(); i++) {
+            byte each = mappedFile.get(i);
+            if ((each == '\n') || (each == '\r')) {
+                if (start > -1) {
+                    addLine(start, i);
+                    start = -1;
+                }
+            } else if (start == -1) {
+                start = i;
+            }
+        }
+        if (start > -1) {
+            addLine(start, mappedFile.getSize());
+        }
+    }
+
+    /**
+     * Adds a line to the index.
+     *
+     * @param start the offset of the first byte of the line
+     * @param end   the offset behind the last byte of the line
+     */
+    private void addLine(long start, long end) {
+        if (numOfLines == offsets.length) {
+            offsets = Arrays.copyOf(offsets, numOfLines * 2);
+            lengths = Arrays.copyOf(lengths, numOfLines * 2);
+        }
+        offsets[numOfLines] = start;
+        //noinspection NumericCastThatLosesPrecision
+        lengths[numOfLines] = (int) (end - start);
+        numOfLines++;
+    }
+
+    /**
+     * Returns the number of non-empty lines of the library file.
+     *
+     * @return the number of lines
+     */
+    public int getNumOfLines() {
+        return numOfLines;
+    }
+
+    /**
+     * Returns the length of the given non-empty line without its line terminator.
+     *
+     * @param lineNo the number of the line, counting only non-empty lines
+     * @return the length of the line in bytes
+     */
+    public int getLineLength(int lineNo) {
+        if ((lineNo < 0) || (lineNo >= numOfLines)) {
+            throw new IndexOutOfBoundsException("Line " + lineNo + " of " + numOfLines);
+        }
+        return lengths[lineNo];
+    }
+
+    /**
+     * Returns the raw bytes of the given non-empty line without its line terminator.
+     *
+     * @param lineNo the number of the line, counting only non-empty lines
+     * @return the bytes of the line
+     */
+    public byte[] getLine(int lineNo) {
+        if ((lineNo < 0) || (lineNo >= numOfLines)) {
+            throw new IndexOutOfBoundsException("Line " + lineNo + " of " + numOfLines);
+        }
+        byte[] result = new byte[lengths[lineNo]];
+        mappedFile.get(offsets[lineNo], result);
+        return result;
+    }
+
+    @Override
+    public int getNumOfPayloads() {
+        return numOfLines;
+    }
+
+    @Override
+    public byte[] getPayload(int index) {
+        return Hex.hexBin2Byte(new String(getLine(index), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ByteBuffer getPayloadBuffer(int index) {
+        return ByteBuffer.wrap(getPayload(index)).asReadOnlyBuffer();
+    }
+
+    @Override
+    public boolean isValid() {
+        return mappedFile.isValid();
+    }
+}
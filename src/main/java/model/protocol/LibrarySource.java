@@ -0,0 +1,48 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This interface represents the source of the payloads of a library file, that is the decoded content of its lines.
+ */
+interface LibrarySource {
+
+    /**
+     * Returns the number of payloads.
+     *
+     * @return the number of payloads
+     */
+    int getNumOfPayloads();
+
+    /**
+     * Returns a copy of the given payload.
+     *
+     * @param index the index of the payload
+     * @return the payload
+     */
+    byte[] getPayload(int index);
+
+    /**
+     * Returns a read-only view of the given payload. Sources that store payloads in their binary form return a view of
+     * the mapped file without copying it.
+     *
+     * @param index the index of the payload
+     * @return the read-only payload
+     */
+    ByteBuffer getPayloadBuffer(int index);
+
+    /**
+     * Returns whether the source still belongs to the current state of the library file.
+     *
+     * @return true, if the source is valid
+     */
+    boolean isValid();
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * This class represents a read-only memory-mapped file of arbitrary size. Because a single mapping is limited to 2
+ * GiB, the file is mapped in several chunks. The mapped file belongs to the state of the file when it was mapped and
+ * becomes invalid as soon as the size or the modification time of the file changes.
+ */
+class MappedFile {
+
+    private static final int CHUNK_SIZE = 1 << 30;
+    private final Path path;
+    private final long size;
+    private final FileTime lastModified;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Constructs a new mapped file.
+     *
+     * @param path the path to the file
+     * @throws IOException if the file could not be mapped
+     */
+    public MappedFile(Path path) throws IOException {
+        this.path = path;
+        lastModified = Files.getLastModifiedTime(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            //noinspection NumericCastThatLosesPrecision
+            chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i * CHUNK_SIZE;
+                chunks[i] = channel.map(MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return the size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the byte at the given offset.
+     *
+     * @param offset the offset in the file
+     * @return the byte
+     */
+    public byte get(long offset) {
+        //noinspection NumericCastThatLosesPrecision
+        return chunks[(int) (offset / CHUNK_SIZE)].get((int) (offset % CHUNK_SIZE));
+    }
+
+    /**
+     * Returns the big-endian long value at the given offset.
+     *
+     * @param offset the offset in the file
+     * @return the long value
+     */
+    public long getLong(long offset) {
+        //noinspection NumericCastThatLosesPrecision
+        int chunkIndex = (int) (offset / CHUNK_SIZE);
+        //noinspection NumericCastThatLosesPrecision
+        int position = (int) (offset % CHUNK_SIZE);
+        if (position + Long.BYTES <= chunks[chunkIndex].capacity()) {
+            return chunks[chunkIndex].getLong(position);
+        }
+        byte[] bytes = new byte[Long.BYTES];
+        get(offset, bytes);
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Copies the bytes starting at the given offset into the given array, until the array is filled.
+     *
+     * @param offset the offset in the file
+     * @param bytes  the destination array
+     */
+    public void get(long offset, byte[] bytes) {
+        long position = offset;
+        int copied = 0;
+        while (copied < bytes.length) {
+            //noinspection NumericCastThatLosesPrecision
+            ByteBuffer chunk = chunks[(int) (position / CHUNK_SIZE)].duplicate();
+            //noinspection NumericCastThatLosesPrecision
+            chunk.position((int) (position % CHUNK_SIZE));
+            int count = Math.min(bytes.length - copied, chunk.remaining());
+            chunk.get(bytes, copied, count);
+            copied += count;
+            position += count;
+        }
+    }
+
+    /**
+     * Returns a read-only view of the given range of the file. The view shares the mapped memory unless the range
+     * crosses the border of two chunks, in which case the range is copied.
+     *
+     * @param offset the offset in the file
+     * @param length the length of the range
+     * @return the read-only view
+     */
+    public ByteBuffer slice(long offset, int length) {
+        if (length == 0) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+        //noinspection NumericCastThatLosesPrecision
+        int chunkIndex = (int) (offset / CHUNK_SIZE);
+        //noinspection NumericCastThatLosesPrecision
+        int position = (int) (offset % CHUNK_SIZE);
+        if (position + length <= chunks[chunkIndex].capacity()) {
+            ByteBuffer result = chunks[chunkIndex].asReadOnlyBuffer();
+            result.position(position);
+            result.limit(position + length);
+            return result.slice();
+        }
+        byte[] bytes = new byte[length];
+        get(offset, bytes);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns whether the mapping still belongs to the current state of the file, that is whether neither its size
+     * nor its modification time has changed.
+     *
+     * @return true, if the mapping is valid
+     */
+    public boolean isValid() {
+        try {
+            return (Files.size(path) == size) && Files.getLastModifiedTime(path).equals(lastModified);
+        } catch (IOException ignored) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class represents a pairwise covering array over a number of factors, that is a list of rows assigning a value to
+ * every factor so that every pair of values of every two factors occurs in at least one row. The rows are never stored
+ * but calculated from their index, so that the array can be traversed in any order and split into ranges.
+ * <p>
+ * The array is an orthogonal array over the smallest prime q that is at least the second largest factor size and at
+ * least the number of factors minus one. With the factors sorted by size, a row index is split into a and b, where a
+ * ranges over the maximum of the largest factor size and q and b ranges over q. The largest factor takes a, the second
+ * largest takes b and the factor j takes a + (j - 1) * b modulo q. Values beyond the size of a factor are reduced
+ * modulo the size, which keeps every pair covered. The array has max(n1, q) * q rows, which is close to the lower bound
+ * n1 * n2 of the two largest factor sizes.
+ */
+public class PairwiseCoveringArray {
+
+    private final int[] sizes;
+    private final Integer[] order;
+    private final long prime;
+    private final long numOfRows;
+
+    /**
+     * Constructs a new pairwise covering array.
+     *
+     * @param sizes the number of values of every factor
+     */
+    public PairwiseCoveringArray(int... sizes) {
+        this.sizes = Arrays.copyOf(sizes, sizes.length);
+        order = new Integer[sizes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer o) -> sizes[o]).reversed());
+        if ((sizes.length == 0) || (sizes[order[sizes.length - 1]] <= 0)) {
+            prime = 1;
+            numOfRows = 0;
+        } else if (sizes.length == 1) {
+            prime = 1;
+            numOfRows = sizes[0];
+        } else {
+            prime = nextPrime(Math.max(sizes[order[1]], sizes.length - 1));
+            numOfRows = Math.max(sizes[order[0]], prime) * prime;
+        }
+    }
+
+    /**
+     * Returns the smallest prime that is at least the given number.
+     *
+     * @param number the number
+     * @return the prime
+     */
+    private static long nextPrime(long number) {
+        long result = Math.max(2, number);
+        while (!isPrime(result)) {
+            result++;
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the given number is a prime.
+     *
+     * @param number the number, at least 2
+     * @return true, if the number is a prime
+     */
+    private static boolean isPrime(long number) {
+        for (long i = 2; (i * i) <= number; i++) {
+            if ((number % i) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of rows, 0 if any factor has no values
+     */
+    public long getNumOfRows() {
+        return numOfRows;
+    }
+
+    /**
+     * Calculates the row with the given index.
+     *
+     * @param index the index of the row, starting at 0
+     * @param row   the array the value of every factor is written into
+     */
+    public void getRow(long index, int... row) {
+        if ((index < 0) || (index >= numOfRows)) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + numOfRows);
+        }
+        long a = index / prime;
+        long b = index % prime;
+        for (int j = 0; j < order.length; j++) {
+            long value;
+            switch (j) {
+                case 0:
+                    value = a;
+                    break;
+                case 1:
+                    value = b;
+                    break;
+                default:
+                    value = (a + ((j - 1) * b)) % prime;
+                    break;
+            }
+            //noinspection NumericCastThatLosesPrecision
+            row[order[j]] = (int) (value % sizes[order[j]]);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * This class represents the distribution the lengths of random payloads of a variable protocol block are drawn from.
+ * A distribution is immutable and can therefore be shared by copies of a protocol block.
+ * <p>
+ * The default distribution is log-uniform up to the bloat length, that is 10000 times the length of the block. Every
+ * order of magnitude up to the bloat length gets the same share of payloads, so about half of the payloads are shorter
+ * than 100 times the square root of the block length, while payloads close to the bloat length are still sent
+ * regularly.
+ */
+public class SizeDistribution {
+
+    public static final int BLOAT_FACTOR = 10000;
+    private final Kind kind;
+    private final int min;
+    private final int max;
+    private final int[] lengths;
+
+    /**
+     * Constructs a new size distribution.
+     *
+     * @param kind    the kind of the distribution
+     * @param min     the minimum length
+     * @param max     the maximum length
+     * @param lengths the lengths to choose from for boundary and empirical distributions, null for all others
+     */
+    private SizeDistribution(Kind kind, int min, int max, int... lengths) {
+        this.kind = kind;
+        this.min = min;
+        this.max = max;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Creates a distribution that always returns the same length.
+     *
+     * @param length the length
+     * @return the distribution
+     */
+    public static SizeDistribution fixed(int length) {
+        return new SizeDistribution(Kind.FIXED, Math.max(0, length), Math.max(0, length), (int[]) null);
+    }
+
+    /**
+     * Creates a distribution that returns every length of the given range with the same probability.
+     *
+     * @param min the minimum length
+     * @param max the maximum length
+     * @return the distribution
+     */
+    public static SizeDistribution uniform(int min, int max) {
+        return new SizeDistribution(Kind.UNIFORM, Math.max(0, min), Math.max(Math.max(0, min), max), (int[]) null);
+    }
+
+    /**
+     * Creates a distribution whose lengths have a uniformly distributed logarithm, so that every order of magnitude of
+     * the given range is returned equally often.
+     *
+     * @param min the minimum length
+     * @param max the maximum length
+     * @return the distribution
+     */
+    public static SizeDistribution logUniform(int min, int max) {
+        return new SizeDistribution(Kind.LOG_UNIFORM, Math.max(0, min), Math.max(Math.max(0, min), max), (int[]) null);
+    }
+
+    /**
+     * Creates a distribution that returns the lengths length checks in the target are likely to get wrong: 0, 1, the
+     * given field length and its neighbours, and all powers of two and their predecessors up to the maximum length.
+     *
+     * @param fieldLength the length of the field
+     * @param max         the maximum length
+     * @return the distribution
+     */
+    public static SizeDistribution boundary(int fieldLength, int max) {
+        int limit = Math.max(0, max);
+        TreeSet<Integer> candidates = new TreeSet<>();
+        candidates.add(0);
+        candidates.add(1);
+        candidates.add(fieldLength - 1);
+        candidates.add(fieldLength);
+        candidates.add(fieldLength + 1);
+        for (long power = 2; power <= limit; power *= 2) {
+            candidates.add((int) power - 1);
+            candidates.add((int) power);
+        }
+        int[] lengths = candidates.subSet(0, true, limit, true).stream().mapToInt(Integer::intValue).toArray();
+        return new SizeDistribution(Kind.BOUNDARY, lengths[0], lengths[lengths.length - 1], lengths);
+    }
+
+    /**
+     * Creates a distribution that returns the given observed lengths, every length as often as it has been observed.
+     *
+     * @param samples the observed lengths
+     * @return the distribution, always returning 0 if there are no samples
+     */
+    public static SizeDistribution empirical(int... samples) {
+        if (samples.length == 0) {
+            return fixed(0);
+        }
+        int[] lengths = Arrays.stream(samples).map(each -> Math.max(0, each)).sorted().toArray();
+        return new SizeDistribution(Kind.EMPIRICAL, lengths[0], lengths[lengths.length - 1], lengths);
+    }
+
+    /**
+     * Creates a distribution of the given kind suitable for a field of the given length. Fixed distributions return
+     * the field length, all others range from 0 to the bloat length.
+     *
+     * @param kind        the kind of the distribution, not empirical
+     * @param fieldLength the length of the field
+     * @return the distribution
+     */
+    public static SizeDistribution forField(Kind kind, int fieldLength) {
+        //noinspection NumericCastThatLosesPrecision
+        int bloatLength = (int) Math.min(Integer.MAX_VALUE, (long) Math.max(0, fieldLength) * BLOAT_FACTOR);
+        switch (kind) {
+            case FIXED:
+                return fixed(fieldLength);
+            case UNIFORM:
+                return uniform(0, bloatLength);
+            case LOG_UNIFORM:
+                return logUniform(0, bloatLength);
+            case BOUNDARY:
+                return boundary(fieldLength, bloatLength);
+            default:
+                throw new IllegalArgumentException("An empirical distribution needs observed lengths");
+        }
+    }
+
+    /**
+     * Draws a length from this distribution.
+     *
+     * @param random the random generator
+     * @return the length
+     */
+    public int nextLength(Random random) {
+        switch (kind) {
+            case UNIFORM:
+                // The bound is computed as a long, the range from 0 to Integer.MAX_VALUE has more lengths than an int
+                //noinspection NumericCastThatLosesPrecision
+                return min + (int) (random.nextDouble() * (((long) max - min) + 1));
+            case LOG_UNIFORM:
+                // The logarithm of length + 1 is uniform, so that a range starting at 0 is valid
+                double low = Math.log(min + 1.0);
+                double high = Math.log(max + 2.0);
+                //noinspection NumericCastThatLosesPrecision
+                int length = (int) Math.exp(low + (random.nextDouble() * (high - low))) - 1;
+                return Math.max(min, Math.min(max, length));
+            case BOUNDARY:
+            case EMPIRICAL:
+                return lengths[random.nextInt(lengths.length)];
+            default:
+                return max;
+        }
+    }
+
+    /**
+     * Returns the kind of this distribution.
+     *
+     * @return the kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the minimum length of this distribution.
+     *
+     * @return the minimum length
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum length of this distribution.
+     *
+     * @return the maximum length
+     */
+    public int getMax() {
+        return max;
+    }
+
+    public enum Kind {FIXED, UNIFORM, LOG_UNIFORM, BOUNDARY, EMPIRICAL}
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.record;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+
+/**
+ * This class represents the configuration of a fuzzing campaign, that is everything needed besides the number of an
+ * iteration to generate the message of that iteration again.
+ */
+public class Campaign {
+
+    private final long seed;
+    private final InjectionMethod injectionMethod;
+    private final InjectedProtocolStructure injectedProtocolStructure;
+    private final boolean feedback;
+    private final boolean adaptive;
+
+    /**
+     * Constructs a new campaign configuration.
+     *
+     * @param seed                      the seed all random data of the campaign is derived from
+     * @param injectionMethod           the injection method
+     * @param injectedProtocolStructure the injected protocol structure
+     */
+    public Campaign(long seed, InjectionMethod injectionMethod, InjectedProtocolStructure injectedProtocolStructure) {
+        this(seed, injectionMethod, injectedProtocolStructure, false, false);
+    }
+
+    /**
+     * Constructs a new campaign configuration for a campaign that optionally used the responses of the target to guide
+     * the generation of messages. Such messages cannot be generated again from their iteration number.
+     *
+     * @param seed                      the seed all random data of the campaign is derived from
+     * @param injectionMethod           the injection method
+     * @param injectedProtocolStructure the injected protocol structure
+     * @param feedback                  true, if inputs that lead to new responses were kept and mutated further
+     * @param adaptive                  true, if the fuzzed variable blocks were chosen by their yield
+     */
+    public Campaign(long seed, InjectionMethod injectionMethod, InjectedProtocolStructure injectedProtocolStructure,
+                    boolean feedback, boolean adaptive) {
+        this.seed = seed;
+        this.injectionMethod = injectionMethod;
+        // A snapshot is kept, so that later changes of the fuzzing options do not change the rebuilt messages
+        this.injectedProtocolStructure = injectedProtocolStructure.copy();
+        this.feedback = feedback;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Returns the seed all random data of the campaign is derived from.
+     *
+     * @return the campaign seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the injection method of the campaign.
+     *
+     * @return the injection method
+     */
+    public InjectionMethod getInjectionMethod() {
+        return injectionMethod;
+    }
+
+    /**
+     * Returns the injected protocol structure of the campaign.
+     *
+     * @return the injected protocol structure
+     */
+    public InjectedProtocolStructure getInjectedProtocolStructure() {
+        return injectedProtocolStructure;
+    }
+
+    /**
+     * Returns whether the responses of the target guided the generation of messages.
+     *
+     * @return true, if feedback was enabled
+     */
+    public boolean isFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Returns whether the fuzzed variable blocks were chosen by their yield.
+     *
+     * @return true, if adaptive block scheduling was enabled
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+}
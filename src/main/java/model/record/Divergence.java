@@ -0,0 +1,151 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.record;
+
+import java.time.Instant;
+
+/**
+ * This class is a divergence, responsible for describing a fuzzed message the primary and the secondary target
+ * responded to differently. Like an iteration record, the divergence keeps the seed of the iteration, together with
+ * the lengths and the digests of the normalized responses of both targets. Because a message derived from earlier
+ * responses of the target cannot be generated again from its seed, the divergence also keeps the bytes of the message,
+ * cut to a bounded length like recorded messages.
+ */
+public class Divergence {
+
+    private final long iteration;
+    private final long seed;
+    private final int sentLength;
+    private final int primaryLength;
+    private final byte[] primaryDigest;
+    private final int secondaryLength;
+    private final byte[] secondaryDigest;
+    private final Instant time;
+    private final byte[] message;
+    private final boolean reproducible;
+
+    /**
+     * Constructs a new divergence.
+     *
+     * @param iteration       the number of the iteration, starting at 1
+     * @param seed            the seed all random data of the iteration was derived from
+     * @param sentLength      the length of the sent message
+     * @param primaryLength   the length of the response of the primary target, -1 if it did not respond
+     * @param primaryDigest   the digest of the normalized response of the primary target
+     * @param secondaryLength the length of the response of the secondary target, -1 if it did not respond
+     * @param secondaryDigest the digest of the normalized response of the secondary target
+     * @param time            the time the message was sent
+     * @param message         the bytes of the sent message, possibly cut to a bounded length
+     * @param reproducible    true, if the message can be generated again from the campaign and the iteration number
+     */
+    public Divergence(long iteration, long seed, int sentLength, int primaryLength, byte[] primaryDigest,
+                      int secondaryLength, byte[] secondaryDigest, Instant time, byte[] message,
+                      boolean reproducible) {
+        this.iteration = iteration;
+        this.seed = seed;
+        this.sentLength = sentLength;
+        this.primaryLength = primaryLength;
+        this.primaryDigest = primaryDigest.clone();
+        this.secondaryLength = secondaryLength;
+        this.secondaryDigest = secondaryDigest.clone();
+        this.time = time;
+        this.message = message.clone();
+        this.reproducible = reproducible;
+    }
+
+    /**
+     * Returns the number of the iteration.
+     *
+     * @return the iteration number, starting at 1
+     */
+    public long getIteration() {
+        return iteration;
+    }
+
+    /**
+     * Returns the seed all random data of the iteration was derived from.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the length of the sent message.
+     *
+     * @return the length in bytes
+     */
+    public int getSentLength() {
+        return sentLength;
+    }
+
+    /**
+     * Returns the length of the response of the primary target.
+     *
+     * @return the length in bytes, -1 if the primary target did not respond
+     */
+    public int getPrimaryLength() {
+        return primaryLength;
+    }
+
+    /**
+     * Returns the digest of the normalized response of the primary target.
+     *
+     * @return the digest, empty if the primary target did not respond
+     */
+    public byte[] getPrimaryDigest() {
+        return primaryDigest.clone();
+    }
+
+    /**
+     * Returns the length of the response of the secondary target.
+     *
+     * @return the length in bytes, -1 if the secondary target did not respond
+     */
+    public int getSecondaryLength() {
+        return secondaryLength;
+    }
+
+    /**
+     * Returns the digest of the normalized response of the secondary target.
+     *
+     * @return the digest, empty if the secondary target did not respond
+     */
+    public byte[] getSecondaryDigest() {
+        return secondaryDigest.clone();
+    }
+
+    /**
+     * Returns the time the message was sent.
+     *
+     * @return the send time
+     */
+    public Instant getSavedTime() {
+        return time;
+    }
+
+    /**
+     * Returns the bytes of the sent message.
+     *
+     * @return the message bytes, cut to a bounded length if the message was longer
+     */
+    public byte[] getMessage() {
+        return message.clone();
+    }
+
+    /**
+     * Returns whether the message can be generated again from the campaign and the iteration number.
+     *
+     * @return true, if the message did not depend on earlier responses of the target
+     */
+    public boolean isReproducible() {
+        return reproducible;
+    }
+}
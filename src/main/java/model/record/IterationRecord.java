@@ -0,0 +1,161 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:30.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.record;
+
+import model.Model;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * This class is an iteration record, responsible for describing a fuzzing iteration without its message. The message
+ * can be generated again from the campaign and the seed of the iteration, so only the seed, the length of the message
+ * and a digest of the response of the target are kept. Messages that depended on earlier responses of the target are
+ * marked as not reproducible.
+ */
+public class IterationRecord {
+
+    private final long iteration;
+    private final long seed;
+    private final int sentLength;
+    private final int responseLength;
+    private final byte[] responseDigest;
+    private final Instant time;
+    private final Duration duration;
+    private final boolean reproducible;
+
+    /**
+     * Constructs a new iteration record.
+     *
+     * @param iteration  the number of the iteration, starting at 1
+     * @param seed       the seed all random data of the iteration was derived from
+     * @param sentLength the length of the sent message
+     * @param response   the response of the target
+     * @param time       the time the message was sent
+     * @param duration   the time the target needed to respond
+     */
+    public IterationRecord(long iteration, long seed, int sentLength, byte[] response, Instant time,
+                           Duration duration) {
+        this(iteration, seed, sentLength, response, time, duration, true);
+    }
+
+    /**
+     * Constructs a new iteration record whose message optionally depended on earlier responses of the target.
+     *
+     * @param iteration    the number of the iteration, starting at 1
+     * @param seed         the seed all random data of the iteration was derived from
+     * @param sentLength   the length of the sent message
+     * @param response     the response of the target
+     * @param time         the time the message was sent
+     * @param duration     the time the target needed to respond
+     * @param reproducible true, if the message can be generated again from the campaign and the iteration number
+     */
+    public IterationRecord(long iteration, long seed, int sentLength, byte[] response, Instant time,
+                           Duration duration, boolean reproducible) {
+        this.iteration = iteration;
+        this.seed = seed;
+        this.sentLength = sentLength;
+        responseLength = response.length;
+        responseDigest = digest(response);
+        this.time = time;
+        this.duration = duration;
+        this.reproducible = reproducible;
+    }
+
+    /**
+     * Calculates the SHA-256 digest of the given bytes.
+     *
+     * @param bytes the bytes
+     * @return the digest or an empty array if SHA-256 is not available
+     */
+    private static byte[] digest(byte... bytes) {
+        try {
+            //noinspection HardCodedStringLiteral
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            Model.INSTANCE.getLogger().error(e);
+            //noinspection ZeroLengthArrayAllocation
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Returns the number of the iteration.
+     *
+     * @return the iteration number, starting at 1
+     */
+    public long getIteration() {
+        return iteration;
+    }
+
+    /**
+     * Returns the seed all random data of the iteration was derived from.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the length of the sent message.
+     *
+     * @return the length in bytes
+     */
+    public int getSentLength() {
+        return sentLength;
+    }
+
+    /**
+     * Returns the length of the response of the target.
+     *
+     * @return the length in bytes
+     */
+    public int getResponseLength() {
+        return responseLength;
+    }
+
+    /**
+     * Returns the SHA-256 digest of the response of the target.
+     *
+     * @return the digest
+     */
+    public byte[] getResponseDigest() {
+        return responseDigest.clone();
+    }
+
+    /**
+     * Returns the time the message was sent.
+     *
+     * @return the send time
+     */
+    public Instant getSavedTime() {
+        return time;
+    }
+
+    /**
+     * Returns the time the target needed to respond.
+     *
+     * @return the response time
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns whether the message can be generated again from the campaign and the iteration number.
+     *
+     * @return true, if the message did not depend on earlier responses of the target
+     */
+    public boolean isReproducible() {
+        return reproducible;
+    }
+}
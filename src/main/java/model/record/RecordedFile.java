@@ -24,6 +24,7 @@ public class RecordedFile {
 
     private final Instant time;
     private final boolean crash;
+    private final int worker;
     private Path filePath;
     private Path outputPath;
 
@@ -35,8 +36,22 @@ public class RecordedFile {
      * @param time    the system time the data was created
      */
     public RecordedFile(byte[] content, boolean crash, Instant time) {
+        this(content, crash, time, -1);
+    }
+
+    /**
+     * Constructs a new data file that was sent by one of several parallel workers. The file will be located in the
+     * system defined temp directory.
+     *
+     * @param content the saved data
+     * @param crash   true if the data lead to a crash
+     * @param time    the system time the data was created
+     * @param worker  the index of the worker that sent the data, -1 if the campaign had no parallel workers
+     */
+    public RecordedFile(byte[] content, boolean crash, Instant time, int worker) {
         this.crash = crash;
         this.time = time;
+        this.worker = worker;
         try {
             filePath = Files.createTempFile(Constants.FILE_PREFIX, null);
             // Write the bytes into the file
@@ -65,6 +80,15 @@ public class RecordedFile {
         return crash;
     }
 
+    /**
+     * Returns the worker that sent the recorded data.
+     *
+     * @return the index of the worker, -1 if the campaign had no parallel workers
+     */
+    public int getWorker() {
+        return worker;
+    }
+
     /**
      * Returns the time the file was generated.
      *
@@ -13,12 +13,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * This class represents the recordings, responsible for handling recorded data files.
+ * This class represents the recordings, responsible for handling recorded data files. Besides the data files the
+ * recordings can hold compact iteration records, which describe iterations by their seeds instead of their messages,
+ * together with the configuration of the campaign that is needed to generate the messages again, and the divergences
+ * between the responses of a primary and a secondary target.
  */
 public class Recordings {
 
     private List<RecordedFile> recordedFiles;
     private List<RecordedFile> crashRecordedFiles;
+    private List<IterationRecord> iterationRecords;
+    private List<Divergence> divergences;
+    private Campaign campaign;
 
     /**
      * Constructs new recordings.
@@ -26,6 +32,8 @@ public class Recordings {
     public Recordings() {
         recordedFiles = new ArrayList<>();
         crashRecordedFiles = new ArrayList<>();
+        iterationRecords = new ArrayList<>();
+        divergences = new ArrayList<>();
     }
 
     /**
@@ -36,7 +44,19 @@ public class Recordings {
      * @param time    the time in milliseconds the crash occurred
      */
     public void addRecording(byte[] content, boolean crash, Instant time) {
-        RecordedFile recordedFile = new RecordedFile(content, crash, time);
+        addRecording(content, crash, time, -1);
+    }
+
+    /**
+     * Adds a new data file that was sent by one of several parallel workers to the list of recordings.
+     *
+     * @param content the sent message
+     * @param crash   true, if the message has caused a crash of the target
+     * @param time    the time in milliseconds the crash occurred
+     * @param worker  the index of the worker that sent the message, -1 if the campaign had no parallel workers
+     */
+    public void addRecording(byte[] content, boolean crash, Instant time, int worker) {
+        RecordedFile recordedFile = new RecordedFile(content, crash, time, worker);
         recordedFiles.add(recordedFile);
         if (crash) {
             crashRecordedFiles.add(recordedFile);
@@ -69,6 +89,10 @@ public class Recordings {
         recordedFiles.forEach(RecordedFile::delete);
         recordedFiles.clear();
         crashRecordedFiles.clear();
+        iterationRecords.clear();
+        divergences.clear();
+        //noinspection AssignmentToNull
+        campaign = null;
     }
 
     /**
@@ -95,4 +119,78 @@ public class Recordings {
     public RecordedFile getCrashRecord(int index) {
         return crashRecordedFiles.get(index);
     }
+
+    /**
+     * Adds a new iteration record.
+     *
+     * @param iterationRecord the iteration record
+     */
+    public void addIterationRecord(IterationRecord iterationRecord) {
+        iterationRecords.add(iterationRecord);
+    }
+
+    /**
+     * Returns the number of iteration records.
+     *
+     * @return the number of iteration records
+     */
+    public int getIterationSize() {
+        return iterationRecords.size();
+    }
+
+    /**
+     * Returns the iteration record at the given index.
+     *
+     * @param index the index
+     * @return the iteration record
+     */
+    public IterationRecord getIterationRecord(int index) {
+        return iterationRecords.get(index);
+    }
+
+    /**
+     * Adds a new divergence between the responses of the primary and the secondary target.
+     *
+     * @param divergence the divergence
+     */
+    public void addDivergence(Divergence divergence) {
+        divergences.add(divergence);
+    }
+
+    /**
+     * Returns the number of divergences.
+     *
+     * @return the number of divergences
+     */
+    public int getDivergenceSize() {
+        return divergences.size();
+    }
+
+    /**
+     * Returns the divergence at the given index.
+     *
+     * @param index the index
+     * @return the divergence
+     */
+    public Divergence getDivergence(int index) {
+        return divergences.get(index);
+    }
+
+    /**
+     * Returns the configuration of the recorded campaign.
+     *
+     * @return the campaign or null, if no campaign configuration was recorded
+     */
+    public Campaign getCampaign() {
+        return campaign;
+    }
+
+    /**
+     * Sets the configuration of the recorded campaign.
+     *
+     * @param campaign the campaign
+     */
+    public void setCampaign(Campaign campaign) {
+        this.campaign = campaign;
+    }
 }
@@ -27,6 +27,7 @@ public enum Constants {
     public static final String XML_TAG_NAME_MIN_LENGTH = "minlength";
     public static final String XML_TAG_NAME_SIGNATURE = "signature";
     public static final String RECORDINGS_DIRECTORY_POSTFIX = "_recordings";
+    public static final int MAX_RECORDED_MESSAGE_LENGTH = 16 * 1024 * 1024;
 
     public static final int LOG_ENTRY_SIZE = 500;
 
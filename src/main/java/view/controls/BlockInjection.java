@@ -10,12 +10,16 @@ package view.controls;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.stage.FileChooser;
 import model.Model;
+import model.protocol.InjectedProtocolBlock;
 import model.protocol.InjectedProtocolBlock.DataInjection;
+import model.protocol.SizeDistribution;
+import model.protocol.SizeDistribution.Kind;
 import view.window.FxmlConnection;
 
 import java.io.File;
@@ -33,9 +37,15 @@ public class BlockInjection extends GridPane {
     @FXML
     private RadioButton libraryRadioButton;
     @FXML
+    private RadioButton mutationRadioButton;
+    @FXML
+    private RadioButton dictionaryRadioButton;
+    @FXML
     private TextField libraryTextField;
     @FXML
     private Button browseButton;
+    @FXML
+    private ComboBox<Kind> sizeComboBox;
 
     /**
      * Constructs a new block injection module.
@@ -47,6 +57,7 @@ public class BlockInjection extends GridPane {
         // noinspection HardCodedStringLiteral
         FxmlConnection.connect(getClass().getResource("/fxml/blockInjection.fxml"), this);
         protocolBlockIndex = index;
+        sizeComboBox.getItems().setAll(Kind.values());
     }
 
     /**
@@ -61,16 +72,56 @@ public class BlockInjection extends GridPane {
         } else if (libraryRadioButton.isSelected()) {
             Model.INSTANCE.getFuzzOptionsProcess()
                     .setInjectionDataForVarProtocolBlock(protocolBlockIndex, DataInjection.LIBRARY);
+        } else if (mutationRadioButton.isSelected()) {
+            Model.INSTANCE.getFuzzOptionsProcess()
+                    .setInjectionDataForVarProtocolBlock(protocolBlockIndex, DataInjection.MUTATION);
+        } else if (dictionaryRadioButton.isSelected()) {
+            Model.INSTANCE.getFuzzOptionsProcess()
+                    .setInjectionDataForVarProtocolBlock(protocolBlockIndex, DataInjection.DICTIONARY);
+        }
+    }
+
+    /**
+     * Handles the action of the size combo box by updating the model with the chosen distribution of the lengths of
+     * random payloads. An empirical distribution is learned from the selected protocol files, all others are suited to
+     * the length of the protocol block.
+     */
+    @FXML
+    private void sizeDistribution() {
+        Kind kind = sizeComboBox.getValue();
+        InjectedProtocolBlock block =
+                Model.INSTANCE.getFuzzOptionsProcess().getInjectedProtocolStructure().getVarBlock(protocolBlockIndex);
+        // The value is also set while updating this module from the model
+        if ((kind == null) || (kind == block.getSizeDistribution().getKind())) {
+            return;
+        }
+        if (kind == Kind.EMPIRICAL) {
+            Model.INSTANCE.getFuzzOptionsProcess().learnSizeDistributionForVarProtocolBlock(protocolBlockIndex,
+                    Model.INSTANCE.getCollectProcess().getSelectedFiles());
+            return;
         }
+        Model.INSTANCE.getFuzzOptionsProcess().setSizeDistributionForVarProtocolBlock(protocolBlockIndex,
+                SizeDistribution.forField(kind, block.getMaxLength()));
     }
 
     /**
      * Handles the action of the browse button by displaying a window where the user can choose a file that contains the
-     * fuzz strings for the corresponding protocol block.
+     * fuzz strings for the corresponding protocol block. For dictionary-based injection the user chooses the file the
+     * dictionary built from the selected protocol files is saved to.
      */
     @FXML
     private void browse() {
         FileChooser fileChooser = new FileChooser();
+        if (dictionaryRadioButton.isSelected()) {
+            File file = fileChooser.showSaveDialog(getScene().getWindow());
+            if (file == null) {
+                return;
+            }
+            libraryTextField.setText(file.getAbsolutePath());
+            Model.INSTANCE.getFuzzOptionsProcess().buildDictionaryForVarProtocolBlock(protocolBlockIndex,
+                    Model.INSTANCE.getCollectProcess().getSelectedFiles(), file.toPath());
+            return;
+        }
         File file = fileChooser.showOpenDialog(getScene().getWindow());
         if (file == null) {
             return;
@@ -85,17 +136,27 @@ public class BlockInjection extends GridPane {
      * @param dataInjection the data injection method
      * @param enabled             false if this complete module should be greyed out
      * @param isValidLibrary      true, if the library file is valid
+     * @param sizeKind            the kind of the distribution of the lengths of random payloads
      */
-    public void update(DataInjection dataInjection, boolean enabled, boolean isValidLibrary) {
+    public void update(DataInjection dataInjection, boolean enabled, boolean isValidLibrary, Kind sizeKind) {
         randomRadioButton.setSelected(dataInjection == DataInjection.RANDOM);
         randomRadioButton.setDisable(!enabled);
 
         libraryRadioButton.setSelected(dataInjection == DataInjection.LIBRARY);
         libraryRadioButton.setDisable(!enabled);
 
+        mutationRadioButton.setSelected(dataInjection == DataInjection.MUTATION);
+        mutationRadioButton.setDisable(!enabled);
+
+        dictionaryRadioButton.setSelected(dataInjection == DataInjection.DICTIONARY);
+        dictionaryRadioButton.setDisable(!enabled);
+
+        boolean usesLibrary = (dataInjection == DataInjection.LIBRARY) || (dataInjection == DataInjection.MUTATION) ||
+                (dataInjection == DataInjection.DICTIONARY);
+
         //noinspection HardCodedStringLiteral
         libraryTextField.getStyleClass().removeAll("text-field-success", "text-field-fail");
-        if (enabled && (dataInjection == DataInjection.LIBRARY)) {
+        if (enabled && usesLibrary) {
             libraryTextField.setDisable(false);
             if (isValidLibrary) {
                 //noinspection HardCodedStringLiteral
@@ -110,7 +171,12 @@ public class BlockInjection extends GridPane {
             libraryTextField.setText("");
         }
 
-        browseButton.setDisable(!enabled || (dataInjection != DataInjection.LIBRARY));
+        browseButton.setDisable(!enabled || !usesLibrary);
+
+        if (sizeComboBox.getValue() != sizeKind) {
+            sizeComboBox.setValue(sizeKind);
+        }
+        sizeComboBox.setDisable(!enabled || (dataInjection != DataInjection.RANDOM));
     }
 
 }
@@ -11,12 +11,14 @@ package view.page;
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
 import model.Model;
 import model.process.fuzzoptions.Process;
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.process.fuzzoptions.Process.Partitioning;
 import model.process.fuzzoptions.Process.RecordingMethod;
 import model.protocol.InjectedProtocolBlock.DataInjection;
 import model.protocol.InjectedProtocolStructure;
@@ -42,18 +44,39 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
     @FXML
     private TextField targetPortTextField;
     @FXML
+    private TextField secondaryAddressTextField;
+    @FXML
+    private TextField secondaryPortTextField;
+    @FXML
     private TextField intervalTextField;
     @FXML
     private TextField timeoutTextField;
     @FXML
+    private TextField workersTextField;
+    @FXML
     private RadioButton simultaneousRadioButton;
     @FXML
     private RadioButton separateRadioButton;
     @FXML
+    private RadioButton pairwiseRadioButton;
+    @FXML
+    private RadioButton blockRadioButton;
+    @FXML
+    private RadioButton rangeRadioButton;
+    @FXML
     private RadioButton criticalRadioButton;
     @FXML
     private RadioButton allRadioButton;
+    @FXML
+    private RadioButton seedsRadioButton;
+    @FXML
+    private CheckBox feedbackCheckBox;
+    @FXML
+    private CheckBox deduplicationCheckBox;
+    @FXML
+    private CheckBox adaptiveCheckBox;
     private Timer targetTimer;
+    private Timer secondaryTargetTimer;
     @FXML
     private ProtocolHexDump protocolHexDump;
     @FXML
@@ -73,8 +96,11 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
 
         targetAddressTextField.textProperty().addListener(targetListener());
         targetPortTextField.textProperty().addListener(targetListener());
+        secondaryAddressTextField.textProperty().addListener(secondaryTargetListener());
+        secondaryPortTextField.textProperty().addListener(secondaryTargetListener());
         timeoutTextField.textProperty().addListener(timeoutListener());
         intervalTextField.textProperty().addListener(intervalListener());
+        workersTextField.textProperty().addListener(workersListener());
     }
 
     @Override
@@ -97,15 +123,37 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
                 targetAddressTextField.getStyleClass().add("text-field-fail");
             }
 
+            //noinspection HardCodedStringLiteral
+            secondaryPortTextField.getStyleClass().removeAll("text-field-success", "text-field-fail");
+            //noinspection HardCodedStringLiteral
+            secondaryAddressTextField.getStyleClass().removeAll("text-field-success", "text-field-fail");
+            // Without a secondary address the responses are not compared, which is no error
+            if (!secondaryAddressTextField.getText().trim().isEmpty()) {
+                //noinspection HardCodedStringLiteral
+                String styleClass = (process.getSecondaryTarget() == null) ? "text-field-fail" : "text-field-success";
+                secondaryPortTextField.getStyleClass().add(styleClass);
+                secondaryAddressTextField.getStyleClass().add(styleClass);
+            }
+
             timeoutTextField.setText(String.valueOf(process.getTimeout()));
 
             intervalTextField.setText(String.valueOf(process.getInterval()));
 
+            workersTextField.setText(String.valueOf(process.getWorkers()));
+            blockRadioButton.setSelected(process.getPartitioning() == Partitioning.BLOCK);
+            rangeRadioButton.setSelected(process.getPartitioning() == Partitioning.RANGE);
+
             simultaneousRadioButton.setSelected(process.getInjectionMethod() == InjectionMethod.SIMULTANEOUS);
             separateRadioButton.setSelected(process.getInjectionMethod() == InjectionMethod.SEPARATE);
+            pairwiseRadioButton.setSelected(process.getInjectionMethod() == InjectionMethod.PAIRWISE);
 
             criticalRadioButton.setSelected(process.getRecordingMethod() == RecordingMethod.CRITICAL);
             allRadioButton.setSelected(process.getRecordingMethod() == RecordingMethod.ALL);
+            seedsRadioButton.setSelected(process.getRecordingMethod() == RecordingMethod.SEEDS);
+
+            feedbackCheckBox.setSelected(process.isFeedback());
+            deduplicationCheckBox.setSelected(process.isDeduplication());
+            adaptiveCheckBox.setSelected(process.isAdaptive());
 
             InjectedProtocolStructure injectedProtocolStructure = process.getInjectedProtocolStructure();
             synchronized (this) {
@@ -127,12 +175,15 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
                 DataInjection dataInjection = injectedProtocolStructure.getVarBlock(i).getDataInjection();
                 boolean enabled = (process.getInjectionMethod() != InjectionMethod.SIMULTANEOUS) || (i == 0);
                 boolean validLibrary = injectedProtocolStructure.getVarBlock(i).getLibrary() != null;
-                ((BlockInjection) blockInjections.getChildren().get(i)).update(dataInjection, enabled, validLibrary);
+                ((BlockInjection) blockInjections.getChildren().get(i)).update(dataInjection, enabled, validLibrary,
+                        injectedProtocolStructure.getVarBlock(i).getSizeDistribution().getKind());
             }
 
             boolean finishable = process.isTargetReachable();
             for (int i = 0; i < injectedProtocolStructure.getVarSize(); i++) {
-                if ((injectedProtocolStructure.getVarBlock(i).getDataInjection() == DataInjection.LIBRARY) &&
+                DataInjection dataInjection = injectedProtocolStructure.getVarBlock(i).getDataInjection();
+                if (((dataInjection == DataInjection.LIBRARY) || (dataInjection == DataInjection.MUTATION) ||
+                        (dataInjection == DataInjection.DICTIONARY)) &&
                         (injectedProtocolStructure.getVarBlock(i).getLibrary() == null)) {
                     finishable = false;
                     break;
@@ -148,6 +199,8 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
             Model.INSTANCE.getFuzzOptionsProcess().setInjectionMethod(InjectionMethod.SIMULTANEOUS);
         } else if (separateRadioButton.isSelected()) {
             Model.INSTANCE.getFuzzOptionsProcess().setInjectionMethod(InjectionMethod.SEPARATE);
+        } else if (pairwiseRadioButton.isSelected()) {
+            Model.INSTANCE.getFuzzOptionsProcess().setInjectionMethod(InjectionMethod.PAIRWISE);
         }
     }
 
@@ -162,6 +215,16 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
         return (observableValue, s, s2) -> targetTimer();
     }
 
+    /**
+     * Creates the listener for the secondary target address and port. Every change will start a timer so that the user
+     * has time to finish his changes before the input is processed.
+     *
+     * @return the change listener
+     */
+    private ChangeListener<String> secondaryTargetListener() {
+        return (observableValue, s, s2) -> secondaryTargetTimer();
+    }
+
     /**
      * Creates the change listener for the timeout text field. Every change is immediately forwarded to the model.
      *
@@ -194,6 +257,22 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
         };
     }
 
+    /**
+     * Creates the change listener for the workers text field. Every change is immediately forwarded to the model.
+     *
+     * @return the change listener
+     */
+    private ChangeListener<String> workersListener() {
+        return (observableValue, s, s2) -> {
+            try {
+                int workers = Integer.parseInt(workersTextField.getText());
+                Model.INSTANCE.getFuzzOptionsProcess().setWorkers(workers);
+            } catch (NumberFormatException ignored) {
+                // Nothing to do here
+            }
+        };
+    }
+
     /**
      * Starts the timer for proceeding the target input. If the timer is already running, it will be reset.
      */
@@ -216,15 +295,64 @@ public class FuzzOptionsPage extends VBox implements Observer, Page {
         }, 1500);
     }
 
+    /**
+     * Starts the timer for proceeding the secondary target input. If the timer is already running, it will be reset.
+     */
+    private void secondaryTargetTimer() {
+        if (secondaryTargetTimer != null) {
+            secondaryTargetTimer.cancel();
+        }
+        secondaryTargetTimer = new Timer();
+        secondaryTargetTimer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                int port;
+                try {
+                    port = Integer.parseInt(secondaryPortTextField.getText());
+                } catch (NumberFormatException ignored) {
+                    port = 0;
+                }
+                Model.INSTANCE.getFuzzOptionsProcess()
+                        .setSecondaryTarget(secondaryAddressTextField.getText().trim(), port);
+            }
+        }, 1500);
+    }
+
     @FXML
     private void saveCommunication() {
         if (criticalRadioButton.isSelected()) {
             Model.INSTANCE.getFuzzOptionsProcess().setRecordingMethod(RecordingMethod.CRITICAL);
         } else if (allRadioButton.isSelected()) {
             Model.INSTANCE.getFuzzOptionsProcess().setRecordingMethod(RecordingMethod.ALL);
+        } else if (seedsRadioButton.isSelected()) {
+            Model.INSTANCE.getFuzzOptionsProcess().setRecordingMethod(RecordingMethod.SEEDS);
+        }
+    }
+
+    @FXML
+    private void partitioning() {
+        if (blockRadioButton.isSelected()) {
+            Model.INSTANCE.getFuzzOptionsProcess().setPartitioning(Partitioning.BLOCK);
+        } else if (rangeRadioButton.isSelected()) {
+            Model.INSTANCE.getFuzzOptionsProcess().setPartitioning(Partitioning.RANGE);
         }
     }
 
+    @FXML
+    private void feedback() {
+        Model.INSTANCE.getFuzzOptionsProcess().setFeedback(feedbackCheckBox.isSelected());
+    }
+
+    @FXML
+    private void deduplication() {
+        Model.INSTANCE.getFuzzOptionsProcess().setDeduplication(deduplicationCheckBox.isSelected());
+    }
+
+    @FXML
+    private void adaptive() {
+        Model.INSTANCE.getFuzzOptionsProcess().setAdaptive(adaptiveCheckBox.isSelected());
+    }
+
     @Override
     public void initProcess() {
         Model.INSTANCE.getFuzzOptionsProcess().init(Model.INSTANCE.getImportProcess().getProtocolStructure());
@@ -14,7 +14,9 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import model.Model;
+import model.RandomPool;
 import model.process.AbstractProcess.State;
+import model.process.fuzzing.FuzzingStatistics;
 import model.process.fuzzing.Process;
 import view.controls.LabeledProgressBar;
 import view.window.FxmlConnection;
@@ -42,6 +44,8 @@ public class FuzzingPage extends VBox implements Observer, Page {
     private Timer processTimer;
     @FXML
     private Label timeLabel;
+    @FXML
+    private Label skippedLabel;
     private boolean isRunning;
 
     /**
@@ -72,7 +76,14 @@ public class FuzzingPage extends VBox implements Observer, Page {
                             Model.INSTANCE.getFuzzOptionsProcess().getInterval(),
                             Model.INSTANCE.getFuzzOptionsProcess().getTimeout(),
                             Model.INSTANCE.getFuzzOptionsProcess().getRecordingMethod(),
-                            Model.INSTANCE.getFuzzOptionsProcess().getInjectionMethod());
+                            Model.INSTANCE.getFuzzOptionsProcess().getInjectionMethod(),
+                            RandomPool.getInstance().nextLong(),
+                            Model.INSTANCE.getFuzzOptionsProcess().isFeedback(),
+                            Model.INSTANCE.getFuzzOptionsProcess().isDeduplication(),
+                            Model.INSTANCE.getFuzzOptionsProcess().isAdaptive(),
+                            Model.INSTANCE.getFuzzOptionsProcess().getWorkers(),
+                            Model.INSTANCE.getFuzzOptionsProcess().getPartitioning(),
+                            Model.INSTANCE.getFuzzOptionsProcess().getSecondaryTarget());
         }
     }
 
@@ -98,6 +109,10 @@ public class FuzzingPage extends VBox implements Observer, Page {
             }
             labeledProgressBar.update(progress, isRunning);
 
+            FuzzingStatistics statistics = process.getStatistics();
+            skippedLabel.setText(statistics.getSkippedMessages() + " of " + statistics.getGeneratedMessages() + " (" +
+                    new DecimalFormat("0.0").format(statistics.getSkipRate() * 100) + " %)");
+
             if (isRunning) {
                 startTimer(process.getStartTime());
             } else {
@@ -22,4 +22,22 @@ public class RandomPoolTest {
             Assert.assertTrue(bytes.size() < ((i * 10000) + 1));
         }
     }
+
+    @Test
+    public void testBeginIteration() {
+        RandomPool.getInstance().beginIteration(42, 7);
+        long[] expected = {RandomPool.getInstance().nextLong(), RandomPool.getInstance().nextInt(1000)};
+        RandomPool.getInstance().beginIteration(42, 8);
+        Assert.assertNotEquals(RandomPool.getInstance().nextLong(), expected[0]);
+        RandomPool.getInstance().beginIteration(42, 7);
+        Assert.assertEquals(RandomPool.getInstance().nextLong(), expected[0]);
+        Assert.assertEquals(RandomPool.getInstance().nextInt(1000), expected[1]);
+    }
+
+    @Test
+    public void testIterationSeed() {
+        Assert.assertEquals(RandomPool.iterationSeed(42, 7), RandomPool.iterationSeed(42, 7));
+        Assert.assertNotEquals(RandomPool.iterationSeed(42, 7), RandomPool.iterationSeed(42, 8));
+        Assert.assertNotEquals(RandomPool.iterationSeed(42, 7), RandomPool.iterationSeed(43, 7));
+    }
 }
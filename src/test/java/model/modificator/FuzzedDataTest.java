@@ -0,0 +1,101 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+
+public class FuzzedDataTest {
+
+    @Test
+    public void testReset() {
+        FuzzedData fuzzedData = new FuzzedData(4);
+        fuzzedData.reset((byte) 1, (byte) 2);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1, 2});
+        fuzzedData.reset((byte) 1, (byte) 2, (byte) 3, (byte) 4, (byte) 5);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1, 2, 3, 4});
+        Assert.assertEquals(fuzzedData.getMaxLength(), 4);
+    }
+
+    @Test
+    public void testInteger() {
+        FuzzedData fuzzedData = new FuzzedData(10);
+        fuzzedData.reset(new byte[4]);
+        fuzzedData.setInteger(0, 2, true, 0x1234);
+        fuzzedData.setInteger(2, 2, false, 0x1234);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{0x12, 0x34, 0x34, 0x12});
+        Assert.assertEquals(fuzzedData.getInteger(0, 2, true), 0x1234);
+        Assert.assertEquals(fuzzedData.getInteger(2, 2, false), 0x1234);
+        Assert.assertEquals(fuzzedData.getInteger(0, 4, true), 0x12343412L);
+    }
+
+    @Test
+    public void testInsert() {
+        FuzzedData fuzzedData = new FuzzedData(5);
+        fuzzedData.reset((byte) 1, (byte) 2);
+        Assert.assertEquals(fuzzedData.insert(1, ByteBuffer.wrap(new byte[]{7, 8})), 2);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1, 7, 8, 2});
+        Assert.assertEquals(fuzzedData.insert(4, ByteBuffer.wrap(new byte[]{9, 9})), 1);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1, 7, 8, 2, 9});
+    }
+
+    @Test
+    public void testDuplicate() {
+        FuzzedData fuzzedData = new FuzzedData(100);
+        fuzzedData.reset((byte) 1, (byte) 2, (byte) 3);
+        Assert.assertEquals(fuzzedData.duplicate(0, 1, 2), 2);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{2, 3, 1, 2, 3});
+        Assert.assertEquals(fuzzedData.duplicate(5, 0, 2), 2);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{2, 3, 1, 2, 3, 2, 3});
+
+        // The copied range overlaps the insertion point
+        fuzzedData.reset((byte) 1, (byte) 2, (byte) 3, (byte) 4);
+        Assert.assertEquals(fuzzedData.duplicate(2, 1, 3), 3);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1, 2, 2, 3, 4, 3, 4});
+
+        // Bytes beyond the maximum length are not inserted
+        FuzzedData limited = new FuzzedData(5);
+        limited.reset((byte) 1, (byte) 2, (byte) 3);
+        Assert.assertEquals(limited.duplicate(1, 0, 3), 2);
+        Assert.assertEquals(limited.toByteArray(), new byte[]{1, 1, 2, 2, 3});
+    }
+
+    @Test
+    public void testDelete() {
+        FuzzedData fuzzedData = new FuzzedData(100);
+        fuzzedData.reset((byte) 1, (byte) 2, (byte) 3, (byte) 4);
+        fuzzedData.delete(1, 2);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1, 4});
+        fuzzedData.truncate(1);
+        Assert.assertEquals(fuzzedData.toByteArray(), new byte[]{1});
+    }
+
+    @Test
+    public void testAsReadOnlyBuffer() {
+        FuzzedData fuzzedData = new FuzzedData(100);
+        fuzzedData.reset((byte) 1, (byte) 2);
+        ByteBuffer buffer = fuzzedData.asReadOnlyBuffer();
+        Assert.assertTrue(buffer.isReadOnly());
+        Assert.assertEquals(buffer.remaining(), 2);
+        Assert.assertEquals(buffer.get(1), 2);
+    }
+
+    @Test
+    public void testDonor() {
+        FuzzedData fuzzedData = new FuzzedData(100);
+        Assert.assertFalse(fuzzedData.getDonor().hasRemaining());
+        ByteBuffer donor = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        donor.position(1);
+        fuzzedData.setDonor(donor);
+        Assert.assertEquals(fuzzedData.getDonor().remaining(), 2);
+        Assert.assertEquals(fuzzedData.getDonor().get(0), 2);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ModificatorTest {
+
+    private static FuzzedData createData(int length) {
+        FuzzedData result = new FuzzedData(1000);
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) 0x55);
+        result.reset(bytes);
+        return result;
+    }
+
+    private static int countDifferentBits(FuzzedData data) {
+        int result = 0;
+        for (int i = 0; i < data.getLength(); i++) {
+            result += Integer.bitCount((data.get(i) ^ 0x55) & 0xff);
+        }
+        return result;
+    }
+
+    @Test
+    public void testBitFlipModificator() {
+        Random random = new Random(1);
+        for (int width = 1; width <= 4; width *= 2) {
+            for (int i = 0; i < 100; i++) {
+                FuzzedData data = createData(3);
+                Assert.assertTrue(new BitFlipModificator(width).modify(data, random));
+                Assert.assertEquals(countDifferentBits(data), width);
+                Assert.assertEquals(data.getLength(), 3);
+            }
+        }
+        Assert.assertFalse(new BitFlipModificator(1).modify(createData(0), random));
+    }
+
+    @Test
+    public void testByteFlipModificator() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            FuzzedData data = createData(5);
+            Assert.assertTrue(new ByteFlipModificator(2).modify(data, random));
+            Assert.assertEquals(countDifferentBits(data), 16);
+        }
+        Assert.assertFalse(new ByteFlipModificator(4).modify(createData(3), random));
+    }
+
+    @Test
+    public void testArithmeticModificator() {
+        Random random = new Random(1);
+        for (int width = 1; width <= 8; width *= 2) {
+            for (int i = 0; i < 100; i++) {
+                FuzzedData data = createData(8);
+                Assert.assertTrue(new ArithmeticModificator(width).modify(data, random));
+                Assert.assertNotEquals(countDifferentBits(data), 0);
+                Assert.assertEquals(data.getLength(), 8);
+            }
+        }
+        Assert.assertFalse(new ArithmeticModificator(8).modify(createData(7), random));
+    }
+
+    @Test
+    public void testInterestingValueModificator() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            FuzzedData data = createData(1);
+            Assert.assertTrue(new InterestingValueModificator(1).modify(data, random));
+            Assert.assertTrue(Arrays.asList((byte) -128, (byte) -1, (byte) 0, (byte) 1, (byte) 16, (byte) 32,
+                    (byte) 64, (byte) 100, (byte) 127).contains(data.get(0)));
+        }
+        for (int width = 2; width <= 8; width *= 2) {
+            FuzzedData data = createData(width);
+            Assert.assertTrue(new InterestingValueModificator(width).modify(data, random));
+        }
+        Assert.assertFalse(new InterestingValueModificator(2).modify(createData(1), random));
+    }
+
+    @Test
+    public void testBlockDuplicationModificator() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            FuzzedData data = createData(10);
+            Assert.assertTrue(new BlockDuplicationModificator().modify(data, random));
+            Assert.assertTrue(data.getLength() > 10);
+            Assert.assertTrue(data.getLength() <= 20);
+        }
+        Assert.assertFalse(new BlockDuplicationModificator().modify(createData(0), random));
+    }
+
+    @Test
+    public void testBlockDeletionModificator() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            FuzzedData data = createData(10);
+            Assert.assertTrue(new BlockDeletionModificator().modify(data, random));
+            Assert.assertTrue(data.getLength() < 10);
+            Assert.assertTrue(data.getLength() >= 1);
+        }
+        Assert.assertFalse(new BlockDeletionModificator().modify(createData(1), random));
+    }
+
+    @Test
+    public void testSpliceModificator() {
+        Random random = new Random(1);
+        Assert.assertFalse(new SpliceModificator().modify(createData(10), random));
+        for (int i = 0; i < 100; i++) {
+            FuzzedData data = createData(10);
+            data.setDonor(ByteBuffer.wrap(new byte[]{1, 1, 1, 1}));
+            Assert.assertTrue(new SpliceModificator().modify(data, random));
+            // The data ends with a part of the donor
+            Assert.assertEquals(data.get(data.getLength() - 1), 1);
+            Assert.assertTrue(data.getLength() <= 14);
+        }
+    }
+
+    @Test
+    public void testGetName() {
+        Assert.assertEquals(new ArithmeticModificator(2).getName(), "ArithmeticModificator16");
+        Assert.assertEquals(new BlockDeletionModificator().getName(), "BlockDeletionModificator");
+    }
+}
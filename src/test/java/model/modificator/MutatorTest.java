@@ -0,0 +1,54 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.modificator;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+public class MutatorTest {
+
+    @Test
+    public void testMutate() {
+        Mutator mutator = new Mutator();
+        FuzzedData data = new FuzzedData(100);
+        int changed = 0;
+        for (int i = 0; i < 100; i++) {
+            data.reset((byte) 1, (byte) 2, (byte) 3, (byte) 4, (byte) 5, (byte) 6, (byte) 7, (byte) 8);
+            data.setDonor(ByteBuffer.wrap(new byte[]{9, 9, 9}));
+            Assert.assertTrue(mutator.mutate(data, new Random(i)) > 0);
+            Assert.assertTrue(data.getLength() <= 100);
+            if (!ByteBuffer.wrap(data.toByteArray()).equals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}))) {
+                changed++;
+            }
+        }
+        Assert.assertTrue(changed > 90);
+    }
+
+    @Test
+    public void testMutateReproducible() {
+        Mutator mutator = new Mutator();
+        FuzzedData data1 = new FuzzedData(100);
+        FuzzedData data2 = new FuzzedData(100);
+        for (int i = 0; i < 20; i++) {
+            data1.reset((byte) 1, (byte) 2, (byte) 3, (byte) 4);
+            data2.reset((byte) 1, (byte) 2, (byte) 3, (byte) 4);
+            mutator.mutate(data1, new Random(i));
+            mutator.mutate(data2, new Random(i));
+            Assert.assertEquals(data1.toByteArray(), data2.toByteArray());
+        }
+    }
+
+    @Test
+    public void testGetModificators() {
+        Assert.assertEquals(new Mutator().getModificators().size(), 17);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class BlockLengthSamplerTest {
+
+    private List<Path> paths;
+    private List<ProtocolFile> files;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        paths = new ArrayList<>();
+        files = new ArrayList<>();
+        String[] contents = {"GET /a HTTP/1.0\r\nxyz", "GET /index HTTP/1.0\r\n", "POST / HTTP/1.0\r\n"};
+        for (String each : contents) {
+            Path file = Files.createTempFile(null, null);
+            Files.write(file, each.getBytes(StandardCharsets.US_ASCII));
+            paths.add(file);
+            files.add(new ProtocolFile(file));
+        }
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        for (Path each : paths) {
+            Files.delete(each);
+        }
+    }
+
+    private static List<Byte> toBytes(String string) {
+        List<Byte> result = new ArrayList<>();
+        for (byte each : string.getBytes(StandardCharsets.US_ASCII)) {
+            result.add(each);
+        }
+        return result;
+    }
+
+    private static List<Byte> var() {
+        List<Byte> result = new ArrayList<>(1);
+        result.add(null);
+        return result;
+    }
+
+    @Test
+    public void testCall() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(toBytes("GET "));
+        protocolStructure.addBlock(var());
+        protocolStructure.addBlock(toBytes(" HTTP/1.0\r\n"));
+        protocolStructure.addBlock(var());
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+
+        // The third file does not start with the first fixed block and is skipped
+        Assert.assertEquals(new BlockLengthSampler(files, injectedProtocolStructure, 0).call(), new int[]{2, 6});
+        Assert.assertEquals(new BlockLengthSampler(files, injectedProtocolStructure, 1).call(), new int[]{3, 0});
+        Assert.assertEquals(new BlockLengthSampler(files, injectedProtocolStructure, 2).call(), new int[0]);
+    }
+
+    @Test
+    public void testCallFirstBlock() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(var());
+        protocolStructure.addBlock(toBytes(" HTTP/1.0\r\n"));
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        Assert.assertEquals(new BlockLengthSampler(files, injectedProtocolStructure, 0).call(), new int[]{6, 10, 6});
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.protocol.CompiledLibrary;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DictionaryBuilderTest {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+    private List<Path> paths;
+    private List<ProtocolFile> files;
+    private Path dictionary;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 'G', (byte) 'E', (byte) 'T', (byte) ' '));
+        List<Byte> bytes = new ArrayList<>(1);
+        bytes.add(null);
+        protocolStructure.addBlock(bytes);
+        protocolStructure.addBlock(Arrays.asList((byte) 0x00, (byte) 0xff));
+        injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+
+        paths = new ArrayList<>();
+        files = new ArrayList<>();
+        String[] contents = {"GET /index.html HTTP/1.0\r\nHost: example\r\n\r\n",
+                "GET /about.html HTTP/1.0\r\nHost: example\r\n\r\n",
+                "GET /index.html HTTP/1.1\r\nHost: example\r\n\r\n"};
+        for (String each : contents) {
+            Path file = Files.createTempFile(null, null);
+            Files.write(file, each.getBytes(StandardCharsets.US_ASCII));
+            paths.add(file);
+            files.add(new ProtocolFile(file));
+        }
+        dictionary = Files.createTempFile(null, null);
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        for (Path each : paths) {
+            Files.deleteIfExists(each);
+        }
+        Files.deleteIfExists(dictionary);
+    }
+
+    @Test
+    public void testBuild() {
+        List<byte[]> entries = new DictionaryBuilder(files, injectedProtocolStructure, dictionary).build();
+        Set<String> actual = new HashSet<>();
+        for (byte[] each : entries) {
+            Assert.assertTrue(actual.add(new String(each, StandardCharsets.ISO_8859_1)), "Duplicate entry");
+        }
+        // Fixed blocks first
+        Assert.assertEquals(entries.get(0), "GET ".getBytes(StandardCharsets.US_ASCII));
+        Assert.assertEquals(entries.get(1), new byte[]{0x00, (byte) 0xff});
+        // Integer neighbours of the two-byte fixed block in both byte orders
+        Assert.assertTrue(actual.contains("\u0000þ"));
+        Assert.assertTrue(actual.contains("\u0001\u0000"));
+        Assert.assertTrue(actual.contains("ÿþ"));
+        // Tokens
+        Assert.assertTrue(actual.contains("GET"));
+        Assert.assertTrue(actual.contains("Host"));
+        Assert.assertTrue(actual.contains("example"));
+        Assert.assertTrue(actual.contains("index"));
+        Assert.assertFalse(actual.contains("about"));
+        // Delimiters
+        Assert.assertTrue(actual.contains(":"));
+        Assert.assertTrue(actual.contains("\r"));
+        // Maximal n-grams only
+        Assert.assertTrue(actual.contains("\r\n"));
+        Assert.assertTrue(actual.contains("ple\r\n\r\n"));
+        Assert.assertFalse(actual.contains("\r\n\r\n"));
+        Assert.assertFalse(actual.contains("\r\n\r"));
+    }
+
+    @Test
+    public void testCall() throws IOException {
+        DictionaryBuilder dictionaryBuilder = new DictionaryBuilder(files, injectedProtocolStructure, dictionary);
+        Assert.assertTrue(dictionaryBuilder.call());
+        List<byte[]> expected = new DictionaryBuilder(files, injectedProtocolStructure, dictionary).build();
+        CompiledLibrary actual = new CompiledLibrary(dictionary);
+        Assert.assertTrue(actual.validate());
+        Assert.assertEquals(actual.getNumOfPayloads(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(ByteBuffer.wrap(actual.getPayload(i)), ByteBuffer.wrap(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void testCallEmpty() {
+        InjectedProtocolStructure empty = new InjectedProtocolStructure();
+        Assert.assertFalse(new DictionaryBuilder(new ArrayList<>(), empty, dictionary).call());
+    }
+}
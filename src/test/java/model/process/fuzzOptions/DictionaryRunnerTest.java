@@ -0,0 +1,90 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolBlock.DataInjection;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import support.RunnerMonitor;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DictionaryRunnerTest {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+
+    @BeforeMethod
+    public void setUp() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add((byte) 1);
+        protocolStructure.addBlock(bytes2);
+        List<Byte> bytes3 = new ArrayList<>(1);
+        bytes3.add(null);
+        protocolStructure.addBlock(bytes3);
+        injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+    }
+
+    @Test
+    public void testRun() throws URISyntaxException, IOException {
+        ProtocolFile file = new ProtocolFile(Paths.get(getClass().getResource("/capture1.txt").toURI()));
+        Path dictionary = Files.createTempFile(null, null);
+        try {
+            DictionaryRunner runner = new DictionaryRunner(injectedProtocolStructure, InjectionMethod.SEPARATE, 1,
+                    Collections.singletonList(file), dictionary);
+            RunnerMonitor monitor = new RunnerMonitor();
+            runner.addObserver(monitor);
+            runner.run();
+            Assert.assertTrue(monitor.areAllStatesVisited());
+            InjectedProtocolStructure actual = runner.getInjectedProtocolStructure();
+            Assert.assertEquals(actual.getVarBlock(0).getDataInjection(), DataInjection.RANDOM);
+            Assert.assertEquals(actual.getVarBlock(1).getDataInjection(), DataInjection.DICTIONARY);
+            Assert.assertEquals(actual.getVarBlock(1).getLibrary(), dictionary.toAbsolutePath().normalize());
+            // The fixed block and its two distinct integer neighbours, the capture contains nothing frequent
+            Assert.assertEquals(actual.getVarBlock(1).getNumOfLibraryLines(), 3);
+            Assert.assertEquals(actual.getVarBlock(1).getLibraryLine(0), new byte[]{1});
+        } finally {
+            Files.delete(dictionary);
+        }
+    }
+
+    @Test
+    public void testRunSimultaneous() throws IOException {
+        Path dictionary = Files.createTempFile(null, null);
+        try {
+            DictionaryRunner runner = new DictionaryRunner(injectedProtocolStructure, InjectionMethod.SIMULTANEOUS, 0,
+                    new ArrayList<>(), dictionary);
+            runner.run();
+            InjectedProtocolStructure actual = runner.getInjectedProtocolStructure();
+            for (int i = 0; i < actual.getVarSize(); i++) {
+                Assert.assertEquals(actual.getVarBlock(i).getDataInjection(), DataInjection.DICTIONARY);
+                Assert.assertEquals(actual.getVarBlock(i).getLibrary(), dictionary.toAbsolutePath().normalize());
+            }
+            Assert.assertEquals(actual.getNumOfIterations(InjectionMethod.SIMULTANEOUS), 3);
+        } finally {
+            Files.delete(dictionary);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.protocol.Fixup;
+import model.protocol.Fixup.Type;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import support.RunnerMonitor;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FixupRunnerTest {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+
+    @BeforeMethod
+    public void setUp() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 0, (byte) 0));
+        List<Byte> bytes = new ArrayList<>(1);
+        bytes.add(null);
+        protocolStructure.addBlock(bytes);
+        injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+    }
+
+    @Test
+    public void testRun() {
+        FixupRunner runner = new FixupRunner(injectedProtocolStructure, Fixup.length(0, 2, ByteOrder.BIG_ENDIAN, 1,
+                1));
+        RunnerMonitor monitor = new RunnerMonitor();
+        runner.addObserver(monitor);
+        runner.run();
+        Assert.assertTrue(monitor.areAllStatesVisited());
+        Assert.assertEquals(runner.getInjectedProtocolStructure().getFixups().size(), 1);
+
+        runner = new FixupRunner(injectedProtocolStructure, Fixup.checksum(Type.CRC32, 1, ByteOrder.BIG_ENDIAN, 0, 2));
+        runner.run();
+        Assert.assertEquals(runner.getInjectedProtocolStructure().getFixups().size(), 1);
+
+        runner = new FixupRunner(injectedProtocolStructure, null);
+        runner.run();
+        Assert.assertTrue(runner.getInjectedProtocolStructure().getFixups().isEmpty());
+    }
+}
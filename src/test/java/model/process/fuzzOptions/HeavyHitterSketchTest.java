@@ -0,0 +1,65 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class HeavyHitterSketchTest {
+
+    @Test
+    public void testAdd() {
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(4);
+        for (String each : Arrays.asList("a", "b", "a", "c", "a", "b")) {
+            sketch.add(each);
+        }
+        Assert.assertEquals(sketch.getSize(), 3);
+        Assert.assertEquals(sketch.getCount("a"), 3);
+        Assert.assertEquals(sketch.getCount("b"), 2);
+        Assert.assertEquals(sketch.getCount("c"), 1);
+        Assert.assertEquals(sketch.getCount("d"), 0);
+        Assert.assertEquals(sketch.getGuaranteedCount("a"), 3);
+    }
+
+    @Test
+    public void testEviction() {
+        HeavyHitterSketch<Integer> sketch = new HeavyHitterSketch<>(8);
+        // One frequent item among many rare ones
+        for (int i = 0; i < 1000; i++) {
+            sketch.add(-1);
+            sketch.add(i);
+        }
+        Assert.assertEquals(sketch.getSize(), 8);
+        Assert.assertEquals(sketch.getGuaranteedCount(-1), 1000);
+        Assert.assertEquals(sketch.getCount(-1), 1000);
+        // The last rare item inherited the count of the evicted one
+        Assert.assertTrue(sketch.getCount(999) > 1);
+        Assert.assertEquals(sketch.getGuaranteedCount(999), 1);
+    }
+
+    @Test
+    public void testGetHeavyHitters() {
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(2);
+        for (String each : Arrays.asList("a", "b", "b", "c", "b", "c", "c", "c")) {
+            sketch.add(each);
+        }
+        List<String> heavyHitters = sketch.getHeavyHitters(1);
+        Assert.assertEquals(heavyHitters, Arrays.asList("c", "b"));
+        Assert.assertEquals(sketch.getHeavyHitters(4), Arrays.asList("c"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new HeavyHitterSketch<String>(0);
+    }
+}
@@ -51,6 +51,14 @@ public class InjectionDataRunnerTest {
         result = injectionDataRunner.getInjectedProtocolStructure();
         Assert.assertEquals(result.getVarBlock(0).getDataInjection(), DataInjection.LIBRARY);
         Assert.assertEquals(result.getVarBlock(1).getDataInjection(), DataInjection.RANDOM);
+
+        injectionDataRunner =
+                new InjectionDataRunner(injectedProtocolStructure, DataInjection.MUTATION, InjectionMethod.SEPARATE, 1);
+        injectionDataRunner.run();
+        result = injectionDataRunner.getInjectedProtocolStructure();
+        Assert.assertEquals(result.getVarBlock(0).getDataInjection(), DataInjection.LIBRARY);
+        Assert.assertEquals(result.getVarBlock(1).getDataInjection(), DataInjection.MUTATION);
+        Assert.assertEquals(result.getNumOfIterations(InjectionMethod.SEPARATE), -1);
     }
 
     @SuppressWarnings("EmptyMethod")
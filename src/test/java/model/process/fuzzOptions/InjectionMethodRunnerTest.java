@@ -59,6 +59,8 @@ public class InjectionMethodRunnerTest {
         Assert.assertEquals(result.getVarBlock(0).getDataInjection(), DataInjection.RANDOM);
         Assert.assertEquals(result.getVarBlock(1).getDataInjection(), DataInjection.RANDOM);
         Assert.assertEquals(injectionMethodRunner.getInjectionMethod(), InjectionMethod.SIMULTANEOUS);
+        // All variable blocks share the distribution of the first block
+        Assert.assertEquals(result.getVarBlock(1).getSizeDistribution(), result.getVarBlock(0).getSizeDistribution());
 
         injectedProtocolStructure.getVarBlock(0).setLibraryInjection();
         injectedProtocolStructure.getVarBlock(1).setLibraryInjection();
@@ -8,11 +8,16 @@
 
 package model.process.fuzzoptions;
 
+import model.protocol.CompiledLibrary;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 @SuppressWarnings("HardCodedStringLiteral")
 public class LibraryCheckerTest {
@@ -37,4 +42,21 @@ public class LibraryCheckerTest {
         libraryChecker = new LibraryChecker(Paths.get(getClass().getResource("/library4.txt").toURI()));
         Assert.assertFalse(libraryChecker.call());
     }
+
+    @Test
+    public void testCallCompiled() throws URISyntaxException, IOException {
+        Path compiledLibrary = Files.createTempFile(null, null);
+        try {
+            CompiledLibrary.compile(Paths.get(getClass().getResource("/library1.txt").toURI()), compiledLibrary);
+            LibraryChecker libraryChecker = new LibraryChecker(compiledLibrary);
+            Assert.assertTrue(libraryChecker.call());
+
+            byte[] bytes = Files.readAllBytes(compiledLibrary);
+            Files.write(compiledLibrary, Arrays.copyOf(bytes, bytes.length - 1));
+            libraryChecker = new LibraryChecker(compiledLibrary);
+            Assert.assertFalse(libraryChecker.call());
+        } finally {
+            Files.delete(compiledLibrary);
+        }
+    }
 }
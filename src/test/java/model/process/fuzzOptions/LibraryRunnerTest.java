@@ -16,7 +16,9 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import support.RunnerMonitor;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -71,4 +73,26 @@ public class LibraryRunnerTest {
         Assert.assertEquals(libraryRunner.getInjectedProtocolStructure().getVarBlock(0).getLibrary(), library);
         Assert.assertEquals(libraryRunner.getInjectedProtocolStructure().getVarBlock(1).getLibrary(), library);
     }
+
+    @Test
+    public void testRunCompile() throws URISyntaxException, IOException {
+        Path library = Paths.get(getClass().getResource("/library1.txt").toURI());
+        Path compiledLibrary = Files.createTempFile(null, null);
+        try {
+            LibraryRunner libraryRunner =
+                    new LibraryRunner(injectedProtocolStructure, InjectionMethod.SEPARATE, 1, library, compiledLibrary);
+            RunnerMonitor monitor = new RunnerMonitor();
+            libraryRunner.addObserver(monitor);
+            libraryRunner.run();
+            Assert.assertTrue(monitor.areAllStatesVisited());
+            Assert.assertEquals(libraryRunner.getInjectedProtocolStructure().getVarBlock(1).getLibrary(),
+                    compiledLibrary.toAbsolutePath().normalize());
+            Assert.assertEquals(libraryRunner.getInjectedProtocolStructure().getVarBlock(1).getNumOfLibraryLines(),
+                    16);
+            Assert.assertEquals(libraryRunner.getInjectedProtocolStructure().getVarBlock(1).getLibraryLine(1),
+                    new byte[]{(byte) 0x11});
+        } finally {
+            Files.delete(compiledLibrary);
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzoptions;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolFile;
+import model.protocol.ProtocolStructure;
+import model.protocol.SizeDistribution;
+import model.protocol.SizeDistribution.Kind;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import support.RunnerMonitor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class SizeDistributionRunnerTest {
+
+    private InjectedProtocolStructure injectedProtocolStructure;
+
+    @BeforeMethod
+    public void setUp() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add((byte) 1);
+        protocolStructure.addBlock(bytes2);
+        List<Byte> bytes3 = new ArrayList<>(1);
+        bytes3.add(null);
+        protocolStructure.addBlock(bytes3);
+        injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+    }
+
+    @Test
+    public void testRun() {
+        SizeDistributionRunner runner = new SizeDistributionRunner(injectedProtocolStructure, InjectionMethod.SEPARATE,
+                1, SizeDistribution.fixed(3));
+        RunnerMonitor monitor = new RunnerMonitor();
+        runner.addObserver(monitor);
+        runner.run();
+        Assert.assertTrue(monitor.areAllStatesVisited());
+        InjectedProtocolStructure actual = runner.getInjectedProtocolStructure();
+        Assert.assertEquals(actual.getVarBlock(0).getSizeDistribution().getKind(), Kind.LOG_UNIFORM);
+        Assert.assertEquals(actual.getVarBlock(1).getSizeDistribution().getKind(), Kind.FIXED);
+        Assert.assertEquals(actual.getVarBlock(1).getSizeDistribution().getMax(), 3);
+
+        runner = new SizeDistributionRunner(actual, InjectionMethod.SIMULTANEOUS, 0, SizeDistribution.uniform(0, 5));
+        runner.run();
+        for (int i = 0; i < actual.getVarSize(); i++) {
+            Assert.assertEquals(runner.getInjectedProtocolStructure().getVarBlock(i).getSizeDistribution().getKind(),
+                    Kind.UNIFORM);
+        }
+    }
+
+    @Test
+    public void testRunSimultaneousDefault() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Collections.singletonList(null));
+        protocolStructure.addBlock(Collections.singletonList((byte) 1));
+        List<Byte> bytes = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            bytes.add(null);
+        }
+        protocolStructure.addBlock(bytes);
+        SizeDistributionRunner runner = new SizeDistributionRunner(new InjectedProtocolStructure(protocolStructure),
+                InjectionMethod.SIMULTANEOUS, 0, (SizeDistribution) null);
+        runner.run();
+        // The shared default is built from the longest variable block, not from the first one
+        for (int i = 0; i < 2; i++) {
+            SizeDistribution actual = runner.getInjectedProtocolStructure().getVarBlock(i).getSizeDistribution();
+            Assert.assertEquals(actual.getKind(), Kind.LOG_UNIFORM);
+            Assert.assertEquals(actual.getMax(), 4 * SizeDistribution.BLOAT_FACTOR);
+        }
+    }
+
+    @Test
+    public void testRunLearn() throws IOException {
+        Path path = Files.createTempFile(null, null);
+        try {
+            Files.write(path, new byte[]{9, 9, 9, 1, 9, 9});
+            SizeDistributionRunner runner = new SizeDistributionRunner(injectedProtocolStructure,
+                    InjectionMethod.SEPARATE, 0, Collections.singletonList(new ProtocolFile(path)));
+            RunnerMonitor monitor = new RunnerMonitor();
+            runner.addObserver(monitor);
+            runner.run();
+            Assert.assertTrue(monitor.areAllStatesVisited());
+            SizeDistribution actual = runner.getInjectedProtocolStructure().getVarBlock(0).getSizeDistribution();
+            Assert.assertEquals(actual.getKind(), Kind.EMPIRICAL);
+            Assert.assertEquals(actual.getMin(), 3);
+            Assert.assertEquals(actual.getMax(), 3);
+
+            // Without any lengths the default distribution is kept
+            runner = new SizeDistributionRunner(injectedProtocolStructure, InjectionMethod.SEPARATE, 0,
+                    new ArrayList<>());
+            runner.run();
+            Assert.assertEquals(runner.getInjectedProtocolStructure().getVarBlock(0).getSizeDistribution().getKind(),
+                    Kind.LOG_UNIFORM);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
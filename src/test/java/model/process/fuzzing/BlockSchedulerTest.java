@@ -0,0 +1,86 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+public class BlockSchedulerTest {
+
+    @Test
+    public void testSelect() {
+        BlockScheduler blockScheduler = new BlockScheduler(3);
+        Random random = new Random(42);
+        // Every block is chosen once before any block is chosen twice
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(blockScheduler.select(random), i);
+            blockScheduler.reward(i, 0);
+        }
+        // Block #1 yields something in every second message
+        for (int i = 0; i < 1000; i++) {
+            int block = blockScheduler.select(random);
+            blockScheduler.reward(block, ((block == 1) && ((i % 2) == 0)) ? 1 : 0);
+        }
+        Assert.assertEquals(blockScheduler.getLeader(), 1);
+        Assert.assertTrue(blockScheduler.getPulls(1) > 600);
+        Assert.assertTrue(blockScheduler.getPulls(0) > 10);
+        Assert.assertTrue(blockScheduler.getPulls(2) > 10);
+        Assert.assertEquals(blockScheduler.getPulls(0) + blockScheduler.getPulls(1) + blockScheduler.getPulls(2),
+                1003);
+    }
+
+    @Test
+    public void testSelectShift() {
+        BlockScheduler blockScheduler = new BlockScheduler(2);
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            int block = blockScheduler.select(random);
+            blockScheduler.reward(block, (block == 0) ? 1 : 0);
+        }
+        Assert.assertEquals(blockScheduler.getLeader(), 0);
+        // Block #0 stops yielding, block #1 starts
+        long pulls = blockScheduler.getPulls(1);
+        for (int i = 0; i < 1000; i++) {
+            int block = blockScheduler.select(random);
+            blockScheduler.reward(block, (block == 1) ? 1 : 0);
+        }
+        Assert.assertEquals(blockScheduler.getLeader(), 1);
+        Assert.assertTrue((blockScheduler.getPulls(1) - pulls) > 700);
+    }
+
+    @Test
+    public void testRate() {
+        BlockScheduler blockScheduler = new BlockScheduler(1);
+        Assert.assertEquals(blockScheduler.rate(new byte[]{1}, Duration.ofMillis(10)),
+                BlockScheduler.NEW_RESPONSE_YIELD);
+        Assert.assertEquals(blockScheduler.rate(new byte[]{1}, Duration.ofMillis(10)), 0.0);
+        Assert.assertEquals(blockScheduler.rate(new byte[]{2}, Duration.ofMillis(10)),
+                BlockScheduler.NEW_RESPONSE_YIELD);
+        for (int i = 0; i < 30; i++) {
+            Assert.assertEquals(blockScheduler.rate(new byte[]{1}, Duration.ofMillis(10 + (i % 3))), 0.0);
+        }
+        // A response that takes much longer than usual is an outlier, even within a known time bucket
+        Assert.assertEquals(blockScheduler.rate(new byte[]{1}, Duration.ofMillis(14)),
+                BlockScheduler.LATENCY_OUTLIER_YIELD);
+    }
+
+    @Test
+    public void testGetSummary() {
+        BlockScheduler blockScheduler = new BlockScheduler(2);
+        blockScheduler.reward(0, 1);
+        blockScheduler.reward(0, 0);
+        blockScheduler.reward(1, 0);
+        blockScheduler.reward(0, 1);
+        Assert.assertTrue(blockScheduler.getSummary().startsWith("#0: 75"));
+        Assert.assertTrue(blockScheduler.getSummary().contains("#1: 25"));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.process.fuzzing.Corpus.Entry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+public class CorpusTest {
+
+    @Test
+    public void testAddFingerprint() {
+        Corpus corpus = new Corpus();
+        Assert.assertTrue(corpus.addFingerprint(1));
+        Assert.assertFalse(corpus.addFingerprint(1));
+        Assert.assertTrue(corpus.addFingerprint(2));
+        Assert.assertEquals(corpus.getNumOfFingerprints(), 2);
+    }
+
+    @Test
+    public void testAdd() {
+        Corpus corpus = new Corpus();
+        Assert.assertNull(corpus.select(new Random(0)));
+        Assert.assertNull(corpus.getRandomEntry(new Random(0)));
+        corpus.add(new byte[][]{{1}, {2, 3}}, null);
+        Assert.assertEquals(corpus.getSize(), 1);
+        Entry parent = corpus.getEntry(0);
+        Assert.assertEquals(parent.getPayload(1), new byte[]{2, 3});
+        corpus.add(new byte[][]{{4}, {5}}, parent);
+        Assert.assertEquals(corpus.getSize(), 2);
+        Assert.assertEquals(parent.getFinds(), 1);
+        Assert.assertEquals(corpus.getEntry(1).getFinds(), 0);
+    }
+
+    @Test
+    public void testSelect() {
+        Corpus corpus = new Corpus();
+        corpus.add(new byte[][]{{1}}, null);
+        corpus.add(new byte[][]{{2}}, null);
+        Entry productive = corpus.getEntry(0);
+        corpus.add(new byte[][]{{3}}, productive);
+        corpus.add(new byte[][]{{4}}, productive);
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            corpus.select(random);
+        }
+        // The entry with finds gets more selections than the entries without
+        Assert.assertTrue(productive.getPicks() > corpus.getEntry(1).getPicks());
+        Assert.assertEquals(productive.getPicks() + corpus.getEntry(1).getPicks() + corpus.getEntry(2).getPicks() +
+                corpus.getEntry(3).getPicks(), 1000);
+    }
+
+    @Test
+    public void testAddFull() {
+        Corpus corpus = new Corpus();
+        for (int i = 0; i < Corpus.MAX_ENTRIES; i++) {
+            corpus.add(new byte[][]{{(byte) i}}, null);
+        }
+        Entry parent = corpus.getEntry(0);
+        // The parent gains weight by its find, so the weakest entry is the next one
+        corpus.add(new byte[][]{{-1}}, parent);
+        Assert.assertEquals(corpus.getSize(), Corpus.MAX_ENTRIES);
+        Assert.assertSame(corpus.getEntry(0), parent);
+        Assert.assertEquals(corpus.getEntry(1).getPayload(0), new byte[]{-1});
+        Assert.assertEquals(corpus.getEntry(2).getPayload(0), new byte[]{2});
+    }
+}
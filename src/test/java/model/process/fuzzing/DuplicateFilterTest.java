@@ -0,0 +1,79 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.SplittableRandom;
+
+public class DuplicateFilterTest {
+
+    @Test
+    public void testAdd() {
+        DuplicateFilter duplicateFilter = new DuplicateFilter(100, 0.01, 1024 * 1024);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] hashes = random.longs(10000).toArray();
+        int falsePositives = 0;
+        for (long each : hashes) {
+            if (!duplicateFilter.add(each)) {
+                falsePositives++;
+            }
+        }
+        Assert.assertTrue(falsePositives < 100);
+        // The filter has grown beyond its first stage
+        Assert.assertTrue(duplicateFilter.getNumOfStages() > 1);
+        for (long each : hashes) {
+            Assert.assertFalse(duplicateFilter.add(each));
+            Assert.assertTrue(duplicateFilter.contains(each));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        DuplicateFilter duplicateFilter = new DuplicateFilter(1000, 0.01, 1024 * 1024);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 50000; i++) {
+            duplicateFilter.add(random.nextLong());
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (duplicateFilter.contains(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        // The rate of the whole filter is 1 % at most, apart from statistical noise
+        Assert.assertTrue(falsePositives < 1100);
+    }
+
+    @Test
+    public void testMaxBytes() {
+        DuplicateFilter duplicateFilter = new DuplicateFilter(100, 0.01, 4096);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] hashes = random.longs(100000).toArray();
+        for (long each : hashes) {
+            duplicateFilter.add(each);
+            Assert.assertTrue(duplicateFilter.getBytes() <= 4096);
+        }
+        // The oldest hashes have been forgotten, the newest are still known
+        int known = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (duplicateFilter.contains(hashes[i])) {
+                known++;
+            }
+        }
+        Assert.assertTrue(known < 1000);
+        Assert.assertTrue(duplicateFilter.contains(hashes[hashes.length - 1]));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidRate() {
+        new DuplicateFilter(100, 1, 4096);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.protocol.Fixup;
+import model.protocol.Fixup.Type;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+public class FixupStageTest {
+
+    /**
+     * Creates a structure of a two byte field, a fixed header, a variable block and a four byte field.
+     */
+    private static InjectedProtocolStructure createStructure() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 0, (byte) 0));
+        protocolStructure.addBlock(Arrays.asList((byte) 'h', (byte) 'd', (byte) 'r'));
+        List<Byte> varBytes = new ArrayList<>(1);
+        varBytes.add(null);
+        protocolStructure.addBlock(varBytes);
+        protocolStructure.addBlock(Arrays.asList((byte) 0, (byte) 0, (byte) 0, (byte) 0));
+        return new InjectedProtocolStructure(protocolStructure);
+    }
+
+    /**
+     * Assembles a message of the structure with the given payload and applies the fix-ups.
+     */
+    private static byte[] apply(FixupStage fixupStage, byte... payload) {
+        ByteBuffer message = ByteBuffer.allocate(2 + 3 + payload.length + 4);
+        message.put(new byte[]{0, 0, 'h', 'd', 'r'}).put(payload).put(new byte[4]);
+        fixupStage.apply(message.array(), payload.length);
+        return message.array();
+    }
+
+    @Test
+    public void testApplyLengthAndCrc() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        injectedProtocolStructure.addFixup(Fixup.length(0, 2, ByteOrder.BIG_ENDIAN, 1, 2));
+        injectedProtocolStructure.addFixup(Fixup.checksum(Type.CRC32, 3, ByteOrder.LITTLE_ENDIAN, 0, 2));
+        FixupStage fixupStage = new FixupStage(injectedProtocolStructure, new MessageTemplate(injectedProtocolStructure));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            byte[] payload = new byte[random.nextInt(1000)];
+            random.nextBytes(payload);
+            byte[] message = apply(fixupStage, payload);
+            Assert.assertEquals(ByteBuffer.wrap(message).getShort(0), (short) (3 + payload.length));
+            CRC32 crc32 = new CRC32();
+            crc32.update(message, 0, message.length - 4);
+            Assert.assertEquals(ByteBuffer.wrap(message).order(ByteOrder.LITTLE_ENDIAN).getInt(message.length - 4),
+                    (int) crc32.getValue());
+        }
+    }
+
+    @Test
+    public void testApplyAdler32() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        injectedProtocolStructure.addFixup(Fixup.checksum(Type.ADLER32, 3, ByteOrder.BIG_ENDIAN, 1, 2));
+        FixupStage fixupStage = new FixupStage(injectedProtocolStructure, new MessageTemplate(injectedProtocolStructure));
+
+        Random random = new Random(42);
+        for (int size : new int[]{0, 1, 5551, 5552, 5553, 20000}) {
+            byte[] payload = new byte[size];
+            random.nextBytes(payload);
+            byte[] message = apply(fixupStage, payload);
+            Adler32 adler32 = new Adler32();
+            adler32.update(message, 2, message.length - 6);
+            Assert.assertEquals(ByteBuffer.wrap(message).getInt(message.length - 4), (int) adler32.getValue());
+        }
+    }
+
+    @Test
+    public void testApplySums() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        injectedProtocolStructure.addFixup(Fixup.checksum(Type.SUM8, 0, ByteOrder.BIG_ENDIAN, 2, 2));
+        injectedProtocolStructure.addFixup(Fixup.checksum(Type.XOR8, 3, ByteOrder.BIG_ENDIAN, 2, 2));
+        FixupStage fixupStage = new FixupStage(injectedProtocolStructure, new MessageTemplate(injectedProtocolStructure));
+
+        byte[] message = apply(fixupStage, (byte) 0x81, (byte) 0x90, (byte) 0x0f);
+        Assert.assertEquals(message[0], (byte) 0x20);
+        Assert.assertEquals(message[1], (byte) 0);
+        Assert.assertEquals(message[message.length - 4], (byte) 0x1e);
+    }
+
+    @Test
+    public void testApplyInternet() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        // The example of RFC 1071 with the field inside the range
+        injectedProtocolStructure.addFixup(Fixup.checksum(Type.INTERNET, 0, ByteOrder.BIG_ENDIAN, 0, 0));
+        injectedProtocolStructure.addFixup(Fixup.checksum(Type.INTERNET, 3, ByteOrder.BIG_ENDIAN, 2, 3));
+        FixupStage fixupStage = new FixupStage(injectedProtocolStructure, new MessageTemplate(injectedProtocolStructure));
+
+        byte[] message = apply(fixupStage, (byte) 0x00, (byte) 0x01, (byte) 0xf2, (byte) 0x03, (byte) 0xf4,
+                (byte) 0xf5, (byte) 0xf6, (byte) 0xf7);
+        Assert.assertEquals(ByteBuffer.wrap(message).getShort(message.length - 4), (short) 0x220d);
+        // A field of zeros in its own range has the checksum 0xffff
+        Assert.assertEquals(ByteBuffer.wrap(message).getShort(0), (short) 0xffff);
+
+        // An odd number of bytes is padded with a zero byte
+        byte[] odd = apply(fixupStage, (byte) 0x01);
+        Assert.assertEquals(ByteBuffer.wrap(odd).getShort(odd.length - 4), (short) ~0x0100);
+    }
+
+    @Test
+    public void testApplyShortField() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> varBytes = new ArrayList<>(1);
+        varBytes.add(null);
+        protocolStructure.addBlock(varBytes);
+        protocolStructure.addBlock(Arrays.asList((byte) 1, (byte) 2));
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        injectedProtocolStructure.addFixup(Fixup.length(0, 4, ByteOrder.LITTLE_ENDIAN, 1, 1));
+        FixupStage fixupStage = new FixupStage(injectedProtocolStructure, new MessageTemplate(injectedProtocolStructure));
+
+        // The field is written into the first bytes of the variable block only if the block is long enough
+        byte[] message = {9, 9, 9, 1, 2};
+        fixupStage.apply(message, 3);
+        Assert.assertEquals(message, new byte[]{9, 9, 9, 1, 2});
+        message = new byte[]{9, 9, 9, 9, 9, 1, 2};
+        fixupStage.apply(message, 5);
+        Assert.assertEquals(message, new byte[]{2, 0, 0, 0, 9, 1, 2});
+    }
+}
@@ -9,15 +9,25 @@
 package model.process.fuzzing;
 
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.Fixup;
 import model.protocol.InjectedProtocolStructure;
 import model.protocol.ProtocolStructure;
+import model.protocol.SizeDistribution;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @SuppressWarnings({"HardCodedStringLiteral", "NumericCastThatLosesPrecision"})
 public class FuzzedMessageCreatorTest {
@@ -79,14 +89,14 @@ public class FuzzedMessageCreatorTest {
 
     @SuppressWarnings("MethodCanBeVariableArityMethod")
     private static boolean containsSubArray(byte[] bytes, byte[] subBytes) {
-        //noinspection LoopStatementThatDoesntLoop
-        for (int i = 0; i < bytes.length - subBytes.length; i++) {
-            for (int j = 0; j < subBytes.length; j++) {
-                if (bytes[i + j] != subBytes[j]) {
-                    break;
-                }
+        for (int i = 0; i <= bytes.length - subBytes.length; i++) {
+            int j = 0;
+            while ((j < subBytes.length) && (bytes[i + j] == subBytes[j])) {
+                j++;
+            }
+            if (j == subBytes.length) {
+                return true;
             }
-            return true;
         }
         return false;
     }
@@ -196,4 +206,387 @@ public class FuzzedMessageCreatorTest {
             Assert.assertEquals(bytes[4], (byte) 0);
         }
     }
+
+    @Test
+    public void testCampaignSeed() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add((byte) 0);
+        protocolStructure.addBlock(bytes2);
+        List<Byte> bytes3 = new ArrayList<>(1);
+        bytes3.add(null);
+        protocolStructure.addBlock(bytes3);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        injectedProtocolStructure.getVarBlock(1).setLibraryInjection();
+        injectedProtocolStructure.getVarBlock(1).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+
+        FuzzedMessageCreator fuzzedMessageCreator1 =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        FuzzedMessageCreator fuzzedMessageCreator2 =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        FuzzedMessageCreator fuzzedMessageCreator3 =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 43);
+        Assert.assertEquals(fuzzedMessageCreator1.getCampaignSeed(), 42);
+        boolean different = false;
+        for (int i = 0; i < 20; i++) {
+            byte[] bytes = fuzzedMessageCreator1.call();
+            Assert.assertEquals(bytes, fuzzedMessageCreator2.call());
+            different |= !Arrays.equals(bytes, fuzzedMessageCreator3.call());
+        }
+        Assert.assertTrue(different);
+    }
+
+    @Test
+    public void testNextMessage() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add((byte) 0);
+        protocolStructure.addBlock(bytes2);
+        List<Byte> bytes3 = new ArrayList<>(1);
+        bytes3.add(null);
+        protocolStructure.addBlock(bytes3);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        injectedProtocolStructure.getVarBlock(1).setLibraryInjection();
+        injectedProtocolStructure.getVarBlock(1).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator1 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            FuzzedMessageCreator fuzzedMessageCreator2 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            for (int i = 0; i < 20; i++) {
+                // Streamed and assembled messages are the same
+                byte[] bytes = fuzzedMessageCreator1.nextMessage().getBytes();
+                Assert.assertEquals(bytes, fuzzedMessageCreator2.call());
+            }
+        }
+    }
+
+    @Test
+    public void testNextMessageStorage() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add((byte) 0);
+        protocolStructure.addBlock(bytes2);
+        List<Byte> bytes3 = new ArrayList<>(1);
+        bytes3.add(null);
+        protocolStructure.addBlock(bytes3);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        for (int i = 0; i < 2; i++) {
+            injectedProtocolStructure.getVarBlock(i).setMutationInjection();
+            injectedProtocolStructure.getVarBlock(i)
+                    .setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        }
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator1 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            FuzzedMessageCreator fuzzedMessageCreator2 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            ByteBuffer storage = ByteBuffer.allocate(0);
+            List<FuzzedMessage> messages = new ArrayList<>();
+            List<byte[]> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                expected.add(fuzzedMessageCreator1.nextMessage().getBytes());
+                // Every message gets its own storage, so earlier messages stay valid
+                messages.add(fuzzedMessageCreator2.nextMessage(storage));
+                storage = ByteBuffer.allocate(fuzzedMessageCreator2.getRequiredStorage());
+            }
+            for (int i = 0; i < messages.size(); i++) {
+                Assert.assertEquals(messages.get(i).getBytes(), expected.get(i));
+            }
+
+            // A large enough storage is reused
+            storage = ByteBuffer.allocate(1024 * 1024);
+            FuzzedMessage message = fuzzedMessageCreator2.nextMessage(storage);
+            Assert.assertEquals(storage.position(), fuzzedMessageCreator2.getRequiredStorage());
+            Assert.assertEquals(message.getBytes(), fuzzedMessageCreator1.nextMessage().getBytes());
+        }
+    }
+
+    @Test
+    public void testCallMutation() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add((byte) 0);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add(null);
+        protocolStructure.addBlock(bytes2);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        injectedProtocolStructure.getVarBlock(0).setMutationInjection();
+        injectedProtocolStructure.getVarBlock(0).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            int mutated = 0;
+            for (int i = 0; i < 1000; i++) {
+                byte[] bytes = fuzzedMessageCreator.call();
+                Assert.assertNotNull(bytes);
+                Assert.assertEquals(bytes[0], (byte) 0);
+                // Library lines consist of one byte that is a multiple of 17
+                if ((bytes.length != 2) || ((bytes[1] & 0xff) % 17 != 0)) {
+                    mutated++;
+                }
+            }
+            Assert.assertTrue(mutated > 500);
+        }
+    }
+
+    @Test
+    public void testFeedback() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add((byte) 0);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add(null);
+        protocolStructure.addBlock(bytes2);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        Assert.assertNull(fuzzedMessageCreator.getCorpus());
+        Assert.assertNotNull(fuzzedMessageCreator.nextMessage());
+        Assert.assertFalse(fuzzedMessageCreator.feedback(new byte[]{1}, Duration.ZERO));
+
+        fuzzedMessageCreator.setFeedback(true);
+        Assert.assertNotNull(fuzzedMessageCreator.nextMessage());
+        Assert.assertTrue(fuzzedMessageCreator.feedback(new byte[]{1}, Duration.ZERO));
+        Assert.assertEquals(fuzzedMessageCreator.getCorpus().getSize(), 1);
+        Assert.assertFalse(fuzzedMessageCreator.feedback(new byte[]{1}, Duration.ZERO));
+        // Digits are masked, so a response that differs only in a counter is not new
+        Assert.assertTrue(fuzzedMessageCreator.feedback("OK 1".getBytes(StandardCharsets.US_ASCII), Duration.ZERO));
+        Assert.assertFalse(fuzzedMessageCreator.feedback("OK 2".getBytes(StandardCharsets.US_ASCII), Duration.ZERO));
+        Assert.assertEquals(fuzzedMessageCreator.getCorpus().getSize(), 2);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNotNull(fuzzedMessageCreator.nextMessage());
+            fuzzedMessageCreator.feedback(new byte[]{1}, Duration.ZERO);
+        }
+        Assert.assertEquals(fuzzedMessageCreator.getCorpus().getSize(), 2);
+        // Most messages are derived from the corpus
+        Corpus corpus = fuzzedMessageCreator.getCorpus();
+        Assert.assertTrue((corpus.getEntry(0).getPicks() + corpus.getEntry(1).getPicks()) > 50);
+    }
+
+    @Test
+    public void testFeedbackLibrary() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        injectedProtocolStructure.getVarBlock(0).setLibraryInjection();
+        injectedProtocolStructure.getVarBlock(0).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SIMULTANEOUS, 42);
+        fuzzedMessageCreator.setFeedback(true);
+        int count = 0;
+        while (fuzzedMessageCreator.nextMessage() != null) {
+            Assert.assertTrue(fuzzedMessageCreator.feedback(new byte[]{(byte) count}, Duration.ZERO));
+            count++;
+        }
+        // Library campaigns send every line exactly once, the corpus is not used
+        Assert.assertEquals(count, 16);
+        Assert.assertEquals(fuzzedMessageCreator.getCorpus().getSize(), 0);
+        Assert.assertEquals(fuzzedMessageCreator.getCorpus().getNumOfFingerprints(), 16);
+    }
+
+    @Test
+    public void testSeekLibrary() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        for (int i = 0; i < 3; i++) {
+            List<Byte> varBytes = new ArrayList<>(1);
+            varBytes.add(null);
+            protocolStructure.addBlock(varBytes);
+            List<Byte> fixBytes = new ArrayList<>(1);
+            fixBytes.add((byte) 0);
+            protocolStructure.addBlock(fixBytes);
+        }
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        for (int i = 0; i < 3; i++) {
+            injectedProtocolStructure.getVarBlock(i).setLibraryInjection();
+        }
+        for (int i = 0; i < 3; i++) {
+            injectedProtocolStructure.getVarBlock(i)
+                    .setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        }
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            List<byte[]> expected = new ArrayList<>();
+            byte[] message;
+            while ((message = fuzzedMessageCreator.call()) != null) {
+                expected.add(message);
+            }
+            Assert.assertEquals(expected.size(), fuzzedMessageCreator.getNumOfIterations());
+            Assert.assertEquals(expected.size(), (each == InjectionMethod.SEPARATE) ? 48 :
+                    ((each == InjectionMethod.PAIRWISE) ? (17 * 17) : 16));
+
+            // Seek backwards and forwards in constant time
+            FuzzedMessageCreator seekingCreator = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            for (int iteration : new int[]{expected.size(), 1, 9, 8, 2, 8, 16}) {
+                seekingCreator.seek(iteration);
+                Assert.assertEquals(seekingCreator.call(), expected.get(iteration - 1));
+                Assert.assertEquals(seekingCreator.getIteration(), iteration);
+            }
+            seekingCreator.seek(expected.size() + 1);
+            Assert.assertNull(seekingCreator.call());
+
+            // A shard of the campaign continues until the end
+            seekingCreator.seek(10);
+            int count = 0;
+            while (seekingCreator.call() != null) {
+                count++;
+            }
+            Assert.assertEquals(count, expected.size() - 9);
+        }
+    }
+
+    @Test
+    public void testPairwise() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        for (int i = 0; i < 3; i++) {
+            List<Byte> varBytes = new ArrayList<>(1);
+            varBytes.add(null);
+            protocolStructure.addBlock(varBytes);
+        }
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        for (int i = 0; i < 3; i++) {
+            injectedProtocolStructure.getVarBlock(i).setLibraryInjection();
+            injectedProtocolStructure.getVarBlock(i)
+                    .setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        }
+
+        FuzzedMessageCreator fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure,
+                InjectionMethod.PAIRWISE, 42);
+        Set<Integer> pairs = new HashSet<>();
+        int count = 0;
+        byte[] message;
+        while ((message = fuzzedMessageCreator.call()) != null) {
+            count++;
+            Assert.assertEquals(message.length, 3);
+            pairs.add(((message[0] & 0xff) << 8) | (message[1] & 0xff));
+            pairs.add(0x10000 | ((message[0] & 0xff) << 8) | (message[2] & 0xff));
+            pairs.add(0x20000 | ((message[1] & 0xff) << 8) | (message[2] & 0xff));
+        }
+        Assert.assertEquals(count, fuzzedMessageCreator.getNumOfIterations());
+        Assert.assertEquals(count, injectedProtocolStructure.getNumOfIterations(InjectionMethod.PAIRWISE));
+        // Far fewer iterations than the 16 * 16 * 16 combinations, but every pair of lines of every two blocks occurs
+        Assert.assertEquals(count, 17 * 17);
+        Assert.assertEquals(pairs.size(), 3 * 16 * 16);
+    }
+
+    @Test
+    public void testSizeDistribution() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add((byte) 0);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add(null);
+        protocolStructure.addBlock(bytes2);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+
+        injectedProtocolStructure.getVarBlock(0).setSizeDistribution(SizeDistribution.fixed(5));
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(fuzzedMessageCreator.call().length, 1 + 5);
+            }
+        }
+
+        // By default most messages are short
+        injectedProtocolStructure.getVarBlock(0).setSizeDistribution(null);
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        int shortMessages = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (fuzzedMessageCreator.nextMessage().getLength() <= 1000) {
+                shortMessages++;
+            }
+        }
+        Assert.assertTrue(shortMessages > 500);
+    }
+
+    @Test
+    public void testFixup() throws URISyntaxException {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 0, (byte) 0));
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        protocolStructure.addBlock(Collections.singletonList((byte) 0));
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add(null);
+        protocolStructure.addBlock(bytes2);
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        injectedProtocolStructure.getVarBlock(1).setMutationInjection();
+        injectedProtocolStructure.getVarBlock(1).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        injectedProtocolStructure.addFixup(Fixup.length(0, 2, ByteOrder.BIG_ENDIAN, 1, 3));
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator1 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            FuzzedMessageCreator fuzzedMessageCreator2 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            FuzzedMessageCreator fuzzedMessageCreator3 = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            for (int i = 0; i < 50; i++) {
+                byte[] bytes = fuzzedMessageCreator1.call();
+                Assert.assertEquals(ByteBuffer.wrap(bytes).getShort(0) & 0xffff, (bytes.length - 2) & 0xffff);
+                Assert.assertEquals(fuzzedMessageCreator2.nextMessage().getBytes(), bytes);
+                Assert.assertEquals(fuzzedMessageCreator3.nextMessage(ByteBuffer.allocate(16)).getBytes(), bytes);
+            }
+        }
+    }
+
+    @Test
+    public void testAdaptive() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        for (int i = 0; i < 3; i++) {
+            List<Byte> bytes = new ArrayList<>(1);
+            bytes.add(null);
+            protocolStructure.addBlock(bytes);
+            protocolStructure.addBlock(Collections.singletonList((byte) i));
+        }
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        // The variable blocks start at 0, 11 and 32
+        int[] offsets = {0, 11, 32};
+        for (int i = 0; i < 3; i++) {
+            injectedProtocolStructure.getVarBlock(i).setSizeDistribution(SizeDistribution.fixed((i + 1) * 10));
+        }
+
+        FuzzedMessageCreator fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure,
+                InjectionMethod.SEPARATE, 42);
+        fuzzedMessageCreator.setAdaptive(true);
+        Assert.assertNotNull(fuzzedMessageCreator.getScheduler());
+        byte[] previous = fuzzedMessageCreator.nextMessage().getBytes();
+        fuzzedMessageCreator.reward(0);
+        int[] focused = new int[3];
+        for (int i = 0; i < 300; i++) {
+            byte[] bytes = fuzzedMessageCreator.nextMessage().getBytes();
+            int block = fuzzedMessageCreator.getFocusedBlock();
+            focused[block]++;
+            // Only the focused block has changed
+            for (int j = 0; j < 3; j++) {
+                byte[] actual = Arrays.copyOfRange(bytes, offsets[j], offsets[j] + ((j + 1) * 10));
+                byte[] expected = Arrays.copyOfRange(previous, offsets[j], offsets[j] + ((j + 1) * 10));
+                Assert.assertEquals(Arrays.equals(actual, expected), j != block);
+            }
+            fuzzedMessageCreator.reward((block == 2) ? 1 : 0);
+            previous = bytes;
+        }
+        Assert.assertTrue(focused[2] > 200);
+        Assert.assertEquals(fuzzedMessageCreator.getScheduler().getLeader(), 2);
+
+        // Simultaneous injection is not scheduled
+        fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SIMULTANEOUS, 42);
+        fuzzedMessageCreator.setAdaptive(true);
+        Assert.assertNull(fuzzedMessageCreator.getScheduler());
+    }
 }
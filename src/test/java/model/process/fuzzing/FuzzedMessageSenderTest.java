@@ -17,6 +17,8 @@ import support.SimulatedServer.Mode;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
 
 @SuppressWarnings("HardCodedStringLiteral")
 public class FuzzedMessageSenderTest {
@@ -72,4 +74,51 @@ public class FuzzedMessageSenderTest {
         fuzzedMessageSender.call();
         Assert.assertEquals(fuzzedMessageSender.getLastResponse(), EMPTY);
     }
+
+    @Test
+    public void testCall4() throws InterruptedException {
+        InetSocketAddress inetSocketAddress = new InetSocketAddress("localhost", simulatedServer.getPort());
+        ByteBuffer[] segments = {ByteBuffer.wrap(BYTES).asReadOnlyBuffer(), ByteBuffer.allocate(0), ByteBuffer.wrap
+                (BYTES)};
+        FuzzedMessageSender fuzzedMessageSender = new FuzzedMessageSender(segments, inetSocketAddress, 50);
+        Assert.assertTrue(fuzzedMessageSender.call());
+        // A second try sends the same segments again
+        Assert.assertTrue(fuzzedMessageSender.call());
+        Assert.assertEquals(segments[0].remaining(), 1);
+    }
+
+    @Test
+    public void testGetMessage() throws InterruptedException {
+        InetSocketAddress inetSocketAddress = new InetSocketAddress("localhost", simulatedServer.getPort());
+        ByteBuffer[] segments = {ByteBuffer.wrap(new byte[]{1, 2}), ByteBuffer.wrap(new byte[]{3})};
+        segments[0].position(1);
+        FuzzedMessageSender fuzzedMessageSender = new FuzzedMessageSender(segments, inetSocketAddress, 50);
+        Assert.assertEquals(fuzzedMessageSender.getMessage(), new byte[]{2, 3});
+        Assert.assertEquals(new FuzzedMessageSender(BYTES, inetSocketAddress, 50).getMessage(), BYTES);
+    }
+
+    @Test
+    public void testCall5() throws InterruptedException {
+        InetSocketAddress inetSocketAddress = new InetSocketAddress("localhost", simulatedServer.getPort());
+        ByteBuffer[] segments = {ByteBuffer.wrap(BYTES), null};
+        RandomPayload[] randomPayloads = {null, new RandomPayload(42, RandomPayload.CHUNK_SIZE * 4)};
+        FuzzedMessageSender fuzzedMessageSender =
+                new FuzzedMessageSender(new FuzzedMessage(segments, randomPayloads), inetSocketAddress, 50);
+        Assert.assertTrue(fuzzedMessageSender.call());
+        Assert.assertEquals(fuzzedMessageSender.getLength(), (RandomPayload.CHUNK_SIZE * 4) + 1);
+        Assert.assertEquals(fuzzedMessageSender.getMessagePrefix(1), BYTES);
+    }
+
+    @Test(timeOut = 10000)
+    public void testCallNotReading() throws IOException {
+        // The connection of the target is established but never read from, so the message does not fit into the socket buffers
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            InetSocketAddress inetSocketAddress = new InetSocketAddress("localhost", serverSocket.getLocalPort());
+            ByteBuffer[] segments = {ByteBuffer.wrap(BYTES), null};
+            RandomPayload[] randomPayloads = {null, new RandomPayload(42, RandomPayload.CHUNK_SIZE * 256)};
+            FuzzedMessageSender fuzzedMessageSender =
+                    new FuzzedMessageSender(new FuzzedMessage(segments, randomPayloads), inetSocketAddress, 200);
+            Assert.assertFalse(fuzzedMessageSender.call());
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class FuzzedMessageTest {
+
+    private static FuzzedMessage createMessage() {
+        ByteBuffer[] segments = {ByteBuffer.wrap(new byte[]{1, 2}), null, ByteBuffer.wrap(new byte[]{3}), null};
+        RandomPayload[] randomPayloads = {null, new RandomPayload(42, 5), null, new RandomPayload(43, 100000)};
+        return new FuzzedMessage(segments, randomPayloads);
+    }
+
+    @Test
+    public void testGetLength() {
+        Assert.assertEquals(createMessage().getLength(), 100008);
+        Assert.assertEquals(new FuzzedMessage(ByteBuffer.wrap(new byte[]{1}), ByteBuffer.allocate(0)).getLength(), 1);
+    }
+
+    @Test
+    public void testGetBytes() {
+        byte[] bytes = createMessage().getBytes();
+        Assert.assertEquals(bytes.length, 100008);
+        Assert.assertEquals(bytes[0], 1);
+        Assert.assertEquals(bytes[1], 2);
+        Assert.assertEquals(bytes[7], 3);
+        ByteBuffer random = ByteBuffer.allocate(5);
+        new RandomPayload(42, 5).fill(random);
+        Assert.assertEquals(Arrays.copyOfRange(bytes, 2, 7), random.array());
+    }
+
+    @Test
+    public void testGetPrefix() {
+        FuzzedMessage message = createMessage();
+        byte[] bytes = message.getBytes();
+        for (int length : new int[]{0, 1, 4, 8, 20, 100008}) {
+            Assert.assertEquals(message.getPrefix(length), Arrays.copyOf(bytes, length));
+        }
+        Assert.assertEquals(message.getPrefix(200000).length, 100008);
+    }
+
+    @Test
+    public void testGetHash() {
+        Assert.assertEquals(createMessage().getHash(), createMessage().getHash());
+        // The hash does not depend on how the bytes are split into parts
+        ByteBuffer random = ByteBuffer.allocate(5);
+        new RandomPayload(42, 5).fill(random);
+        FuzzedMessage message1 = new FuzzedMessage(new ByteBuffer[]{ByteBuffer.wrap(new byte[]{1, 2}), null},
+                new RandomPayload[]{null, new RandomPayload(42, 5)});
+        FuzzedMessage message2 = new FuzzedMessage(ByteBuffer.wrap(new byte[]{1}), ByteBuffer.wrap(new byte[]{2}),
+                ByteBuffer.wrap(random.array()));
+        Assert.assertEquals(message1.getHash(), message2.getHash());
+        Assert.assertNotEquals(new FuzzedMessage(ByteBuffer.wrap(new byte[]{1, 2})).getHash(),
+                new FuzzedMessage(ByteBuffer.wrap(new byte[]{2, 1})).getHash());
+        Assert.assertNotEquals(new FuzzedMessage(ByteBuffer.wrap(new byte[]{1})).getHash(),
+                new FuzzedMessage(ByteBuffer.wrap(new byte[]{1, 0})).getHash());
+        // Only the remaining bytes of a segment are hashed
+        ByteBuffer segment = ByteBuffer.wrap(new byte[]{9, 1, 2});
+        segment.position(1);
+        Assert.assertEquals(new FuzzedMessage(segment).getHash(),
+                new FuzzedMessage(ByteBuffer.wrap(new byte[]{1, 2})).getHash());
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        FuzzedMessage message = createMessage();
+        Path file = Files.createTempFile(null, null);
+        try {
+            //noinspection NestedTryStatement
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                message.writeTo(channel);
+                // Every call writes the whole message again
+                message.writeTo(channel);
+            }
+            byte[] bytes = message.getBytes();
+            byte[] written = Files.readAllBytes(file);
+            Assert.assertEquals(Arrays.copyOf(written, bytes.length), bytes);
+            Assert.assertEquals(Arrays.copyOfRange(written, bytes.length, written.length), bytes);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FuzzingStatisticsTest {
+
+    @Test
+    public void testCountMessage() {
+        FuzzingStatistics statistics = new FuzzingStatistics();
+        Assert.assertEquals(statistics.getSkipRate(), 0.0);
+        statistics.countMessage(false);
+        statistics.countMessage(true);
+        statistics.countMessage(false);
+        statistics.countMessage(false);
+        Assert.assertEquals(statistics.getGeneratedMessages(), 4);
+        Assert.assertEquals(statistics.getSkippedMessages(), 1);
+        Assert.assertEquals(statistics.getSkipRate(), 0.25);
+    }
+
+    @Test
+    public void testCountDivergence() {
+        FuzzingStatistics statistics = new FuzzingStatistics();
+        Assert.assertEquals(statistics.getDivergences(), 0);
+        statistics.countDivergence();
+        statistics.countDivergence();
+        Assert.assertEquals(statistics.getDivergences(), 2);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class MessagePipelineTest {
+
+    private InjectedProtocolStructure createStructure() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        for (int i = 0; i < 3; i++) {
+            List<Byte> varBytes = new ArrayList<>(1);
+            varBytes.add(null);
+            protocolStructure.addBlock(varBytes);
+            List<Byte> fixBytes = new ArrayList<>(1);
+            fixBytes.add((byte) i);
+            protocolStructure.addBlock(fixBytes);
+        }
+        return new InjectedProtocolStructure(protocolStructure);
+    }
+
+    @Test
+    public void testTakeLibrary() throws URISyntaxException, InterruptedException, ExecutionException {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        for (int i = 0; i < 3; i++) {
+            injectedProtocolStructure.getVarBlock(i).setLibraryInjection();
+            injectedProtocolStructure.getVarBlock(i)
+                    .setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        }
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            for (int generators : new int[]{1, 3}) {
+                FuzzedMessageCreator fuzzedMessageCreator =
+                        new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+                try (MessagePipeline pipeline = new MessagePipeline(injectedProtocolStructure, each, 42, generators,
+                        2)) {
+                    byte[] expected;
+                    while ((expected = fuzzedMessageCreator.call()) != null) {
+                        FuzzedMessage message = pipeline.take();
+                        Assert.assertNotNull(message);
+                        Assert.assertEquals(message.getBytes(), expected);
+                    }
+                    Assert.assertNull(pipeline.take());
+                    Assert.assertNull(pipeline.take());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTakeMutation() throws URISyntaxException, InterruptedException, ExecutionException {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        injectedProtocolStructure.getVarBlock(0).setMutationInjection();
+        injectedProtocolStructure.getVarBlock(0).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        injectedProtocolStructure.getVarBlock(1).setMutationInjection();
+        injectedProtocolStructure.getVarBlock(1).setLibrary(Paths.get(getClass().getResource("/library2.txt").toURI()));
+        injectedProtocolStructure.getVarBlock(2).setRandomInjection();
+
+        for (InjectionMethod each : InjectionMethod.values()) {
+            FuzzedMessageCreator fuzzedMessageCreator = new FuzzedMessageCreator(injectedProtocolStructure, each, 42);
+            try (MessagePipeline pipeline = new MessagePipeline(injectedProtocolStructure, each, 42, 4, 8)) {
+                for (int i = 0; i < 200; i++) {
+                    // Messages generated ahead are not overwritten by the messages generated after them
+                    FuzzedMessage message = pipeline.take();
+                    Assert.assertEquals(message.getBytes(), fuzzedMessageCreator.nextMessage().getBytes());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import model.protocol.SizeDistribution;
+import model.record.Campaign;
+import model.record.IterationRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MessageRebuilderTest {
+
+    private static InjectedProtocolStructure createStructure() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes1 = new ArrayList<>(1);
+        bytes1.add(null);
+        protocolStructure.addBlock(bytes1);
+        List<Byte> bytes2 = new ArrayList<>(1);
+        bytes2.add((byte) 0);
+        protocolStructure.addBlock(bytes2);
+        List<Byte> bytes3 = new ArrayList<>(1);
+        bytes3.add(null);
+        protocolStructure.addBlock(bytes3);
+        return new InjectedProtocolStructure(protocolStructure);
+    }
+
+    @Test
+    public void testRebuildRandom() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        List<byte[]> messages = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            messages.add(fuzzedMessageCreator.call());
+        }
+
+        MessageRebuilder messageRebuilder =
+                new MessageRebuilder(new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure));
+        Assert.assertEquals(messageRebuilder.rebuild(7), messages.get(6));
+        Assert.assertEquals(messageRebuilder.rebuild(1), messages.get(0));
+        Assert.assertEquals(messageRebuilder.rebuild(
+                new IterationRecord(10, 0, 0, new byte[0], Instant.now(), Duration.ZERO)), messages.get(9));
+    }
+
+    @Test
+    public void testRebuildChangedStructure() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        byte[] message = fuzzedMessageCreator.call();
+        Campaign campaign = new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure);
+
+        // Changing the options after the campaign does not change the rebuilt messages
+        injectedProtocolStructure.getVarBlock(0).setSizeDistribution(SizeDistribution.fixed(0));
+        injectedProtocolStructure.getVarBlock(1).setSizeDistribution(SizeDistribution.fixed(0));
+        Assert.assertEquals(new MessageRebuilder(campaign).rebuild(1), message);
+    }
+
+    @Test
+    public void testRebuildLibrary() throws URISyntaxException {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        injectedProtocolStructure.getVarBlock(0).setLibraryInjection();
+        injectedProtocolStructure.getVarBlock(0).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        injectedProtocolStructure.getVarBlock(1).setLibraryInjection();
+        injectedProtocolStructure.getVarBlock(1).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        List<byte[]> messages = new ArrayList<>(32);
+        for (int i = 0; i < 32; i++) {
+            messages.add(fuzzedMessageCreator.call());
+        }
+
+        MessageRebuilder messageRebuilder =
+                new MessageRebuilder(new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure));
+        Assert.assertEquals(messageRebuilder.rebuild(20), messages.get(19));
+        Assert.assertEquals(messageRebuilder.rebuild(3), messages.get(2));
+        Assert.assertEquals(messageRebuilder.rebuild(32), messages.get(31));
+        Assert.assertNull(messageRebuilder.rebuild(33));
+    }
+
+    @Test
+    public void testRebuildFeedback() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        fuzzedMessageCreator.setFeedback(true);
+        List<byte[]> messages = new ArrayList<>(50);
+        List<IterationRecord> iterationRecords = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            messages.add(fuzzedMessageCreator.call());
+            iterationRecords.add(new IterationRecord(i + 1, 0, 0, new byte[0], Instant.now(), Duration.ZERO,
+                    fuzzedMessageCreator.isReproducible()));
+            fuzzedMessageCreator.feedback(new byte[]{(byte) i}, Duration.ZERO);
+        }
+
+        MessageRebuilder messageRebuilder = new MessageRebuilder(
+                new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure, true, false));
+        int reproducible = 0;
+        for (int i = 0; i < 50; i++) {
+            if (iterationRecords.get(i).isReproducible()) {
+                Assert.assertEquals(messageRebuilder.rebuild(iterationRecords.get(i)), messages.get(i));
+                reproducible++;
+            } else {
+                Assert.assertNull(messageRebuilder.rebuild(iterationRecords.get(i)));
+            }
+        }
+        Assert.assertTrue(reproducible > 0);
+        Assert.assertTrue(reproducible < 50);
+    }
+
+    @Test
+    public void testRebuildAdaptive() {
+        InjectedProtocolStructure injectedProtocolStructure = createStructure();
+        FuzzedMessageCreator fuzzedMessageCreator =
+                new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 42);
+        fuzzedMessageCreator.setAdaptive(true);
+        List<byte[]> messages = new ArrayList<>(10);
+        List<IterationRecord> iterationRecords = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            messages.add(fuzzedMessageCreator.call());
+            iterationRecords.add(new IterationRecord(i + 1, 0, 0, new byte[0], Instant.now(), Duration.ZERO,
+                    fuzzedMessageCreator.isReproducible()));
+            fuzzedMessageCreator.reward(i % 2);
+        }
+
+        MessageRebuilder messageRebuilder = new MessageRebuilder(
+                new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure, false, true));
+        Assert.assertTrue(iterationRecords.get(0).isReproducible());
+        Assert.assertEquals(messageRebuilder.rebuild(iterationRecords.get(0)), messages.get(0));
+        int mismatches = 0;
+        for (int i = 1; i < 10; i++) {
+            Assert.assertFalse(iterationRecords.get(i).isReproducible());
+            Assert.assertNull(messageRebuilder.rebuild(iterationRecords.get(i)));
+            // The blocks the scheduler did not focus kept the data of the previous message
+            if (!Arrays.equals(messageRebuilder.rebuild(i + 1), messages.get(i))) {
+                mismatches++;
+            }
+        }
+        Assert.assertTrue(mismatches > 0);
+    }
+}
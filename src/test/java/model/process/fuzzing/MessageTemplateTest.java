@@ -0,0 +1,80 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@SuppressWarnings("NumericCastThatLosesPrecision")
+public class MessageTemplateTest {
+
+    private MessageTemplate messageTemplate;
+
+    @BeforeMethod
+    public void setUp() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 1, (byte) 2));
+        protocolStructure.addBlock(Arrays.asList(null, null, null));
+        protocolStructure.addBlock(Arrays.asList((byte) 3));
+        protocolStructure.addBlock(Arrays.asList(null, null));
+        messageTemplate = new MessageTemplate(new InjectedProtocolStructure(protocolStructure));
+    }
+
+    @Test
+    public void testGetNumOfSlots() {
+        Assert.assertEquals(messageTemplate.getNumOfSlots(), 2);
+    }
+
+    @Test
+    public void testGetBlockIndex() {
+        Assert.assertEquals(messageTemplate.getBlockIndex(0), 1);
+        Assert.assertEquals(messageTemplate.getBlockIndex(1), 3);
+    }
+
+    @Test
+    public void testGetFixLength() {
+        Assert.assertEquals(messageTemplate.getFixLength(), 3);
+    }
+
+    @Test
+    public void testGetMaxLength() {
+        Assert.assertEquals(messageTemplate.getMaxLength(), 3);
+    }
+
+    @Test
+    public void testPutSegment() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        messageTemplate.putSegment(buffer, 0);
+        buffer.put((byte) 9);
+        messageTemplate.putSegment(buffer, 1);
+        buffer.put((byte) 9);
+        messageTemplate.putSegment(buffer, 2);
+        Assert.assertEquals(buffer.position(), 5);
+        Assert.assertEquals(Arrays.copyOf(buffer.array(), buffer.position()), new byte[]{1, 2, 9, 3, 9});
+    }
+
+    @Test
+    public void testGetSegment() {
+        ByteBuffer segment = messageTemplate.getSegment(0);
+        Assert.assertTrue(segment.isReadOnly());
+        Assert.assertEquals(segment.remaining(), 2);
+        Assert.assertEquals(segment.get(), 1);
+        Assert.assertEquals(segment.get(), 2);
+        // Reading a segment does not affect other views of it
+        Assert.assertEquals(messageTemplate.getSegment(0).remaining(), 2);
+        Assert.assertEquals(messageTemplate.getSegment(1).get(), 3);
+        Assert.assertEquals(messageTemplate.getSegment(2).remaining(), 0);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class PartitionTest {
+
+    @Test
+    public void testByRange() {
+        List<Partition> partitions = Partition.byRange(10, 3);
+        Assert.assertEquals(partitions.size(), 3);
+        Assert.assertEquals(partitions.get(0).getFirstIteration(), 1);
+        Assert.assertEquals(partitions.get(0).getNumOfIterations(), 4);
+        Assert.assertEquals(partitions.get(1).getFirstIteration(), 5);
+        Assert.assertEquals(partitions.get(1).getNumOfIterations(), 3);
+        Assert.assertEquals(partitions.get(2).getFirstIteration(), 8);
+        Assert.assertEquals(partitions.get(2).getEndIteration(), 11);
+        for (Partition each : partitions) {
+            Assert.assertEquals(each.getBlock(), -1);
+            Assert.assertEquals(each.getWorker(), -1);
+        }
+
+        partitions = Partition.byRange(2, 4);
+        Assert.assertEquals(partitions.size(), 2);
+        Assert.assertEquals(partitions.get(1).getFirstIteration(), 2);
+        Assert.assertEquals(partitions.get(1).getEndIteration(), 3);
+    }
+
+    @Test
+    public void testByBlock() throws Exception {
+        Path library1 = Files.createTempFile(null, null);
+        Path library2 = Files.createTempFile(null, null);
+        try {
+            Files.write(library1, Arrays.asList("01", "02", "03"));
+            Files.write(library2, Arrays.asList("04", "05"));
+            ProtocolStructure protocolStructure = new ProtocolStructure();
+            List<Byte> bytes = new ArrayList<>(1);
+            bytes.add(null);
+            protocolStructure.addBlock(bytes);
+            protocolStructure.addBlock(Arrays.asList((byte) 0));
+            protocolStructure.addBlock(bytes);
+            InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+            injectedProtocolStructure.getVarBlock(0).setLibraryInjection();
+            injectedProtocolStructure.getVarBlock(0).setLibrary(library1);
+            injectedProtocolStructure.getVarBlock(1).setLibraryInjection();
+            injectedProtocolStructure.getVarBlock(1).setLibrary(library2);
+            FuzzedMessageCreator fuzzedMessageCreator =
+                    new FuzzedMessageCreator(injectedProtocolStructure, InjectionMethod.SEPARATE, 0);
+
+            List<Partition> partitions = Partition.byBlock(fuzzedMessageCreator, 2);
+            Assert.assertEquals(partitions.size(), 2);
+            Assert.assertEquals(partitions.get(0).getBlock(), 0);
+            Assert.assertEquals(partitions.get(0).getFirstIteration(), 1);
+            Assert.assertEquals(partitions.get(0).getEndIteration(), 4);
+            Assert.assertEquals(partitions.get(1).getBlock(), 1);
+            Assert.assertEquals(partitions.get(1).getFirstIteration(), 4);
+            Assert.assertEquals(partitions.get(1).getEndIteration(), 6);
+            Assert.assertEquals(partitions.get(1).getEndIteration() - 1, fuzzedMessageCreator.getNumOfIterations());
+        } finally {
+            Files.delete(library1);
+            Files.delete(library2);
+        }
+    }
+
+    @Test
+    public void testCountIteration() {
+        Partition partition = new Partition(1, 4, 6);
+        partition.countIteration(false);
+        partition.countIteration(true);
+        partition.setWorker(2);
+        Assert.assertEquals(partition.getDoneIterations(), 2);
+        Assert.assertEquals(partition.getCrashes(), 1);
+        Assert.assertEquals(partition.getWorker(), 2);
+        Assert.assertEquals(partition.toString(),
+                "Variable protocol block #1, iterations 4-5: 2/2 done, 1 crashes, worker #3");
+    }
+}
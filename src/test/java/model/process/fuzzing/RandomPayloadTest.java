@@ -0,0 +1,61 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+public class RandomPayloadTest {
+
+    @Test
+    public void testFill() {
+        RandomPayload randomPayload = new RandomPayload(42, 13);
+        Assert.assertEquals(randomPayload.getSeed(), 42);
+        Assert.assertEquals(randomPayload.getLength(), 13);
+        ByteBuffer buffer1 = ByteBuffer.allocate(14);
+        buffer1.put((byte) 1);
+        randomPayload.fill(buffer1);
+        Assert.assertEquals(buffer1.position(), 14);
+        Assert.assertEquals(buffer1.get(0), (byte) 1);
+        ByteBuffer buffer2 = ByteBuffer.allocate(13);
+        randomPayload.fill(buffer2);
+        Assert.assertEquals(Arrays.copyOfRange(buffer1.array(), 1, 14), buffer2.array());
+        ByteBuffer buffer3 = ByteBuffer.allocate(13);
+        new RandomPayload(43, 13).fill(buffer3);
+        Assert.assertNotEquals(buffer3.array(), buffer2.array());
+    }
+
+    @Test
+    public void testFillPrefix() {
+        RandomPayload randomPayload = new RandomPayload(42, (RandomPayload.CHUNK_SIZE * 2) + 5);
+        ByteBuffer whole = ByteBuffer.allocate(randomPayload.getLength());
+        randomPayload.fill(whole);
+        for (int count : new int[]{0, 3, 8, 11, RandomPayload.CHUNK_SIZE + 3, randomPayload.getLength()}) {
+            ByteBuffer prefix = ByteBuffer.allocate(count);
+            randomPayload.fill(prefix, count);
+            Assert.assertEquals(prefix.array(), Arrays.copyOf(whole.array(), count));
+        }
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        RandomPayload randomPayload = new RandomPayload(42, (RandomPayload.CHUNK_SIZE * 3) + 7);
+        ByteBuffer whole = ByteBuffer.allocate(randomPayload.getLength());
+        randomPayload.fill(whole);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        randomPayload.writeTo(Channels.newChannel(outputStream), ByteBuffer.allocate(RandomPayload.CHUNK_SIZE));
+        Assert.assertEquals(outputStream.toByteArray(), whole.array());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ResponseDigestTest {
+
+    @Test
+    public void testNormalize() {
+        Assert.assertEquals(ResponseDigest.normalize("Date: 1472408400, id 12345678".getBytes(StandardCharsets
+                .UTF_8)), "Date: #, id #".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(ResponseDigest.normalize("HTTP/1.1 200 OK".getBytes(StandardCharsets.UTF_8)),
+                "HTTP/1.1 200 OK".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(ResponseDigest.normalize("2016".getBytes(StandardCharsets.UTF_8)),
+                "#".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(ResponseDigest.normalize(), new byte[0]);
+    }
+
+    @Test
+    public void testOf() {
+        Assert.assertEquals(ResponseDigest.of("time 1472408400".getBytes(StandardCharsets.UTF_8)),
+                ResponseDigest.of("time 1472408999".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertNotEquals(ResponseDigest.of("status 200".getBytes(StandardCharsets.UTF_8)),
+                ResponseDigest.of("status 500".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertNotEquals(ResponseDigest.of("response".getBytes(StandardCharsets.UTF_8)),
+                ResponseDigest.of("Response".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(ResponseDigest.of().length, 32);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.fuzzing;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ResponseFingerprintTest {
+
+    @Test
+    public void testOf() {
+        long ok = ResponseFingerprint.of(bytes("HTTP/1.1 200 OK"), Duration.ofMillis(10));
+        Assert.assertEquals(ResponseFingerprint.of(bytes("HTTP/1.1 200 OK"), Duration.ofMillis(10)), ok);
+        // Digits are masked
+        Assert.assertEquals(ResponseFingerprint.of(bytes("HTTP/1.0 404 OK"), Duration.ofMillis(10)), ok);
+        // Times in the same bucket
+        Assert.assertEquals(ResponseFingerprint.of(bytes("HTTP/1.1 200 OK"), Duration.ofMillis(15)), ok);
+        Assert.assertNotEquals(ResponseFingerprint.of(bytes("HTTP/1.1 200 OK"), Duration.ofMillis(16)), ok);
+        Assert.assertNotEquals(ResponseFingerprint.of(bytes("HTTP/1.1 500 Error"), Duration.ofMillis(10)), ok);
+        // Bytes behind the prefix only count by the length of the response
+        long longer = ResponseFingerprint.of(bytes("HTTP/1.1 200 OK, body A"), Duration.ofMillis(10));
+        Assert.assertNotEquals(longer, ok);
+        Assert.assertEquals(ResponseFingerprint.of(bytes("HTTP/1.1 200 OK, body B"), Duration.ofMillis(10)), longer);
+        Assert.assertNotEquals(ResponseFingerprint.of(new byte[0], Duration.ZERO),
+                ResponseFingerprint.of(new byte[]{0}, Duration.ZERO));
+    }
+
+    @Test
+    public void testGetLengthBucket() {
+        Assert.assertEquals(ResponseFingerprint.getLengthBucket(0), 0);
+        Assert.assertEquals(ResponseFingerprint.getLengthBucket(1), 1);
+        Assert.assertEquals(ResponseFingerprint.getLengthBucket(3), 2);
+        Assert.assertEquals(ResponseFingerprint.getLengthBucket(4), 3);
+        Assert.assertEquals(ResponseFingerprint.getLengthBucket(Integer.MAX_VALUE), 31);
+    }
+
+    @Test
+    public void testGetTimeBucket() {
+        Assert.assertEquals(ResponseFingerprint.getTimeBucket(Duration.ZERO), 0);
+        Assert.assertEquals(ResponseFingerprint.getTimeBucket(Duration.ofMillis(1)), 1);
+        Assert.assertEquals(ResponseFingerprint.getTimeBucket(Duration.ofMillis(1000)), 10);
+        Assert.assertEquals(ResponseFingerprint.getTimeBucket(Duration.ofHours(1)), 15);
+        Assert.assertEquals(ResponseFingerprint.getTimeBucket(Duration.ofMillis(-5)), 0);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -9,6 +9,7 @@
 package model.process.fuzzing;
 
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.process.fuzzoptions.Process.Partitioning;
 import model.process.fuzzoptions.Process.RecordingMethod;
 import model.protocol.InjectedProtocolStructure;
 import model.protocol.ProtocolStructure;
@@ -24,10 +25,14 @@ import support.SimulatedServer.Mode;
 import java.net.InetSocketAddress;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @SuppressWarnings("HardCodedStringLiteral")
 public class RunnerTest {
@@ -120,4 +125,209 @@ public class RunnerTest {
             Files.delete(runner.getRecordings().getRecord(i).getFilePath());
         }
     }
+
+    @Test
+    public void testDeduplication() throws Exception {
+        Path library = Files.createTempFile(null, null);
+        try {
+            Files.write(library, Arrays.asList("aa", "bb", "aa", "cc", "bb", "aa"));
+            ProtocolStructure protocolStructure = new ProtocolStructure();
+            List<Byte> bytes = new ArrayList<>(1);
+            bytes.add(null);
+            protocolStructure.addBlock(bytes);
+            InjectedProtocolStructure structure = new InjectedProtocolStructure(protocolStructure);
+            structure.getVarBlock(0).setLibraryInjection();
+            structure.getVarBlock(0).setLibrary(library);
+            Runner runner = new Runner(InjectionMethod.SIMULTANEOUS, structure, inetSocketAddress, 50, 50,
+                    RecordingMethod.SEEDS);
+            runner.setCampaignSeed(42);
+            runner.setDeduplication(true);
+            runner.run();
+            Assert.assertEquals(runner.getStatistics().getGeneratedMessages(), 6);
+            Assert.assertEquals(runner.getStatistics().getSkippedMessages(), 3);
+            Assert.assertEquals(runner.getStatistics().getSkipRate(), 0.5);
+            Assert.assertEquals(runner.getRecordings().getIterationSize(), 3);
+            Assert.assertEquals(runner.getRecordings().getIterationRecord(2).getIteration(), 4);
+        } finally {
+            Files.delete(library);
+        }
+    }
+
+    @Test
+    public void testDifferential() throws Exception {
+        SimulatedServer simulatedStableServer = new SimulatedServer(Mode.STABLE);
+        simulatedStableServer.start();
+        try {
+            InetSocketAddress stableAddress = new InetSocketAddress("localhost", simulatedStableServer.getPort());
+            // The secondary target does not respond to message #15 (0xee), the primary target does
+            Runner runner = new Runner(InjectionMethod.SIMULTANEOUS, injectedProtocolStructure, stableAddress, 50, 50,
+                    RecordingMethod.CRITICAL);
+            runner.setCampaignSeed(42);
+            runner.setSecondaryTarget(inetSocketAddress);
+            Assert.assertEquals(runner.getSecondaryTarget(), inetSocketAddress);
+            runner.run();
+            Recordings recordings = runner.getRecordings();
+            Assert.assertEquals(recordings.getCrashSize(), 0);
+            Assert.assertEquals(recordings.getDivergenceSize(), 1);
+            Assert.assertEquals(runner.getStatistics().getDivergences(), 1);
+            Assert.assertEquals(recordings.getDivergence(0).getIteration(), 15);
+            Assert.assertEquals(recordings.getDivergence(0).getPrimaryLength(), 8);
+            Assert.assertEquals(recordings.getDivergence(0).getSecondaryLength(), -1);
+            Assert.assertEquals(recordings.getDivergence(0).getMessage().length,
+                    recordings.getDivergence(0).getSentLength());
+            Assert.assertTrue(recordings.getDivergence(0).isReproducible());
+
+            // Both targets respond the same way to every message
+            runner = new Runner(InjectionMethod.SIMULTANEOUS, injectedProtocolStructure, stableAddress, 50, 50,
+                    RecordingMethod.CRITICAL);
+            runner.setCampaignSeed(42);
+            runner.setSecondaryTarget(stableAddress);
+            runner.run();
+            Assert.assertEquals(runner.getRecordings().getDivergenceSize(), 0);
+        } finally {
+            simulatedStableServer.interrupt();
+        }
+    }
+
+    @Test
+    public void testDifferentialCrash() throws Exception {
+        SimulatedServer simulatedStableServer = new SimulatedServer(Mode.STABLE);
+        simulatedStableServer.start();
+        try {
+            InetSocketAddress stableAddress = new InetSocketAddress("localhost", simulatedStableServer.getPort());
+            // The primary target crashes on message #15 (0xee), the secondary target does not
+            Runner runner = new Runner(InjectionMethod.SIMULTANEOUS, injectedProtocolStructure, inetSocketAddress, 50,
+                    50, RecordingMethod.CRITICAL);
+            runner.setCampaignSeed(42);
+            runner.setSecondaryTarget(stableAddress);
+            runner.run();
+            Recordings recordings = runner.getRecordings();
+            Assert.assertEquals(recordings.getCrashSize(), 1);
+            Assert.assertEquals(recordings.getDivergenceSize(), 1);
+            Assert.assertEquals(recordings.getDivergence(0).getIteration(), 15);
+            Assert.assertEquals(recordings.getDivergence(0).getPrimaryLength(), -1);
+            Assert.assertEquals(recordings.getDivergence(0).getSecondaryLength(), 8);
+            for (int i = 0; i < recordings.getSize(); i++) {
+                Files.delete(recordings.getRecord(i).getFilePath());
+            }
+        } finally {
+            simulatedStableServer.interrupt();
+        }
+    }
+
+    @Test
+    public void testParallelByBlock() throws Exception {
+        Path library1 = Files.createTempFile(null, null);
+        Path library2 = Files.createTempFile(null, null);
+        try {
+            Files.write(library1, Arrays.asList("01", "ee", "02"));
+            Files.write(library2, Arrays.asList("03", "04", "05", "06"));
+            InjectedProtocolStructure structure = createSeparateStructure(library1, library2);
+            // The messages starting with 0xee crash the simulated server
+            FuzzedMessageCreator fuzzedMessageCreator =
+                    new FuzzedMessageCreator(structure, InjectionMethod.SEPARATE, 42);
+            int crashes = 0;
+            for (byte[] message = fuzzedMessageCreator.call(); message != null; message =
+                    fuzzedMessageCreator.call()) {
+                //noinspection NumericCastThatLosesPrecision
+                if (message[0] == (byte) 0xee) {
+                    crashes++;
+                }
+            }
+            Assert.assertTrue(crashes > 0);
+
+            RunnerMonitor monitor = new RunnerMonitor();
+            Runner runner = new Runner(InjectionMethod.SEPARATE, structure, inetSocketAddress, 50, 50,
+                    RecordingMethod.CRITICAL);
+            runner.setCampaignSeed(42);
+            runner.setWorkers(2, Partitioning.BLOCK);
+            runner.addObserver(monitor);
+            runner.run();
+            Assert.assertTrue(monitor.areAllStatesVisited());
+            Assert.assertEquals(runner.getWorkDone(), runner.getTotalWork());
+            List<Partition> partitions = runner.getPartitions();
+            Assert.assertEquals(partitions.size(), 2);
+            Assert.assertEquals(partitions.get(0).getNumOfIterations(), 3);
+            Assert.assertEquals(partitions.get(1).getNumOfIterations(), 4);
+            Set<Integer> workers = new HashSet<>();
+            int partitionCrashes = 0;
+            for (Partition each : partitions) {
+                Assert.assertEquals(each.getDoneIterations(), each.getNumOfIterations());
+                workers.add(each.getWorker());
+                partitionCrashes += each.getCrashes();
+            }
+            Assert.assertEquals(workers.size(), 2);
+            Assert.assertEquals(partitionCrashes, crashes);
+            Assert.assertEquals(runner.getRecordings().getCrashSize(), crashes);
+            for (int i = 0; i < runner.getRecordings().getCrashSize(); i++) {
+                int worker = runner.getRecordings().getCrashRecord(i).getWorker();
+                Assert.assertTrue(workers.contains(worker));
+                runner.getRecordings().getCrashRecord(i).delete();
+            }
+        } finally {
+            Files.delete(library1);
+            Files.delete(library2);
+        }
+    }
+
+    @Test
+    public void testParallelByRange() throws Exception {
+        Path library1 = Files.createTempFile(null, null);
+        Path library2 = Files.createTempFile(null, null);
+        try {
+            Files.write(library1, Arrays.asList("01", "02", "03"));
+            Files.write(library2, Arrays.asList("04", "05", "06", "07"));
+            InjectedProtocolStructure structure = createSeparateStructure(library1, library2);
+            Runner runner = new Runner(InjectionMethod.SEPARATE, structure, inetSocketAddress, 50, 50,
+                    RecordingMethod.SEEDS);
+            runner.setCampaignSeed(42);
+            runner.setWorkers(3, Partitioning.RANGE);
+            runner.run();
+            Assert.assertEquals(runner.getPartitions().size(), 3);
+            Assert.assertEquals(runner.getRecordings().getIterationSize(), 7);
+            Set<Long> iterations = new HashSet<>();
+            for (int i = 0; i < runner.getRecordings().getIterationSize(); i++) {
+                iterations.add(runner.getRecordings().getIterationRecord(i).getIteration());
+            }
+            Assert.assertEquals(iterations.size(), 7);
+            for (long i = 1; i <= 7; i++) {
+                Assert.assertTrue(iterations.contains(i));
+            }
+        } finally {
+            Files.delete(library1);
+            Files.delete(library2);
+        }
+    }
+
+    @Test
+    public void testParallelNotApplicable() throws Exception {
+        Runner runner = new Runner(InjectionMethod.SIMULTANEOUS, injectedProtocolStructure, inetSocketAddress, 50, 50,
+                RecordingMethod.CRITICAL);
+        runner.setCampaignSeed(42);
+        runner.setWorkers(4, Partitioning.RANGE);
+        Assert.assertEquals(runner.getWorkers(), 4);
+        runner.run();
+        Assert.assertTrue(runner.getPartitions().isEmpty());
+        for (int i = 0; i < runner.getRecordings().getSize(); i++) {
+            Files.delete(runner.getRecordings().getRecord(i).getFilePath());
+        }
+    }
+
+    /**
+     * Creates a protocol structure of two variable blocks with library injection separated by a fixed block.
+     */
+    private static InjectedProtocolStructure createSeparateStructure(Path library1, Path library2) {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        List<Byte> bytes = new ArrayList<>(1);
+        bytes.add(null);
+        protocolStructure.addBlock(bytes);
+        protocolStructure.addBlock(Arrays.asList((byte) 1));
+        protocolStructure.addBlock(bytes);
+        InjectedProtocolStructure result = new InjectedProtocolStructure(protocolStructure);
+        result.getVarBlock(0).setLibraryInjection();
+        result.getVarBlock(0).setLibrary(library1);
+        result.getVarBlock(1).setLibraryInjection();
+        result.getVarBlock(1).setLibrary(library2);
+        return result;
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.protocol.ProtocolBlock.Type;
+import model.protocol.ProtocolStructure;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LearnEngineTest {
+
+    private ExecutorService executor;
+    private LearnEngine learnEngine;
+    private List<Path> paths;
+
+    @BeforeClass
+    public void setUp() throws URISyntaxException {
+        executor = Executors.newFixedThreadPool(4);
+        learnEngine = new LearnEngine(executor);
+        paths = Arrays.asList(Paths.get(getClass().getResource("/capture1.txt").toURI()),
+                Paths.get(getClass().getResource("/capture2.txt").toURI()));
+    }
+
+    @AfterClass
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLearn() throws IOException, ExecutionException, InterruptedException {
+        List<byte[]> messages = new ArrayList<>(2);
+        for (Path each : paths) {
+            messages.add(Files.readAllBytes(each));
+        }
+        List<CompletableFuture<ProtocolStructure>> futures = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            futures.add(learnEngine.learn(messages, new LearnOptions(), (workDone, totalWork) -> {
+            }));
+        }
+        for (CompletableFuture<ProtocolStructure> each : futures) {
+            ProtocolStructure actual = each.get();
+            Assert.assertEquals(actual.getSize(), 2);
+            Assert.assertEquals(actual.getBlock(0).getType(), Type.VAR);
+            Assert.assertEquals(actual.getBlock(0).getBytes().length, 10);
+            Assert.assertEquals(actual.getBlock(1).getType(), Type.FIX);
+            Assert.assertEquals(actual.getBlock(1).getBytes().length, 1);
+        }
+    }
+
+    @Test
+    public void testLearnFiles() throws ExecutionException, InterruptedException {
+        AtomicInteger lastWorkDone = new AtomicInteger();
+        AtomicInteger lastTotalWork = new AtomicInteger();
+        AtomicBoolean ordered = new AtomicBoolean(true);
+        List<String> logs = Collections.synchronizedList(new ArrayList<>());
+        LearnOptions options = new LearnOptions();
+        options.setLog(logs::add);
+        ProtocolStructure actual = learnEngine.learnFiles(paths, options, (workDone, totalWork) -> {
+            if (workDone != (lastWorkDone.get() + 1)) {
+                ordered.set(false);
+            }
+            lastWorkDone.set(workDone);
+            lastTotalWork.set(totalWork);
+        }).get();
+        Assert.assertEquals(actual.getSize(), 2);
+        Assert.assertTrue(ordered.get());
+        Assert.assertEquals(lastWorkDone.get(), Learner.getTotalWork(2));
+        Assert.assertEquals(lastTotalWork.get(), Learner.getTotalWork(2));
+        Assert.assertFalse(logs.isEmpty());
+    }
+
+    @Test
+    public void testLearnFilesMissing() throws InterruptedException {
+        CompletableFuture<ProtocolStructure> future =
+                learnEngine.learnFiles(Collections.singletonList(Paths.get("nonexistent")), new LearnOptions(),
+                        (workDone, totalWork) -> {
+                        });
+        try {
+            future.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testLearnEmpty() throws InterruptedException {
+        CompletableFuture<ProtocolStructure> future =
+                learnEngine.learn(Collections.emptyList(), new LearnOptions(), (workDone, totalWork) -> {
+                });
+        try {
+            future.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+}
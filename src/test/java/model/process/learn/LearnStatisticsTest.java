@@ -0,0 +1,52 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import model.process.learn.LearnStatistics.Phase;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LearnStatisticsTest {
+
+    @Test
+    public void testMeasure() throws Exception {
+        LearnStatistics statistics = new LearnStatistics();
+        Assert.assertEquals(statistics.getInvocations(Phase.NGRAMS), 0);
+        Assert.assertEquals(statistics.getNanos(Phase.NGRAMS), 0);
+
+        List<Byte> bytes = new ArrayList<>(3);
+        bytes.add((byte) 'a');
+        bytes.add((byte) 'b');
+        bytes.add((byte) 'c');
+        Assert.assertEquals(statistics.measure(Phase.NGRAMS, new NGramCreator(bytes, 3)).call(),
+                new NGramCreator(bytes, 3).call());
+        Assert.assertEquals(statistics.measure(Phase.NGRAMS, new NGramCreator(bytes, 3)).call().size(), 5);
+        Assert.assertEquals(statistics.getInvocations(Phase.NGRAMS), 2);
+        Assert.assertTrue(statistics.getNanos(Phase.NGRAMS) > 0);
+        Assert.assertTrue(statistics.getAllocatedBytes(Phase.NGRAMS) >= 0);
+        Assert.assertEquals(statistics.getInvocations(Phase.ALIGNMENT), 0);
+    }
+
+    @Test
+    public void testCounters() {
+        LearnStatistics statistics = new LearnStatistics();
+        statistics.addComputedCells(12);
+        statistics.addComputedCells(30);
+        statistics.addEvaluatedPairs(1);
+        statistics.addEvaluatedPairs(4);
+        Assert.assertEquals(statistics.getComputedCells(), 42);
+        Assert.assertEquals(statistics.getEvaluatedPairs(), 5);
+        Assert.assertTrue(statistics.getSummary().contains("DP cells: 42"));
+        Assert.assertTrue(statistics.getSummary().contains("pairs evaluated: 5"));
+    }
+}
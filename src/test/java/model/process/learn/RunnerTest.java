@@ -8,6 +8,7 @@
 
 package model.process.learn;
 
+import model.process.learn.LearnStatistics.Phase;
 import model.protocol.ProtocolBlock.Type;
 import model.protocol.ProtocolFile;
 import model.protocol.ProtocolStructure;
@@ -55,4 +56,36 @@ public class RunnerTest {
         Assert.assertEquals(actual.getBlock(1).getBytes().length, 1);
         Assert.assertNotNull(actual.getBlock(1).getBytes()[0]);
     }
+
+    @Test
+    public void testGetStatistics() throws URISyntaxException {
+        Set<ProtocolFile> protocolFiles = new HashSet<>(2);
+        protocolFiles.add(new ProtocolFile(Paths.get(getClass().getResource("/capture1.txt").toURI())));
+        protocolFiles.add(new ProtocolFile(Paths.get(getClass().getResource("/capture2.txt").toURI())));
+        Runner runner = new Runner(protocolFiles);
+        runner.run();
+        LearnStatistics actual = runner.getStatistics();
+        Assert.assertEquals(actual.getInvocations(Phase.CONVERSION), 2);
+        Assert.assertEquals(actual.getInvocations(Phase.NGRAMS), 3);
+        Assert.assertEquals(actual.getInvocations(Phase.ALIGNMENT), 1);
+        Assert.assertEquals(actual.getInvocations(Phase.CLEANING), 1);
+        Assert.assertTrue(actual.getComputedCells() > 0);
+        Assert.assertTrue(actual.getEvaluatedPairs() > 0);
+    }
+
+    @Test
+    public void testSetMemoryBudget() throws URISyntaxException {
+        Set<ProtocolFile> protocolFiles = new HashSet<>(2);
+        protocolFiles.add(new ProtocolFile(Paths.get(getClass().getResource("/capture1.txt").toURI())));
+        protocolFiles.add(new ProtocolFile(Paths.get(getClass().getResource("/capture2.txt").toURI())));
+        Runner reference = new Runner(protocolFiles);
+        reference.run();
+        Runner runner = new Runner(protocolFiles);
+        runner.setMemoryBudget(1);
+        RunnerMonitor monitor = new RunnerMonitor();
+        runner.addObserver(monitor);
+        runner.run();
+        Assert.assertTrue(monitor.areAllStatesVisited());
+        Assert.assertEquals(runner.getProtocolStructure().getBytes(), reference.getProtocolStructure().getBytes());
+    }
 }
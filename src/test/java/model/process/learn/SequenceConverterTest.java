@@ -12,6 +12,7 @@ import model.protocol.ProtocolFile;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -34,4 +35,19 @@ public class SequenceConverterTest {
         reference.add((byte) '\n');
         Assert.assertEquals(sequenceConverter.call(), reference);
     }
+
+    @Test
+    public void testCallPath() throws URISyntaxException {
+        //noinspection HardCodedStringLiteral
+        SequenceConverter sequenceConverter =
+                new SequenceConverter(Paths.get(getClass().getResource("/capture1.txt").toURI()));
+        Assert.assertEquals(sequenceConverter.call().size(), 11);
+        Assert.assertEquals(sequenceConverter.call().get(0), Byte.valueOf((byte) '0'));
+    }
+
+    @Test(expectedExceptions = UncheckedIOException.class)
+    public void testCallPathMissing() {
+        //noinspection HardCodedStringLiteral
+        new SequenceConverter(Paths.get("missing-capture.txt")).call();
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.process.learn;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SequenceStoreTest {
+
+    private static LearnSequence createSequence(byte... bytes) {
+        List<Byte> sequence = new ArrayList<>(bytes.length + 1);
+        for (byte each : bytes) {
+            sequence.add(each);
+        }
+        sequence.add(null);
+        return new LearnSequence(sequence, new NGramCreator(sequence, 3).call());
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        LearnSequence sequence1 = createSequence((byte) 'a', (byte) 'b', (byte) 'c');
+        LearnSequence sequence2 = createSequence((byte) 'd', (byte) 'e');
+        LearnSequence sequence3 = createSequence((byte) 'f');
+        List<Byte> reference1 = new ArrayList<>(sequence1.getSequence());
+        List<Byte> reference2 = new ArrayList<>(sequence2.getSequence());
+
+        try (SequenceStore store = new SequenceStore(sequence3.getFootprint())) {
+            store.add(sequence1);
+            Assert.assertFalse(store.hasSpilled());
+            store.add(sequence2);
+            store.add(sequence3);
+            Assert.assertTrue(store.hasSpilled());
+            Assert.assertFalse(sequence1.isResident());
+            Assert.assertFalse(sequence2.isResident());
+            Assert.assertTrue(sequence3.isResident());
+            Assert.assertEquals(store.getResidentFootprint(), sequence3.getFootprint());
+
+            // Paging a sequence in spills the least recently used one
+            Assert.assertEquals(sequence1.getSequence(), reference1);
+            Assert.assertEquals(sequence1.getNGrams(), new NGramCreator(reference1, 3).call());
+            Assert.assertTrue(sequence1.isResident());
+            Assert.assertFalse(sequence3.isResident());
+            Assert.assertEquals(sequence2.getSequence(), reference2);
+            Assert.assertFalse(sequence1.isResident());
+        }
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        LearnSequence sequence1 = createSequence((byte) 'a', (byte) 'b', (byte) 'c');
+        LearnSequence sequence2 = createSequence((byte) 'd', (byte) 'e');
+        try (SequenceStore store = new SequenceStore(Long.MAX_VALUE)) {
+            store.add(sequence1);
+            store.add(sequence2);
+            store.remove(sequence1);
+            Assert.assertEquals(store.getResidentFootprint(), sequence2.getFootprint());
+            Assert.assertFalse(store.hasSpilled());
+        }
+    }
+}
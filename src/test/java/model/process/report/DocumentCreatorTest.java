@@ -8,9 +8,13 @@
 
 package model.process.report;
 
+import model.process.fuzzoptions.Process.InjectionMethod;
 import model.process.fuzzoptions.Process.RecordingMethod;
 import model.protocol.InjectedProtocolStructure;
 import model.protocol.ProtocolStructure;
+import model.record.Campaign;
+import model.record.Divergence;
+import model.record.IterationRecord;
 import model.record.Recordings;
 import model.util.XmlWhiteSpaceEliminator;
 import nu.xom.*;
@@ -118,6 +122,41 @@ public class DocumentCreatorTest {
         Assert.assertEquals(actual, reference);
     }
 
+    @Test
+    public void testCallSeeds() {
+        Recordings seedRecordings = new Recordings();
+        seedRecordings.setCampaign(new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure));
+        seedRecordings.addIterationRecord(
+                new IterationRecord(1, 255, 7, new byte[]{97, 98, 99}, Instant.now(), Duration.ofMillis(5)));
+        DocumentCreator documentCreator =
+                new DocumentCreator(RecordingMethod.SEEDS, seedRecordings, injectedProtocolStructure, target, 10, 20,
+                        Duration.ofSeconds(3723), 1, -1);
+        String actual = documentCreator.call().toXML();
+        Assert.assertTrue(actual.contains("Iterations"));
+        Assert.assertTrue(actual.contains("Campaign seed: 42"));
+        Assert.assertTrue(actual.contains("<td>ff</td>"));
+        Assert.assertTrue(actual.contains("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+        Assert.assertFalse(actual.contains("Complete Communication"));
+        Assert.assertFalse(actual.contains("Divergences"));
+    }
+
+    @Test
+    public void testCallDivergences() {
+        Recordings divergenceRecordings = new Recordings();
+        divergenceRecordings.setCampaign(new Campaign(42, InjectionMethod.SEPARATE, injectedProtocolStructure));
+        divergenceRecordings.addDivergence(new Divergence(15, 255, 2, 8, new byte[]{(byte) 0xab, 1}, -1, new byte[0],
+                Instant.now(), new byte[]{1, 2}, false));
+        DocumentCreator documentCreator =
+                new DocumentCreator(RecordingMethod.CRITICAL, divergenceRecordings, injectedProtocolStructure, target,
+                        10, 20, Duration.ofSeconds(3723), 16, 16);
+        String actual = documentCreator.call().toXML();
+        Assert.assertTrue(actual.indexOf("Crashes") < actual.indexOf("Divergences"));
+        Assert.assertTrue(actual.contains("Campaign seed: 42"));
+        Assert.assertTrue(actual.contains("<td>ff (not reproducible)</td>"));
+        Assert.assertTrue(actual.contains("<td>ab01</td>"));
+        Assert.assertTrue(actual.contains("NO RESPONSE"));
+    }
+
     private static void cleanAttributes(Element element) {
         if (element.getAttribute("space", "http://www.w3.org/XML/1998/namespace") != null) {
             element.removeAttribute(element.getAttribute("space", "http://www.w3.org/XML/1998/namespace"));
@@ -0,0 +1,105 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+@SuppressWarnings({"HardCodedStringLiteral", "NumericCastThatLosesPrecision"})
+public class CompiledLibraryTest {
+
+    private Path compiledLibrary;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        compiledLibrary = Files.createTempFile(null, null);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compiledLibrary);
+    }
+
+    @Test
+    public void testCompile() throws URISyntaxException, IOException {
+        Path library = Paths.get(getClass().getResource("/library1.txt").toURI());
+        Assert.assertFalse(CompiledLibrary.isCompiled(library));
+        CompiledLibrary.compile(library, compiledLibrary);
+        Assert.assertTrue(CompiledLibrary.isCompiled(compiledLibrary));
+
+        CompiledLibrary actual = new CompiledLibrary(compiledLibrary);
+        Assert.assertTrue(actual.validate());
+        Assert.assertEquals(actual.getNumOfPayloads(), 16);
+        for (int i = 0; i < 16; i++) {
+            Assert.assertEquals(actual.getPayload(i), new byte[]{(byte) (i * 17)});
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCompileInvalid() throws URISyntaxException, IOException {
+        CompiledLibrary.compile(Paths.get(getClass().getResource("/library2.txt").toURI()), compiledLibrary);
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        CompiledLibrary.write(Arrays.asList(new byte[]{1, 2, 3}, new byte[0], new byte[]{(byte) 0xff}),
+                compiledLibrary);
+        Assert.assertTrue(CompiledLibrary.isCompiled(compiledLibrary));
+
+        CompiledLibrary actual = new CompiledLibrary(compiledLibrary);
+        Assert.assertEquals(actual.getNumOfPayloads(), 3);
+        Assert.assertEquals(actual.getPayload(0), new byte[]{1, 2, 3});
+        Assert.assertEquals(actual.getPayload(1), new byte[0]);
+        Assert.assertEquals(actual.getPayload(2), new byte[]{(byte) 0xff});
+    }
+
+    @Test
+    public void testGetPayloadBuffer() throws IOException {
+        Path library = Files.createTempFile(null, null);
+        try {
+            Files.write(library, "0001ff\n\nabcd\n".getBytes(StandardCharsets.UTF_8));
+            CompiledLibrary.compile(library, compiledLibrary);
+        } finally {
+            Files.delete(library);
+        }
+        CompiledLibrary actual = new CompiledLibrary(compiledLibrary);
+        Assert.assertEquals(actual.getNumOfPayloads(), 2);
+        ByteBuffer payload = actual.getPayloadBuffer(0);
+        Assert.assertTrue(payload.isReadOnly());
+        Assert.assertTrue(payload.isDirect());
+        Assert.assertEquals(payload.remaining(), 3);
+        Assert.assertEquals(payload.get(2), (byte) 0xff);
+        Assert.assertEquals(actual.getPayload(1), new byte[]{(byte) 0xab, (byte) 0xcd});
+    }
+
+    @Test
+    public void testValidate() throws URISyntaxException, IOException {
+        CompiledLibrary.compile(Paths.get(getClass().getResource("/library1.txt").toURI()), compiledLibrary);
+        byte[] bytes = Files.readAllBytes(compiledLibrary);
+        // Truncate the last payload
+        Files.write(compiledLibrary, Arrays.copyOf(bytes, bytes.length - 1));
+        Assert.assertFalse(new CompiledLibrary(compiledLibrary).validate());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testCompiledLibrary() throws URISyntaxException, IOException {
+        new CompiledLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import model.protocol.Fixup.Type;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+public class FixupTest {
+
+    @Test
+    public void testLength() {
+        Fixup fixup = Fixup.length(1, 2, ByteOrder.LITTLE_ENDIAN, 2, 5);
+        Assert.assertEquals(fixup.getType(), Type.LENGTH);
+        Assert.assertEquals(fixup.getBlock(), 1);
+        Assert.assertEquals(fixup.getWidth(), 2);
+        Assert.assertEquals(fixup.getByteOrder(), ByteOrder.LITTLE_ENDIAN);
+        Assert.assertEquals(fixup.getFirstBlock(), 2);
+        Assert.assertEquals(fixup.getLastBlock(), 5);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLengthWidth() {
+        Fixup.length(1, 3, ByteOrder.LITTLE_ENDIAN, 2, 5);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLengthRange() {
+        Fixup.length(1, 4, ByteOrder.LITTLE_ENDIAN, 5, 2);
+    }
+
+    @Test
+    public void testChecksum() {
+        Assert.assertEquals(Fixup.checksum(Type.CRC32, 0, ByteOrder.BIG_ENDIAN, 0, 0).getWidth(), 4);
+        Assert.assertEquals(Fixup.checksum(Type.ADLER32, 0, ByteOrder.BIG_ENDIAN, 0, 0).getWidth(), 4);
+        Assert.assertEquals(Fixup.checksum(Type.SUM8, 0, ByteOrder.BIG_ENDIAN, 0, 0).getWidth(), 1);
+        Assert.assertEquals(Fixup.checksum(Type.XOR8, 0, ByteOrder.BIG_ENDIAN, 0, 0).getWidth(), 1);
+        Assert.assertEquals(Fixup.checksum(Type.INTERNET, 0, ByteOrder.BIG_ENDIAN, 0, 0).getWidth(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testChecksumLength() {
+        Fixup.checksum(Type.LENGTH, 0, ByteOrder.BIG_ENDIAN, 0, 0);
+    }
+
+    @Test
+    public void testAddFixup() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 0, (byte) 0));
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+        Fixup fixup = Fixup.length(0, 2, ByteOrder.BIG_ENDIAN, 0, 0);
+        injectedProtocolStructure.addFixup(fixup);
+        Assert.assertEquals(injectedProtocolStructure.getFixups().size(), 1);
+        Assert.assertEquals(injectedProtocolStructure.copy().getFixups().get(0), fixup);
+        injectedProtocolStructure.clearFixups();
+        Assert.assertTrue(injectedProtocolStructure.getFixups().isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAddFixupOutOfBounds() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Arrays.asList((byte) 0, (byte) 0));
+        new InjectedProtocolStructure(protocolStructure).addFixup(Fixup.length(0, 2, ByteOrder.BIG_ENDIAN, 0, 1));
+    }
+}
@@ -15,10 +15,13 @@ import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
 
 @SuppressWarnings({"NumericCastThatLosesPrecision", "HardCodedStringLiteral"})
 public class InjectedProtocolBlockTest {
@@ -101,6 +104,39 @@ public class InjectedProtocolBlockTest {
         Assert.assertNull(injectedProtocolBlock.getDataInjection());
     }
 
+    @Test
+    public void testSetMutationInjection() throws URISyntaxException {
+        Byte[] bytes = {null};
+        //noinspection UnqualifiedInnerClassAccess
+        InjectedProtocolBlock injectedProtocolBlock = new InjectedProtocolBlock(Type.VAR, bytes);
+        injectedProtocolBlock.setMutationInjection();
+        Assert.assertEquals(injectedProtocolBlock.getDataInjection(), DataInjection.MUTATION);
+        //noinspection HardCodedStringLiteral
+        injectedProtocolBlock.setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 16);
+
+        injectedProtocolBlock = new InjectedProtocolBlock(Type.FIX, bytes);
+        injectedProtocolBlock.setMutationInjection();
+        Assert.assertNull(injectedProtocolBlock.getDataInjection());
+    }
+
+    @Test
+    public void testSetDictionaryInjection() throws URISyntaxException {
+        Byte[] bytes = {null};
+        //noinspection UnqualifiedInnerClassAccess
+        InjectedProtocolBlock injectedProtocolBlock = new InjectedProtocolBlock(Type.VAR, bytes);
+        injectedProtocolBlock.setDictionaryInjection();
+        Assert.assertEquals(injectedProtocolBlock.getDataInjection(), DataInjection.DICTIONARY);
+        Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 0);
+        //noinspection HardCodedStringLiteral
+        injectedProtocolBlock.setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 16);
+
+        injectedProtocolBlock = new InjectedProtocolBlock(Type.FIX, bytes);
+        injectedProtocolBlock.setDictionaryInjection();
+        Assert.assertNull(injectedProtocolBlock.getDataInjection());
+    }
+
     @Test
     public void testSetRandomInjection() throws Exception {
         Byte[] bytes = {null};
@@ -126,6 +162,28 @@ public class InjectedProtocolBlockTest {
         Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 16);
     }
 
+    @Test
+    public void testGetNumOfLibraryLinesChanged() throws IOException {
+        Byte[] bytes = {null};
+        //noinspection UnqualifiedInnerClassAccess
+        InjectedProtocolBlock injectedProtocolBlock = new InjectedProtocolBlock(Type.VAR, bytes);
+        Path tmpFile = Files.createTempFile(null, null);
+        try {
+            Files.write(tmpFile, Collections.singletonList("00"), StandardCharsets.UTF_8);
+            injectedProtocolBlock.setLibraryInjection();
+            injectedProtocolBlock.setLibrary(tmpFile);
+            Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 1);
+            // The library is indexed again after it has been changed and validated
+            Files.write(tmpFile, Arrays.asList("00", "11"), StandardCharsets.UTF_8);
+            Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 1);
+            injectedProtocolBlock.validateLibrary();
+            Assert.assertEquals(injectedProtocolBlock.getNumOfLibraryLines(), 2);
+            Assert.assertEquals(injectedProtocolBlock.getLibraryLine(1), new byte[]{(byte) 0x11});
+        } finally {
+            Files.delete(tmpFile);
+        }
+    }
+
     @Test
     public void testGetLibraryLine() throws URISyntaxException, IOException {
         Byte[] bytes = {null};
@@ -166,4 +224,26 @@ public class InjectedProtocolBlockTest {
         // Fix chi square value
         Assert.assertTrue(chiSquareValue < 24.9958);
     }
+
+    @Test
+    public void testSetSizeDistribution() {
+        Byte[] bytes = {null, null};
+        //noinspection UnqualifiedInnerClassAccess
+        InjectedProtocolBlock injectedProtocolBlock = new InjectedProtocolBlock(Type.VAR, bytes);
+        Assert.assertEquals(injectedProtocolBlock.getSizeDistribution().getKind(), SizeDistribution.Kind.LOG_UNIFORM);
+        Assert.assertEquals(injectedProtocolBlock.getSizeDistribution().getMax(), 2 * SizeDistribution.BLOAT_FACTOR);
+
+        injectedProtocolBlock.setSizeDistribution(SizeDistribution.fixed(5));
+        Assert.assertEquals(injectedProtocolBlock.getSizeDistribution().getKind(), SizeDistribution.Kind.FIXED);
+        Assert.assertEquals(injectedProtocolBlock.copy().getSizeDistribution().getKind(),
+                SizeDistribution.Kind.FIXED);
+
+        injectedProtocolBlock.setSizeDistribution(null);
+        Assert.assertEquals(injectedProtocolBlock.getSizeDistribution().getKind(), SizeDistribution.Kind.LOG_UNIFORM);
+
+        //noinspection UnqualifiedInnerClassAccess
+        InjectedProtocolBlock fixBlock = new InjectedProtocolBlock(Type.FIX, (byte) 1);
+        fixBlock.setSizeDistribution(SizeDistribution.fixed(5));
+        Assert.assertNull(fixBlock.getSizeDistribution());
+    }
 }
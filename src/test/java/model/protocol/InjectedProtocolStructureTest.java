@@ -9,11 +9,13 @@
 package model.protocol;
 
 import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolBlock.DataInjection;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -89,6 +91,32 @@ public class InjectedProtocolStructureTest {
         Assert.assertEquals(injectedProtocolStructure.getVarSize(), 1);
     }
 
+    @Test
+    public void testShareSizeDistribution() {
+        ProtocolStructure protocolStructure = new ProtocolStructure();
+        protocolStructure.addBlock(Collections.singletonList(null));
+        protocolStructure.addBlock(Collections.singletonList((byte) 48));
+        protocolStructure.addBlock(Arrays.asList(null, null, null));
+        InjectedProtocolStructure injectedProtocolStructure = new InjectedProtocolStructure(protocolStructure);
+
+        // The default distribution is suited to the longest variable block
+        SizeDistribution shared = injectedProtocolStructure.shareSizeDistribution(null);
+        Assert.assertEquals(shared.getKind(), SizeDistribution.Kind.LOG_UNIFORM);
+        Assert.assertEquals(shared.getMax(), 3 * SizeDistribution.BLOAT_FACTOR);
+        Assert.assertEquals(injectedProtocolStructure.getVarBlock(0).getSizeDistribution(), shared);
+        Assert.assertEquals(injectedProtocolStructure.getVarBlock(1).getSizeDistribution(), shared);
+
+        shared = injectedProtocolStructure.shareSizeDistribution(
+                SizeDistribution.forField(SizeDistribution.Kind.UNIFORM, 1));
+        Assert.assertEquals(shared.getKind(), SizeDistribution.Kind.UNIFORM);
+        Assert.assertEquals(shared.getMax(), 3 * SizeDistribution.BLOAT_FACTOR);
+
+        // Empirical distributions are shared as they are
+        SizeDistribution empirical = SizeDistribution.empirical(2, 5);
+        Assert.assertEquals(injectedProtocolStructure.shareSizeDistribution(empirical), empirical);
+        Assert.assertEquals(injectedProtocolStructure.getVarBlock(1).getSizeDistribution(), empirical);
+    }
+
     @Test
     public void testCopy() throws Exception {
         ProtocolStructure protocolStructure = new ProtocolStructure();
@@ -109,6 +137,12 @@ public class InjectedProtocolStructureTest {
             Assert.assertEquals(injectedProtocolStructure1.getBlock(i).getBytes(),
                     injectedProtocolStructure2.getBlock(i).getBytes());
         }
+        // The variable blocks of the copy are its own blocks
+        Assert.assertEquals(injectedProtocolStructure2.getVarSize(), 1);
+        //noinspection ObjectEquality
+        Assert.assertTrue(injectedProtocolStructure2.getVarBlock(0) == injectedProtocolStructure2.getBlock(0));
+        injectedProtocolStructure2.getVarBlock(0).setLibraryInjection();
+        Assert.assertEquals(injectedProtocolStructure1.getVarBlock(0).getDataInjection(), DataInjection.RANDOM);
     }
 
     @Test
@@ -133,11 +167,13 @@ public class InjectedProtocolStructureTest {
         injectedProtocolStructure.getVarBlock(1).setRandomInjection();
         Assert.assertEquals(injectedProtocolStructure.getNumOfIterations(InjectionMethod.SEPARATE), -1);
         Assert.assertEquals(injectedProtocolStructure.getNumOfIterations(InjectionMethod.SIMULTANEOUS), 16);
+        Assert.assertEquals(injectedProtocolStructure.getNumOfIterations(InjectionMethod.PAIRWISE), -1);
 
         injectedProtocolStructure.getVarBlock(1).setLibraryInjection();
         injectedProtocolStructure.getVarBlock(1).setLibrary(Paths.get(getClass().getResource("/library1.txt").toURI()));
         Assert.assertEquals(injectedProtocolStructure.getNumOfIterations(InjectionMethod.SIMULTANEOUS), 16);
         Assert.assertEquals(injectedProtocolStructure.getNumOfIterations(InjectionMethod.SEPARATE), 16 + 16);
+        Assert.assertEquals(injectedProtocolStructure.getNumOfIterations(InjectionMethod.PAIRWISE), 17 * 17);
 
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LibraryIndexTest {
+
+    @Test
+    public void testGetNumOfLines() throws URISyntaxException, IOException {
+        LibraryIndex libraryIndex = new LibraryIndex(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        Assert.assertEquals(libraryIndex.getNumOfLines(), 16);
+        // Empty lines are not counted
+        libraryIndex = new LibraryIndex(Paths.get(getClass().getResource("/library3.txt").toURI()));
+        Assert.assertEquals(libraryIndex.getNumOfLines(), 16);
+    }
+
+    @Test
+    public void testGetLine() throws IOException {
+        Path path = Files.createTempFile(null, null);
+        try {
+            Files.write(path, "0a\r\n\n\r\nbbcc\r\rdd".getBytes(StandardCharsets.UTF_8));
+            LibraryIndex libraryIndex = new LibraryIndex(path);
+            Assert.assertEquals(libraryIndex.getNumOfLines(), 3);
+            Assert.assertEquals(new String(libraryIndex.getLine(0), StandardCharsets.UTF_8), "0a");
+            Assert.assertEquals(new String(libraryIndex.getLine(1), StandardCharsets.UTF_8), "bbcc");
+            Assert.assertEquals(new String(libraryIndex.getLine(2), StandardCharsets.UTF_8), "dd");
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetLineOutOfBounds() throws URISyntaxException, IOException {
+        LibraryIndex libraryIndex = new LibraryIndex(Paths.get(getClass().getResource("/library1.txt").toURI()));
+        libraryIndex.getLine(16);
+    }
+
+    @Test
+    public void testIsValid() throws IOException {
+        Path path = Files.createTempFile(null, null);
+        try {
+            Files.write(path, "00\n11\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(path, FileTime.fromMillis(1000000));
+            LibraryIndex libraryIndex = new LibraryIndex(path);
+            Assert.assertTrue(libraryIndex.isValid());
+
+            Files.setLastModifiedTime(path, FileTime.fromMillis(2000000));
+            Assert.assertFalse(libraryIndex.isValid());
+
+            libraryIndex = new LibraryIndex(path);
+            Files.write(path, "00\n11\n22\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(path, FileTime.fromMillis(2000000));
+            Assert.assertFalse(libraryIndex.isValid());
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
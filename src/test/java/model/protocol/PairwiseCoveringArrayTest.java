@@ -0,0 +1,66 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class PairwiseCoveringArrayTest {
+
+    @Test
+    public void testGetNumOfRows() {
+        Assert.assertEquals(new PairwiseCoveringArray().getNumOfRows(), 0);
+        Assert.assertEquals(new PairwiseCoveringArray(5).getNumOfRows(), 5);
+        Assert.assertEquals(new PairwiseCoveringArray(5, 0, 3).getNumOfRows(), 0);
+        // Sizes 16, 16, 16: q = 17
+        Assert.assertEquals(new PairwiseCoveringArray(16, 16, 16).getNumOfRows(), 17 * 17);
+        // Sizes 1000, 10, 10: q = 11, close to the lower bound of 1000 * 10
+        Assert.assertEquals(new PairwiseCoveringArray(10, 1000, 10).getNumOfRows(), 1000 * 11);
+        // Six factors of size 2 need q >= 5
+        Assert.assertEquals(new PairwiseCoveringArray(2, 2, 2, 2, 2, 2).getNumOfRows(), 5 * 5);
+        // Far below the cartesian product
+        Assert.assertEquals(new PairwiseCoveringArray(100000, 100000, 100000).getNumOfRows(), 100003L * 100003L);
+    }
+
+    @Test
+    public void testGetRow() {
+        int[][] factorSizes = {{3, 4}, {16, 16, 16}, {10, 1000, 10}, {2, 2, 2, 2, 2, 2}, {7, 1, 5, 3, 6}, {1, 1}};
+        for (int[] sizes : factorSizes) {
+            PairwiseCoveringArray array = new PairwiseCoveringArray(sizes);
+            Set<Long> pairs = new HashSet<>();
+            int[] row = new int[sizes.length];
+            for (long i = 0; i < array.getNumOfRows(); i++) {
+                array.getRow(i, row);
+                for (int a = 0; a < sizes.length; a++) {
+                    Assert.assertTrue((row[a] >= 0) && (row[a] < sizes[a]));
+                    for (int b = a + 1; b < sizes.length; b++) {
+                        pairs.add((((((long) a * sizes.length) + b) * 1000) + row[a]) * 1000 + row[b]);
+                    }
+                }
+            }
+            // Every pair of values of every two factors is covered
+            int expected = 0;
+            for (int a = 0; a < sizes.length; a++) {
+                for (int b = a + 1; b < sizes.length; b++) {
+                    expected += sizes[a] * sizes[b];
+                }
+            }
+            Assert.assertEquals(pairs.size(), expected);
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetRowOutOfBounds() {
+        PairwiseCoveringArray array = new PairwiseCoveringArray(2, 3);
+        array.getRow(array.getNumOfRows(), new int[2]);
+    }
+}
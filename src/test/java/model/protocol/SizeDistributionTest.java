@@ -0,0 +1,118 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.protocol;
+
+import model.protocol.SizeDistribution.Kind;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class SizeDistributionTest {
+
+    @Test
+    public void testFixed() {
+        SizeDistribution sizeDistribution = SizeDistribution.fixed(7);
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(sizeDistribution.nextLength(random), 7);
+        }
+        Assert.assertEquals(sizeDistribution.getKind(), Kind.FIXED);
+        Assert.assertEquals(SizeDistribution.fixed(-1).nextLength(random), 0);
+    }
+
+    @Test
+    public void testUniform() {
+        SizeDistribution sizeDistribution = SizeDistribution.uniform(3, 6);
+        Random random = new Random(42);
+        Set<Integer> lengths = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            lengths.add(sizeDistribution.nextLength(random));
+        }
+        Assert.assertEquals(lengths, new HashSet<>(Arrays.asList(3, 4, 5, 6)));
+
+        SizeDistribution full = SizeDistribution.uniform(0, Integer.MAX_VALUE);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(full.nextLength(random) >= 0);
+        }
+    }
+
+    @Test
+    public void testLogUniform() {
+        SizeDistribution sizeDistribution = SizeDistribution.logUniform(0, 100000);
+        Random random = new Random(42);
+        int[] lengths = new int[10001];
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = sizeDistribution.nextLength(random);
+            Assert.assertTrue((lengths[i] >= 0) && (lengths[i] <= 100000));
+        }
+        Arrays.sort(lengths);
+        // Most lengths are small, a uniform distribution would have a median of 50000
+        Assert.assertTrue(lengths[lengths.length / 2] < 1000);
+        Assert.assertTrue(lengths[lengths.length / 10] < 10);
+        Assert.assertTrue(lengths[lengths.length - 1] > 50000);
+        Assert.assertEquals(lengths[0], 0);
+
+        SizeDistribution narrow = SizeDistribution.logUniform(5, 5);
+        Assert.assertEquals(narrow.nextLength(random), 5);
+    }
+
+    @Test
+    public void testBoundary() {
+        SizeDistribution sizeDistribution = SizeDistribution.boundary(10, 100);
+        Random random = new Random(42);
+        Set<Integer> lengths = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            lengths.add(sizeDistribution.nextLength(random));
+        }
+        Assert.assertEquals(lengths,
+                new HashSet<>(Arrays.asList(0, 1, 2, 3, 4, 7, 8, 9, 10, 11, 15, 16, 31, 32, 63, 64)));
+        Assert.assertEquals(sizeDistribution.getMin(), 0);
+        Assert.assertEquals(sizeDistribution.getMax(), 64);
+    }
+
+    @Test
+    public void testEmpirical() {
+        SizeDistribution sizeDistribution = SizeDistribution.empirical(4, 20, 4, 4);
+        Random random = new Random(42);
+        int fours = 0;
+        for (int i = 0; i < 10000; i++) {
+            int length = sizeDistribution.nextLength(random);
+            Assert.assertTrue((length == 4) || (length == 20));
+            if (length == 4) {
+                fours++;
+            }
+        }
+        // Every length is drawn as often as it has been observed
+        Assert.assertTrue((fours > 7000) && (fours < 8000));
+        Assert.assertEquals(sizeDistribution.getMin(), 4);
+        Assert.assertEquals(sizeDistribution.getMax(), 20);
+        Assert.assertEquals(SizeDistribution.empirical().nextLength(random), 0);
+    }
+
+    @Test
+    public void testForField() {
+        Assert.assertEquals(SizeDistribution.forField(Kind.FIXED, 8).getMax(), 8);
+        Assert.assertEquals(SizeDistribution.forField(Kind.UNIFORM, 8).getMax(), 8 * SizeDistribution.BLOAT_FACTOR);
+        Assert.assertEquals(SizeDistribution.forField(Kind.LOG_UNIFORM, 8).getKind(), Kind.LOG_UNIFORM);
+        Assert.assertEquals(SizeDistribution.forField(Kind.LOG_UNIFORM, 8).getMax(), 8 * SizeDistribution
+                .BLOAT_FACTOR);
+        Assert.assertEquals(SizeDistribution.forField(Kind.BOUNDARY, 8).getMax(), 65536);
+        Assert.assertEquals(SizeDistribution.forField(Kind.UNIFORM, Integer.MAX_VALUE / 2).getMax(),
+                Integer.MAX_VALUE);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testForFieldEmpirical() {
+        SizeDistribution.forField(Kind.EMPIRICAL, 8);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.record;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+
+public class DivergenceTest {
+
+    @Test
+    public void testDivergence() {
+        Instant instant = Instant.now();
+        byte[] primaryDigest = {1, 2, 3};
+        byte[] message = {4, 5};
+        Divergence divergence =
+                new Divergence(3, 42, 100, 8, primaryDigest, -1, new byte[0], instant, message, false);
+        primaryDigest[0] = 9;
+        message[0] = 9;
+        Assert.assertEquals(divergence.getIteration(), 3);
+        Assert.assertEquals(divergence.getSeed(), 42);
+        Assert.assertEquals(divergence.getSentLength(), 100);
+        Assert.assertEquals(divergence.getPrimaryLength(), 8);
+        Assert.assertEquals(divergence.getPrimaryDigest(), new byte[]{1, 2, 3});
+        Assert.assertEquals(divergence.getSecondaryLength(), -1);
+        Assert.assertEquals(divergence.getSecondaryDigest().length, 0);
+        Assert.assertEquals(divergence.getSavedTime(), instant);
+        Assert.assertEquals(divergence.getMessage(), new byte[]{4, 5});
+        Assert.assertFalse(divergence.isReproducible());
+    }
+}
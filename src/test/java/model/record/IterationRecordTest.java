@@ -0,0 +1,44 @@
+/*
+ * This file is part of ProDisFuzz, modified on 28.08.16 20:29.
+ * Copyright (c) 2013-2016 Volker Nebelung <vnebelung@prodisfuzz.net>
+ * This work is free. You can redistribute it and/or modify it under the
+ * terms of the Do What The Fuck You Want To Public License, Version 2,
+ * as published by Sam Hocevar. See the COPYING file for more details.
+ */
+
+package model.record;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class IterationRecordTest {
+
+    @Test
+    public void testIterationRecord() {
+        Instant instant = Instant.now();
+        IterationRecord iterationRecord =
+                new IterationRecord(3, 42, 100, new byte[]{97, 98, 99}, instant, Duration.ofMillis(12));
+        Assert.assertEquals(iterationRecord.getIteration(), 3);
+        Assert.assertEquals(iterationRecord.getSeed(), 42);
+        Assert.assertEquals(iterationRecord.getSentLength(), 100);
+        Assert.assertEquals(iterationRecord.getResponseLength(), 3);
+        Assert.assertEquals(iterationRecord.getSavedTime(), instant);
+        Assert.assertEquals(iterationRecord.getDuration(), Duration.ofMillis(12));
+        // SHA-256 of "abc"
+        Assert.assertEquals(iterationRecord.getResponseDigest()[0], (byte) 0xba);
+        Assert.assertEquals(iterationRecord.getResponseDigest()[31], (byte) 0xad);
+        Assert.assertEquals(iterationRecord.getResponseDigest().length, 32);
+        Assert.assertTrue(iterationRecord.isReproducible());
+    }
+
+    @Test
+    public void testIterationRecordNotReproducible() {
+        IterationRecord iterationRecord =
+                new IterationRecord(3, 42, 100, new byte[0], Instant.now(), Duration.ZERO, false);
+        Assert.assertFalse(iterationRecord.isReproducible());
+        Assert.assertEquals(iterationRecord.getResponseLength(), 0);
+    }
+}
@@ -35,6 +35,17 @@ public class RecordedFileTest {
         Assert.assertFalse(recordedFile.isCrash());
     }
 
+    @Test
+    public void testGetWorker() throws Exception {
+        byte[] bytes = {48, 49, 50};
+        RecordedFile recordedFile = new RecordedFile(bytes, true, Instant.now());
+        Assert.assertEquals(recordedFile.getWorker(), -1);
+        recordedFile.delete();
+        recordedFile = new RecordedFile(bytes, true, Instant.now(), 2);
+        Assert.assertEquals(recordedFile.getWorker(), 2);
+        recordedFile.delete();
+    }
+
     @Test
     public void testGetSavedTime() throws Exception {
         byte[] bytes = {48, 49, 50};
@@ -8,9 +8,12 @@
 
 package model.record;
 
+import model.process.fuzzoptions.Process.InjectionMethod;
+import model.protocol.InjectedProtocolStructure;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
 import java.time.Instant;
 
 public class RecordingsTest {
@@ -74,4 +77,43 @@ public class RecordingsTest {
         recordings.addRecording(new byte[]{0}, false, Instant.now());
         Assert.assertEquals(recordings.getSize(), 2);
     }
+
+    @Test
+    public void testAddIterationRecord() throws Exception {
+        Recordings recordings = new Recordings();
+        Assert.assertEquals(recordings.getIterationSize(), 0);
+        IterationRecord iterationRecord =
+                new IterationRecord(1, 42, 10, new byte[]{0}, Instant.now(), Duration.ofMillis(1));
+        recordings.addIterationRecord(iterationRecord);
+        Assert.assertEquals(recordings.getIterationSize(), 1);
+        Assert.assertEquals(recordings.getIterationRecord(0), iterationRecord);
+        Assert.assertEquals(recordings.getSize(), 0);
+        recordings.clear();
+        Assert.assertEquals(recordings.getIterationSize(), 0);
+    }
+
+    @Test
+    public void testAddDivergence() throws Exception {
+        Recordings recordings = new Recordings();
+        Assert.assertEquals(recordings.getDivergenceSize(), 0);
+        Divergence divergence = new Divergence(1, 42, 10, 8, new byte[]{1}, -1, new byte[0], Instant.now(),
+                new byte[]{2}, true);
+        recordings.addDivergence(divergence);
+        Assert.assertEquals(recordings.getDivergenceSize(), 1);
+        Assert.assertEquals(recordings.getDivergence(0), divergence);
+        Assert.assertEquals(recordings.getSize(), 0);
+        recordings.clear();
+        Assert.assertEquals(recordings.getDivergenceSize(), 0);
+    }
+
+    @Test
+    public void testSetCampaign() throws Exception {
+        Recordings recordings = new Recordings();
+        Assert.assertNull(recordings.getCampaign());
+        Campaign campaign = new Campaign(42, InjectionMethod.SEPARATE, new InjectedProtocolStructure());
+        recordings.setCampaign(campaign);
+        Assert.assertEquals(recordings.getCampaign(), campaign);
+        recordings.clear();
+        Assert.assertNull(recordings.getCampaign());
+    }
 }